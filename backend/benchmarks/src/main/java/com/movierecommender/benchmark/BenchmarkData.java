@@ -0,0 +1,116 @@
+package com.movierecommender.benchmark;
+
+import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+import com.movierecommender.entity.Movie;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic movies and scrape payloads shaped like real
+ * catalogue and Letterboxd data, so benchmark runs are comparable.
+ */
+final class BenchmarkData {
+
+    private static final String[] WORDS = {
+        "night", "city", "last", "river", "love", "war", "house", "dark", "summer", "return",
+        "silent", "golden", "road", "king", "broken", "star", "ghost", "winter", "blood", "dream"
+    };
+    private static final String[] GENRES = {
+        "Drama", "Comedy", "Thriller", "Horror", "Romance", "Science Fiction", "Documentary", "Animation",
+        "Crime", "War"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static Movie movie(int index, Random random) {
+        Movie movie = new Movie(title(random), genre(random), "Director " + random.nextInt(5_000),
+                                1920 + random.nextInt(105), Math.round(random.nextDouble() * 45 + 5) / 10.0,
+                                random.nextInt(4) == 0 ? "A synthetic film used for benchmarking." : null);
+        movie.setSlug("bench-film-" + index);
+        return movie;
+    }
+
+    static List<Movie> movies(int count, long seed) {
+        Random random = new Random(seed);
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Movie movie = movie(i, random);
+            movie.setId((long) i + 1);
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    /**
+     * A full (non-incremental) scrape of a user with the given number of diary
+     * entries, about a quarter of them reviewed, and a watchlist half as long
+     */
+    static LetterboxdScrapeResponse scrapeResponse(int ratings, long seed) {
+        Random random = new Random(seed);
+        LetterboxdScrapeResponse response = new LetterboxdScrapeResponse();
+        response.setUsername("bench_user");
+        LetterboxdProfile profile = new LetterboxdProfile();
+        profile.setUsername("bench_user");
+        profile.setDisplayName("Bench User");
+        profile.setFilmsWatched(ratings);
+        response.setProfile(profile);
+
+        List<LetterboxdRating> diary = new ArrayList<>(ratings);
+        for (int i = 0; i < ratings; i++) {
+            LetterboxdRating rating = new LetterboxdRating();
+            String slug = "bench-film-" + random.nextInt(500_000);
+            rating.setFilmTitle(title(random));
+            rating.setFilmYear(1920 + random.nextInt(105));
+            rating.setFilmSlug(slug);
+            rating.setRating(random.nextInt(8) == 0 ? null : (1 + random.nextInt(10)) / 2.0);
+            rating.setWatchedDate(String.format("20%02d-%02d-%02d", random.nextInt(25), 1 + random.nextInt(12),
+                                                1 + random.nextInt(28)));
+            if (random.nextInt(4) == 0) {
+                rating.setReview("Watched this on a rainy evening. " + title(random) + " meets " + title(random) + ".");
+            }
+            rating.setLetterboxdUri("https://letterboxd.com/film/" + slug + "/");
+            diary.add(rating);
+        }
+        response.setRatings(diary);
+
+        List<LetterboxdWatchlistFilm> watchlist = new ArrayList<>(ratings / 2);
+        for (int i = 0; i < ratings / 2; i++) {
+            LetterboxdWatchlistFilm film = new LetterboxdWatchlistFilm();
+            String slug = "bench-film-" + random.nextInt(500_000);
+            film.setFilmTitle(title(random));
+            film.setFilmYear(1920 + random.nextInt(105));
+            film.setFilmSlug(slug);
+            film.setDirectors(List.of("Director " + random.nextInt(5_000)));
+            film.setGenres(List.of(GENRES[random.nextInt(GENRES.length)], GENRES[random.nextInt(GENRES.length)]));
+            film.setLetterboxdUri("https://letterboxd.com/film/" + slug + "/");
+            watchlist.add(film);
+        }
+        response.setWatchlist(watchlist);
+        response.setScrapedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        response.setTotalRatings(diary.size());
+        response.setTotalWatchlistItems(watchlist.size());
+        return response;
+    }
+
+    private static String title(Random random) {
+        int words = 1 + random.nextInt(4);
+        StringBuilder title = new StringBuilder("The");
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            title.append(' ').append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    private static String genre(Random random) {
+        String first = GENRES[random.nextInt(GENRES.length)];
+        return random.nextBoolean() ? first : first + ", " + GENRES[random.nextInt(GENRES.length)];
+    }
+}
@@ -0,0 +1,188 @@
+package com.movierecommender.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test for the Letterboxd linkage endpoints of a running backend: many
+ * concurrent validate or profile calls against a scraper that takes a fixed
+ * time to answer, as the real one does while it fetches from Letterboxd.
+ * Reports throughput and latency percentiles. Not a JMH benchmark; run it
+ * against a backend started with
+ * {@code --letterboxd.scraper.base-url=http://localhost:5055 --letterboxd.cache.enabled=false}
+ * and, to leave the scraper pool out of the comparison,
+ * {@code --letterboxd.scraper.max-connections=5000 --letterboxd.scraper.max-connections-per-route=5000}:
+ * <pre>
+ * java -cp target/benchmarks.jar com.movierecommender.benchmark.LetterboxdLoadTest \
+ *     --concurrency=2000 --requests=20000 --stub-delay-ms=200
+ * </pre>
+ * Options (defaults in brackets): {@code --target} [http://localhost:8080],
+ * {@code --endpoint} validate|profile [validate], {@code --concurrency} [1000],
+ * {@code --requests} [10000], {@code --users} distinct usernames [1000000],
+ * {@code --stub-port} port of the built-in slow scraper, 0 for none [5055],
+ * {@code --stub-delay-ms} [200].
+ */
+public final class LetterboxdLoadTest {
+
+    private LetterboxdLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String target = options.getOrDefault("target", "http://localhost:8080");
+        String endpoint = options.getOrDefault("endpoint", "validate");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "10000"));
+        int users = Integer.parseInt(options.getOrDefault("users", "1000000"));
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "5055"));
+        int stubDelayMillis = Integer.parseInt(options.getOrDefault("stub-delay-ms", "200"));
+
+        HttpServer stub = stubPort > 0 ? startStub(stubPort, stubDelayMillis) : null;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clients)
+                .build();
+
+            // Warm up the backend's request path and connection pools before measuring
+            run(client, clients, target, endpoint, Math.min(concurrency, 100), Math.min(requests, 1000), users, 0);
+            Result result = run(client, clients, target, endpoint, concurrency, requests, users, requests);
+            System.out.println(result.describe(endpoint, concurrency, stubDelayMillis));
+        } finally {
+            if (stub != null) {
+                stub.stop(0);
+            }
+        }
+    }
+
+    private static Result run(HttpClient client, ExecutorService clients, String target, String endpoint,
+                              int concurrency, int requests, int users, int userOffset) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int request = i;
+            // Distinct usernames so the backend cannot answer from its lookup caches
+            String username = "load-" + ((userOffset + i) % users);
+            HttpRequest httpRequest = HttpRequest.newBuilder(
+                    URI.create(target + "/api/letterboxd/user/" + username + "/" + endpoint))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+            clients.execute(() -> {
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 300) {
+                        failures.incrementAndGet();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latencies[request] = System.nanoTime() - sent;
+                    completed.incrementAndGet();
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(concurrency);
+        return new Result(latencies, failures.get(), System.nanoTime() - started);
+    }
+
+    /**
+     * Answers the scraper's validate, profile and health calls after a fixed delay
+     */
+    private static HttpServer startStub(int port, int delayMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+                String[] path = exchange.getRequestURI().getPath().split("/");
+                String last = path.length > 0 ? path[path.length - 1] : "";
+                switch (last) {
+                    case "validate" -> respond(exchange, "{\"exists\":true}");
+                    case "profile" -> respond(exchange, "{\"username\":\"" + path[path.length - 2] + "\"}");
+                    case "health" -> respond(exchange, "{\"status\":\"healthy\"}");
+                    default -> {
+                        exchange.sendResponseHeaders(404, -1);
+                        exchange.close();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private record Result(long[] latencies, int failures, long elapsedNanos) {
+
+        String describe(String endpoint, int concurrency, int stubDelayMillis) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.ROOT,
+                "%s: %d requests, %d concurrent, scraper delay %d ms%n" +
+                "  throughput %.1f req/s, failures %d%n" +
+                "  latency ms: p50 %.1f, p95 %.1f, p99 %.1f, max %.1f",
+                endpoint, sorted.length, concurrency, stubDelayMillis,
+                sorted.length / seconds, failures,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
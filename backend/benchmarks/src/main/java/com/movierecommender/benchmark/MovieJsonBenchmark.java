@@ -0,0 +1,68 @@
+package com.movierecommender.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.movierecommender.entity.Movie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialising the catalogue: {@code GET /api/movies/getAll} writes one JSON
+ * array, {@code GET /api/movies/stream} one JSON document per line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieJsonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int movies;
+
+    private ObjectMapper objectMapper;
+    private List<Movie> catalogue;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        catalogue = BenchmarkData.movies(movies, 42L);
+        out = new ByteArrayOutputStream(movies * 256);
+    }
+
+    @Benchmark
+    public int getAllArray() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, catalogue);
+        return out.size();
+    }
+
+    @Benchmark
+    public int streamNdjson() throws IOException {
+        out.reset();
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (Movie movie : catalogue) {
+                writer.write(movie);
+            }
+        }
+        return out.size();
+    }
+}
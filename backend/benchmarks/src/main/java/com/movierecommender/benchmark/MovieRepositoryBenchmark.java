@@ -0,0 +1,140 @@
+package com.movierecommender.benchmark;
+
+import com.movierecommender.MovieRecommenderApplication;
+import com.movierecommender.entity.Movie;
+import com.movierecommender.repository.MovieRepository;
+import com.movierecommender.search.MovieSearchService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieRepository} queries through the full JPA stack against a seeded
+ * SQLite file. The file is created on first use under {@code target/} and
+ * reused by later runs with the same catalogue size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MovieRepositoryBenchmark {
+
+    private static final int SEED_BATCH = 1_000;
+
+    @Param({"100000"})
+    public int movies;
+
+    private ConfigurableApplicationContext context;
+    private MovieRepository movieRepository;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path database = Paths.get("target", "bench-movies-" + movies + ".db").toAbsolutePath();
+        Files.createDirectories(database.getParent());
+        context = new SpringApplicationBuilder(MovieRecommenderApplication.class)
+            .web(WebApplicationType.NONE)
+            // Arguments rather than default properties, which application.properties would override
+            .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                 "--spring.jpa.show-sql=false",
+                 "--logging.level.root=WARN",
+                 "--letterboxd.scraper.enabled=false",
+                 "--recommender.snapshot-file=",
+                 "--recommender.als.train-on-startup=false",
+                 "--recommender.als.snapshot-file=",
+                 "--recommender.similar.enabled=false");
+        movieRepository = context.getBean(MovieRepository.class);
+        seed(context.getBean(JdbcTemplate.class), context.getBean(PlatformTransactionManager.class));
+        // Keep the startup search index build from competing with the first iterations
+        MovieSearchService searchService = context.getBean(MovieSearchService.class);
+        while (!searchService.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Movie> findById() {
+        return movieRepository.findById((long) 1 + ThreadLocalRandom.current().nextInt(movies));
+    }
+
+    @Benchmark
+    public Optional<Movie> findBySlug() {
+        return movieRepository.findBySlug("bench-film-" + ThreadLocalRandom.current().nextInt(movies));
+    }
+
+    @Benchmark
+    public List<Movie> cursorPage() {
+        long after = ThreadLocalRandom.current().nextInt(Math.max(1, movies - 100));
+        return movieRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(100));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Movie> titleContains() {
+        return movieRepository.findByTitleContainingIgnoreCase("golden dream");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Movie> ratingAbove() {
+        return movieRepository.findMoviesWithRatingAbove(4.9);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Integer.class);
+        if (existing != null && existing == movies) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM movies");
+            Random random = new Random(42L);
+            List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = 0; i < movies; i++) {
+                Movie movie = BenchmarkData.movie(i, random);
+                batch.add(new Object[] {i + 1, movie.getTitle(), movie.getGenre(), movie.getDirector(),
+                                        movie.getReleaseYear(), movie.getRating(), movie.getDescription(),
+                                        movie.getSlug()});
+                if (batch.size() == SEED_BATCH || i == movies - 1) {
+                    jdbcTemplate.batchUpdate(
+                        "INSERT INTO movies (id, title, genre, director, release_year, rating, description, slug) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                    batch.clear();
+                }
+            }
+        });
+    }
+}
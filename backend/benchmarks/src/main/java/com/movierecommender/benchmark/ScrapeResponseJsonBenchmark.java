@@ -0,0 +1,57 @@
+package com.movierecommender.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialising scraper responses the way the scraper client does: one full
+ * scrape of a user with a long diary, read from bytes and from a stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrapeResponseJsonBenchmark {
+
+    @Param({"1000", "10000"})
+    public int ratings;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Configured like Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        payload = objectMapper.writeValueAsBytes(BenchmarkData.scrapeResponse(ratings, 42L));
+    }
+
+    @Benchmark
+    public LetterboxdScrapeResponse readBytes() throws IOException {
+        return objectMapper.readValue(payload, LetterboxdScrapeResponse.class);
+    }
+
+    @Benchmark
+    public LetterboxdScrapeResponse readStream() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(payload), LetterboxdScrapeResponse.class);
+    }
+}
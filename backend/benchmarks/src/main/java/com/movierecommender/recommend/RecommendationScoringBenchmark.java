@@ -0,0 +1,137 @@
+package com.movierecommender.recommend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request scoring cost of both recommenders on synthetic models: the
+ * item-based neighbour walk, ALS top-N for a trained user and for a user
+ * folded in on the fly, and the raw dot-product kernels behind ALS scoring.
+ * Lives in the recommender package to reach its package-private kernels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class RecommendationScoringBenchmark {
+
+    private static final int USERS = 20_000;
+    private static final int RATINGS_PER_USER = 100;
+    private static final int RANK = 32;
+    private static final int LIMIT = 20;
+
+    @Param({"50000"})
+    public int films;
+
+    private ItemBasedModel itemModel;
+    private AlsModel alsModel;
+    private String[] userSlugs;
+    private float[] userValues;
+    private float[] query;
+    private float[] scores;
+    private final DotProductKernel scalar = new ScalarDotProductKernel();
+    private DotProductKernel vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        SlugDictionary users = new SlugDictionary(USERS);
+        SlugDictionary filmDictionary = new SlugDictionary(films);
+        for (int i = 0; i < films; i++) {
+            filmDictionary.add("film-" + i);
+        }
+        // Popularity is skewed so the neighbour lists look like real co-rating data
+        RatingMatrix.Builder builder = new RatingMatrix.Builder();
+        for (int u = 0; u < USERS; u++) {
+            int user = users.add("user-" + u);
+            for (int r = 0; r < RATINGS_PER_USER; r++) {
+                int film = (int) (films * Math.pow(random.nextDouble(), 3));
+                builder.add(user, film, (1 + random.nextInt(10)) / 2.0f);
+            }
+        }
+        RatingMatrix matrix = builder.build(users.size(), filmDictionary.size());
+        ItemSimilarityIndex index = ItemSimilarityIndex.build(matrix, SimilarityMetric.ADJUSTED_COSINE, 50, 2);
+        itemModel = new ItemBasedModel(1, filmDictionary, matrix, index, Instant.now(), 0);
+
+        float[] userFactors = randomFactors(random, USERS * RANK);
+        float[] itemFactors = randomFactors(random, films * RANK);
+        alsModel = new AlsModel(1, AlsMode.IMPLICIT, RANK, 0.05f, 10f, 0f, users, filmDictionary, matrix,
+                                userFactors, itemFactors, gram(itemFactors, films),
+                                List.of(), Instant.now(), 0);
+
+        userSlugs = new String[RATINGS_PER_USER];
+        userValues = new float[RATINGS_PER_USER];
+        for (int i = 0; i < RATINGS_PER_USER; i++) {
+            userSlugs[i] = "film-" + (int) (films * Math.pow(random.nextDouble(), 3));
+            userValues[i] = (1 + random.nextInt(10)) / 2.0f;
+        }
+        query = randomFactors(random, RANK);
+        scores = new float[films];
+        vector = FactorScorer.kernelName().equals(scalar.name()) ? scalar : new VectorDotProductKernel();
+    }
+
+    @Benchmark
+    public List<Recommendation> itemBased() {
+        return itemModel.recommend(userSlugs, userValues, LIMIT);
+    }
+
+    @Benchmark
+    public List<Recommendation> alsTrainedUser() {
+        return alsModel.recommend("user-1234", LIMIT);
+    }
+
+    @Benchmark
+    public List<Recommendation> alsFoldIn() {
+        return alsModel.recommend(userSlugs, userValues, LIMIT);
+    }
+
+    @Benchmark
+    public float[] scalarDotKernel() {
+        scalar.dot(alsModel.itemFactors(), RANK, query, 0, 0, films, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] vectorDotKernel() {
+        vector.dot(alsModel.itemFactors(), RANK, query, 0, 0, films, scores);
+        return scores;
+    }
+
+    private static double[] gram(float[] factors, int rows) {
+        double[] gram = new double[RANK * RANK];
+        for (int row = 0; row < rows; row++) {
+            int offset = row * RANK;
+            for (int i = 0; i < RANK; i++) {
+                for (int j = 0; j < RANK; j++) {
+                    gram[i * RANK + j] += (double) factors[offset + i] * factors[offset + j];
+                }
+            }
+        }
+        return gram;
+    }
+
+    private static float[] randomFactors(Random random, int length) {
+        float[] factors = new float[length];
+        float scale = (float) (0.1 / Math.sqrt(RANK));
+        for (int i = 0; i < length; i++) {
+            factors[i] = (float) (random.nextGaussian() * scale);
+        }
+        return factors;
+    }
+}
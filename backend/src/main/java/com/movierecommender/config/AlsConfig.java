@@ -0,0 +1,124 @@
+package com.movierecommender.config;
+
+import com.movierecommender.recommend.AlsMode;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AlsConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "recommender.als")
+    public AlsProperties alsProperties() {
+        return new AlsProperties();
+    }
+
+    public static class AlsProperties {
+        // Implicit uses ratings, unrated diary entries and watchlists; explicit fits ratings only
+        private AlsMode mode = AlsMode.IMPLICIT;
+        private int rank = 32;
+        private int iterations = 10;
+        private float lambda = 0.05f;
+        // Implicit confidence is 1 + alpha * signal; a rating's signal is its star value
+        private float alpha = 10.0f;
+        private float watchlistWeight = 2.0f;
+        private float unratedWeight = 2.5f;
+        // Fork-join workers for training; 0 uses every available core
+        private int parallelism = 0;
+        private long seed = 42L;
+        private boolean trainOnStartup = true;
+        // Saved after every training run and loaded at startup; blank disables snapshots
+        private String snapshotFile = "./data/als-model.snapshot";
+
+        // Getters and setters
+        public AlsMode getMode() {
+            return mode;
+        }
+
+        public void setMode(AlsMode mode) {
+            this.mode = mode;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public void setRank(int rank) {
+            this.rank = rank;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public float getLambda() {
+            return lambda;
+        }
+
+        public void setLambda(float lambda) {
+            this.lambda = lambda;
+        }
+
+        public float getAlpha() {
+            return alpha;
+        }
+
+        public void setAlpha(float alpha) {
+            this.alpha = alpha;
+        }
+
+        public float getWatchlistWeight() {
+            return watchlistWeight;
+        }
+
+        public void setWatchlistWeight(float watchlistWeight) {
+            this.watchlistWeight = watchlistWeight;
+        }
+
+        public float getUnratedWeight() {
+            return unratedWeight;
+        }
+
+        public void setUnratedWeight(float unratedWeight) {
+            this.unratedWeight = unratedWeight;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public boolean isTrainOnStartup() {
+            return trainOnStartup;
+        }
+
+        public void setTrainOnStartup(boolean trainOnStartup) {
+            this.trainOnStartup = trainOnStartup;
+        }
+
+        public String getSnapshotFile() {
+            return snapshotFile;
+        }
+
+        public void setSnapshotFile(String snapshotFile) {
+            this.snapshotFile = snapshotFile;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.movierecommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LetterboxdCacheConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "letterboxd.cache")
+    public LetterboxdCacheProperties letterboxdCacheProperties() {
+        return new LetterboxdCacheProperties();
+    }
+
+    public static class LetterboxdCacheProperties {
+        private boolean enabled = true;
+        private int maxUsers = 10000;
+        // Lifetime of a positive lookup (user exists / profile fetched)
+        private int ttlSeconds = 600;
+        // Lifetime of a "user not found" answer
+        private int negativeTtlSeconds = 60;
+        private int healthTtlSeconds = 10;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+
+        public int getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(int ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public int getNegativeTtlSeconds() {
+            return negativeTtlSeconds;
+        }
+
+        public void setNegativeTtlSeconds(int negativeTtlSeconds) {
+            this.negativeTtlSeconds = negativeTtlSeconds;
+        }
+
+        public int getHealthTtlSeconds() {
+            return healthTtlSeconds;
+        }
+
+        public void setHealthTtlSeconds(int healthTtlSeconds) {
+            this.healthTtlSeconds = healthTtlSeconds;
+        }
+    }
+}
@@ -1,52 +1,226 @@
 package com.movierecommender.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class LetterboxdScraperConfig {
-    
+
+    /**
+     * Scraper client backed by a keep-alive connection pool (Apache HttpClient) or,
+     * when letterboxd.scraper.client=jdk, by java.net.http.HttpClient with optional HTTP/2.
+     * Both honour the configured connect and read timeouts.
+     */
+    @Bean
+    public RestTemplate restTemplate(LetterboxdScraperProperties properties,
+                                     ObjectProvider<PoolingHttpClientConnectionManager> connectionManager) {
+        ClientHttpRequestFactory requestFactory = properties.getClient() == ClientType.JDK
+            ? jdkRequestFactory(properties)
+            : apacheRequestFactory(properties, connectionManager.getObject());
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "letterboxd.scraper", name = "client", havingValue = "apache", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager scraperConnectionManager(LetterboxdScraperProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxConnections())
+            .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.ofMilliseconds(properties.getTimeout()))
+                .setTimeToLive(TimeValue.ofSeconds(properties.getConnectionTtlSeconds()))
+                .build())
+            .build();
+    }
+
+    /**
+     * Leased, pending and available connections of the scraper pool as gauges
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(prefix = "letterboxd.scraper", name = "client", havingValue = "apache", matchIfMissing = true)
+    public MeterBinder scraperConnectionPoolMetrics(PoolingHttpClientConnectionManager scraperConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(scraperConnectionManager, "letterboxd-scraper");
+    }
+
+    private static ClientHttpRequestFactory apacheRequestFactory(LetterboxdScraperProperties properties,
+                                                                 PoolingHttpClientConnectionManager connectionManager) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setConnectionManagerShared(true)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getPoolAcquireTimeout()))
+                .setResponseTimeout(Timeout.ofMilliseconds(properties.getTimeout()))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(properties.getIdleTimeoutSeconds()))
+            .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private static ClientHttpRequestFactory jdkRequestFactory(LetterboxdScraperProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(properties.getTimeout()));
+        return requestFactory;
     }
-    
+
     @Bean
     @ConfigurationProperties(prefix = "letterboxd.scraper")
     public LetterboxdScraperProperties letterboxdScraperProperties() {
         return new LetterboxdScraperProperties();
     }
-    
+
+    public enum ClientType {
+        APACHE,
+        JDK
+    }
+
     public static class LetterboxdScraperProperties {
         private String baseUrl = "http://localhost:5000";
         private int timeout = 30000;
         private boolean enabled = true;
-        
+        private ClientType client = ClientType.APACHE;
+        private int connectTimeout = 5000;
+        private int poolAcquireTimeout = 5000;
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        private int idleTimeoutSeconds = 30;
+        private int connectionTtlSeconds = 300;
+        private boolean http2 = false;
+        // Fetch profile, ratings and watchlist as concurrent per-section requests rather than one scrape call
+        private boolean fanOut = true;
+        // How long a fanned-out scrape waits for its sections; later ones are reported as timed out
+        private int sectionTimeout = 60000;
+
         // Getters and setters
         public String getBaseUrl() {
             return baseUrl;
         }
-        
+
         public void setBaseUrl(String baseUrl) {
             this.baseUrl = baseUrl;
         }
-        
+
         public int getTimeout() {
             return timeout;
         }
-        
+
         public void setTimeout(int timeout) {
             this.timeout = timeout;
         }
-        
+
         public boolean isEnabled() {
             return enabled;
         }
-        
+
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
         }
+
+        public ClientType getClient() {
+            return client;
+        }
+
+        public void setClient(ClientType client) {
+            this.client = client;
+        }
+
+        public int getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public int getPoolAcquireTimeout() {
+            return poolAcquireTimeout;
+        }
+
+        public void setPoolAcquireTimeout(int poolAcquireTimeout) {
+            this.poolAcquireTimeout = poolAcquireTimeout;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public int getIdleTimeoutSeconds() {
+            return idleTimeoutSeconds;
+        }
+
+        public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+            this.idleTimeoutSeconds = idleTimeoutSeconds;
+        }
+
+        public int getConnectionTtlSeconds() {
+            return connectionTtlSeconds;
+        }
+
+        public void setConnectionTtlSeconds(int connectionTtlSeconds) {
+            this.connectionTtlSeconds = connectionTtlSeconds;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public boolean isFanOut() {
+            return fanOut;
+        }
+
+        public void setFanOut(boolean fanOut) {
+            this.fanOut = fanOut;
+        }
+
+        public int getSectionTimeout() {
+            return sectionTimeout;
+        }
+
+        public void setSectionTimeout(int sectionTimeout) {
+            this.sectionTimeout = sectionTimeout;
+        }
     }
 }
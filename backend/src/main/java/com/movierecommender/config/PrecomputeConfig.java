@@ -0,0 +1,78 @@
+package com.movierecommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PrecomputeConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "recommender.precompute")
+    public PrecomputeProperties precomputeProperties() {
+        return new PrecomputeProperties();
+    }
+
+    public static class PrecomputeProperties {
+        // Run the precompute on the cron schedule; manual runs work either way
+        private boolean enabled = false;
+        private String cron = "0 0 3 * * *";
+        // Films stored per user and model; requests for more are computed live
+        private int depth = 100;
+        // Users read, computed and written per checkpointed page
+        private int pageSize = 1000;
+        // Users per parallel task within a page
+        private int chunkSize = 50;
+        // Worker threads; 0 uses one per available processor
+        private int parallelism = 0;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public void setDepth(int depth) {
+            this.depth = depth;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+}
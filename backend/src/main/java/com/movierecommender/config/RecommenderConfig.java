@@ -0,0 +1,96 @@
+package com.movierecommender.config;
+
+import com.movierecommender.recommend.SimilarityMetric;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RecommenderConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "recommender")
+    public RecommenderProperties recommenderProperties() {
+        return new RecommenderProperties();
+    }
+
+    public static class RecommenderProperties {
+        private SimilarityMetric similarity = SimilarityMetric.ADJUSTED_COSINE;
+        private int maxNeighbours = 50;
+        private int minOverlap = 2;
+        private int defaultLimit = 20;
+        private boolean rebuildOnIngest = true;
+        // Saved after every rebuild and loaded at startup; blank disables snapshots
+        private String snapshotFile = "./data/item-model.snapshot";
+        // Cached top-N lists per user, for the item-item and ALS models each; 0 disables the cache
+        private int cacheMaxUsers = 10000;
+        // Films cached per user; a request for more recomputes deeper
+        private int cacheDepth = 100;
+
+        // Getters and setters
+        public SimilarityMetric getSimilarity() {
+            return similarity;
+        }
+
+        public void setSimilarity(SimilarityMetric similarity) {
+            this.similarity = similarity;
+        }
+
+        public int getMaxNeighbours() {
+            return maxNeighbours;
+        }
+
+        public void setMaxNeighbours(int maxNeighbours) {
+            this.maxNeighbours = maxNeighbours;
+        }
+
+        public int getMinOverlap() {
+            return minOverlap;
+        }
+
+        public void setMinOverlap(int minOverlap) {
+            this.minOverlap = minOverlap;
+        }
+
+        public int getDefaultLimit() {
+            return defaultLimit;
+        }
+
+        public void setDefaultLimit(int defaultLimit) {
+            this.defaultLimit = defaultLimit;
+        }
+
+        public boolean isRebuildOnIngest() {
+            return rebuildOnIngest;
+        }
+
+        public void setRebuildOnIngest(boolean rebuildOnIngest) {
+            this.rebuildOnIngest = rebuildOnIngest;
+        }
+
+        public String getSnapshotFile() {
+            return snapshotFile;
+        }
+
+        public void setSnapshotFile(String snapshotFile) {
+            this.snapshotFile = snapshotFile;
+        }
+
+        public int getCacheMaxUsers() {
+            return cacheMaxUsers;
+        }
+
+        public void setCacheMaxUsers(int cacheMaxUsers) {
+            this.cacheMaxUsers = cacheMaxUsers;
+        }
+
+        public int getCacheDepth() {
+            return cacheDepth;
+        }
+
+        public void setCacheDepth(int cacheDepth) {
+            this.cacheDepth = cacheDepth;
+        }
+    }
+}
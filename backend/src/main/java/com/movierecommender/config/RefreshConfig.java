@@ -0,0 +1,95 @@
+package com.movierecommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class RefreshConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "letterboxd.refresh")
+    public RefreshProperties refreshProperties() {
+        return new RefreshProperties();
+    }
+
+    public static class RefreshProperties {
+        // Run the bulk refresh on the cron schedule; manual runs work either way
+        private boolean enabled = false;
+        private String cron = "0 0 1 * * *";
+        private int maxConcurrent = 8;
+        // Token bucket toward the scraper: sustained rate and burst size
+        private double requestsPerSecond = 2.0;
+        private int burst = 4;
+        private int pageSize = 200;
+        private int ratingLimit = 100;
+        private boolean incremental = true;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public int getRatingLimit() {
+            return ratingLimit;
+        }
+
+        public void setRatingLimit(int ratingLimit) {
+            this.ratingLimit = ratingLimit;
+        }
+
+        public boolean isIncremental() {
+            return incremental;
+        }
+
+        public void setIncremental(boolean incremental) {
+            this.incremental = incremental;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.movierecommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScrapeJobConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "letterboxd.jobs")
+    public ScrapeJobProperties scrapeJobProperties() {
+        return new ScrapeJobProperties();
+    }
+
+    public static class ScrapeJobProperties {
+        private int maxConcurrent = 4;
+        private int maxQueued = 100;
+        private int retentionMinutes = 60;
+        // Read by the @Scheduled sweep in ScrapeJobService
+        private long evictionIntervalMs = 60000;
+
+        // Getters and setters
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public int getRetentionMinutes() {
+            return retentionMinutes;
+        }
+
+        public void setRetentionMinutes(int retentionMinutes) {
+            this.retentionMinutes = retentionMinutes;
+        }
+
+        public long getEvictionIntervalMs() {
+            return evictionIntervalMs;
+        }
+
+        public void setEvictionIntervalMs(long evictionIntervalMs) {
+            this.evictionIntervalMs = evictionIntervalMs;
+        }
+    }
+}
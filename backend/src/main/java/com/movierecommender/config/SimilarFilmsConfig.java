@@ -0,0 +1,94 @@
+package com.movierecommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SimilarFilmsConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "recommender.similar")
+    public SimilarFilmsProperties similarFilmsProperties() {
+        return new SimilarFilmsProperties();
+    }
+
+    public static class SimilarFilmsProperties {
+        private boolean enabled = true;
+        // Feature-hashed embedding size; changing it discards the saved index
+        private int dimension = 64;
+        // HNSW links per node (twice as many on the bottom layer) and candidate list sizes
+        private int m = 16;
+        private int efConstruction = 100;
+        private int efSearch = 64;
+        private String indexFile = "./data/similar-films.hnsw";
+        // Rebuild from scratch once this share of nodes are tombstones
+        private double maxDeletedFraction = 0.25;
+        private long seed = 42L;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getDimension() {
+            return dimension;
+        }
+
+        public void setDimension(int dimension) {
+            this.dimension = dimension;
+        }
+
+        public int getM() {
+            return m;
+        }
+
+        public void setM(int m) {
+            this.m = m;
+        }
+
+        public int getEfConstruction() {
+            return efConstruction;
+        }
+
+        public void setEfConstruction(int efConstruction) {
+            this.efConstruction = efConstruction;
+        }
+
+        public int getEfSearch() {
+            return efSearch;
+        }
+
+        public void setEfSearch(int efSearch) {
+            this.efSearch = efSearch;
+        }
+
+        public String getIndexFile() {
+            return indexFile;
+        }
+
+        public void setIndexFile(String indexFile) {
+            this.indexFile = indexFile;
+        }
+
+        public double getMaxDeletedFraction() {
+            return maxDeletedFraction;
+        }
+
+        public void setMaxDeletedFraction(double maxDeletedFraction) {
+            this.maxDeletedFraction = maxDeletedFraction;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+    }
+}
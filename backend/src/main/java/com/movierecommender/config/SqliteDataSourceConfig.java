@@ -0,0 +1,192 @@
+package com.movierecommender.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection setup for a SQLite database file. SQLite takes one writer at a
+ * time but, in WAL mode, lets readers run alongside it, so writes go through a
+ * single pooled connection and read-only transactions through a separate pool
+ * of read-only connections. The primary {@link DataSource} picks between them
+ * per transaction: {@code @Transactional(readOnly = true)} (which includes
+ * Spring Data's repository reads) runs on a reader, everything else on the
+ * writer.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqliteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "sqlite")
+    public SqliteProperties sqliteProperties() {
+        return new SqliteProperties();
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriterDataSource(DataSourceProperties dataSourceProperties,
+                                                   SqliteProperties properties) {
+        SQLiteConfig config = connectionConfig(properties);
+        config.setJournalMode(SQLiteConfig.JournalMode.valueOf(properties.getJournalMode().toUpperCase()));
+        config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(properties.getSynchronous().toUpperCase()));
+        // Take the write lock at BEGIN, where the busy timeout applies, rather than on the first write
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+
+        HikariConfig hikari = poolConfig("sqlite-writer", dataSourceProperties, config);
+        hikari.setMaximumPoolSize(1);
+        hikari.setMinimumIdle(1);
+        hikari.setConnectionTimeout(properties.getWriterAcquireTimeoutMillis());
+        return new HikariDataSource(hikari);
+    }
+
+    // The writer opens (and if need be creates) the database and switches it to WAL first
+    @Bean(destroyMethod = "close")
+    @DependsOn("sqliteWriterDataSource")
+    public HikariDataSource sqliteReaderDataSource(DataSourceProperties dataSourceProperties,
+                                                   SqliteProperties properties) {
+        SQLiteConfig config = connectionConfig(properties);
+        config.setReadOnly(true);
+
+        HikariConfig hikari = poolConfig("sqlite-reader", dataSourceProperties, config);
+        // Hikari resets every connection to this flag, which the driver refuses to change once open
+        hikari.setReadOnly(true);
+        hikari.setMaximumPoolSize(Math.max(1, properties.getReadPoolSize()));
+        hikari.setMinimumIdle(1);
+        hikari.setConnectionTimeout(properties.getReaderAcquireTimeoutMillis());
+        return new HikariDataSource(hikari);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource sqliteWriterDataSource, HikariDataSource sqliteReaderDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(sqliteWriterDataSource);
+        dataSource.setReadOnlyDataSource(sqliteReaderDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public SqliteMigrationStrategy sqliteMigrationStrategy() {
+        return new SqliteMigrationStrategy();
+    }
+
+    private static SQLiteConfig connectionConfig(SqliteProperties properties) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(properties.getBusyTimeoutMillis());
+        // A negative cache_size is in KiB rather than pages
+        config.setCacheSize(-properties.getCacheSizeKib());
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(properties.getMmapSizeBytes()));
+        config.setTempStore(SQLiteConfig.TempStore.valueOf(properties.getTempStore().toUpperCase()));
+        return config;
+    }
+
+    private static HikariConfig poolConfig(String poolName, DataSourceProperties dataSourceProperties,
+                                           SQLiteConfig config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(poolName);
+        hikari.setJdbcUrl(dataSourceProperties.determineUrl());
+        hikari.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        hikari.setDataSourceProperties(config.toProperties());
+        // Connections to a local file do not go stale
+        hikari.setMaxLifetime(0);
+        hikari.setIdleTimeout(0);
+        return hikari;
+    }
+
+    public static class SqliteProperties {
+        // WAL lets readers run while a write is in progress; NORMAL sync is safe with WAL
+        private String journalMode = "WAL";
+        private String synchronous = "NORMAL";
+        // How long a connection waits on a lock held elsewhere before failing with SQLITE_BUSY
+        private int busyTimeoutMillis = 5000;
+        private long mmapSizeBytes = 256L * 1024 * 1024;
+        private int cacheSizeKib = 64 * 1024;
+        private String tempStore = "MEMORY";
+        private int readPoolSize = 4;
+        // Writers queue for the single write connection; long imports hold it for a while
+        private long writerAcquireTimeoutMillis = 30000;
+        private long readerAcquireTimeoutMillis = 10000;
+
+        // Getters and setters
+        public String getJournalMode() {
+            return journalMode;
+        }
+
+        public void setJournalMode(String journalMode) {
+            this.journalMode = journalMode;
+        }
+
+        public String getSynchronous() {
+            return synchronous;
+        }
+
+        public void setSynchronous(String synchronous) {
+            this.synchronous = synchronous;
+        }
+
+        public int getBusyTimeoutMillis() {
+            return busyTimeoutMillis;
+        }
+
+        public void setBusyTimeoutMillis(int busyTimeoutMillis) {
+            this.busyTimeoutMillis = busyTimeoutMillis;
+        }
+
+        public long getMmapSizeBytes() {
+            return mmapSizeBytes;
+        }
+
+        public void setMmapSizeBytes(long mmapSizeBytes) {
+            this.mmapSizeBytes = mmapSizeBytes;
+        }
+
+        public int getCacheSizeKib() {
+            return cacheSizeKib;
+        }
+
+        public void setCacheSizeKib(int cacheSizeKib) {
+            this.cacheSizeKib = cacheSizeKib;
+        }
+
+        public String getTempStore() {
+            return tempStore;
+        }
+
+        public void setTempStore(String tempStore) {
+            this.tempStore = tempStore;
+        }
+
+        public int getReadPoolSize() {
+            return readPoolSize;
+        }
+
+        public void setReadPoolSize(int readPoolSize) {
+            this.readPoolSize = readPoolSize;
+        }
+
+        public long getWriterAcquireTimeoutMillis() {
+            return writerAcquireTimeoutMillis;
+        }
+
+        public void setWriterAcquireTimeoutMillis(long writerAcquireTimeoutMillis) {
+            this.writerAcquireTimeoutMillis = writerAcquireTimeoutMillis;
+        }
+
+        public long getReaderAcquireTimeoutMillis() {
+            return readerAcquireTimeoutMillis;
+        }
+
+        public void setReaderAcquireTimeoutMillis(long readerAcquireTimeoutMillis) {
+            this.readerAcquireTimeoutMillis = readerAcquireTimeoutMillis;
+        }
+    }
+}
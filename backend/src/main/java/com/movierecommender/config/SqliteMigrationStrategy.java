@@ -0,0 +1,51 @@
+package com.movierecommender.config;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migrates a SQLite database, first bringing one created by Hibernate's
+ * {@code ddl-auto=update} before migrations existed up to the columns the
+ * baseline migration indexes. SQLite has no {@code ADD COLUMN IF NOT EXISTS},
+ * so the column is checked for here; on a new or already migrated file this
+ * does nothing. Runs on its own connection before Flyway takes the single
+ * writer connection.
+ */
+public class SqliteMigrationStrategy implements FlywayMigrationStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqliteMigrationStrategy.class);
+
+    @Override
+    public void migrate(Flyway flyway) {
+        try (Connection connection = flyway.getConfiguration().getDataSource().getConnection()) {
+            if (hasTable(connection, "movies") && !hasColumn(connection, "movies", "slug")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE movies ADD COLUMN slug varchar(255)");
+                }
+                logger.info("Added movies.slug to a database created before migrations");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not upgrade the pre-migration SQLite schema", e);
+        }
+        flyway.migrate();
+    }
+
+    private static boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, table, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
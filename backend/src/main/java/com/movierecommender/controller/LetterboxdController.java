@@ -2,13 +2,18 @@ package com.movierecommender.controller;
 
 import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
 import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+import com.movierecommender.dto.letterboxd.ScrapeJobStatus;
+import com.movierecommender.refresh.AccountRefreshService;
 import com.movierecommender.service.LetterboxdIntegrationService;
+import com.movierecommender.service.ScrapeJobService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.Map;
 
 @RestController
@@ -19,9 +24,15 @@ public class LetterboxdController {
     private static final Logger logger = LoggerFactory.getLogger(LetterboxdController.class);
     
     private final LetterboxdIntegrationService letterboxdService;
+    private final ScrapeJobService scrapeJobService;
+    private final AccountRefreshService accountRefreshService;
     
-    public LetterboxdController(LetterboxdIntegrationService letterboxdService) {
+    public LetterboxdController(LetterboxdIntegrationService letterboxdService,
+                                ScrapeJobService scrapeJobService,
+                                AccountRefreshService accountRefreshService) {
         this.letterboxdService = letterboxdService;
+        this.scrapeJobService = scrapeJobService;
+        this.accountRefreshService = accountRefreshService;
     }
     
     /**
@@ -31,6 +42,7 @@ public class LetterboxdController {
     public ResponseEntity<Map<String, Object>> getServiceStatus() {
         try {
             Map<String, Object> status = letterboxdService.getScraperInfo();
+            status.put("jobs", scrapeJobService.getStats());
             return ResponseEntity.ok(status);
         } catch (Exception e) {
             logger.error("Error getting service status", e);
@@ -86,14 +98,15 @@ public class LetterboxdController {
             @PathVariable String username,
             @RequestParam(defaultValue = "true") boolean includeRatings,
             @RequestParam(defaultValue = "true") boolean includeWatchlist,
-            @RequestParam(defaultValue = "100") int ratingLimit) {
+            @RequestParam(defaultValue = "100") int ratingLimit,
+            @RequestParam(defaultValue = "false") boolean incremental) {
         
         try {
-            logger.info("Starting complete scrape for user: {} (ratings: {}, watchlist: {}, limit: {})", 
-                       username, includeRatings, includeWatchlist, ratingLimit);
+            logger.info("Starting complete scrape for user: {} (ratings: {}, watchlist: {}, limit: {}, incremental: {})", 
+                       username, includeRatings, includeWatchlist, ratingLimit, incremental);
             
             LetterboxdScrapeResponse response = letterboxdService.scrapeUserData(
-                username, includeRatings, includeWatchlist, ratingLimit
+                username, includeRatings, includeWatchlist, ratingLimit, incremental
             );
             
             logger.info("Scrape completed for user: {} ({} ratings, {} watchlist items)", 
@@ -112,12 +125,95 @@ public class LetterboxdController {
         }
     }
     
+    /**
+     * Queue a scrape in the background and return its job id immediately
+     */
+    @PostMapping("/user/{username}/scrape/async")
+    public ResponseEntity<?> submitScrapeJob(
+            @PathVariable String username,
+            @RequestParam(defaultValue = "true") boolean includeRatings,
+            @RequestParam(defaultValue = "true") boolean includeWatchlist,
+            @RequestParam(defaultValue = "100") int ratingLimit,
+            @RequestParam(defaultValue = "false") boolean incremental) {
+        
+        try {
+            ScrapeJobStatus status = scrapeJobService.submit(username, includeRatings, includeWatchlist, ratingLimit,
+                                                             incremental);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/letterboxd/jobs/" + status.getJobId()))
+                .body(status);
+        } catch (ScrapeJobService.ScrapeJobRejectedException e) {
+            logger.warn("Rejected scrape job for user {}: {}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Poll the state (and, once finished, the result) of a scrape job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getScrapeJob(@PathVariable String jobId) {
+        return scrapeJobService.getStatus(jobId)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Scrape job not found: " + jobId)));
+    }
+    
+    /**
+     * Start a refresh of every linked Letterboxd account
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> startRefresh() {
+        return accountRefreshService.start()
+            .<ResponseEntity<?>>map(run -> ResponseEntity.accepted()
+                .location(URI.create("/api/letterboxd/refresh"))
+                .body(Map.of("runId", run.getId(), "startedAt", run.getStartedAt())))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "An account refresh is already running")));
+    }
+    
+    /**
+     * Progress of the current or most recent account refresh
+     */
+    @GetMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> getRefreshStatus() {
+        return ResponseEntity.ok(accountRefreshService.getStatus());
+    }
+    
+    /**
+     * Stop the running account refresh after its current page
+     */
+    @DeleteMapping("/refresh")
+    public ResponseEntity<?> cancelRefresh() {
+        return accountRefreshService.cancel()
+            ? ResponseEntity.accepted().body(Map.of("message", "Account refresh will stop after the current page"))
+            : ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "No account refresh is running"));
+    }
+    
+    /**
+     * Previously scraped ratings and watchlist, served from storage
+     */
+    @GetMapping("/user/{username}/stored")
+    public ResponseEntity<?> getStoredUserData(@PathVariable String username) {
+        try {
+            return letterboxdService.getStoredUserData(username)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404)
+                    .body(Map.of("error", "No user linked to Letterboxd account: " + username)));
+        } catch (Exception e) {
+            logger.error("Error loading stored data for user: {}", username, e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Failed to load stored user data"));
+        }
+    }
+    
     /**
      * Quick scrape with default settings
      */
     @PostMapping("/user/{username}/scrape/quick")
     public ResponseEntity<?> quickScrapeUserData(@PathVariable String username) {
-        return scrapeUserData(username, true, true, 50);
+        return scrapeUserData(username, true, true, 50, false);
     }
     
     /**
@@ -8,11 +8,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.movierecommender.dto.CursorPage;
+import com.movierecommender.dto.MovieBulkImportRequest;
+import com.movierecommender.dto.MovieBulkImportResult;
 import com.movierecommender.entity.Movie;
 import com.movierecommender.service.MovieService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -27,6 +35,31 @@ public class MovieController {
     public List<Movie> getAllMovies() {
         return movieService.getAllMovies();
     }
+
+    @GetMapping("/page")
+    public CursorPage<Movie> getMoviesPage(@RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "100") int limit) {
+        return movieService.getMoviesPage(after, limit);
+    }
+
+    @GetMapping("/search")
+    public List<Movie> searchMovies(@RequestParam("q") String query,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        return movieService.searchMovies(query, limit);
+    }
+
+    @GetMapping("/search/status")
+    public Map<String, Object> getSearchStatus() {
+        return movieService.getSearchStats();
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMovies() {
+        StreamingResponseBody body = out -> movieService.writeMoviesAsNdjson(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
     
     @GetMapping("/{id}")
     public Movie getMovieById(@PathVariable Long id) {
@@ -34,11 +67,33 @@ public class MovieController {
                 .orElseThrow(() -> new RuntimeException("Movie not found with id: " + id));
     }
 
+    /**
+     * "More like this": films with the most similar genre, director, decade and title
+     */
+    @GetMapping("/{id}/similar")
+    public List<Movie> getSimilarMovies(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        if (movieService.getMovieById(id).isEmpty()) {
+            throw new RuntimeException("Movie not found with id: " + id);
+        }
+        return movieService.getSimilarMovies(id, limit);
+    }
+
+    @GetMapping("/similar/status")
+    public Map<String, Object> getSimilarStatus() {
+        return movieService.getSimilarityStats();
+    }
+
     @PostMapping
     public Movie createMovie(@RequestBody Movie movie) {
         return movieService.createMovie(movie);
     }
 
+    @PostMapping("/bulk")
+    public MovieBulkImportResult bulkImportMovies(@RequestBody MovieBulkImportRequest request) {
+        return movieService.bulkImport(request);
+    }
+
     @PutMapping("/{id}")
     public Movie updateMovie(@PathVariable Long id, @RequestBody Movie movieDetails) {
         return movieService.updateMovie(id, movieDetails);
@@ -0,0 +1,180 @@
+package com.movierecommender.controller;
+
+import com.movierecommender.config.RecommenderConfig;
+import com.movierecommender.entity.User;
+import com.movierecommender.precompute.PrecomputedRecommendations;
+import com.movierecommender.precompute.RecommendationPrecomputeService;
+import com.movierecommender.recommend.AlsModel;
+import com.movierecommender.recommend.AlsRecommender;
+import com.movierecommender.recommend.ItemBasedModel;
+import com.movierecommender.recommend.Recommendation;
+import com.movierecommender.recommend.RecommendationEngine;
+import com.movierecommender.service.UserService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+    private final RecommendationEngine recommendationEngine;
+    private final AlsRecommender alsRecommender;
+    private final PrecomputedRecommendations precomputedRecommendations;
+    private final RecommendationPrecomputeService precomputeService;
+    private final UserService userService;
+    private final RecommenderConfig.RecommenderProperties properties;
+
+    public RecommendationController(RecommendationEngine recommendationEngine, AlsRecommender alsRecommender,
+                                    PrecomputedRecommendations precomputedRecommendations,
+                                    RecommendationPrecomputeService precomputeService,
+                                    UserService userService, RecommenderConfig.RecommenderProperties properties) {
+        this.recommendationEngine = recommendationEngine;
+        this.alsRecommender = alsRecommender;
+        this.precomputedRecommendations = precomputedRecommendations;
+        this.precomputeService = precomputeService;
+        this.userService = userService;
+        this.properties = properties;
+    }
+
+    /**
+     * Top-N film recommendations for a user with a linked Letterboxd account,
+     * from the last precompute run when it stored them from the current model
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> getRecommendations(@PathVariable Long userId,
+                                                @RequestParam(required = false) Integer limit) {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        if (user.getLetterboxdUsername() == null || user.getLetterboxdUsername().isBlank()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "User has no linked Letterboxd account"));
+        }
+        int effectiveLimit = limit != null ? limit : properties.getDefaultLimit();
+        List<Recommendation> recommendations = precomputedRecommendations
+            .find(userId, PrecomputedRecommendations.ITEM_BASED,
+                  PrecomputedRecommendations.ModelVersion.of(recommendationEngine.getModel()), effectiveLimit)
+            .orElseGet(() -> recommendationEngine.recommend(user, effectiveLimit));
+        return ResponseEntity.ok(recommendations);
+    }
+
+    /**
+     * Rebuild the similarity model synchronously
+     */
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        ItemBasedModel model = recommendationEngine.rebuild();
+        return Map.of(
+            "generation", model.getGeneration(),
+            "buildMillis", model.getBuildMillis()
+        );
+    }
+
+    /**
+     * Swap in the similarity model saved in the snapshot file
+     */
+    @PostMapping("/snapshot/load")
+    public Map<String, Object> loadSnapshot() {
+        boolean loaded = recommendationEngine.loadSnapshot();
+        return Map.of(
+            "loaded", loaded,
+            "generation", recommendationEngine.getModel().getGeneration()
+        );
+    }
+
+    /**
+     * Current model statistics
+     */
+    @GetMapping("/status")
+    public Map<String, Object> getStatus() {
+        return recommendationEngine.getStats();
+    }
+
+    /**
+     * Top-N film recommendations from the matrix-factorisation model, from the
+     * last precompute run when it stored them from the current model
+     */
+    @GetMapping("/user/{userId}/als")
+    public ResponseEntity<?> getAlsRecommendations(@PathVariable Long userId,
+                                                   @RequestParam(required = false) Integer limit) {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        if (user.getLetterboxdUsername() == null || user.getLetterboxdUsername().isBlank()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "User has no linked Letterboxd account"));
+        }
+        int effectiveLimit = limit != null ? limit : properties.getDefaultLimit();
+        return ResponseEntity.ok(precomputedRecommendations
+            .find(userId, PrecomputedRecommendations.ALS,
+                  PrecomputedRecommendations.ModelVersion.of(alsRecommender.getModel()), effectiveLimit)
+            .orElseGet(() -> alsRecommender.recommend(user, effectiveLimit)));
+    }
+
+    /**
+     * Train the matrix-factorisation model synchronously
+     */
+    @PostMapping("/als/train")
+    public Map<String, Object> trainAls() {
+        AlsModel model = alsRecommender.train();
+        return Map.of(
+            "generation", model.getGeneration(),
+            "buildMillis", model.getBuildMillis(),
+            "iterations", model.getIterations()
+        );
+    }
+
+    /**
+     * Swap in the matrix-factorisation model saved in the snapshot file
+     */
+    @PostMapping("/als/snapshot/load")
+    public Map<String, Object> loadAlsSnapshot() {
+        boolean loaded = alsRecommender.loadSnapshot();
+        return Map.of(
+            "loaded", loaded,
+            "generation", alsRecommender.getModel().getGeneration()
+        );
+    }
+
+    /**
+     * Current matrix-factorisation model statistics
+     */
+    @GetMapping("/als/status")
+    public Map<String, Object> getAlsStatus() {
+        return alsRecommender.getStats();
+    }
+
+    /**
+     * Start precomputing every user's recommendations
+     */
+    @PostMapping("/precompute")
+    public ResponseEntity<?> startPrecompute() {
+        return precomputeService.start()
+            .<ResponseEntity<?>>map(run -> ResponseEntity.accepted()
+                .location(URI.create("/api/recommendations/precompute"))
+                .body(Map.of("runId", run.getId(), "startedAt", run.getStartedAt())))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "A recommendation precompute is already running")));
+    }
+
+    /**
+     * Progress and throughput of the current or most recent precompute
+     */
+    @GetMapping("/precompute")
+    public Map<String, Object> getPrecomputeStatus() {
+        return precomputeService.getStatus();
+    }
+
+    /**
+     * Stop the running precompute after its current page
+     */
+    @DeleteMapping("/precompute")
+    public ResponseEntity<?> cancelPrecompute() {
+        return precomputeService.cancel()
+            ? ResponseEntity.accepted().body(Map.of("message", "Recommendation precompute will stop after the current page"))
+            : ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "No recommendation precompute is running"));
+    }
+}
@@ -8,7 +8,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.movierecommender.dto.CursorPage;
 import com.movierecommender.entity.User;
 import com.movierecommender.service.UserService;
 
@@ -28,6 +33,20 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    @GetMapping("/page")
+    public CursorPage<User> getUsersPage(@RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "100") int limit) {
+        return userService.getUsersPage(after, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = out -> userService.writeUsersAsNdjson(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public User getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
@@ -0,0 +1,32 @@
+package com.movierecommender.dto;
+
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+import com.movierecommender.entity.Movie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MovieBulkImportRequest {
+    private List<Movie> movies = new ArrayList<>();
+    private List<LetterboxdWatchlistFilm> films = new ArrayList<>();
+
+    // Constructors
+    public MovieBulkImportRequest() {}
+
+    // Getters and setters
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(List<Movie> movies) {
+        this.movies = movies;
+    }
+
+    public List<LetterboxdWatchlistFilm> getFilms() {
+        return films;
+    }
+
+    public void setFilms(List<LetterboxdWatchlistFilm> films) {
+        this.films = films;
+    }
+}
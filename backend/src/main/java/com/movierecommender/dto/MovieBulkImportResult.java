@@ -0,0 +1,61 @@
+package com.movierecommender.dto;
+
+public class MovieBulkImportResult {
+    private int received;
+    private int unique;
+    private int inserted;
+    private int updated;
+    private long elapsedMillis;
+
+    // Constructors
+    public MovieBulkImportResult() {}
+
+    public MovieBulkImportResult(int received, int unique, int inserted, int updated, long elapsedMillis) {
+        this.received = received;
+        this.unique = unique;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters and setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getUnique() {
+        return unique;
+    }
+
+    public void setUnique(int unique) {
+        this.unique = unique;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
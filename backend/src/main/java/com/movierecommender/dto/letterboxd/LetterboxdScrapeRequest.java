@@ -1,9 +1,13 @@
 package com.movierecommender.dto.letterboxd;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class LetterboxdScrapeRequest {
     private String username;
     
@@ -16,6 +20,19 @@ public class LetterboxdScrapeRequest {
     @JsonProperty("rating_limit")
     private int ratingLimit = 100;
     
+    // Incremental scrapes: stop paging at entries dated before or matching what is already stored
+    @JsonProperty("since_watched_date")
+    private String sinceWatchedDate;
+    
+    @JsonProperty("since_added_date")
+    private String sinceAddedDate;
+    
+    @JsonProperty("known_rating_slugs")
+    private List<String> knownRatingSlugs;
+    
+    @JsonProperty("known_watchlist_slugs")
+    private List<String> knownWatchlistSlugs;
+    
     // Constructors
     public LetterboxdScrapeRequest() {}
     
@@ -55,4 +72,36 @@ public class LetterboxdScrapeRequest {
     public void setRatingLimit(int ratingLimit) {
         this.ratingLimit = ratingLimit;
     }
+    
+    public String getSinceWatchedDate() {
+        return sinceWatchedDate;
+    }
+    
+    public void setSinceWatchedDate(String sinceWatchedDate) {
+        this.sinceWatchedDate = sinceWatchedDate;
+    }
+    
+    public String getSinceAddedDate() {
+        return sinceAddedDate;
+    }
+    
+    public void setSinceAddedDate(String sinceAddedDate) {
+        this.sinceAddedDate = sinceAddedDate;
+    }
+    
+    public List<String> getKnownRatingSlugs() {
+        return knownRatingSlugs;
+    }
+    
+    public void setKnownRatingSlugs(List<String> knownRatingSlugs) {
+        this.knownRatingSlugs = knownRatingSlugs;
+    }
+    
+    public List<String> getKnownWatchlistSlugs() {
+        return knownWatchlistSlugs;
+    }
+    
+    public void setKnownWatchlistSlugs(List<String> knownWatchlistSlugs) {
+        this.knownWatchlistSlugs = knownWatchlistSlugs;
+    }
 }
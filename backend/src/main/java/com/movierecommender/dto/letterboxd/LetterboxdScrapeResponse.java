@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class LetterboxdScrapeResponse {
@@ -27,6 +28,14 @@ public class LetterboxdScrapeResponse {
     @JsonProperty("error_message")
     private String errorMessage;
     
+    // True when ratings and watchlist only hold entries newer than the previous scrape
+    private boolean incremental;
+    
+    // Per-section outcome of a fanned-out scrape; partial when a requested section is missing
+    private Map<String, ScrapeSectionStatus> sections;
+    
+    private boolean partial;
+    
     // Constructors
     public LetterboxdScrapeResponse() {}
     
@@ -102,4 +111,28 @@ public class LetterboxdScrapeResponse {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+    
+    public boolean isIncremental() {
+        return incremental;
+    }
+    
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+    
+    public Map<String, ScrapeSectionStatus> getSections() {
+        return sections;
+    }
+    
+    public void setSections(Map<String, ScrapeSectionStatus> sections) {
+        this.sections = sections;
+    }
+    
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
 }
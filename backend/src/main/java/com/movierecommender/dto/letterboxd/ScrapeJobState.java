@@ -0,0 +1,12 @@
+package com.movierecommender.dto.letterboxd;
+
+public enum ScrapeJobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,103 @@
+package com.movierecommender.dto.letterboxd;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScrapeJobStatus {
+    private String jobId;
+    private String username;
+    private ScrapeJobState state;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long elapsedMillis;
+    private Integer queuePosition;
+    private String error;
+    private LetterboxdScrapeResponse result;
+
+    // Constructors
+    public ScrapeJobStatus() {}
+
+    // Getters and setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public ScrapeJobState getState() {
+        return state;
+    }
+
+    public void setState(ScrapeJobState state) {
+        this.state = state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(Integer queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LetterboxdScrapeResponse getResult() {
+        return result;
+    }
+
+    public void setResult(LetterboxdScrapeResponse result) {
+        this.result = result;
+    }
+}
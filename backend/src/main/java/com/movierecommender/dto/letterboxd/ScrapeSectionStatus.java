@@ -0,0 +1,15 @@
+package com.movierecommender.dto.letterboxd;
+
+/**
+ * Outcome of one section (profile, ratings, watchlist) of a scrape
+ */
+public enum ScrapeSectionStatus {
+    COMPLETE,
+    FAILED,
+    TIMED_OUT,
+    SKIPPED;
+
+    public boolean isComplete() {
+        return this == COMPLETE;
+    }
+}
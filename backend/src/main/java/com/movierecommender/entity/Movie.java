@@ -2,10 +2,16 @@ package com.movierecommender.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+    @Index(name = "ux_movies_slug", columnList = "slug", unique = true),
+    @Index(name = "ix_movies_title_release_year_slug", columnList = "title, release_year, slug"),
+    @Index(name = "ix_movies_release_year", columnList = "release_year"),
+    @Index(name = "ix_movies_rating", columnList = "rating")
+})
 public class Movie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -23,6 +29,10 @@ public class Movie {
     @Column(length = 1000)
     private String description;
 
+    // Letterboxd film slug, e.g. "the-godfather"
+    @Column(name = "slug")
+    private String slug;
+
     // Default constructor
     public Movie() {}
 
@@ -95,6 +105,14 @@ public class Movie {
         this.description = description;
     }
 
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
     @Override
     public String toString() {
         return "Movie{" +
@@ -105,6 +123,7 @@ public class Movie {
                 ", releaseYear=" + releaseYear +
                 ", rating=" + rating +
                 ", description='" + description + '\'' +
+                ", slug='" + slug + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,113 @@
+package com.movierecommender.entity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a batch precompute of every user's recommendations. Users are
+ * walked in id order and the cursor is advanced in the same transaction that
+ * writes each page's lists, so an interrupted run resumes after the last
+ * page it stored.
+ */
+@Entity
+@Table(name = "precompute_runs")
+public class PrecomputeRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "precompute_runs_seq")
+    @SequenceGenerator(name = "precompute_runs_seq", sequenceName = "precompute_runs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "cursor_user_id")
+    private Long cursorUserId = 0L;
+
+    private int users;
+
+    private long recommendations;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    // Default constructor
+    public PrecomputeRun() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getCursorUserId() {
+        return cursorUserId;
+    }
+
+    public void setCursorUserId(Long cursorUserId) {
+        this.cursorUserId = cursorUserId;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public long getRecommendations() {
+        return recommendations;
+    }
+
+    public void setRecommendations(long recommendations) {
+        this.recommendations = recommendations;
+    }
+
+    @Override
+    public String toString() {
+        return "PrecomputeRun{" +
+                "id=" + id +
+                ", status=" + status +
+                ", cursorUserId=" + cursorUserId +
+                ", users=" + users +
+                ", recommendations=" + recommendations +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.movierecommender.entity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ratings",
+       uniqueConstraints = @UniqueConstraint(name = "ux_ratings_user_film", columnNames = {"user_id", "film_slug"}))
+public class Rating {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "movie_id")
+    private Movie movie;
+
+    @Column(name = "film_slug", nullable = false)
+    private String filmSlug;
+
+    // Letterboxd star rating (0.5-5), null for watched-but-unrated films
+    private Double rating;
+
+    @Column(name = "watched_date")
+    private String watchedDate;
+
+    @Column(length = 4000)
+    private String review;
+
+    @Column(name = "scraped_at")
+    private LocalDateTime scrapedAt;
+
+    // Default constructor
+    public Rating() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public String getFilmSlug() {
+        return filmSlug;
+    }
+
+    public void setFilmSlug(String filmSlug) {
+        this.filmSlug = filmSlug;
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+
+    public String getWatchedDate() {
+        return watchedDate;
+    }
+
+    public void setWatchedDate(String watchedDate) {
+        this.watchedDate = watchedDate;
+    }
+
+    public String getReview() {
+        return review;
+    }
+
+    public void setReview(String review) {
+        this.review = review;
+    }
+
+    public LocalDateTime getScrapedAt() {
+        return scrapedAt;
+    }
+
+    public void setScrapedAt(LocalDateTime scrapedAt) {
+        this.scrapedAt = scrapedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Rating{" +
+                "id=" + id +
+                ", filmSlug='" + filmSlug + '\'' +
+                ", rating=" + rating +
+                ", watchedDate='" + watchedDate + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,152 @@
+package com.movierecommender.entity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a bulk refresh of all linked Letterboxd accounts. The cursor
+ * is advanced after each page of scrapes completes so an interrupted run
+ * resumes where it left off.
+ */
+@Entity
+@Table(name = "refresh_runs")
+public class RefreshRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_runs_seq")
+    @SequenceGenerator(name = "refresh_runs_seq", sequenceName = "refresh_runs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    // Accounts last scraped before this instant are considered stale for the run
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Phase phase = Phase.NEVER_SCRAPED;
+
+    @Column(name = "cursor_scraped_at")
+    private LocalDateTime cursorScrapedAt;
+
+    @Column(name = "cursor_user_id")
+    private Long cursorUserId = 0L;
+
+    private int attempted;
+
+    private int succeeded;
+
+    private int failed;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+
+    // Never-scraped accounts go first, then the rest from least to most recently scraped
+    public enum Phase {
+        NEVER_SCRAPED,
+        STALE
+    }
+
+    // Default constructor
+    public RefreshRun() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    public LocalDateTime getCursorScrapedAt() {
+        return cursorScrapedAt;
+    }
+
+    public void setCursorScrapedAt(LocalDateTime cursorScrapedAt) {
+        this.cursorScrapedAt = cursorScrapedAt;
+    }
+
+    public Long getCursorUserId() {
+        return cursorUserId;
+    }
+
+    public void setCursorUserId(Long cursorUserId) {
+        this.cursorUserId = cursorUserId;
+    }
+
+    public int getAttempted() {
+        return attempted;
+    }
+
+    public void setAttempted(int attempted) {
+        this.attempted = attempted;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshRun{" +
+                "id=" + id +
+                ", status=" + status +
+                ", phase=" + phase +
+                ", attempted=" + attempted +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+}
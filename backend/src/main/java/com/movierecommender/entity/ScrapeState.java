@@ -0,0 +1,121 @@
+package com.movierecommender.entity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user high-water marks from the last stored scrape, used to ask the
+ * scraper only for entries newer than what is already stored.
+ */
+@Entity
+@Table(name = "scrape_states",
+       uniqueConstraints = @UniqueConstraint(name = "ux_scrape_states_user", columnNames = "user_id"))
+public class ScrapeState {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scrape_states_seq")
+    @SequenceGenerator(name = "scrape_states_seq", sequenceName = "scrape_states_seq", allocationSize = 50)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Latest watched date (yyyy-MM-dd) among stored ratings
+    @Column(name = "rating_watermark")
+    private String ratingWatermark;
+
+    // Latest added date (yyyy-MM-dd) among stored watchlist entries
+    @Column(name = "watchlist_watermark")
+    private String watchlistWatermark;
+
+    // Newest rating slugs in scrape order, newline separated
+    @Column(name = "rating_head_slugs", length = 4000)
+    private String ratingHeadSlugs;
+
+    // Newest watchlist slugs in scrape order, newline separated
+    @Column(name = "watchlist_head_slugs", length = 4000)
+    private String watchlistHeadSlugs;
+
+    @Column(name = "last_scraped_at")
+    private LocalDateTime lastScrapedAt;
+
+    @Column(name = "last_full_scrape_at")
+    private LocalDateTime lastFullScrapeAt;
+
+    // Default constructor
+    public ScrapeState() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getRatingWatermark() {
+        return ratingWatermark;
+    }
+
+    public void setRatingWatermark(String ratingWatermark) {
+        this.ratingWatermark = ratingWatermark;
+    }
+
+    public String getWatchlistWatermark() {
+        return watchlistWatermark;
+    }
+
+    public void setWatchlistWatermark(String watchlistWatermark) {
+        this.watchlistWatermark = watchlistWatermark;
+    }
+
+    public String getRatingHeadSlugs() {
+        return ratingHeadSlugs;
+    }
+
+    public void setRatingHeadSlugs(String ratingHeadSlugs) {
+        this.ratingHeadSlugs = ratingHeadSlugs;
+    }
+
+    public String getWatchlistHeadSlugs() {
+        return watchlistHeadSlugs;
+    }
+
+    public void setWatchlistHeadSlugs(String watchlistHeadSlugs) {
+        this.watchlistHeadSlugs = watchlistHeadSlugs;
+    }
+
+    public LocalDateTime getLastScrapedAt() {
+        return lastScrapedAt;
+    }
+
+    public void setLastScrapedAt(LocalDateTime lastScrapedAt) {
+        this.lastScrapedAt = lastScrapedAt;
+    }
+
+    public LocalDateTime getLastFullScrapeAt() {
+        return lastFullScrapeAt;
+    }
+
+    public void setLastFullScrapeAt(LocalDateTime lastFullScrapeAt) {
+        this.lastFullScrapeAt = lastFullScrapeAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ScrapeState{" +
+                "id=" + id +
+                ", ratingWatermark='" + ratingWatermark + '\'' +
+                ", watchlistWatermark='" + watchlistWatermark + '\'' +
+                ", lastScrapedAt=" + lastScrapedAt +
+                '}';
+    }
+}
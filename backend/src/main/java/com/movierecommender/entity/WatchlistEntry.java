@@ -0,0 +1,90 @@
+package com.movierecommender.entity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "watchlist_entries",
+       uniqueConstraints = @UniqueConstraint(name = "ux_watchlist_user_film", columnNames = {"user_id", "film_slug"}))
+public class WatchlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "movie_id")
+    private Movie movie;
+
+    @Column(name = "film_slug", nullable = false)
+    private String filmSlug;
+
+    @Column(name = "added_date")
+    private String addedDate;
+
+    @Column(name = "scraped_at")
+    private LocalDateTime scrapedAt;
+
+    // Default constructor
+    public WatchlistEntry() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public String getFilmSlug() {
+        return filmSlug;
+    }
+
+    public void setFilmSlug(String filmSlug) {
+        this.filmSlug = filmSlug;
+    }
+
+    public String getAddedDate() {
+        return addedDate;
+    }
+
+    public void setAddedDate(String addedDate) {
+        this.addedDate = addedDate;
+    }
+
+    public LocalDateTime getScrapedAt() {
+        return scrapedAt;
+    }
+
+    public void setScrapedAt(LocalDateTime scrapedAt) {
+        this.scrapedAt = scrapedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "WatchlistEntry{" +
+                "id=" + id +
+                ", filmSlug='" + filmSlug + '\'' +
+                ", addedDate='" + addedDate + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.movierecommender.precompute;
+
+import com.movierecommender.config.PrecomputeConfig;
+import com.movierecommender.recommend.AlsModel;
+import com.movierecommender.recommend.ItemBasedModel;
+import com.movierecommender.recommend.Recommendation;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code recommendations} table: each user's top-N list per model as
+ * written by {@link RecommendationPrecomputeService}, read back in one primary
+ * key range scan. A user's lists are dropped whenever their stored ratings
+ * change, and are only served while the model that computed them is still
+ * the current one; otherwise they are computed live until the next run.
+ */
+@Component
+public class PrecomputedRecommendations {
+
+    public static final String ITEM_BASED = "item";
+    public static final String ALS = "als";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO recommendations (user_id, model, item_rank, film_slug, score, run_id, " +
+        "model_generation, model_built_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PrecomputeConfig.PrecomputeProperties properties;
+    private final TransactionTemplate readTransaction;
+
+    public PrecomputedRecommendations(JdbcTemplate jdbcTemplate, PrecomputeConfig.PrecomputeProperties properties,
+                                      PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * A user's stored top {@code limit} films from one model; empty when none
+     * are stored, they were computed by another version of the model than
+     * {@code current}, or more were asked for than a run stores
+     */
+    public Optional<List<Recommendation>> find(Long userId, String model, ModelVersion current, int limit) {
+        if (limit < 1 || limit > properties.getDepth()) {
+            return Optional.empty();
+        }
+        List<Recommendation> stored = readTransaction.execute(status -> jdbcTemplate.query(
+            "SELECT film_slug, score FROM recommendations WHERE user_id = ? AND model = ? " +
+            "AND model_generation = ? AND model_built_at = ? ORDER BY item_rank LIMIT ?",
+            (rs, row) -> new Recommendation(rs.getString(1), rs.getFloat(2)),
+            userId, model, current.generation(), current.builtAtMillis(), limit));
+        return stored == null || stored.isEmpty() ? Optional.empty() : Optional.of(stored);
+    }
+
+    /**
+     * Replace the stored lists of the given users, in the caller's transaction
+     *
+     * @return the number of rows written
+     */
+    int replace(long runId, List<UserLists> lists) {
+        List<Object[]> deletes = new ArrayList<>(lists.size());
+        List<Object[]> inserts = new ArrayList<>();
+        for (UserLists user : lists) {
+            deletes.add(new Object[] { user.userId() });
+            addRows(inserts, runId, user.userId(), ITEM_BASED, user.itemVersion(), user.itemBased());
+            addRows(inserts, runId, user.userId(), ALS, user.alsVersion(), user.als());
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM recommendations WHERE user_id = ?", deletes);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        return inserts.size();
+    }
+
+    public void delete(Long userId) {
+        jdbcTemplate.update("DELETE FROM recommendations WHERE user_id = ?", userId);
+    }
+
+    private static void addRows(List<Object[]> rows, long runId, Long userId, String model, ModelVersion version,
+                                List<Recommendation> list) {
+        for (int rank = 0; rank < list.size(); rank++) {
+            Recommendation recommendation = list.get(rank);
+            rows.add(new Object[] {
+                userId, model, rank, recommendation.getFilmSlug(), recommendation.getScore(), runId,
+                version.generation(), version.builtAtMillis()
+            });
+        }
+    }
+
+    /**
+     * One user's freshly computed lists, with the models they were computed from
+     */
+    record UserLists(Long userId, ModelVersion itemVersion, List<Recommendation> itemBased,
+                     ModelVersion alsVersion, List<Recommendation> als) {
+    }
+
+    /**
+     * Identifies a published model. Generations restart with the application
+     * unless a snapshot is loaded, so the build time tells apart models of the
+     * same generation; snapshots keep both.
+     */
+    public record ModelVersion(long generation, long builtAtMillis) {
+
+        public static ModelVersion of(ItemBasedModel model) {
+            return new ModelVersion(model.getGeneration(), model.getBuiltAt().toEpochMilli());
+        }
+
+        public static ModelVersion of(AlsModel model) {
+            return new ModelVersion(model.getGeneration(), model.getBuiltAt().toEpochMilli());
+        }
+    }
+}
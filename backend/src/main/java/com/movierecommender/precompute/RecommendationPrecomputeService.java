@@ -0,0 +1,309 @@
+package com.movierecommender.precompute;
+
+import com.movierecommender.config.PrecomputeConfig;
+import com.movierecommender.entity.PrecomputeRun;
+import com.movierecommender.recommend.AlsRecommender;
+import com.movierecommender.recommend.RecommendationEngine;
+import com.movierecommender.repository.PrecomputeRunRepository;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes every user's recommendations ahead of time and stores them in
+ * {@link PrecomputedRecommendations}, so serving them is a single indexed
+ * read. Users with stored ratings are walked in id order a page at a time;
+ * each page is split into chunks scored in parallel on a dedicated fork-join
+ * pool, then written with batched inserts in one transaction together with the
+ * run's cursor. An unfinished run resumes at startup after its last stored page;
+ * a run that fails is marked failed and the next one starts afresh.
+ * <p>
+ * A page is scored outside the write transaction, so a user scraped meanwhile
+ * would get lists computed from their old ratings written over the scrape's
+ * delete. The write only keeps users whose scrape state still has the
+ * {@code last_scraped_at} read with the page, checked with an update of that
+ * row which also holds off a concurrent scrape until the page commits.
+ */
+@Service
+public class RecommendationPrecomputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationPrecomputeService.class);
+
+    private static final String USERS_QUERY =
+        "SELECT u.id, u.letterboxd_username, s.last_scraped_at FROM users u " +
+        "JOIN scrape_states s ON s.user_id = u.id " +
+        "WHERE u.id > ? AND u.letterboxd_username IS NOT NULL " +
+        "AND EXISTS (SELECT 1 FROM ratings r WHERE r.user_id = u.id) " +
+        "ORDER BY u.id LIMIT ?";
+
+    // Matches (and locks) the scrape state only while it is as the page saw it
+    private static final String UNCHANGED_SQL =
+        "UPDATE scrape_states SET last_scraped_at = last_scraped_at " +
+        "WHERE user_id = ? AND last_scraped_at = ? " +
+        "AND EXISTS (SELECT 1 FROM users u WHERE u.id = scrape_states.user_id AND u.letterboxd_username = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PrecomputedRecommendations store;
+    private final PrecomputeRunRepository precomputeRunRepository;
+    private final RecommendationEngine recommendationEngine;
+    private final AlsRecommender alsRecommender;
+    private final PrecomputeConfig.PrecomputeProperties properties;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommendation-precompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelRequested;
+    private volatile double lastPageUsersPerSecond;
+
+    public RecommendationPrecomputeService(JdbcTemplate jdbcTemplate,
+                                           PrecomputedRecommendations store,
+                                           PrecomputeRunRepository precomputeRunRepository,
+                                           RecommendationEngine recommendationEngine,
+                                           AlsRecommender alsRecommender,
+                                           PrecomputeConfig.PrecomputeProperties properties,
+                                           PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = store;
+        this.precomputeRunRepository = precomputeRunRepository;
+        this.recommendationEngine = recommendationEngine;
+        this.alsRecommender = alsRecommender;
+        this.properties = properties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        int parallelism = properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @Scheduled(cron = "${recommender.precompute.cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled() && start().isEmpty()) {
+            logger.info("Skipping scheduled recommendation precompute, a run is already in progress");
+        }
+    }
+
+    /**
+     * Pick up a run that was interrupted by a shutdown
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        precomputeRunRepository.findFirstByStatusOrderByIdDesc(PrecomputeRun.Status.RUNNING).ifPresent(run -> {
+            if (running.compareAndSet(false, true)) {
+                logger.info("Resuming recommendation precompute run {} ({} users done)", run.getId(), run.getUsers());
+                runner.execute(() -> execute(run));
+            }
+        });
+    }
+
+    /**
+     * Start a run now; empty when one is already running
+     */
+    public Optional<PrecomputeRun> start() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        PrecomputeRun run = new PrecomputeRun();
+        run.setStartedAt(LocalDateTime.now());
+        PrecomputeRun saved = precomputeRunRepository.save(run);
+        logger.info("Starting recommendation precompute run {}", saved.getId());
+        runner.execute(() -> execute(saved));
+        return Optional.of(saved);
+    }
+
+    /**
+     * Stop the current run after the page in progress; returns false when none is running
+     */
+    public boolean cancel() {
+        if (!running.get()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("scheduled", properties.isEnabled());
+        status.put("cron", properties.getCron());
+        status.put("depth", properties.getDepth());
+        status.put("parallelism", pool.getParallelism());
+        precomputeRunRepository.findFirstByOrderByIdDesc().ifPresent(run -> {
+            Map<String, Object> last = new LinkedHashMap<>();
+            last.put("id", run.getId());
+            last.put("status", run.getStatus());
+            last.put("startedAt", run.getStartedAt());
+            last.put("finishedAt", run.getFinishedAt());
+            last.put("users", run.getUsers());
+            last.put("recommendations", run.getRecommendations());
+            LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+            double seconds = Math.max(1, Duration.between(run.getStartedAt(), end).toMillis()) / 1000.0;
+            last.put("usersPerSecond", run.getUsers() / seconds);
+            last.put("lastPageUsersPerSecond", lastPageUsersPerSecond);
+            status.put("lastRun", last);
+        });
+        return status;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void execute(PrecomputeRun run) {
+        try {
+            while (!cancelRequested) {
+                List<Target> page = nextPage(run.getCursorUserId());
+                if (page.isEmpty()) {
+                    break;
+                }
+                long started = System.nanoTime();
+                List<PrecomputedRecommendations.UserLists> lists = computePage(page);
+                PrecomputeRun checkpoint = run;
+                run = writeTransaction.execute(status -> {
+                    int rows = store.replace(checkpoint.getId(), unchanged(page, lists));
+                    checkpoint.setCursorUserId(page.get(page.size() - 1).userId);
+                    checkpoint.setUsers(checkpoint.getUsers() + page.size());
+                    checkpoint.setRecommendations(checkpoint.getRecommendations() + rows);
+                    return precomputeRunRepository.save(checkpoint);
+                });
+                long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+                lastPageUsersPerSecond = page.size() * 1000.0 / elapsedMillis;
+                logger.info("Recommendation precompute run {}: {} users done, page of {} in {} ms ({} users/s)",
+                            run.getId(), run.getUsers(), page.size(), elapsedMillis,
+                            Math.round(lastPageUsersPerSecond));
+            }
+            run.setStatus(cancelRequested ? PrecomputeRun.Status.CANCELLED : PrecomputeRun.Status.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            precomputeRunRepository.save(run);
+            double seconds = Math.max(1, Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis()) / 1000.0;
+            logger.info("Recommendation precompute run {} {}: {} users, {} recommendations ({} users/s)",
+                        run.getId(), run.getStatus(), run.getUsers(), run.getRecommendations(),
+                        Math.round(run.getUsers() / seconds));
+        } catch (RuntimeException e) {
+            if (runner.isShutdown()) {
+                logger.warn("Recommendation precompute run {} stopped by shutdown, will resume from its last checkpoint",
+                            run.getId());
+            } else {
+                logger.error("Recommendation precompute run {} failed", run.getId(), e);
+                markFailed(run);
+            }
+        } finally {
+            cancelRequested = false;
+            running.set(false);
+        }
+    }
+
+    private void markFailed(PrecomputeRun run) {
+        try {
+            PrecomputeRun failed = precomputeRunRepository.findById(run.getId()).orElse(run);
+            failed.setStatus(PrecomputeRun.Status.FAILED);
+            failed.setFinishedAt(LocalDateTime.now());
+            precomputeRunRepository.save(failed);
+        } catch (RuntimeException e) {
+            logger.error("Could not mark recommendation precompute run {} as failed", run.getId(), e);
+        }
+    }
+
+    private List<Target> nextPage(Long cursorUserId) {
+        return readTransaction.execute(status -> jdbcTemplate.query(USERS_QUERY,
+            (rs, row) -> new Target(rs.getLong(1), rs.getString(2), rs.getObject(3)),
+            cursorUserId, properties.getPageSize()));
+    }
+
+    /**
+     * The lists of users not scraped or relinked since the page was read, in
+     * the caller's transaction; the others are left to their live computation
+     */
+    private List<PrecomputedRecommendations.UserLists> unchanged(List<Target> page,
+                                                                 List<PrecomputedRecommendations.UserLists> lists) {
+        List<Object[]> checks = new ArrayList<>(page.size());
+        for (Target target : page) {
+            checks.add(new Object[] { target.userId, target.lastScrapedAt, target.letterboxdUsername });
+        }
+        int[] matched = jdbcTemplate.batchUpdate(UNCHANGED_SQL, checks);
+        List<PrecomputedRecommendations.UserLists> kept = new ArrayList<>(lists.size());
+        for (int i = 0; i < lists.size(); i++) {
+            if (matched[i] != 0) {
+                kept.add(lists.get(i));
+            }
+        }
+        if (kept.size() < lists.size()) {
+            logger.info("Recommendation precompute skipped {} users scraped while their page was scored",
+                        lists.size() - kept.size());
+        }
+        return kept;
+    }
+
+    /**
+     * Score a page of users in parallel chunks; the lists come back in page order
+     */
+    private List<PrecomputedRecommendations.UserLists> computePage(List<Target> page) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<ForkJoinTask<List<PrecomputedRecommendations.UserLists>>> chunks = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += chunkSize) {
+            List<Target> chunk = page.subList(from, Math.min(page.size(), from + chunkSize));
+            chunks.add(pool.submit(() -> chunk.stream().map(this::compute).toList()));
+        }
+        List<PrecomputedRecommendations.UserLists> lists = new ArrayList<>(page.size());
+        for (ForkJoinTask<List<PrecomputedRecommendations.UserLists>> chunk : chunks) {
+            lists.addAll(chunk.join());
+        }
+        return lists;
+    }
+
+    private PrecomputedRecommendations.UserLists compute(Target target) {
+        int depth = properties.getDepth();
+        // Taken first, so a list computed by a model published meanwhile is only ever marked older
+        PrecomputedRecommendations.ModelVersion itemVersion =
+            PrecomputedRecommendations.ModelVersion.of(recommendationEngine.getModel());
+        PrecomputedRecommendations.ModelVersion alsVersion =
+            PrecomputedRecommendations.ModelVersion.of(alsRecommender.getModel());
+        return new PrecomputedRecommendations.UserLists(
+            target.userId,
+            itemVersion, recommendationEngine.computeRecommendations(target.letterboxdUsername, depth),
+            alsVersion, alsRecommender.computeRecommendations(target.userId, target.letterboxdUsername, depth));
+    }
+
+    private static class Target {
+        final Long userId;
+        final String letterboxdUsername;
+        // As read, so it binds back unchanged whatever type the driver stores it as
+        final Object lastScrapedAt;
+
+        Target(Long userId, String letterboxdUsername, Object lastScrapedAt) {
+            this.userId = userId;
+            this.letterboxdUsername = letterboxdUsername;
+            this.lastScrapedAt = lastScrapedAt;
+        }
+    }
+}
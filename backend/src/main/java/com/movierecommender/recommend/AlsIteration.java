@@ -0,0 +1,37 @@
+package com.movierecommender.recommend;
+
+/**
+ * Timing and training error of one ALS sweep over users and films.
+ */
+public class AlsIteration {
+    private final int iteration;
+    private final long millis;
+    private final double rmse;
+
+    public AlsIteration(int iteration, long millis, double rmse) {
+        this.iteration = iteration;
+        this.millis = millis;
+        this.rmse = rmse;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public double getRmse() {
+        return rmse;
+    }
+
+    @Override
+    public String toString() {
+        return "AlsIteration{" +
+                "iteration=" + iteration +
+                ", millis=" + millis +
+                ", rmse=" + rmse +
+                '}';
+    }
+}
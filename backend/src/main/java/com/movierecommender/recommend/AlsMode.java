@@ -0,0 +1,11 @@
+package com.movierecommender.recommend;
+
+/**
+ * Objectives supported by {@link AlsTrainer}.
+ */
+public enum AlsMode {
+    /** Fit observed star ratings around the global mean; watchlists are ignored */
+    EXPLICIT,
+    /** Fit a confidence-weighted preference over every film, with ratings and watchlist entries as positive signal */
+    IMPLICIT
+}
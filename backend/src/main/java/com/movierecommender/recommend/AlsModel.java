@@ -0,0 +1,229 @@
+package com.movierecommender.recommend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable matrix-factorisation model produced by {@link AlsTrainer}: user
+ * and film dictionaries, the training matrix and the learned factors as flat
+ * row-major arrays. Users missing from the model are folded in on the fly by
+ * solving their factors against the fixed film factors.
+ */
+public class AlsModel {
+
+    private static final float MIN_RATING = 0.5f;
+    private static final float MAX_RATING = 5.0f;
+
+    /** Catalogues at least this large are scored through packed int8 film factors */
+    private static final int PACK_MIN_FILMS = 10_000;
+
+    private final long generation;
+    private final AlsMode mode;
+    private final int rank;
+    private final float lambda;
+    private final float alpha;
+    private final float mean;
+    private final SlugDictionary users;
+    private final SlugDictionary films;
+    private final RatingMatrix matrix;
+    private final float[] userFactors;
+    private final float[] itemFactors;
+    private final double[] itemGram;
+    private final PackedFactors packedItems;
+    private final List<AlsIteration> iterations;
+    private final Instant builtAt;
+    private final long buildMillis;
+
+    public AlsModel(long generation, AlsMode mode, int rank, float lambda, float alpha, float mean,
+                    SlugDictionary users, SlugDictionary films, RatingMatrix matrix,
+                    float[] userFactors, float[] itemFactors, double[] itemGram,
+                    List<AlsIteration> iterations, Instant builtAt, long buildMillis) {
+        this.generation = generation;
+        this.mode = mode;
+        this.rank = rank;
+        this.lambda = lambda;
+        this.alpha = alpha;
+        this.mean = mean;
+        this.users = users;
+        this.films = films;
+        this.matrix = matrix;
+        this.userFactors = userFactors;
+        this.itemFactors = itemFactors;
+        this.itemGram = itemGram;
+        this.packedItems = films.size() >= PACK_MIN_FILMS && FactorScorer.prefersPacked()
+            ? PackedFactors.of(itemFactors, films.size(), rank)
+            : null;
+        this.iterations = List.copyOf(iterations);
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+    }
+
+    public static AlsModel empty() {
+        return new AlsModel(0, AlsMode.EXPLICIT, 1, 0f, 0f, 0f, new SlugDictionary(16), new SlugDictionary(16),
+                            new RatingMatrix.Builder().build(0, 0), new float[0], new float[0], null,
+                            List.of(), Instant.EPOCH, 0);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public AlsMode getMode() {
+        return mode;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public float getLambda() {
+        return lambda;
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /** Global rating mean the explicit model predicts offsets from; zero in implicit mode */
+    public float getMean() {
+        return mean;
+    }
+
+    public SlugDictionary getUsers() {
+        return users;
+    }
+
+    public SlugDictionary getFilms() {
+        return films;
+    }
+
+    public RatingMatrix getMatrix() {
+        return matrix;
+    }
+
+    /** User factors, {@code rank} floats per user in dictionary order */
+    public float[] userFactors() {
+        return userFactors;
+    }
+
+    /** Film factors, {@code rank} floats per film in dictionary order */
+    public float[] itemFactors() {
+        return itemFactors;
+    }
+
+    /** Gram matrix of the film factors, kept for implicit fold-in; {@code null} in explicit mode */
+    double[] itemGram() {
+        return itemGram;
+    }
+
+    public List<AlsIteration> getIterations() {
+        return iterations;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Top-N unseen films for a user that was part of training, or an empty
+     * list when the user is unknown to this model
+     */
+    public List<Recommendation> recommend(String username, int limit) {
+        int user = users.indexOf(username);
+        if (user < 0 || limit < 1) {
+            return List.of();
+        }
+        int start = matrix.userStart(user);
+        int end = matrix.userEnd(user);
+        if (start == end) {
+            return List.of();
+        }
+        long[] seen = new long[(films.size() + 63) >>> 6];
+        int[] userItems = matrix.userItems();
+        for (int p = start; p < end; p++) {
+            seen[userItems[p] >>> 6] |= 1L << userItems[p];
+        }
+        return topK(userFactors, user * rank, seen, limit);
+    }
+
+    /**
+     * Top-N unseen films for a user described by parallel slug/value arrays,
+     * folding them into the model without retraining. Values are ratings in
+     * explicit mode and signal strengths in implicit mode.
+     */
+    public List<Recommendation> recommend(String[] slugs, float[] values, int limit) {
+        return limit < 1 ? List.of() : recommend(foldIn(slugs, values), limit);
+    }
+
+    /**
+     * Top-N unseen films for a user folded into this model
+     */
+    public List<Recommendation> recommend(UserVector user, int limit) {
+        if (user == null || limit < 1) {
+            return List.of();
+        }
+        long[] seen = new long[(films.size() + 63) >>> 6];
+        for (int item : user.items()) {
+            seen[item >>> 6] |= 1L << item;
+        }
+        return topK(user.factors(), 0, seen, limit);
+    }
+
+    /**
+     * Solve a user's factors against the fixed film factors, as one half-step
+     * of training would. Returns null when none of the films are in the model.
+     */
+    public UserVector foldIn(String[] slugs, float[] values) {
+        int[] items = new int[slugs.length];
+        float[] known = new float[slugs.length];
+        int count = 0;
+        for (int i = 0; i < slugs.length; i++) {
+            int item = films.indexOf(slugs[i]);
+            if (item >= 0) {
+                items[count] = item;
+                known[count] = values[i];
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        float[] vector = new float[rank];
+        AlsTrainer.solveRow(mode, rank, lambda, alpha, mean, itemFactors, itemGram, items, known, 0, count,
+                            vector, 0, new double[rank * rank], new double[rank]);
+        return new UserVector(vector, Arrays.copyOf(items, count));
+    }
+
+    private List<Recommendation> topK(float[] vector, int offset, long[] seen, int limit) {
+        TopKSelector topK = new TopKSelector(limit);
+        FactorScorer.topK(itemFactors, packedItems, films.size(), rank, vector, offset, seen, topK);
+
+        int[] ids = new int[topK.size()];
+        float[] scores = new float[topK.size()];
+        int count = topK.drainDescending(ids, scores);
+        List<Recommendation> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float score = scores[i];
+            if (mode == AlsMode.EXPLICIT) {
+                score = Math.max(MIN_RATING, Math.min(MAX_RATING, mean + score));
+            }
+            result.add(new Recommendation(films.get(ids[i]), score));
+        }
+        return result;
+    }
+
+    /**
+     * Factors folded in for one user and the films they came from, which are
+     * left out of that user's recommendations. Only valid for the model that
+     * solved them.
+     */
+    public record UserVector(float[] factors, int[] items) {
+    }
+}
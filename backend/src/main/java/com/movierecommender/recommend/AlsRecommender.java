@@ -0,0 +1,465 @@
+package com.movierecommender.recommend;
+
+import com.movierecommender.config.AlsConfig;
+import com.movierecommender.config.RecommenderConfig;
+import com.movierecommender.entity.User;
+import com.movierecommender.repository.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trains and serves the {@link AlsModel}. Training reads stored ratings (and,
+ * in implicit mode, unrated diary entries and watchlists) straight from the
+ * database, runs on a dedicated fork-join pool and swaps the finished model in
+ * atomically for readers. Trained models are saved as snapshots; at startup
+ * the snapshot is served immediately and only retrained if the stored data or
+ * the model settings have changed since it was written. Between training runs,
+ * users whose stored entries change are folded into the current model one at a
+ * time and served from {@link FoldedUsers} until the next run includes them.
+ * Top-N lists are cached per user until they are folded in again or another
+ * model is published.
+ */
+@Service
+public class AlsRecommender {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlsRecommender.class);
+
+    private static final String WATCHLIST_QUERY =
+        "SELECT u.letterboxd_username, w.film_slug FROM watchlist_entries w " +
+        "JOIN users u ON u.id = w.user_id WHERE u.letterboxd_username IS NOT NULL";
+    private static final String RATINGS_QUERY =
+        "SELECT u.letterboxd_username, r.film_slug, r.rating FROM ratings r " +
+        "JOIN users u ON u.id = r.user_id WHERE u.letterboxd_username IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AlsConfig.AlsProperties properties;
+    private final TransactionTemplate readTransaction;
+    private final ForkJoinPool pool;
+    private final ReentrantLock trainLock = new ReentrantLock();
+    private final AtomicBoolean trainingScheduled = new AtomicBoolean();
+    private final ExecutorService trainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "als-train");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RecommendationCache cache;
+    private final FoldedUsers foldedUsers = new FoldedUsers();
+    private final AtomicLong foldInSequence = new AtomicLong();
+    // Users waiting for a fold-in, by normalised username; repeated updates share one
+    private final Map<String, Long> pendingFoldIns = new ConcurrentHashMap<>();
+    private final ExecutorService foldInExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "als-fold-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile AlsModel model = AlsModel.empty();
+    // Fingerprint of the stored rows the current model was trained from
+    private volatile long modelFingerprint = new SourceFingerprint().value();
+
+    public AlsRecommender(JdbcTemplate jdbcTemplate, AlsConfig.AlsProperties properties,
+                          RecommenderConfig.RecommenderProperties recommenderProperties,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.cache = new RecommendationCache(recommenderProperties.getCacheMaxUsers(),
+                                             recommenderProperties.getCacheDepth());
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        int parallelism = properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void trainOnStartup() {
+        boolean restored = loadSnapshot();
+        if (!properties.isTrainOnStartup()) {
+            return;
+        }
+        if (restored && isCurrent(model, modelFingerprint)) {
+            logger.info("ALS model snapshot matches stored data and settings; skipping startup training");
+        } else {
+            scheduleTraining();
+        }
+    }
+
+    /**
+     * Queue a background training run; requests arriving while one is queued are coalesced
+     */
+    public void scheduleTraining() {
+        if (trainingScheduled.compareAndSet(false, true)) {
+            trainExecutor.execute(() -> {
+                trainingScheduled.set(false);
+                try {
+                    train();
+                } catch (RuntimeException e) {
+                    logger.error("Background ALS training failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Train a new model from everything stored and publish it
+     */
+    public AlsModel train() {
+        trainLock.lock();
+        try {
+            long started = System.nanoTime();
+            SlugDictionary users = new SlugDictionary(Math.max(16, model.getUsers().size()));
+            SlugDictionary films = new SlugDictionary(Math.max(16, model.getFilms().size()));
+            RatingMatrix.Builder builder = new RatingMatrix.Builder();
+            SourceFingerprint fingerprint = new SourceFingerprint();
+
+            long trainedThrough = foldInSequence.get();
+            readTrainingRows(properties.getMode(), (user, film, value) -> {
+                builder.add(users.add(user), films.add(film), value);
+                fingerprint.add(user, film, value);
+            });
+            RatingMatrix matrix = builder.build(users.size(), films.size());
+            long loadMillis = (System.nanoTime() - started) / 1_000_000;
+            logger.info("Loaded ALS training data: {} users, {} films, {} entries in {} ms",
+                        matrix.getNumUsers(), matrix.getNumItems(), matrix.getNumRatings(), loadMillis);
+
+            AlsTrainer trainer = new AlsTrainer(properties.getMode(), properties.getRank(), properties.getIterations(),
+                                                properties.getLambda(), properties.getAlpha(), properties.getSeed(),
+                                                pool);
+            AlsModel trained = trainer.train(model.getGeneration() + 1, users, films, matrix,
+                iteration -> logger.info("ALS iteration {}/{}: {} ms, training RMSE {}",
+                                         iteration.getIteration(), properties.getIterations(),
+                                         iteration.getMillis(), String.format(Locale.ROOT, "%.4f", iteration.getRmse())));
+            model = trained;
+            modelFingerprint = fingerprint.value();
+            // Fold-ins that read their entries before training did are part of the new model
+            int retired = foldedUsers.removeIf(entry -> entry.sequence() <= trainedThrough);
+            cache.invalidateAll();
+
+            logger.info("Trained ALS model #{} ({}, rank {}) in {} ms on {} workers; {} folded-in users retired",
+                        trained.getGeneration(), trained.getMode(), trained.getRank(), trained.getBuildMillis(),
+                        pool.getParallelism(), retired);
+            saveSnapshot(trained, fingerprint.value());
+            return trained;
+        } finally {
+            trainLock.unlock();
+        }
+    }
+
+    /**
+     * Top-N recommendations for a user with a linked Letterboxd account. Users
+     * scraped since the last training run are folded into the current model
+     * from their stored entries.
+     */
+    public List<Recommendation> recommend(User user, int limit) {
+        if (user.getLetterboxdUsername() == null || user.getLetterboxdUsername().isBlank()) {
+            return List.of();
+        }
+        AlsModel current = model;
+        String username = normalise(user.getLetterboxdUsername());
+        return cache.get(username, limit, current.getGeneration(), current.getFilms(),
+                         depth -> compute(user.getId(), username, current, depth));
+    }
+
+    /**
+     * Top-N recommendations computed without the per-user cache, for batch jobs
+     * that would otherwise fill it with users nobody is looking at
+     */
+    public List<Recommendation> computeRecommendations(Long userId, String letterboxdUsername, int limit) {
+        if (letterboxdUsername == null || letterboxdUsername.isBlank() || limit < 1) {
+            return List.of();
+        }
+        return compute(userId, normalise(letterboxdUsername), model, limit);
+    }
+
+    private List<Recommendation> compute(Long userId, String username, AlsModel current, int limit) {
+        FoldedUsers.Entry folded = foldedUsers.get(username);
+        if (folded == null && current.getUsers().indexOf(username) >= 0) {
+            return current.recommend(username, limit);
+        }
+        if (folded == null) {
+            folded = foldIn(userId, username, current);
+        } else if (folded.generation() != current.getGeneration()) {
+            // Folded against a model that has since been replaced; the entries still apply
+            folded = new FoldedUsers.Entry(folded.sequence(), current.getGeneration(), folded.slugs(),
+                                           folded.values(), current.foldIn(folded.slugs(), folded.values()));
+            foldedUsers.put(username, folded);
+        }
+        return current.recommend(folded.vector(), limit);
+    }
+
+    /**
+     * Refresh one user's factors from their stored entries without retraining,
+     * in the background and, inside a transaction, once it has committed.
+     * Updates for a user that arrive before the fold-in runs are coalesced.
+     */
+    public void updateUser(Long userId, String letterboxdUsername) {
+        if (letterboxdUsername == null || letterboxdUsername.isBlank()) {
+            return;
+        }
+        String username = normalise(letterboxdUsername);
+        AfterCommit.run(() -> queueFoldIn(userId, username));
+    }
+
+    /**
+     * Forget the fold-in and cached lists of an account that is no longer
+     * linked; its trained factors go with the next training run
+     */
+    public void removeUser(String letterboxdUsername) {
+        if (letterboxdUsername == null || letterboxdUsername.isBlank()) {
+            return;
+        }
+        String username = normalise(letterboxdUsername);
+        pendingFoldIns.remove(username);
+        foldedUsers.remove(username);
+        cache.invalidate(username);
+    }
+
+    private void queueFoldIn(Long userId, String username) {
+        if (pendingFoldIns.put(username, userId) == null) {
+            foldInExecutor.execute(() -> {
+                Long pending = pendingFoldIns.remove(username);
+                if (pending == null) {
+                    return;
+                }
+                try {
+                    FoldedUsers.Entry folded = foldIn(pending, username, model);
+                    cache.invalidate(username);
+                    logger.debug("Folded Letterboxd user {} into ALS model #{} from {} entries", username,
+                                 folded.generation(), folded.slugs().length);
+                } catch (RuntimeException e) {
+                    logger.warn("ALS fold-in of Letterboxd user {} failed: {}", username, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private FoldedUsers.Entry foldIn(Long userId, String username, AlsModel current) {
+        // Taken before the entries are read, so a training run that starts later sees at least as much
+        long sequence = foldInSequence.incrementAndGet();
+        UserEntries entries = loadEntries(userId, current.getMode());
+        String[] slugs = entries.slugs();
+        float[] values = entries.values();
+        FoldedUsers.Entry folded = new FoldedUsers.Entry(sequence, current.getGeneration(), slugs, values,
+                                                         current.foldIn(slugs, values));
+        foldedUsers.put(username, folded);
+        return folded;
+    }
+
+    /**
+     * Replace the current model with the saved snapshot, if there is a readable
+     * one. Requests already scoring against the old model finish on it.
+     *
+     * @return whether a snapshot was loaded
+     */
+    public boolean loadSnapshot() {
+        Path file = snapshotFile();
+        if (file == null || !Files.exists(file)) {
+            return false;
+        }
+        trainLock.lock();
+        try {
+            long started = System.nanoTime();
+            ModelSnapshotReader in = ModelSnapshotReader.open(file, ModelSnapshots.ALS);
+            AlsModel loaded = ModelSnapshots.readAls(in);
+            model = loaded;
+            modelFingerprint = in.getSourceFingerprint();
+            cache.invalidateAll();
+            logger.info("Loaded ALS model #{} ({}, rank {}) from {}: {} users, {} films in {} ms",
+                        loaded.getGeneration(), loaded.getMode(), loaded.getRank(), file,
+                        loaded.getUsers().size(), loaded.getFilms().size(), (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Discarding ALS model snapshot {}: {}", file, e.getMessage());
+            return false;
+        } finally {
+            trainLock.unlock();
+        }
+    }
+
+    public AlsModel getModel() {
+        return model;
+    }
+
+    /**
+     * Model statistics for status endpoints
+     */
+    public Map<String, Object> getStats() {
+        AlsModel current = model;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("generation", current.getGeneration());
+        stats.put("mode", current.getMode());
+        stats.put("rank", current.getRank());
+        stats.put("builtAt", current.getBuiltAt().toString());
+        stats.put("buildMillis", current.getBuildMillis());
+        stats.put("users", current.getMatrix().getNumUsers());
+        stats.put("films", current.getMatrix().getNumItems());
+        stats.put("entries", current.getMatrix().getNumRatings());
+        stats.put("iterations", current.getIterations());
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("scoringKernel", FactorScorer.kernelName());
+        stats.put("training", trainLock.isLocked());
+        stats.put("foldedUsers", foldedUsers.size());
+        stats.put("pendingFoldIns", pendingFoldIns.size());
+        stats.put("cache", cache.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        trainExecutor.shutdownNow();
+        foldInExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Whether a model was trained with the configured settings from the same
+     * rows, by content, that training would read now
+     */
+    private boolean isCurrent(AlsModel candidate, long sourceFingerprint) {
+        if (candidate.getMode() != properties.getMode() || candidate.getRank() != properties.getRank()
+            || candidate.getLambda() != properties.getLambda()
+            || (candidate.getMode() == AlsMode.IMPLICIT && candidate.getAlpha() != properties.getAlpha())) {
+            return false;
+        }
+        SourceFingerprint fingerprint = new SourceFingerprint();
+        readTrainingRows(candidate.getMode(), fingerprint::add);
+        return fingerprint.value() == sourceFingerprint;
+    }
+
+    /**
+     * Every stored row training reads, with its username normalised and its
+     * training value. Watchlist rows go first so a rating for the same film
+     * replaces them; both are read in one transaction so they come from the
+     * same snapshot of the database.
+     */
+    private void readTrainingRows(AlsMode mode, TrainingRowHandler handler) {
+        boolean implicit = mode == AlsMode.IMPLICIT;
+        readTransaction.executeWithoutResult(status -> {
+            if (implicit) {
+                float watchlistWeight = properties.getWatchlistWeight();
+                jdbcTemplate.query(WATCHLIST_QUERY, rs -> {
+                    handler.row(normalise(rs.getString(1)), rs.getString(2), watchlistWeight);
+                });
+            }
+            jdbcTemplate.query(ratingsQuery(implicit), rs -> {
+                float rating = rs.getFloat(3);
+                float value = rs.wasNull() ? properties.getUnratedWeight() : rating;
+                handler.row(normalise(rs.getString(1)), rs.getString(2), value);
+            });
+        });
+    }
+
+    private void saveSnapshot(AlsModel saved, long sourceFingerprint) {
+        Path file = snapshotFile();
+        if (file == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, ModelSnapshots.ALS, sourceFingerprint)) {
+            ModelSnapshots.write(out, saved);
+            out.commit();
+            logger.info("Saved ALS model #{} to {} in {} ms",
+                        saved.getGeneration(), file, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Could not save ALS model snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path snapshotFile() {
+        String file = properties.getSnapshotFile();
+        return file == null || file.isBlank() ? null : Paths.get(file);
+    }
+
+    private static String ratingsQuery(boolean implicit) {
+        return implicit ? RATINGS_QUERY : RATINGS_QUERY + " AND r.rating IS NOT NULL";
+    }
+
+    private UserEntries loadEntries(Long userId, AlsMode mode) {
+        UserEntries entries = new UserEntries();
+        readTransaction.executeWithoutResult(status -> {
+            if (mode == AlsMode.IMPLICIT) {
+                jdbcTemplate.query("SELECT film_slug FROM watchlist_entries WHERE user_id = ?",
+                                   rs -> {
+                                       entries.add(rs.getString(1), properties.getWatchlistWeight());
+                                   }, userId);
+            }
+            jdbcTemplate.query("SELECT film_slug, rating FROM ratings WHERE user_id = ?" +
+                               (mode == AlsMode.IMPLICIT ? "" : " AND rating IS NOT NULL"),
+                               rs -> {
+                                   float rating = rs.getFloat(2);
+                                   entries.add(rs.getString(1),
+                                               rs.wasNull() ? properties.getUnratedWeight() : rating);
+                               }, userId);
+        });
+        return entries;
+    }
+
+    private static String normalise(String letterboxdUsername) {
+        return letterboxdUsername.trim().toLowerCase();
+    }
+
+    private interface TrainingRowHandler {
+        void row(String user, String film, float value);
+    }
+
+    /**
+     * One user's stored entries; a later value for the same film replaces the earlier one
+     */
+    private static class UserEntries {
+        final SlugDictionary index = new SlugDictionary(64);
+        String[] slugs = new String[64];
+        float[] values = new float[64];
+        int size;
+
+        void add(String slug, float value) {
+            int existing = index.indexOf(slug);
+            if (existing >= 0) {
+                values[existing] = value;
+                return;
+            }
+            index.add(slug);
+            if (size == slugs.length) {
+                slugs = Arrays.copyOf(slugs, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            slugs[size] = slug;
+            values[size] = value;
+            size++;
+        }
+
+        String[] slugs() {
+            return Arrays.copyOf(slugs, size);
+        }
+
+        float[] values() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
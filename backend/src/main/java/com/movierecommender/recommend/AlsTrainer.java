@@ -0,0 +1,390 @@
+package com.movierecommender.recommend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Alternating least squares over a {@link RatingMatrix}. Each half-iteration
+ * fixes one side's factors and solves every row of the other side as an
+ * independent rank x rank linear system, so rows are split across a
+ * fork-join pool. Factors live in flat row-major float arrays.
+ *
+ * <p>Explicit mode fits ratings minus the global mean with weighted-lambda
+ * regularisation (lambda scaled by the row's number of ratings). Implicit mode
+ * follows Hu, Koren and Volinsky: every cell has preference 0 with confidence 1
+ * except observed cells, which have preference 1 and confidence 1 + alpha * value.
+ */
+public class AlsTrainer {
+
+    /** Rows solved by one fork-join leaf task */
+    private static final int ROWS_PER_TASK = 64;
+
+    private final AlsMode mode;
+    private final int rank;
+    private final int iterations;
+    private final float lambda;
+    private final float alpha;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public AlsTrainer(AlsMode mode, int rank, int iterations, float lambda, float alpha, long seed,
+                      ForkJoinPool pool) {
+        if (rank < 1 || iterations < 1) {
+            throw new IllegalArgumentException("rank and iterations must be positive");
+        }
+        this.mode = mode;
+        this.rank = rank;
+        this.iterations = iterations;
+        this.lambda = lambda;
+        this.alpha = alpha;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Train factors for every user and film in the matrix. The listener is
+     * called after each iteration, on the calling thread.
+     */
+    public AlsModel train(long generation, SlugDictionary users, SlugDictionary films, RatingMatrix matrix,
+                          Consumer<AlsIteration> listener) {
+        long started = System.nanoTime();
+        int numUsers = matrix.getNumUsers();
+        int numItems = matrix.getNumItems();
+        float mean = mode == AlsMode.EXPLICIT ? globalMean(matrix) : 0f;
+
+        float[] userFactors = new float[numUsers * rank];
+        float[] itemFactors = new float[numItems * rank];
+        Random random = new Random(seed);
+        float scale = (float) (0.1 / Math.sqrt(rank));
+        for (int i = 0; i < itemFactors.length; i++) {
+            itemFactors[i] = (float) (random.nextGaussian() * scale);
+        }
+
+        List<AlsIteration> history = new ArrayList<>(iterations);
+        double[] itemGram = mode == AlsMode.IMPLICIT ? gram(itemFactors, numItems) : null;
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            long iterationStarted = System.nanoTime();
+            pool.invoke(new SolveRows(matrix, true, mean, itemFactors, itemGram, userFactors, 0, numUsers));
+            double[] userGram = mode == AlsMode.IMPLICIT ? gram(userFactors, numUsers) : null;
+            pool.invoke(new SolveRows(matrix, false, mean, userFactors, userGram, itemFactors, 0, numItems));
+            if (mode == AlsMode.IMPLICIT) {
+                itemGram = gram(itemFactors, numItems);
+            }
+            double rmse = rmse(matrix, mean, userFactors, itemFactors, itemGram);
+
+            AlsIteration result = new AlsIteration(iteration, (System.nanoTime() - iterationStarted) / 1_000_000, rmse);
+            history.add(result);
+            if (listener != null) {
+                listener.accept(result);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new AlsModel(generation, mode, rank, lambda, alpha, mean, users, films, matrix,
+                            userFactors, itemFactors, itemGram, history, Instant.now(), elapsedMillis);
+    }
+
+    /**
+     * Solve one row's factors against fixed factors of the other side. Observed
+     * columns and values are read from {@code indices}/{@code values} between
+     * {@code start} and {@code end}; {@code gram} is the fixed side's Gram matrix
+     * (implicit mode only). {@code a} and {@code b} are caller-owned scratch of
+     * rank * rank and rank doubles.
+     */
+    static void solveRow(AlsMode mode, int rank, float lambda, float alpha, float mean, float[] fixed,
+                         double[] gram, int[] indices, float[] values, int start, int end,
+                         float[] out, int outOffset, double[] a, double[] b) {
+        int observed = end - start;
+        if (observed == 0) {
+            Arrays.fill(out, outOffset, outOffset + rank, 0f);
+            return;
+        }
+
+        if (mode == AlsMode.IMPLICIT) {
+            System.arraycopy(gram, 0, a, 0, rank * rank);
+            for (int x = 0; x < rank; x++) {
+                a[x * rank + x] += lambda;
+            }
+        } else {
+            Arrays.fill(a, 0, rank * rank, 0d);
+            double regularisation = (double) lambda * observed;
+            for (int x = 0; x < rank; x++) {
+                a[x * rank + x] = regularisation;
+            }
+        }
+        Arrays.fill(b, 0, rank, 0d);
+
+        for (int p = start; p < end; p++) {
+            int base = indices[p] * rank;
+            double weight;
+            double target;
+            if (mode == AlsMode.IMPLICIT) {
+                double confidence = 1.0 + alpha * values[p];
+                weight = confidence - 1.0;
+                target = confidence;
+            } else {
+                weight = 1.0;
+                target = values[p] - mean;
+            }
+            for (int x = 0; x < rank; x++) {
+                double vx = fixed[base + x];
+                b[x] += target * vx;
+                double wx = weight * vx;
+                int row = x * rank;
+                for (int y = 0; y <= x; y++) {
+                    a[row + y] += wx * fixed[base + y];
+                }
+            }
+        }
+
+        choleskySolve(a, b, rank);
+        for (int x = 0; x < rank; x++) {
+            out[outOffset + x] = (float) b[x];
+        }
+    }
+
+    /**
+     * Solves A x = b in place for symmetric positive definite A, reading only
+     * the lower triangle. The factor overwrites A and the solution overwrites b.
+     */
+    static void choleskySolve(double[] a, double[] b, int n) {
+        for (int j = 0; j < n; j++) {
+            int rowJ = j * n;
+            double diagonal = a[rowJ + j];
+            for (int k = 0; k < j; k++) {
+                diagonal -= a[rowJ + k] * a[rowJ + k];
+            }
+            double pivot = Math.sqrt(Math.max(diagonal, 1e-12));
+            a[rowJ + j] = pivot;
+            for (int i = j + 1; i < n; i++) {
+                int rowI = i * n;
+                double sum = a[rowI + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= a[rowI + k] * a[rowJ + k];
+                }
+                a[rowI + j] = sum / pivot;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double sum = b[i];
+            for (int k = 0; k < i; k++) {
+                sum -= a[i * n + k] * b[k];
+            }
+            b[i] = sum / a[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = b[i];
+            for (int k = i + 1; k < n; k++) {
+                sum -= a[k * n + i] * b[k];
+            }
+            b[i] = sum / a[i * n + i];
+        }
+    }
+
+    /**
+     * Lower triangle of F^T F for a row-major factor array
+     */
+    private double[] gram(float[] factors, int rows) {
+        return pool.invoke(new GramTask(factors, rank, 0, rows));
+    }
+
+    /**
+     * Training error: over observed ratings in explicit mode, and the
+     * confidence-weighted error over every user x film cell in implicit mode.
+     * The unobserved cells are covered in closed form through the Gram matrix.
+     */
+    private double rmse(RatingMatrix matrix, float mean, float[] userFactors, float[] itemFactors,
+                        double[] itemGram) {
+        int[] userItems = matrix.userItems();
+        float[] userValues = matrix.userValues();
+        if (mode == AlsMode.EXPLICIT) {
+            double sum = sum(matrix.getNumUsers(), user -> {
+                double error = 0;
+                for (int p = matrix.userStart(user); p < matrix.userEnd(user); p++) {
+                    double residual = userValues[p] - mean - dot(userFactors, user * rank, itemFactors,
+                                                                 userItems[p] * rank, rank);
+                    error += residual * residual;
+                }
+                return error;
+            });
+            return matrix.getNumRatings() == 0 ? 0 : Math.sqrt(sum / matrix.getNumRatings());
+        }
+
+        double loss = sum(matrix.getNumUsers(), user -> {
+            int base = user * rank;
+            double error = quadraticForm(itemGram, userFactors, base, rank);
+            for (int p = matrix.userStart(user); p < matrix.userEnd(user); p++) {
+                double predicted = dot(userFactors, base, itemFactors, userItems[p] * rank, rank);
+                double confidence = 1.0 + alpha * userValues[p];
+                error += confidence * (1 - predicted) * (1 - predicted) - predicted * predicted;
+            }
+            return error;
+        });
+        double weight = (double) matrix.getNumUsers() * matrix.getNumItems();
+        for (float value : userValues) {
+            weight += alpha * value;
+        }
+        return weight == 0 ? 0 : Math.sqrt(Math.max(0, loss) / weight);
+    }
+
+    private double sum(int rows, IntToDoubleFunction perRow) {
+        return pool.invoke(new SumTask(perRow, 0, rows));
+    }
+
+    static double dot(float[] left, int leftOffset, float[] right, int rightOffset, int rank) {
+        double sum = 0;
+        for (int x = 0; x < rank; x++) {
+            sum += left[leftOffset + x] * right[rightOffset + x];
+        }
+        return sum;
+    }
+
+    /**
+     * v^T G v for a Gram matrix stored as its lower triangle
+     */
+    private static double quadraticForm(double[] gram, float[] vector, int offset, int rank) {
+        double sum = 0;
+        for (int x = 0; x < rank; x++) {
+            double vx = vector[offset + x];
+            int row = x * rank;
+            sum += gram[row + x] * vx * vx;
+            for (int y = 0; y < x; y++) {
+                sum += 2 * gram[row + y] * vx * vector[offset + y];
+            }
+        }
+        return sum;
+    }
+
+    private static float globalMean(RatingMatrix matrix) {
+        float[] values = matrix.userValues();
+        double sum = 0;
+        for (float value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0f : (float) (sum / values.length);
+    }
+
+    /**
+     * Solves a range of user rows (against item factors) or item rows (against
+     * user factors), splitting until ranges are small enough for one task.
+     */
+    private class SolveRows extends RecursiveAction {
+        private final RatingMatrix matrix;
+        private final boolean byUser;
+        private final float mean;
+        private final float[] fixed;
+        private final double[] gram;
+        private final float[] out;
+        private final int from;
+        private final int to;
+
+        SolveRows(RatingMatrix matrix, boolean byUser, float mean, float[] fixed, double[] gram, float[] out,
+                  int from, int to) {
+            this.matrix = matrix;
+            this.byUser = byUser;
+            this.mean = mean;
+            this.fixed = fixed;
+            this.gram = gram;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SolveRows(matrix, byUser, mean, fixed, gram, out, from, middle),
+                          new SolveRows(matrix, byUser, mean, fixed, gram, out, middle, to));
+                return;
+            }
+            double[] a = new double[rank * rank];
+            double[] b = new double[rank];
+            int[] indices = byUser ? matrix.userItems() : matrix.itemUsers();
+            float[] values = byUser ? matrix.userValues() : matrix.itemValues();
+            for (int row = from; row < to; row++) {
+                int start = byUser ? matrix.userStart(row) : matrix.itemStart(row);
+                int end = byUser ? matrix.userEnd(row) : matrix.itemEnd(row);
+                solveRow(mode, rank, lambda, alpha, mean, fixed, gram, indices, values, start, end,
+                         out, row * rank, a, b);
+            }
+        }
+    }
+
+    private static class GramTask extends RecursiveTask<double[]> {
+        private final float[] factors;
+        private final int rank;
+        private final int from;
+        private final int to;
+
+        GramTask(float[] factors, int rank, int from, int to) {
+            this.factors = factors;
+            this.rank = rank;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > ROWS_PER_TASK * 16) {
+                int middle = (from + to) >>> 1;
+                GramTask right = new GramTask(factors, rank, middle, to);
+                right.fork();
+                double[] sum = new GramTask(factors, rank, from, middle).compute();
+                double[] other = right.join();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += other[i];
+                }
+                return sum;
+            }
+            double[] gram = new double[rank * rank];
+            for (int row = from; row < to; row++) {
+                int base = row * rank;
+                for (int x = 0; x < rank; x++) {
+                    double vx = factors[base + x];
+                    int offset = x * rank;
+                    for (int y = 0; y <= x; y++) {
+                        gram[offset + y] += vx * factors[base + y];
+                    }
+                }
+            }
+            return gram;
+        }
+    }
+
+    private static class SumTask extends RecursiveTask<Double> {
+        private final IntToDoubleFunction perRow;
+        private final int from;
+        private final int to;
+
+        SumTask(IntToDoubleFunction perRow, int from, int to) {
+            this.perRow = perRow;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                SumTask right = new SumTask(perRow, middle, to);
+                right.fork();
+                double left = new SumTask(perRow, from, middle).compute();
+                return left + right.join();
+            }
+            double sum = 0;
+            for (int row = from; row < to; row++) {
+                sum += perRow.applyAsDouble(row);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.movierecommender.recommend;
+
+/**
+ * Dot products of one query vector against a run of rows in a flat row-major
+ * factor matrix. Implementations must not keep state between calls.
+ */
+interface DotProductKernel {
+
+    /**
+     * Writes the dot product of rows {@code from} (inclusive) to {@code to}
+     * (exclusive) with the query into {@code out}, starting at index 0
+     */
+    void dot(float[] factors, int rank, float[] query, int queryOffset, int from, int to, float[] out);
+
+    /**
+     * Approximate dot products for blocks {@code fromBlock} (inclusive) to
+     * {@code toBlock} (exclusive) of packed int8 rows, written to {@code out}
+     * from index 0 in row order
+     */
+    void dot(PackedFactors factors, float[] query, int queryOffset, int fromBlock, int toBlock, float[] out);
+
+    /**
+     * Whether a packed int8 sweep plus exact re-ranking beats a plain float sweep
+     */
+    boolean prefersPacked();
+
+    String name();
+}
@@ -0,0 +1,105 @@
+package com.movierecommender.recommend;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Users folded into the ALS model since it was trained, keyed by normalised
+ * Letterboxd username. The map is split into segments that are each an
+ * immutable map: readers look a user up without locking, and a writer copies
+ * only the one segment it changes and swaps it in.
+ */
+class FoldedUsers {
+
+    private static final int SEGMENTS = 32;
+
+    private final AtomicReferenceArray<Map<String, Entry>> segments = new AtomicReferenceArray<>(SEGMENTS);
+
+    FoldedUsers() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.set(i, Map.of());
+        }
+    }
+
+    Entry get(String username) {
+        return segments.get(segment(username)).get(username);
+    }
+
+    /**
+     * Store a user's fold-in unless one read from newer entries is already there
+     */
+    void put(String username, Entry entry) {
+        int segment = segment(username);
+        while (true) {
+            Map<String, Entry> current = segments.get(segment);
+            Entry existing = current.get(username);
+            if (existing != null && existing.sequence() > entry.sequence()) {
+                return;
+            }
+            Map<String, Entry> updated = new HashMap<>(current);
+            updated.put(username, entry);
+            if (segments.compareAndSet(segment, current, Map.copyOf(updated))) {
+                return;
+            }
+        }
+    }
+
+    void remove(String username) {
+        int segment = segment(username);
+        while (true) {
+            Map<String, Entry> current = segments.get(segment);
+            if (!current.containsKey(username)) {
+                return;
+            }
+            Map<String, Entry> updated = new HashMap<>(current);
+            updated.remove(username);
+            if (segments.compareAndSet(segment, current, Map.copyOf(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drop the users matching a condition; returns how many were dropped
+     */
+    int removeIf(Predicate<Entry> condition) {
+        int removed = 0;
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            while (true) {
+                Map<String, Entry> current = segments.get(segment);
+                Map<String, Entry> updated = new HashMap<>(current);
+                if (!updated.values().removeIf(condition)) {
+                    break;
+                }
+                if (segments.compareAndSet(segment, current, Map.copyOf(updated))) {
+                    removed += current.size() - updated.size();
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        int size = 0;
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            size += segments.get(segment).size();
+        }
+        return size;
+    }
+
+    private static int segment(String username) {
+        return (username.hashCode() & Integer.MAX_VALUE) % SEGMENTS;
+    }
+
+    /**
+     * A user's entries as they were read for the fold-in, and the factors solved from them
+     *
+     * @param sequence order in which the entries were read, compared against training runs
+     * @param generation model the factors were solved against; null factors when it knows none of the films
+     */
+    record Entry(long sequence, long generation, String[] slugs, float[] values, AlsModel.UserVector vector) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.movierecommender.recommend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable item-based collaborative filtering model: the film dictionary,
+ * the rating matrix it was trained on and the item-item neighbour index.
+ * Published as a whole so readers never see a half-built model.
+ */
+public class ItemBasedModel {
+
+    /** Damping added to the neighbour weight sum so single weak neighbours cannot dominate */
+    private static final float WEIGHT_SHRINKAGE = 1.0f;
+
+    private final long generation;
+    private final SlugDictionary films;
+    private final RatingMatrix matrix;
+    private final ItemSimilarityIndex similarityIndex;
+    private final Instant builtAt;
+    private final long buildMillis;
+
+    public ItemBasedModel(long generation, SlugDictionary films, RatingMatrix matrix,
+                          ItemSimilarityIndex similarityIndex, Instant builtAt, long buildMillis) {
+        this.generation = generation;
+        this.films = films;
+        this.matrix = matrix;
+        this.similarityIndex = similarityIndex;
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+    }
+
+    public static ItemBasedModel empty() {
+        SlugDictionary films = new SlugDictionary(16);
+        RatingMatrix matrix = new RatingMatrix.Builder().build(0, 0);
+        return new ItemBasedModel(0, films, matrix, new ItemSimilarityIndex(0, new int[1], new int[0], new float[0]),
+                                  Instant.EPOCH, 0);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public SlugDictionary getFilms() {
+        return films;
+    }
+
+    public RatingMatrix getMatrix() {
+        return matrix;
+    }
+
+    public ItemSimilarityIndex getSimilarityIndex() {
+        return similarityIndex;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Scores unseen films for a user described by parallel slug/rating arrays.
+     * Predictions are the user's mean plus the similarity-weighted average of
+     * their centred ratings on each candidate's neighbours.
+     */
+    public List<Recommendation> recommend(String[] ratedSlugs, float[] ratedValues, int limit) {
+        int[] items = new int[ratedSlugs.length];
+        float[] values = new float[ratedSlugs.length];
+        int known = 0;
+        double sum = 0;
+        for (int i = 0; i < ratedSlugs.length; i++) {
+            sum += ratedValues[i];
+            int item = films.indexOf(ratedSlugs[i]);
+            if (item >= 0) {
+                items[known] = item;
+                values[known] = ratedValues[i];
+                known++;
+            }
+        }
+        if (known == 0 || limit < 1) {
+            return List.of();
+        }
+        float mean = (float) (sum / ratedSlugs.length);
+
+        int[] neighbours = similarityIndex.neighbours();
+        float[] similarities = similarityIndex.similarities();
+        ScoreAccumulator scores = new ScoreAccumulator(known * 16);
+        for (int i = 0; i < known; i++) {
+            float centred = values[i] - mean;
+            for (int p = similarityIndex.start(items[i]); p < similarityIndex.end(items[i]); p++) {
+                float similarity = similarities[p];
+                scores.add(neighbours[p], similarity * centred, similarity);
+            }
+        }
+
+        long[] seen = new long[(films.size() + 63) >>> 6];
+        for (int i = 0; i < known; i++) {
+            seen[items[i] >>> 6] |= 1L << items[i];
+        }
+
+        TopKSelector topK = new TopKSelector(limit);
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            int item = scores.itemAt(slot);
+            if (item < 0 || (seen[item >>> 6] & (1L << item)) != 0) {
+                continue;
+            }
+            float predicted = mean + scores.weightedSumAt(slot) / (scores.weightAt(slot) + WEIGHT_SHRINKAGE);
+            topK.offer(item, predicted);
+        }
+
+        int[] ids = new int[topK.size()];
+        float[] predictions = new float[topK.size()];
+        int count = topK.drainDescending(ids, predictions);
+        List<Recommendation> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new Recommendation(films.get(ids[i]), predictions[i]));
+        }
+        return result;
+    }
+}
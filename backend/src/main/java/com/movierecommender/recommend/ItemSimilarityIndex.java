@@ -0,0 +1,176 @@
+package com.movierecommender.recommend;
+
+import java.util.stream.IntStream;
+
+/**
+ * Sparse item-item similarity index. Each item keeps only its strongest
+ * neighbours, stored as flat arrays addressed by per-item offsets.
+ */
+public class ItemSimilarityIndex {
+
+    private final int numItems;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] similarities;
+
+    public ItemSimilarityIndex(int numItems, int[] offsets, int[] neighbours, float[] similarities) {
+        this.numItems = numItems;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.similarities = similarities;
+    }
+
+    public int getNumItems() {
+        return numItems;
+    }
+
+    public int getNumEntries() {
+        return neighbours.length;
+    }
+
+    public int start(int item) {
+        return offsets[item];
+    }
+
+    public int end(int item) {
+        return offsets[item + 1];
+    }
+
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /** Neighbour item indices, addressed through {@link #start}/{@link #end} */
+    public int[] neighbours() {
+        return neighbours;
+    }
+
+    public float[] similarities() {
+        return similarities;
+    }
+
+    /**
+     * Builds the index from a rating matrix. Items are processed in parallel; each
+     * worker accumulates dot products for one item at a time in a dense scratch
+     * row and resets only the entries it touched.
+     */
+    public static ItemSimilarityIndex build(RatingMatrix matrix, SimilarityMetric metric,
+                                            int maxNeighbours, int minOverlap) {
+        int numItems = matrix.getNumItems();
+        float[] centred = centredColumnValues(matrix, metric);
+        float[] norms = columnNorms(matrix, centred);
+
+        int[][] rowNeighbours = new int[numItems][];
+        float[][] rowSimilarities = new float[numItems][];
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(numItems, maxNeighbours));
+
+        IntStream.range(0, numItems).parallel().forEach(item -> {
+            Scratch s = scratch.get();
+            computeNeighbours(matrix, metric, centred, norms, minOverlap, item, s);
+            int count = s.topK.size();
+            int[] ids = new int[count];
+            float[] sims = new float[count];
+            s.topK.drainDescending(ids, sims);
+            rowNeighbours[item] = ids;
+            rowSimilarities[item] = sims;
+        });
+
+        int[] offsets = new int[numItems + 1];
+        for (int i = 0; i < numItems; i++) {
+            offsets[i + 1] = offsets[i] + rowNeighbours[i].length;
+        }
+        int[] neighbours = new int[offsets[numItems]];
+        float[] similarities = new float[offsets[numItems]];
+        for (int i = 0; i < numItems; i++) {
+            System.arraycopy(rowNeighbours[i], 0, neighbours, offsets[i], rowNeighbours[i].length);
+            System.arraycopy(rowSimilarities[i], 0, similarities, offsets[i], rowSimilarities[i].length);
+        }
+        return new ItemSimilarityIndex(numItems, offsets, neighbours, similarities);
+    }
+
+    private static void computeNeighbours(RatingMatrix matrix, SimilarityMetric metric, float[] centred,
+                                          float[] norms, int minOverlap, int item, Scratch s) {
+        s.topK.reset();
+        if (norms[item] == 0f) {
+            return;
+        }
+
+        int[] itemUsers = matrix.itemUsers();
+        int[] userItems = matrix.userItems();
+        float[] userValues = matrix.userValues();
+        int touchedCount = 0;
+
+        for (int p = matrix.itemStart(item); p < matrix.itemEnd(item); p++) {
+            int user = itemUsers[p];
+            float a = centred[p];
+            float mean = metric == SimilarityMetric.ADJUSTED_COSINE ? matrix.userMean(user) : 0f;
+            for (int q = matrix.userStart(user); q < matrix.userEnd(user); q++) {
+                int other = userItems[q];
+                if (other == item) {
+                    continue;
+                }
+                if (s.overlap[other] == 0) {
+                    s.touched[touchedCount++] = other;
+                }
+                s.overlap[other]++;
+                s.dot[other] += a * (userValues[q] - mean);
+            }
+        }
+
+        float itemNorm = norms[item];
+        for (int t = 0; t < touchedCount; t++) {
+            int other = s.touched[t];
+            if (s.overlap[other] >= minOverlap && norms[other] > 0f) {
+                float similarity = s.dot[other] / (itemNorm * norms[other]);
+                if (similarity > 0f) {
+                    s.topK.offer(other, similarity);
+                }
+            }
+            s.dot[other] = 0f;
+            s.overlap[other] = 0;
+        }
+    }
+
+    /**
+     * Column values in CSC order, centred on the rating user's mean when the
+     * metric calls for it.
+     */
+    private static float[] centredColumnValues(RatingMatrix matrix, SimilarityMetric metric) {
+        float[] values = matrix.itemValues();
+        if (metric != SimilarityMetric.ADJUSTED_COSINE) {
+            return values;
+        }
+        int[] itemUsers = matrix.itemUsers();
+        float[] centred = new float[values.length];
+        for (int p = 0; p < values.length; p++) {
+            centred[p] = values[p] - matrix.userMean(itemUsers[p]);
+        }
+        return centred;
+    }
+
+    private static float[] columnNorms(RatingMatrix matrix, float[] centred) {
+        float[] norms = new float[matrix.getNumItems()];
+        for (int i = 0; i < norms.length; i++) {
+            double sum = 0;
+            for (int p = matrix.itemStart(i); p < matrix.itemEnd(i); p++) {
+                sum += (double) centred[p] * centred[p];
+            }
+            norms[i] = (float) Math.sqrt(sum);
+        }
+        return norms;
+    }
+
+    private static class Scratch {
+        final float[] dot;
+        final int[] overlap;
+        final int[] touched;
+        final TopKSelector topK;
+
+        Scratch(int numItems, int maxNeighbours) {
+            this.dot = new float[numItems];
+            this.overlap = new int[numItems];
+            this.touched = new int[numItems];
+            this.topK = new TopKSelector(maxNeighbours);
+        }
+    }
+}
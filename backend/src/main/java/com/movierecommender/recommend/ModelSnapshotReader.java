@@ -0,0 +1,165 @@
+package com.movierecommender.recommend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a snapshot written by {@link ModelSnapshotWriter}. The file is mapped
+ * with {@link FileChannel#map}, its checksum verified over the mapped bytes,
+ * and arrays are then bulk-copied out of the mapping, so loading costs about
+ * as much as reading the file once from the page cache.
+ */
+public class ModelSnapshotReader {
+
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + Long.BYTES;
+
+    private final Path file;
+    private final ByteBuffer in;
+    private final long sourceFingerprint;
+
+    private ModelSnapshotReader(Path file, ByteBuffer in, long sourceFingerprint) {
+        this.file = file;
+        this.in = in;
+        this.sourceFingerprint = sourceFingerprint;
+    }
+
+    /**
+     * Map a snapshot and check its checksum, format version and model kind
+     */
+    public static ModelSnapshotReader open(Path file, int expectedKind) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + Long.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a model snapshot: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        int body = in.capacity() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(in.slice(0, body));
+        if (in.getLong(body) != crc.getValue()) {
+            throw new IOException("Model snapshot checksum mismatch: " + file);
+        }
+        in.limit(body);
+        if (in.getInt() != ModelSnapshotWriter.MAGIC) {
+            throw new IOException("Not a model snapshot: " + file);
+        }
+        int version = in.getInt();
+        if (version != ModelSnapshotWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported model snapshot version " + version + ": " + file);
+        }
+        int kind = in.getInt();
+        if (kind != expectedKind) {
+            throw new IOException("Model snapshot " + file + " holds model kind " + kind + ", expected " + expectedKind);
+        }
+        return new ModelSnapshotReader(file, in, in.getLong());
+    }
+
+    public long getSourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return in.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+        return in.getLong();
+    }
+
+    public float readFloat() throws IOException {
+        require(Float.BYTES);
+        return in.getFloat();
+    }
+
+    public double readDouble() throws IOException {
+        require(Double.BYTES);
+        return in.getDouble();
+    }
+
+    public String readString() throws IOException {
+        byte[] bytes = new byte[readLength(1)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int[] readInts() throws IOException {
+        int[] values = new int[readLength(Integer.BYTES)];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    public float[] readFloats() throws IOException {
+        float[] values = new float[readLength(Float.BYTES)];
+        in.asFloatBuffer().get(values);
+        in.position(in.position() + values.length * Float.BYTES);
+        return values;
+    }
+
+    /**
+     * Reads an array written by {@link ModelSnapshotWriter#writeDoubles}, which may be {@code null}
+     */
+    public double[] readDoubles() throws IOException {
+        require(Integer.BYTES);
+        if (in.getInt(in.position()) == -1) {
+            in.getInt();
+            return null;
+        }
+        double[] values = new double[readLength(Double.BYTES)];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + values.length * Double.BYTES);
+        return values;
+    }
+
+    public SlugDictionary readDictionary() throws IOException {
+        int size = readInt();
+        if (size < 0) {
+            throw truncated();
+        }
+        SlugDictionary dictionary = new SlugDictionary(Math.max(16, size));
+        for (int i = 0; i < size; i++) {
+            if (dictionary.add(readString()) != i) {
+                throw new IOException("Duplicate dictionary key in model snapshot: " + file);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Fail unless every byte before the checksum has been consumed
+     */
+    public void finish() throws IOException {
+        if (in.hasRemaining()) {
+            throw new IOException("Unexpected trailing data in model snapshot: " + file);
+        }
+    }
+
+    private int readLength(int elementBytes) throws IOException {
+        int length = readInt();
+        if (length < 0 || (long) length * elementBytes > in.remaining()) {
+            throw truncated();
+        }
+        return length;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (in.remaining() < bytes) {
+            throw truncated();
+        }
+    }
+
+    private IOException truncated() {
+        return new IOException("Truncated model snapshot: " + file);
+    }
+}
@@ -0,0 +1,179 @@
+package com.movierecommender.recommend;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a model snapshot: a header, the model's primitive fields and arrays
+ * in little-endian order, and a CRC32 trailer. Everything goes to a temporary
+ * file next to the target, which {@link #commit()} syncs and moves into place
+ * atomically, so readers only ever map a complete snapshot. Closing without
+ * committing discards the temporary file.
+ */
+public class ModelSnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x4D524D53;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path file;
+    private final Path temp;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private boolean committed;
+
+    /**
+     * @param kind       model type tag checked by {@link ModelSnapshotReader#open}
+     * @param sourceFingerprint {@link SourceFingerprint} of the rows the model was built from, used to
+     *                          tell whether it is stale
+     */
+    public ModelSnapshotWriter(Path file, int kind, long sourceFingerprint) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        this.temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeInt(MAGIC);
+        writeInt(FORMAT_VERSION);
+        writeInt(kind);
+        writeLong(sourceFingerprint);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(float value) throws IOException {
+        ensure(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int count = Math.min(bytes.length - offset, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    public void writeInts(int[] values) throws IOException {
+        writeInt(values.length);
+        int offset = 0;
+        while (offset < values.length) {
+            ensure(Integer.BYTES);
+            int count = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+        }
+    }
+
+    public void writeFloats(float[] values) throws IOException {
+        writeInt(values.length);
+        int offset = 0;
+        while (offset < values.length) {
+            ensure(Float.BYTES);
+            int count = Math.min(values.length - offset, buffer.remaining() / Float.BYTES);
+            buffer.asFloatBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Float.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes the array, or a -1 length marker for {@code null}
+     */
+    public void writeDoubles(double[] values) throws IOException {
+        if (values == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(values.length);
+        int offset = 0;
+        while (offset < values.length) {
+            ensure(Double.BYTES);
+            int count = Math.min(values.length - offset, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes the keys in index order, so reading them back reassigns the same indices
+     */
+    public void writeDictionary(SlugDictionary dictionary) throws IOException {
+        writeInt(dictionary.size());
+        for (int i = 0; i < dictionary.size(); i++) {
+            writeString(dictionary.get(i));
+        }
+    }
+
+    /**
+     * Append the checksum, sync the file and move it over the target
+     */
+    public void commit() throws IOException {
+        flush();
+        // Not covered by the checksum it records
+        ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putLong(crc.getValue()).flip();
+        while (trailer.hasRemaining()) {
+            channel.write(trailer);
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        if (!committed) {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
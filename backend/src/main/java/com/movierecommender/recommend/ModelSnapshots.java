@@ -0,0 +1,139 @@
+package com.movierecommender.recommend;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot layouts of the recommendation models. Each model is written as its
+ * scalar fields followed by its dictionaries and flat arrays, in the same
+ * order they are read back; anything added here must bump
+ * {@link ModelSnapshotWriter#FORMAT_VERSION}.
+ */
+final class ModelSnapshots {
+
+    static final int ITEM_BASED = 1;
+    static final int ALS = 2;
+
+    private ModelSnapshots() {
+    }
+
+    static void write(ModelSnapshotWriter out, ItemBasedModel model) throws IOException {
+        out.writeLong(model.getGeneration());
+        out.writeLong(model.getBuiltAt().toEpochMilli());
+        out.writeLong(model.getBuildMillis());
+        out.writeDictionary(model.getFilms());
+        writeMatrix(out, model.getMatrix());
+        ItemSimilarityIndex index = model.getSimilarityIndex();
+        out.writeInt(index.getNumItems());
+        out.writeInts(index.offsets());
+        out.writeInts(index.neighbours());
+        out.writeFloats(index.similarities());
+    }
+
+    static ItemBasedModel readItemBased(ModelSnapshotReader in) throws IOException {
+        long generation = in.readLong();
+        Instant builtAt = Instant.ofEpochMilli(in.readLong());
+        long buildMillis = in.readLong();
+        SlugDictionary films = in.readDictionary();
+        RatingMatrix matrix = readMatrix(in);
+        int numItems = in.readInt();
+        int[] offsets = in.readInts();
+        int[] neighbours = in.readInts();
+        float[] similarities = in.readFloats();
+        in.finish();
+        if (numItems != films.size() || matrix.getNumItems() != films.size() || offsets.length != numItems + 1
+            || offsets[numItems] != neighbours.length || similarities.length != neighbours.length) {
+            throw new IOException("Inconsistent item-based model snapshot");
+        }
+        return new ItemBasedModel(generation, films, matrix,
+                                  new ItemSimilarityIndex(numItems, offsets, neighbours, similarities),
+                                  builtAt, buildMillis);
+    }
+
+    static void write(ModelSnapshotWriter out, AlsModel model) throws IOException {
+        out.writeLong(model.getGeneration());
+        out.writeLong(model.getBuiltAt().toEpochMilli());
+        out.writeLong(model.getBuildMillis());
+        out.writeString(model.getMode().name());
+        out.writeInt(model.getRank());
+        out.writeFloat(model.getLambda());
+        out.writeFloat(model.getAlpha());
+        out.writeFloat(model.getMean());
+        out.writeInt(model.getIterations().size());
+        for (AlsIteration iteration : model.getIterations()) {
+            out.writeInt(iteration.getIteration());
+            out.writeLong(iteration.getMillis());
+            out.writeDouble(iteration.getRmse());
+        }
+        out.writeDictionary(model.getUsers());
+        out.writeDictionary(model.getFilms());
+        writeMatrix(out, model.getMatrix());
+        out.writeFloats(model.userFactors());
+        out.writeFloats(model.itemFactors());
+        out.writeDoubles(model.itemGram());
+    }
+
+    static AlsModel readAls(ModelSnapshotReader in) throws IOException {
+        long generation = in.readLong();
+        Instant builtAt = Instant.ofEpochMilli(in.readLong());
+        long buildMillis = in.readLong();
+        AlsMode mode;
+        try {
+            mode = AlsMode.valueOf(in.readString());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown ALS mode in model snapshot", e);
+        }
+        int rank = in.readInt();
+        float lambda = in.readFloat();
+        float alpha = in.readFloat();
+        float mean = in.readFloat();
+        int iterationCount = in.readInt();
+        if (iterationCount < 0 || iterationCount > 10_000) {
+            throw new IOException("Inconsistent ALS model snapshot");
+        }
+        List<AlsIteration> iterations = new ArrayList<>(iterationCount);
+        for (int i = 0; i < iterationCount; i++) {
+            iterations.add(new AlsIteration(in.readInt(), in.readLong(), in.readDouble()));
+        }
+        SlugDictionary users = in.readDictionary();
+        SlugDictionary films = in.readDictionary();
+        RatingMatrix matrix = readMatrix(in);
+        float[] userFactors = in.readFloats();
+        float[] itemFactors = in.readFloats();
+        double[] itemGram = in.readDoubles();
+        in.finish();
+        if (rank < 1 || matrix.getNumUsers() != users.size() || matrix.getNumItems() != films.size()
+            || userFactors.length != (long) users.size() * rank || itemFactors.length != (long) films.size() * rank
+            || (mode == AlsMode.IMPLICIT) != (itemGram != null)
+            || (itemGram != null && itemGram.length != rank * rank)) {
+            throw new IOException("Inconsistent ALS model snapshot");
+        }
+        return new AlsModel(generation, mode, rank, lambda, alpha, mean, users, films, matrix,
+                            userFactors, itemFactors, itemGram, iterations, builtAt, buildMillis);
+    }
+
+    private static void writeMatrix(ModelSnapshotWriter out, RatingMatrix matrix) throws IOException {
+        out.writeInt(matrix.getNumUsers());
+        out.writeInt(matrix.getNumItems());
+        out.writeInts(matrix.userOffsets());
+        out.writeInts(matrix.userItems());
+        out.writeFloats(matrix.userValues());
+        out.writeInts(matrix.itemOffsets());
+        out.writeInts(matrix.itemUsers());
+        out.writeFloats(matrix.itemValues());
+        out.writeFloats(matrix.userMeans());
+    }
+
+    private static RatingMatrix readMatrix(ModelSnapshotReader in) throws IOException {
+        int numUsers = in.readInt();
+        int numItems = in.readInt();
+        try {
+            return RatingMatrix.restore(numUsers, numItems, in.readInts(), in.readInts(), in.readFloats(),
+                                        in.readInts(), in.readInts(), in.readFloats(), in.readFloats());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Inconsistent rating matrix in model snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.movierecommender.recommend;
+
+/**
+ * Int8 copy of a row-major factor matrix laid out for SIMD scoring. Rows are
+ * grouped in blocks of {@link #BLOCK} and each block is stored dimension-major,
+ * so one vector load yields the same dimension of consecutive rows and a
+ * block is scored with broadcast fused multiply-adds and no horizontal sums.
+ * Each row keeps its own scale; at a quarter the size of the float original
+ * the sweep moves a quarter of the memory.
+ */
+final class PackedFactors {
+
+    static final int BLOCK = 16;
+
+    private final byte[] codes;
+    private final float[] scales;
+    private final int rows;
+    private final int rank;
+
+    private PackedFactors(byte[] codes, float[] scales, int rows, int rank) {
+        this.codes = codes;
+        this.scales = scales;
+        this.rows = rows;
+        this.rank = rank;
+    }
+
+    static PackedFactors of(float[] factors, int rows, int rank) {
+        int blocks = (rows + BLOCK - 1) / BLOCK;
+        byte[] codes = new byte[blocks * BLOCK * rank];
+        float[] scales = new float[blocks * BLOCK];
+        for (int row = 0; row < rows; row++) {
+            int base = row * rank;
+            float max = 0f;
+            for (int x = 0; x < rank; x++) {
+                max = Math.max(max, Math.abs(factors[base + x]));
+            }
+            if (max == 0f) {
+                continue;
+            }
+            float scale = max / 127f;
+            float inverse = 1f / scale;
+            int blockBase = (row / BLOCK) * BLOCK * rank;
+            int lane = row % BLOCK;
+            for (int x = 0; x < rank; x++) {
+                codes[blockBase + x * BLOCK + lane] = (byte) Math.round(factors[base + x] * inverse);
+            }
+            scales[row] = scale;
+        }
+        return new PackedFactors(codes, scales, rows, rank);
+    }
+
+    /** Codes of block {@code b} start at {@code b * BLOCK * rank}, dimension x of lane l at {@code + x * BLOCK + l} */
+    byte[] codes() {
+        return codes;
+    }
+
+    /** Per-row scales, padded to a whole number of blocks */
+    float[] scales() {
+        return scales;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int rank() {
+        return rank;
+    }
+}
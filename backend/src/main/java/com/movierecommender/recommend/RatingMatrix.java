@@ -0,0 +1,241 @@
+package com.movierecommender.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse user x item rating matrix held in compressed rows (by user)
+ * and compressed columns (by item), both backed by flat primitive arrays.
+ */
+public class RatingMatrix {
+
+    private final int numUsers;
+    private final int numItems;
+
+    private final int[] userOffsets;
+    private final int[] userItems;
+    private final float[] userValues;
+
+    private final int[] itemOffsets;
+    private final int[] itemUsers;
+    private final float[] itemValues;
+
+    private final float[] userMeans;
+
+    private RatingMatrix(int numUsers, int numItems, int[] userOffsets, int[] userItems, float[] userValues,
+                         int[] itemOffsets, int[] itemUsers, float[] itemValues, float[] userMeans) {
+        this.numUsers = numUsers;
+        this.numItems = numItems;
+        this.userOffsets = userOffsets;
+        this.userItems = userItems;
+        this.userValues = userValues;
+        this.itemOffsets = itemOffsets;
+        this.itemUsers = itemUsers;
+        this.itemValues = itemValues;
+        this.userMeans = userMeans;
+    }
+
+    /**
+     * Reassemble a matrix from arrays previously taken from one, e.g. when
+     * loading a model snapshot
+     */
+    static RatingMatrix restore(int numUsers, int numItems, int[] userOffsets, int[] userItems, float[] userValues,
+                                int[] itemOffsets, int[] itemUsers, float[] itemValues, float[] userMeans) {
+        if (userOffsets.length != numUsers + 1 || itemOffsets.length != numItems + 1
+            || userMeans.length != numUsers || userItems.length != userValues.length
+            || itemUsers.length != userItems.length || itemValues.length != userItems.length
+            || userOffsets[numUsers] != userItems.length || itemOffsets[numItems] != itemUsers.length) {
+            throw new IllegalArgumentException("Inconsistent rating matrix arrays");
+        }
+        return new RatingMatrix(numUsers, numItems, userOffsets, userItems, userValues,
+                                itemOffsets, itemUsers, itemValues, userMeans);
+    }
+
+    public int getNumUsers() {
+        return numUsers;
+    }
+
+    public int getNumItems() {
+        return numItems;
+    }
+
+    public int getNumRatings() {
+        return userItems.length;
+    }
+
+    public int userStart(int user) {
+        return userOffsets[user];
+    }
+
+    public int userEnd(int user) {
+        return userOffsets[user + 1];
+    }
+
+    public int itemStart(int item) {
+        return itemOffsets[item];
+    }
+
+    public int itemEnd(int item) {
+        return itemOffsets[item + 1];
+    }
+
+    /** Item indices of every row, addressed through {@link #userStart}/{@link #userEnd} */
+    public int[] userItems() {
+        return userItems;
+    }
+
+    public float[] userValues() {
+        return userValues;
+    }
+
+    /** User indices of every column, addressed through {@link #itemStart}/{@link #itemEnd} */
+    public int[] itemUsers() {
+        return itemUsers;
+    }
+
+    public float[] itemValues() {
+        return itemValues;
+    }
+
+    public float userMean(int user) {
+        return userMeans[user];
+    }
+
+    int[] userOffsets() {
+        return userOffsets;
+    }
+
+    int[] itemOffsets() {
+        return itemOffsets;
+    }
+
+    float[] userMeans() {
+        return userMeans;
+    }
+
+    /**
+     * Accumulates (user, item, value) triples and lays them out as CSR/CSC.
+     * Duplicate (user, item) pairs keep the last value added.
+     */
+    public static class Builder {
+        private int[] users = new int[1024];
+        private int[] items = new int[1024];
+        private float[] values = new float[1024];
+        private int size;
+        private int maxUser = -1;
+        private int maxItem = -1;
+
+        public Builder add(int user, int item, float value) {
+            if (size == users.length) {
+                int capacity = size * 2;
+                users = Arrays.copyOf(users, capacity);
+                items = Arrays.copyOf(items, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            users[size] = user;
+            items[size] = item;
+            values[size] = value;
+            size++;
+            maxUser = Math.max(maxUser, user);
+            maxItem = Math.max(maxItem, item);
+            return this;
+        }
+
+        public RatingMatrix build(int numUsers, int numItems) {
+            if (maxUser >= numUsers || maxItem >= numItems) {
+                throw new IllegalArgumentException("Rating references an index outside the matrix bounds");
+            }
+
+            // Counting sort into rows, then sort each row by item so duplicates are adjacent
+            int[] userOffsets = new int[numUsers + 1];
+            for (int i = 0; i < size; i++) {
+                userOffsets[users[i] + 1]++;
+            }
+            for (int u = 0; u < numUsers; u++) {
+                userOffsets[u + 1] += userOffsets[u];
+            }
+            int[] cursor = Arrays.copyOf(userOffsets, numUsers);
+            int[] rowItems = new int[size];
+            float[] rowValues = new float[size];
+            for (int i = 0; i < size; i++) {
+                int pos = cursor[users[i]]++;
+                rowItems[pos] = items[i];
+                rowValues[pos] = values[i];
+            }
+
+            // Drop duplicates (last write wins) while compacting rows
+            int[] compactOffsets = new int[numUsers + 1];
+            int write = 0;
+            for (int u = 0; u < numUsers; u++) {
+                int start = userOffsets[u];
+                int end = userOffsets[u + 1];
+                sortRow(rowItems, rowValues, start, end);
+                compactOffsets[u] = write;
+                for (int p = start; p < end; p++) {
+                    if (p + 1 < end && rowItems[p + 1] == rowItems[p]) {
+                        continue;
+                    }
+                    rowItems[write] = rowItems[p];
+                    rowValues[write] = rowValues[p];
+                    write++;
+                }
+            }
+            compactOffsets[numUsers] = write;
+            int[] userItems = Arrays.copyOf(rowItems, write);
+            float[] userValues = Arrays.copyOf(rowValues, write);
+
+            float[] userMeans = new float[numUsers];
+            for (int u = 0; u < numUsers; u++) {
+                int start = compactOffsets[u];
+                int end = compactOffsets[u + 1];
+                double sum = 0;
+                for (int p = start; p < end; p++) {
+                    sum += userValues[p];
+                }
+                userMeans[u] = end > start ? (float) (sum / (end - start)) : 0f;
+            }
+
+            // Transpose into columns
+            int[] itemOffsets = new int[numItems + 1];
+            for (int p = 0; p < write; p++) {
+                itemOffsets[userItems[p] + 1]++;
+            }
+            for (int i = 0; i < numItems; i++) {
+                itemOffsets[i + 1] += itemOffsets[i];
+            }
+            int[] columnCursor = Arrays.copyOf(itemOffsets, numItems);
+            int[] itemUsers = new int[write];
+            float[] itemValues = new float[write];
+            for (int u = 0; u < numUsers; u++) {
+                for (int p = compactOffsets[u]; p < compactOffsets[u + 1]; p++) {
+                    int pos = columnCursor[userItems[p]]++;
+                    itemUsers[pos] = u;
+                    itemValues[pos] = userValues[p];
+                }
+            }
+
+            return new RatingMatrix(numUsers, numItems, compactOffsets, userItems, userValues,
+                                    itemOffsets, itemUsers, itemValues, userMeans);
+        }
+
+        /**
+         * Sorts one row by item index. Packing (item, position) into a long keeps the
+         * sort primitive and stable, so the later of two duplicate entries stays last.
+         */
+        private static void sortRow(int[] rowItems, float[] rowValues, int start, int end) {
+            int length = end - start;
+            if (length < 2) {
+                return;
+            }
+            long[] keys = new long[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = ((long) rowItems[start + i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            float[] values = Arrays.copyOfRange(rowValues, start, end);
+            for (int i = 0; i < length; i++) {
+                rowItems[start + i] = (int) (keys[i] >>> 32);
+                rowValues[start + i] = values[(int) keys[i]];
+            }
+        }
+    }
+}
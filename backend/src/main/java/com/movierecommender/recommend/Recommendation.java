@@ -0,0 +1,31 @@
+package com.movierecommender.recommend;
+
+/**
+ * A single recommended film and its score: a predicted rating on the 0.5-5
+ * scale, or a relative preference strength for implicit-feedback models.
+ */
+public class Recommendation {
+    private final String filmSlug;
+    private final float score;
+
+    public Recommendation(String filmSlug, float score) {
+        this.filmSlug = filmSlug;
+        this.score = score;
+    }
+
+    public String getFilmSlug() {
+        return filmSlug;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "Recommendation{" +
+                "filmSlug='" + filmSlug + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,160 @@
+package com.movierecommender.recommend;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+
+/**
+ * Size-bounded cache of each user's top-N list under one model, keyed by
+ * normalised Letterboxd username. Lists are held as film indexes into the
+ * model's dictionary with their scores, and are computed a fixed depth at a
+ * time so one entry serves any smaller limit. An entry only serves the model
+ * generation it was computed from; the owning recommender drops a user's entry
+ * when their ratings change and everything when it publishes a new model.
+ * Concurrent misses for the same user share one computation.
+ * <p>
+ * The cache holds futures and the caller that misses computes the list
+ * itself, outside the cache's map lock: folding a user into the model reads
+ * their ratings from the database, and a virtual request thread blocked on
+ * that inside a synchronized compute would pin its carrier.
+ */
+class RecommendationCache {
+
+    private final boolean enabled;
+    private final int depth;
+    private final AsyncCache<String, TopN> lists;
+
+    RecommendationCache(int maxUsers, int depth) {
+        this.enabled = maxUsers > 0;
+        this.depth = Math.max(1, depth);
+        this.lists = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, maxUsers))
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * The user's top {@code limit} films under the given model, computed with
+     * {@code compute} (called with the number of films wanted) when not cached
+     */
+    List<Recommendation> get(String username, int limit, long generation, SlugDictionary films,
+                             IntFunction<List<Recommendation>> compute) {
+        if (limit < 1) {
+            return List.of();
+        }
+        if (!enabled) {
+            return compute.apply(limit);
+        }
+        String key = key(username);
+        while (true) {
+            CompletableFuture<TopN> created = new CompletableFuture<>();
+            CompletableFuture<TopN> future = lists.get(key, (k, executor) -> created);
+            if (future != created) {
+                TopN cached = join(future);
+                if (cached.serves(generation, limit)) {
+                    return cached.toList(films, limit);
+                }
+                // Computed under an older model or too shallow: take the slot over unless someone else already has
+                if (!lists.asMap().replace(key, future, created)) {
+                    continue;
+                }
+            }
+            int wanted = Math.max(limit, depth);
+            try {
+                TopN computed = TopN.of(generation, wanted, films, compute.apply(wanted));
+                created.complete(computed);
+                return computed.toList(films, limit);
+            } catch (RuntimeException | Error e) {
+                // Drops the entry and hands the failure to concurrent waiters
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    void invalidate(String username) {
+        lists.synchronous().invalidate(key(username));
+    }
+
+    void invalidateAll() {
+        lists.synchronous().invalidateAll();
+    }
+
+    Map<String, Object> getStats() {
+        CacheStats stats = lists.synchronous().stats();
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("enabled", enabled);
+        described.put("depth", depth);
+        described.put("size", lists.synchronous().estimatedSize());
+        described.put("hits", stats.hitCount());
+        described.put("misses", stats.missCount());
+        described.put("hitRate", stats.hitRate());
+        described.put("evictions", stats.evictionCount());
+        return described;
+    }
+
+    private static TopN join(CompletableFuture<TopN> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String key(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One computed list: film indexes and scores in descending order
+     */
+    private static final class TopN {
+        final long generation;
+        // How many films were asked for; fewer were found when the model ran out
+        final int requested;
+        final int[] films;
+        final float[] scores;
+
+        private TopN(long generation, int requested, int[] films, float[] scores) {
+            this.generation = generation;
+            this.requested = requested;
+            this.films = films;
+            this.scores = scores;
+        }
+
+        static TopN of(long generation, int requested, SlugDictionary dictionary, List<Recommendation> list) {
+            int[] films = new int[list.size()];
+            float[] scores = new float[list.size()];
+            for (int i = 0; i < films.length; i++) {
+                films[i] = dictionary.indexOf(list.get(i).getFilmSlug());
+                scores[i] = list.get(i).getScore();
+            }
+            return new TopN(generation, requested, films, scores);
+        }
+
+        boolean serves(long currentGeneration, int limit) {
+            return generation == currentGeneration && limit <= requested;
+        }
+
+        List<Recommendation> toList(SlugDictionary dictionary, int limit) {
+            int count = Math.min(limit, films.length);
+            List<Recommendation> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                list.add(new Recommendation(dictionary.get(films[i]), scores[i]));
+            }
+            return list;
+        }
+    }
+}
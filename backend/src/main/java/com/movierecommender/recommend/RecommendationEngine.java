@@ -0,0 +1,308 @@
+package com.movierecommender.recommend;
+
+import com.movierecommender.config.RecommenderConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.entity.User;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory item-item collaborative filtering engine. Scraped ratings are kept
+ * per Letterboxd username as primitive arrays; rebuilds turn them into an
+ * immutable {@link ItemBasedModel} that is swapped in atomically for readers.
+ * Each rebuilt model is also saved as a snapshot so a restart can serve it
+ * straight away. Top-N lists are cached per user until their ratings change or
+ * another model is published.
+ */
+@Service
+public class RecommendationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    private final RecommenderConfig.RecommenderProperties properties;
+    private final Map<String, UserRatings> ratingsByUser = new ConcurrentHashMap<>();
+    private final RecommendationCache cache;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommender-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ItemBasedModel model = ItemBasedModel.empty();
+    // Fingerprint of the ratings the current model was built from
+    private volatile long modelFingerprint = new SourceFingerprint().value();
+
+    public RecommendationEngine(RecommenderConfig.RecommenderProperties properties) {
+        this.properties = properties;
+        this.cache = new RecommendationCache(properties.getCacheMaxUsers(), properties.getCacheDepth());
+    }
+
+    /**
+     * Record scraped ratings for a Letterboxd user. Unrated (watched-only) entries
+     * and entries without a slug are ignored.
+     */
+    public void ingest(String letterboxdUsername, List<LetterboxdRating> ratings) {
+        if (letterboxdUsername == null || ratings == null || ratings.isEmpty()) {
+            return;
+        }
+        UserRatings update = toUserRatings(ratings);
+        if (update.size() == 0) {
+            return;
+        }
+        ratingsByUser.merge(normalise(letterboxdUsername), update, UserRatings::merge);
+        cache.invalidate(letterboxdUsername);
+        logger.debug("Ingested {} ratings for Letterboxd user {}", update.size(), letterboxdUsername);
+
+        if (properties.isRebuildOnIngest()) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Replace everything known about a user, e.g. when loading from storage
+     */
+    public void replace(String letterboxdUsername, UserRatings ratings) {
+        if (ratings.size() == 0) {
+            ratingsByUser.remove(normalise(letterboxdUsername));
+        } else {
+            ratingsByUser.put(normalise(letterboxdUsername), ratings);
+        }
+        cache.invalidate(letterboxdUsername);
+    }
+
+    /**
+     * Top-N recommendations for a user with a linked Letterboxd account
+     */
+    public List<Recommendation> recommend(User user, int limit) {
+        if (user.getLetterboxdUsername() == null || user.getLetterboxdUsername().isBlank()) {
+            return List.of();
+        }
+        return recommend(user.getLetterboxdUsername(), limit);
+    }
+
+    /**
+     * Top-N recommendations for a Letterboxd username. The user's latest ratings
+     * are scored against the current model, so freshly scraped users get results
+     * before the next rebuild has placed them in the matrix.
+     */
+    public List<Recommendation> recommend(String letterboxdUsername, int limit) {
+        if (!ratingsByUser.containsKey(normalise(letterboxdUsername))) {
+            return List.of();
+        }
+        ItemBasedModel current = model;
+        // Ratings are read when the list is computed, so an ingest that invalidates meanwhile is not lost
+        return cache.get(letterboxdUsername, limit, current.getGeneration(), current.getFilms(), depth -> {
+            UserRatings ratings = ratingsByUser.getOrDefault(normalise(letterboxdUsername), UserRatings.empty());
+            return ratings.size() == 0 ? List.of() : current.recommend(ratings.slugs(), ratings.values(), depth);
+        });
+    }
+
+    /**
+     * Top-N recommendations computed without the per-user cache, for batch jobs
+     * that would otherwise fill it with users nobody is looking at
+     */
+    public List<Recommendation> computeRecommendations(String letterboxdUsername, int limit) {
+        UserRatings ratings = ratingsByUser.getOrDefault(normalise(letterboxdUsername), UserRatings.empty());
+        if (ratings.size() == 0 || limit < 1) {
+            return List.of();
+        }
+        return model.recommend(ratings.slugs(), ratings.values(), limit);
+    }
+
+    /**
+     * Queue a background rebuild; requests arriving while one is queued are coalesced
+     */
+    public void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.error("Background recommender rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuild the similarity model from all ingested ratings and publish it
+     */
+    public ItemBasedModel rebuild() {
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            int expectedUsers = Math.max(16, ratingsByUser.size());
+            SlugDictionary users = new SlugDictionary(expectedUsers);
+            SlugDictionary films = new SlugDictionary(Math.max(16, model.getFilms().size()));
+            RatingMatrix.Builder builder = new RatingMatrix.Builder();
+            SourceFingerprint fingerprint = new SourceFingerprint();
+
+            for (Map.Entry<String, UserRatings> entry : ratingsByUser.entrySet()) {
+                int user = users.add(entry.getKey());
+                String[] slugs = entry.getValue().slugs();
+                float[] values = entry.getValue().values();
+                for (int i = 0; i < slugs.length; i++) {
+                    builder.add(user, films.add(slugs[i]), values[i]);
+                    fingerprint.add(entry.getKey(), slugs[i], values[i]);
+                }
+            }
+
+            RatingMatrix matrix = builder.build(users.size(), films.size());
+            ItemSimilarityIndex index = ItemSimilarityIndex.build(matrix, properties.getSimilarity(),
+                                                                  properties.getMaxNeighbours(),
+                                                                  properties.getMinOverlap());
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            ItemBasedModel rebuilt = new ItemBasedModel(model.getGeneration() + 1, films, matrix, index,
+                                                        Instant.now(), elapsedMillis);
+            model = rebuilt;
+            modelFingerprint = fingerprint.value();
+            cache.invalidateAll();
+
+            logger.info("Rebuilt recommender model #{}: {} users, {} films, {} ratings, {} neighbour entries in {} ms",
+                        rebuilt.getGeneration(), matrix.getNumUsers(), matrix.getNumItems(),
+                        matrix.getNumRatings(), index.getNumEntries(), elapsedMillis);
+            saveSnapshot(rebuilt, fingerprint.value());
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the current model with the saved snapshot, if there is a readable
+     * one. Requests already scoring against the old model finish on it.
+     *
+     * @return whether a snapshot was loaded
+     */
+    public boolean loadSnapshot() {
+        Path file = snapshotFile();
+        if (file == null || !Files.exists(file)) {
+            return false;
+        }
+        rebuildLock.lock();
+        try {
+            long started = System.nanoTime();
+            ModelSnapshotReader in = ModelSnapshotReader.open(file, ModelSnapshots.ITEM_BASED);
+            ItemBasedModel loaded = ModelSnapshots.readItemBased(in);
+            model = loaded;
+            modelFingerprint = in.getSourceFingerprint();
+            cache.invalidateAll();
+            logger.info("Loaded recommender model #{} from {}: {} users, {} films in {} ms",
+                        loaded.getGeneration(), file, loaded.getMatrix().getNumUsers(),
+                        loaded.getMatrix().getNumItems(), (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Discarding recommender model snapshot {}: {}", file, e.getMessage());
+            return false;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public ItemBasedModel getModel() {
+        return model;
+    }
+
+    /**
+     * Whether the current model was built from exactly the ratings held now,
+     * compared by content rather than by count
+     */
+    public boolean isModelCurrent() {
+        SourceFingerprint fingerprint = new SourceFingerprint();
+        for (Map.Entry<String, UserRatings> entry : ratingsByUser.entrySet()) {
+            String[] slugs = entry.getValue().slugs();
+            float[] values = entry.getValue().values();
+            for (int i = 0; i < slugs.length; i++) {
+                fingerprint.add(entry.getKey(), slugs[i], values[i]);
+            }
+        }
+        return fingerprint.value() == modelFingerprint;
+    }
+
+    /**
+     * Model statistics for status endpoints
+     */
+    public Map<String, Object> getStats() {
+        ItemBasedModel current = model;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("generation", current.getGeneration());
+        stats.put("builtAt", current.getBuiltAt().toString());
+        stats.put("buildMillis", current.getBuildMillis());
+        stats.put("users", current.getMatrix().getNumUsers());
+        stats.put("films", current.getMatrix().getNumItems());
+        stats.put("ratings", current.getMatrix().getNumRatings());
+        stats.put("neighbourEntries", current.getSimilarityIndex().getNumEntries());
+        stats.put("similarity", properties.getSimilarity());
+        stats.put("pendingUsers", ratingsByUser.size());
+        stats.put("cache", cache.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void saveSnapshot(ItemBasedModel saved, long sourceFingerprint) {
+        Path file = snapshotFile();
+        if (file == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, ModelSnapshots.ITEM_BASED, sourceFingerprint)) {
+            ModelSnapshots.write(out, saved);
+            out.commit();
+            logger.info("Saved recommender model #{} to {} in {} ms",
+                        saved.getGeneration(), file, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Could not save recommender model snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path snapshotFile() {
+        String file = properties.getSnapshotFile();
+        return file == null || file.isBlank() ? null : Paths.get(file);
+    }
+
+    private static UserRatings toUserRatings(List<LetterboxdRating> ratings) {
+        SlugDictionary seen = new SlugDictionary(ratings.size());
+        String[] slugs = new String[ratings.size()];
+        float[] values = new float[ratings.size()];
+        for (LetterboxdRating rating : ratings) {
+            String slug = rating.getFilmSlug();
+            if (slug == null || slug.isBlank() || rating.getRating() == null) {
+                continue;
+            }
+            int index = seen.add(slug);
+            slugs[index] = slug;
+            values[index] = rating.getRating().floatValue();
+        }
+        int size = seen.size();
+        return new UserRatings(Arrays.copyOf(slugs, size), Arrays.copyOf(values, size));
+    }
+
+    private static String normalise(String letterboxdUsername) {
+        return letterboxdUsername.trim().toLowerCase();
+    }
+}
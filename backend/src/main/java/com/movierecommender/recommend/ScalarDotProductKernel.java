@@ -0,0 +1,55 @@
+package com.movierecommender.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Plain loop fallback used when the Vector API is not available.
+ */
+final class ScalarDotProductKernel implements DotProductKernel {
+
+    @Override
+    public void dot(float[] factors, int rank, float[] query, int queryOffset, int from, int to, float[] out) {
+        for (int row = from; row < to; row++) {
+            int base = row * rank;
+            float sum = 0f;
+            for (int x = 0; x < rank; x++) {
+                sum += factors[base + x] * query[queryOffset + x];
+            }
+            out[row - from] = sum;
+        }
+    }
+
+    @Override
+    public void dot(PackedFactors factors, float[] query, int queryOffset, int fromBlock, int toBlock, float[] out) {
+        byte[] codes = factors.codes();
+        float[] scales = factors.scales();
+        int rank = factors.rank();
+        int block = PackedFactors.BLOCK;
+        float[] acc = new float[block];
+        for (int b = fromBlock; b < toBlock; b++) {
+            Arrays.fill(acc, 0f);
+            int base = b * block * rank;
+            for (int x = 0; x < rank; x++) {
+                float q = query[queryOffset + x];
+                int offset = base + x * block;
+                for (int lane = 0; lane < block; lane++) {
+                    acc[lane] += codes[offset + lane] * q;
+                }
+            }
+            int outBase = (b - fromBlock) * block;
+            for (int lane = 0; lane < block; lane++) {
+                out[outBase + lane] = acc[lane] * scales[b * block + lane];
+            }
+        }
+    }
+
+    @Override
+    public boolean prefersPacked() {
+        return false;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,85 @@
+package com.movierecommender.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Per-request open-addressing map from candidate item index to a weighted
+ * score sum and weight sum. Sized to the number of candidates rather than the
+ * catalogue, so it stays cheap to allocate on every request.
+ */
+class ScoreAccumulator {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private float[] weightedSums;
+    private float[] weights;
+    private int size;
+
+    ScoreAccumulator(int expectedCandidates) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedCandidates * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    void add(int item, float weightedScore, float weight) {
+        int slot = slotFor(item);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = item;
+            if (++size > keys.length / 2) {
+                grow();
+                slot = slotFor(item);
+            }
+        }
+        weightedSums[slot] += weightedScore;
+        weights[slot] += weight;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /** Item stored in the given slot, or -1 when the slot is empty */
+    int itemAt(int slot) {
+        return keys[slot];
+    }
+
+    float weightedSumAt(int slot) {
+        return weightedSums[slot];
+    }
+
+    float weightAt(int slot) {
+        return weights[slot];
+    }
+
+    private int slotFor(int item) {
+        int mask = keys.length - 1;
+        int hash = item * 0x9E3779B9;
+        int pos = (hash ^ (hash >>> 16)) & mask;
+        while (keys[pos] != EMPTY && keys[pos] != item) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        float[] oldSums = weightedSums;
+        float[] oldWeights = weights;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                weightedSums[slot] = oldSums[i];
+                weights[slot] = oldWeights[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        weightedSums = new float[capacity];
+        weights = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+}
@@ -0,0 +1,11 @@
+package com.movierecommender.recommend;
+
+/**
+ * Item-item similarity measures supported by {@link ItemSimilarityIndex}.
+ */
+public enum SimilarityMetric {
+    /** Plain cosine over raw rating vectors */
+    COSINE,
+    /** Cosine over ratings centred on each user's mean rating */
+    ADJUSTED_COSINE
+}
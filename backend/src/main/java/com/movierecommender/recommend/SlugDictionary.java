@@ -0,0 +1,110 @@
+package com.movierecommender.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Dense String-to-int dictionary used to map film slugs and usernames onto
+ * array indices. Open addressing over parallel arrays keeps lookups free of
+ * boxing. Not thread-safe while being built; read-only once published.
+ */
+public class SlugDictionary {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private String[] keys;
+    private int[] slots;
+    private String[] byIndex;
+    private int size;
+
+    public SlugDictionary() {
+        this(1024);
+    }
+
+    public SlugDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new String[capacity];
+        this.slots = new int[capacity];
+        this.byIndex = new String[Math.max(16, expectedSize)];
+    }
+
+    /**
+     * Index of the key, or -1 if it is not present
+     */
+    public int indexOf(String key) {
+        int mask = keys.length - 1;
+        int pos = mix(key.hashCode()) & mask;
+        while (true) {
+            String existing = keys[pos];
+            if (existing == null) {
+                return -1;
+            }
+            if (existing.equals(key)) {
+                return slots[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    /**
+     * Index of the key, assigning the next free index if it is new
+     */
+    public int add(String key) {
+        int mask = keys.length - 1;
+        int pos = mix(key.hashCode()) & mask;
+        while (true) {
+            String existing = keys[pos];
+            if (existing == null) {
+                break;
+            }
+            if (existing.equals(key)) {
+                return slots[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        int index = size++;
+        keys[pos] = key;
+        slots[pos] = index;
+        if (index == byIndex.length) {
+            byIndex = Arrays.copyOf(byIndex, index * 2);
+        }
+        byIndex[index] = key;
+        if (size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length * 2);
+        }
+        return index;
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No entry at index " + index);
+        }
+        return byIndex[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        String[] newKeys = new String[capacity];
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            String key = byIndex[i];
+            int pos = mix(key.hashCode()) & mask;
+            while (newKeys[pos] != null) {
+                pos = (pos + 1) & mask;
+            }
+            newKeys[pos] = key;
+            newSlots[pos] = i;
+        }
+        keys = newKeys;
+        slots = newSlots;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,44 @@
+package com.movierecommender.recommend;
+
+/**
+ * Order-independent 64-bit fingerprint of the (user, film, value) rows a model
+ * is built from. Each row is hashed on its own and the hashes are summed, so
+ * rows can be added in any order; changing any value, slug or user changes
+ * the result even when the number of rows stays the same.
+ */
+public final class SourceFingerprint {
+
+    private long sum;
+    private long rows;
+
+    public void add(String user, String film, float value) {
+        long hash = mix(hash(user) ^ Long.rotateLeft(hash(film), 32));
+        sum += mix(hash ^ Float.floatToIntBits(value));
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long value() {
+        return mix(sum ^ mix(rows));
+    }
+
+    // FNV-1a over the UTF-16 code units
+    private static long hash(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
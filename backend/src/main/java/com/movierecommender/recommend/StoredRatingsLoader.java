@@ -0,0 +1,99 @@
+package com.movierecommender.recommend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Seeds the {@link RecommendationEngine} from stored ratings at startup so
+ * recommendations survive restarts without re-scraping anyone. The saved model
+ * snapshot is loaded first; a rebuild is only queued when it was built from
+ * ratings whose content differs from the ones stored now.
+ */
+@Component
+public class StoredRatingsLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredRatingsLoader.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecommendationEngine recommendationEngine;
+    private final TransactionTemplate readTransaction;
+
+    public StoredRatingsLoader(JdbcTemplate jdbcTemplate, RecommendationEngine recommendationEngine,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recommendationEngine = recommendationEngine;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStoredRatings() {
+        boolean restored = recommendationEngine.loadSnapshot();
+        long started = System.nanoTime();
+        int[] users = new int[1];
+        int[] ratings = new int[1];
+
+        UserAccumulator current = new UserAccumulator();
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+            "SELECT u.letterboxd_username, r.film_slug, r.rating FROM ratings r " +
+            "JOIN users u ON u.id = r.user_id " +
+            "WHERE r.rating IS NOT NULL AND u.letterboxd_username IS NOT NULL " +
+            "ORDER BY r.user_id",
+            rs -> {
+                String username = rs.getString(1);
+                if (!username.equals(current.username)) {
+                    if (current.flushTo(recommendationEngine)) {
+                        users[0]++;
+                    }
+                    current.username = username;
+                }
+                current.add(rs.getString(2), rs.getFloat(3));
+                ratings[0]++;
+            }));
+        if (current.flushTo(recommendationEngine)) {
+            users[0]++;
+        }
+
+        logger.info("Loaded {} stored ratings for {} users in {} ms",
+                    ratings[0], users[0], (System.nanoTime() - started) / 1_000_000);
+        if (restored && recommendationEngine.isModelCurrent()) {
+            logger.info("Recommender model snapshot matches stored ratings; skipping startup rebuild");
+        } else if (restored || ratings[0] > 0) {
+            recommendationEngine.scheduleRebuild();
+        }
+    }
+
+    private static class UserAccumulator {
+        String username;
+        String[] slugs = new String[256];
+        float[] values = new float[256];
+        int size;
+
+        void add(String slug, float value) {
+            if (size == slugs.length) {
+                slugs = Arrays.copyOf(slugs, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            slugs[size] = slug;
+            values[size] = value;
+            size++;
+        }
+
+        boolean flushTo(RecommendationEngine engine) {
+            if (username == null || size == 0) {
+                return false;
+            }
+            engine.replace(username, new UserRatings(Arrays.copyOf(slugs, size), Arrays.copyOf(values, size)));
+            size = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.movierecommender.recommend;
+
+/**
+ * Bounded min-heap over (int id, float score) pairs that keeps the k highest
+ * scores seen without boxing. Reusable through {@link #reset()}.
+ */
+public class TopKSelector {
+
+    private final int capacity;
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    public TopKSelector(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Lowest score currently retained, or negative infinity while the heap is not full
+     */
+    public float threshold() {
+        return size < capacity ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public void offer(int id, float score) {
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the heap into the given arrays ordered by descending score.
+     * Returns the number of entries written.
+     */
+    public int drainDescending(int[] outIds, float[] outScores) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return count;
+    }
+
+    private void siftUp(int pos) {
+        int id = ids[pos];
+        float score = scores[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (scores[parent] <= score) {
+                break;
+            }
+            ids[pos] = ids[parent];
+            scores[pos] = scores[parent];
+            pos = parent;
+        }
+        ids[pos] = id;
+        scores[pos] = score;
+    }
+
+    private void siftDown(int pos) {
+        int id = ids[pos];
+        float score = scores[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && scores[right] < scores[child]) {
+                child = right;
+            }
+            if (scores[child] >= score) {
+                break;
+            }
+            ids[pos] = ids[child];
+            scores[pos] = scores[child];
+            pos = child;
+        }
+        ids[pos] = id;
+        scores[pos] = score;
+    }
+}
@@ -0,0 +1,67 @@
+package com.movierecommender.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of one user's explicit ratings as parallel slug/value arrays.
+ */
+public class UserRatings {
+
+    private static final UserRatings EMPTY = new UserRatings(new String[0], new float[0]);
+
+    private final String[] slugs;
+    private final float[] values;
+
+    public UserRatings(String[] slugs, float[] values) {
+        if (slugs.length != values.length) {
+            throw new IllegalArgumentException("slugs and values must have the same length");
+        }
+        this.slugs = slugs;
+        this.values = values;
+    }
+
+    public static UserRatings empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return slugs.length;
+    }
+
+    public String[] slugs() {
+        return slugs;
+    }
+
+    public float[] values() {
+        return values;
+    }
+
+    /**
+     * New snapshot with the given ratings applied on top of this one; ratings for
+     * a slug already present replace the old value.
+     */
+    public UserRatings merge(UserRatings update) {
+        if (slugs.length == 0) {
+            return update;
+        }
+        SlugDictionary index = new SlugDictionary(slugs.length + update.slugs.length);
+        String[] mergedSlugs = Arrays.copyOf(slugs, slugs.length + update.slugs.length);
+        float[] mergedValues = Arrays.copyOf(values, values.length + update.values.length);
+        for (String slug : slugs) {
+            index.add(slug);
+        }
+        int size = slugs.length;
+        for (int i = 0; i < update.slugs.length; i++) {
+            int existing = index.indexOf(update.slugs[i]);
+            if (existing >= 0) {
+                mergedValues[existing] = update.values[i];
+            } else {
+                index.add(update.slugs[i]);
+                mergedSlugs[size] = update.slugs[i];
+                mergedValues[size] = update.values[i];
+                size++;
+            }
+        }
+        return new UserRatings(Arrays.copyOf(mergedSlugs, size), Arrays.copyOf(mergedValues, size));
+    }
+}
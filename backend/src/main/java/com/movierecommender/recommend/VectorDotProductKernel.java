@@ -0,0 +1,115 @@
+package com.movierecommender.recommend;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel on the incubating Vector API. Only loaded when the
+ * {@code jdk.incubator.vector} module is present at runtime; see
+ * {@link FactorScorer}. Row-major floats are scored two rows per pass so each
+ * query lane loaded from memory feeds two fused multiply-adds; packed int8
+ * blocks are widened lane for lane and need no horizontal sums.
+ */
+final class VectorDotProductKernel implements DotProductKernel {
+
+    /** Widest float species that still divides a packed block */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED.length() > PackedFactors.BLOCK
+            ? FloatVector.SPECIES_512
+            : FloatVector.SPECIES_PREFERRED;
+    /** Bytes widened to floats lane for lane, in one or more {@link #SPECIES}-sized parts */
+    private static final VectorSpecies<Byte> BYTES = bytesFor(SPECIES);
+
+    @Override
+    public void dot(float[] factors, int rank, float[] query, int queryOffset, int from, int to, float[] out) {
+        int lanes = SPECIES.length();
+        int upper = SPECIES.loopBound(rank);
+        int row = from;
+        for (; row + 1 < to; row += 2) {
+            int first = row * rank;
+            int second = first + rank;
+            FloatVector a = FloatVector.zero(SPECIES);
+            FloatVector b = FloatVector.zero(SPECIES);
+            int x = 0;
+            for (; x < upper; x += lanes) {
+                FloatVector q = FloatVector.fromArray(SPECIES, query, queryOffset + x);
+                a = FloatVector.fromArray(SPECIES, factors, first + x).fma(q, a);
+                b = FloatVector.fromArray(SPECIES, factors, second + x).fma(q, b);
+            }
+            float sumA = a.reduceLanes(VectorOperators.ADD);
+            float sumB = b.reduceLanes(VectorOperators.ADD);
+            for (; x < rank; x++) {
+                float q = query[queryOffset + x];
+                sumA += factors[first + x] * q;
+                sumB += factors[second + x] * q;
+            }
+            out[row - from] = sumA;
+            out[row + 1 - from] = sumB;
+        }
+        if (row < to) {
+            int base = row * rank;
+            FloatVector a = FloatVector.zero(SPECIES);
+            int x = 0;
+            for (; x < upper; x += lanes) {
+                a = FloatVector.fromArray(SPECIES, factors, base + x)
+                        .fma(FloatVector.fromArray(SPECIES, query, queryOffset + x), a);
+            }
+            float sum = a.reduceLanes(VectorOperators.ADD);
+            for (; x < rank; x++) {
+                sum += factors[base + x] * query[queryOffset + x];
+            }
+            out[row - from] = sum;
+        }
+    }
+
+    @Override
+    public void dot(PackedFactors factors, float[] query, int queryOffset, int fromBlock, int toBlock, float[] out) {
+        byte[] codes = factors.codes();
+        float[] scales = factors.scales();
+        int rank = factors.rank();
+        int block = PackedFactors.BLOCK;
+        int lanes = SPECIES.length();
+        for (int b = fromBlock; b < toBlock; b++) {
+            int base = b * block * rank;
+            int outBase = (b - fromBlock) * block;
+            for (int lane = 0; lane < block; lane += lanes) {
+                // The byte load starting at or before this lane, and which part of it these lanes are
+                int loaded = lane - lane % BYTES.length();
+                int part = (lane - loaded) / lanes;
+                FloatVector acc = FloatVector.zero(SPECIES);
+                for (int x = 0; x < rank; x++) {
+                    acc = widen(codes, base + x * block + loaded, part)
+                            .fma(FloatVector.broadcast(SPECIES, query[queryOffset + x]), acc);
+                }
+                acc.mul(FloatVector.fromArray(SPECIES, scales, b * block + lane))
+                   .intoArray(out, outBase + lane);
+            }
+        }
+    }
+
+    private static FloatVector widen(byte[] codes, int offset, int part) {
+        return (FloatVector) ByteVector.fromArray(BYTES, codes, offset).convertShape(VectorOperators.B2F, SPECIES, part);
+    }
+
+    /**
+     * Bytes for widening into {@code floats}: a quarter of its width, but no
+     * narrower than the smallest byte shape. Below a 256-bit float species that
+     * holds more lanes than the floats, and each load is widened in parts.
+     */
+    static VectorSpecies<Byte> bytesFor(VectorSpecies<Float> floats) {
+        int bits = Math.max(VectorShape.S_64_BIT.vectorBitSize(), floats.vectorBitSize() / 4);
+        return VectorSpecies.of(byte.class, VectorShape.forBitSize(bits));
+    }
+
+    @Override
+    public boolean prefersPacked() {
+        return true;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
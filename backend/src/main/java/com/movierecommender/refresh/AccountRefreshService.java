@@ -0,0 +1,253 @@
+package com.movierecommender.refresh;
+
+import com.movierecommender.config.RefreshConfig;
+import com.movierecommender.entity.RefreshRun;
+import com.movierecommender.entity.ScrapeState;
+import com.movierecommender.entity.User;
+import com.movierecommender.repository.RefreshRunRepository;
+import com.movierecommender.repository.ScrapeStateRepository;
+import com.movierecommender.repository.UserRepository;
+import com.movierecommender.service.LetterboxdIntegrationService;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-scrapes every user with a linked Letterboxd account. Accounts are walked
+ * in pages, never-scraped ones first and then least recently scraped first;
+ * scrapes within a page run on virtual threads, bounded by a semaphore and
+ * paced by a token bucket so the scraper sees a steady request rate. The run
+ * cursor is checkpointed after every page and an unfinished run resumes at startup.
+ */
+@Service
+public class AccountRefreshService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountRefreshService.class);
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final ScrapeStateRepository scrapeStateRepository;
+    private final RefreshRunRepository refreshRunRepository;
+    private final LetterboxdIntegrationService letterboxdService;
+    private final RefreshConfig.RefreshProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean cancelRequested;
+
+    public AccountRefreshService(UserRepository userRepository,
+                                 ScrapeStateRepository scrapeStateRepository,
+                                 RefreshRunRepository refreshRunRepository,
+                                 LetterboxdIntegrationService letterboxdService,
+                                 RefreshConfig.RefreshProperties properties) {
+        this.userRepository = userRepository;
+        this.scrapeStateRepository = scrapeStateRepository;
+        this.refreshRunRepository = refreshRunRepository;
+        this.letterboxdService = letterboxdService;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${letterboxd.refresh.cron:0 0 1 * * *}")
+    public void scheduledRefresh() {
+        if (properties.isEnabled() && start().isEmpty()) {
+            logger.info("Skipping scheduled account refresh, a run is already in progress");
+        }
+    }
+
+    /**
+     * Pick up a run that was interrupted by a shutdown
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        refreshRunRepository.findFirstByStatusOrderByIdDesc(RefreshRun.Status.RUNNING).ifPresent(run -> {
+            if (running.compareAndSet(false, true)) {
+                logger.info("Resuming account refresh run {} ({} accounts done)", run.getId(), run.getAttempted());
+                executor.execute(() -> execute(run));
+            }
+        });
+    }
+
+    /**
+     * Start a refresh now; empty when one is already running
+     */
+    public Optional<RefreshRun> start() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        RefreshRun run = new RefreshRun();
+        run.setStartedAt(LocalDateTime.now());
+        RefreshRun saved = refreshRunRepository.save(run);
+        logger.info("Starting account refresh run {}", saved.getId());
+        executor.execute(() -> execute(saved));
+        return Optional.of(saved);
+    }
+
+    /**
+     * Stop the current run after the page in progress; returns false when none is running
+     */
+    public boolean cancel() {
+        if (!running.get()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("inFlight", inFlight.get());
+        status.put("scheduled", properties.isEnabled());
+        status.put("cron", properties.getCron());
+        refreshRunRepository.findFirstByOrderByIdDesc().ifPresent(run -> {
+            Map<String, Object> last = new LinkedHashMap<>();
+            last.put("id", run.getId());
+            last.put("status", run.getStatus());
+            last.put("phase", run.getPhase());
+            last.put("startedAt", run.getStartedAt());
+            last.put("finishedAt", run.getFinishedAt());
+            last.put("attempted", run.getAttempted());
+            last.put("succeeded", run.getSucceeded());
+            last.put("failed", run.getFailed());
+            LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+            long seconds = Math.max(1, Duration.between(run.getStartedAt(), end).toSeconds());
+            last.put("accountsPerMinute", run.getAttempted() * 60.0 / seconds);
+            status.put("lastRun", last);
+        });
+        return status;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void execute(RefreshRun run) {
+        TokenBucket bucket = new TokenBucket(properties.getRequestsPerSecond(), properties.getBurst());
+        Semaphore permits = new Semaphore(properties.getMaxConcurrent());
+        try {
+            while (!cancelRequested) {
+                List<Target> page = nextPage(run);
+                if (page.isEmpty()) {
+                    if (run.getPhase() == RefreshRun.Phase.NEVER_SCRAPED) {
+                        run.setPhase(RefreshRun.Phase.STALE);
+                        run.setCursorScrapedAt(EPOCH);
+                        run.setCursorUserId(0L);
+                        run = refreshRunRepository.save(run);
+                        continue;
+                    }
+                    break;
+                }
+                int succeeded = refreshPage(page, bucket, permits);
+                Target last = page.get(page.size() - 1);
+                run.setCursorScrapedAt(last.lastScrapedAt);
+                run.setCursorUserId(last.userId);
+                run.setAttempted(run.getAttempted() + page.size());
+                run.setSucceeded(run.getSucceeded() + succeeded);
+                run.setFailed(run.getFailed() + page.size() - succeeded);
+                run = refreshRunRepository.save(run);
+                logger.info("Account refresh run {}: {} accounts done ({} failed)",
+                            run.getId(), run.getAttempted(), run.getFailed());
+            }
+            run.setStatus(cancelRequested ? RefreshRun.Status.CANCELLED : RefreshRun.Status.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            refreshRunRepository.save(run);
+            logger.info("Account refresh run {} {}: {} accounts, {} failed",
+                        run.getId(), run.getStatus(), run.getAttempted(), run.getFailed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Account refresh run {} interrupted, will resume from its last checkpoint", run.getId());
+        } catch (RuntimeException e) {
+            logger.error("Account refresh run {} stopped, will resume from its last checkpoint", run.getId(), e);
+        } finally {
+            cancelRequested = false;
+            running.set(false);
+        }
+    }
+
+    private List<Target> nextPage(RefreshRun run) {
+        Limit limit = Limit.of(properties.getPageSize());
+        List<Target> page = new ArrayList<>();
+        if (run.getPhase() == RefreshRun.Phase.NEVER_SCRAPED) {
+            for (User user : userRepository.findNeverScrapedLinkedUsers(run.getCursorUserId(), limit)) {
+                page.add(new Target(user.getId(), user.getLetterboxdUsername(), null));
+            }
+        } else {
+            for (ScrapeState state : scrapeStateRepository.findStaleLinkedStates(
+                    run.getStartedAt(), run.getCursorScrapedAt(), run.getCursorUserId(), limit)) {
+                page.add(new Target(state.getUser().getId(), state.getUser().getLetterboxdUsername(),
+                                    state.getLastScrapedAt()));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Scrape one page of accounts and wait for all of them; returns the number that succeeded
+     */
+    private int refreshPage(List<Target> page, TokenBucket bucket, Semaphore permits) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(page.size());
+        AtomicInteger succeeded = new AtomicInteger();
+        int dispatched = 0;
+        try {
+            for (Target target : page) {
+                bucket.acquire();
+                permits.acquire();
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        letterboxdService.ingestUserData(target.letterboxdUsername, true, true,
+                                                         properties.getRatingLimit(), properties.isIncremental());
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        logger.warn("Refresh of Letterboxd user {} failed: {}", target.letterboxdUsername, e.getMessage());
+                    } finally {
+                        inFlight.decrementAndGet();
+                        permits.release();
+                        done.countDown();
+                    }
+                });
+                dispatched++;
+            }
+        } finally {
+            for (int i = dispatched; i < page.size(); i++) {
+                done.countDown();
+            }
+        }
+        done.await();
+        return succeeded.get();
+    }
+
+    private static class Target {
+        final Long userId;
+        final String letterboxdUsername;
+        final LocalDateTime lastScrapedAt;
+
+        Target(Long userId, String letterboxdUsername, LocalDateTime lastScrapedAt) {
+            this.userId = userId;
+            this.letterboxdUsername = letterboxdUsername;
+            this.lastScrapedAt = lastScrapedAt;
+        }
+    }
+}
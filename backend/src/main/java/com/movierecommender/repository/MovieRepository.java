@@ -1,13 +1,18 @@
 package com.movierecommender.repository;
 
 import com.movierecommender.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
@@ -19,5 +24,16 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.rating >= :minRating ORDER BY m.rating DESC")
     List<Movie> findMoviesWithRatingAbove(@Param("minRating") Double minRating);
     
-    Optional<Movie> findByTitleAndReleaseYear(String title, Integer releaseYear);
+    // Slug-less rows left by imports that a scraped film can claim, oldest first
+    List<Movie> findByTitleAndReleaseYearAndSlugIsNullOrderByIdAsc(String title, Integer releaseYear);
+    Optional<Movie> findBySlug(String slug);
+
+    List<Movie> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Movie m ORDER BY m.id")
+    Stream<Movie> streamAllOrderedById();
 }
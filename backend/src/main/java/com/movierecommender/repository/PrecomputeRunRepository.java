@@ -0,0 +1,14 @@
+package com.movierecommender.repository;
+
+import com.movierecommender.entity.PrecomputeRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PrecomputeRunRepository extends JpaRepository<PrecomputeRun, Long> {
+    Optional<PrecomputeRun> findFirstByStatusOrderByIdDesc(PrecomputeRun.Status status);
+
+    Optional<PrecomputeRun> findFirstByOrderByIdDesc();
+}
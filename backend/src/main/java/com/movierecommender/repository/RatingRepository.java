@@ -0,0 +1,22 @@
+package com.movierecommender.repository;
+
+import com.movierecommender.entity.Rating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingRepository extends JpaRepository<Rating, Long> {
+    @Query("SELECT r FROM Rating r LEFT JOIN FETCH r.movie WHERE r.user.id = :userId ORDER BY r.id")
+    List<Rating> findByUserIdWithMovie(@Param("userId") Long userId);
+
+    long countByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Rating r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
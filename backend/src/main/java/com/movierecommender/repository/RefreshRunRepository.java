@@ -0,0 +1,14 @@
+package com.movierecommender.repository;
+
+import com.movierecommender.entity.RefreshRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RefreshRunRepository extends JpaRepository<RefreshRun, Long> {
+    Optional<RefreshRun> findFirstByStatusOrderByIdDesc(RefreshRun.Status status);
+
+    Optional<RefreshRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,36 @@
+package com.movierecommender.repository;
+
+import com.movierecommender.entity.ScrapeState;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScrapeStateRepository extends JpaRepository<ScrapeState, Long> {
+    Optional<ScrapeState> findByUserId(Long userId);
+
+    /**
+     * Linked accounts last scraped before staleBefore, least recently scraped
+     * first, keyset-paginated on (lastScrapedAt, user id)
+     */
+    @Query("SELECT s FROM ScrapeState s JOIN FETCH s.user u " +
+           "WHERE u.letterboxdUsername IS NOT NULL AND u.letterboxdUsername <> '' " +
+           "AND s.lastScrapedAt < :staleBefore " +
+           "AND (s.lastScrapedAt > :afterScrapedAt OR (s.lastScrapedAt = :afterScrapedAt AND u.id > :afterUserId)) " +
+           "ORDER BY s.lastScrapedAt, u.id")
+    List<ScrapeState> findStaleLinkedStates(@Param("staleBefore") LocalDateTime staleBefore,
+                                            @Param("afterScrapedAt") LocalDateTime afterScrapedAt,
+                                            @Param("afterUserId") Long afterUserId,
+                                            Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ScrapeState s WHERE s.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
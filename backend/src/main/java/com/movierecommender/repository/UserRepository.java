@@ -1,10 +1,18 @@
 package com.movierecommender.repository;
 
 import com.movierecommender.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByLetterboxdUsername(String letterboxdUsername);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.letterboxdUsername IS NOT NULL AND u.letterboxdUsername <> '' " +
+           "AND u.id > :afterId AND NOT EXISTS (SELECT s FROM ScrapeState s WHERE s.user = u) ORDER BY u.id")
+    List<User> findNeverScrapedLinkedUsers(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
 }
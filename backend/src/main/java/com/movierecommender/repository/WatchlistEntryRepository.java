@@ -0,0 +1,22 @@
+package com.movierecommender.repository;
+
+import com.movierecommender.entity.WatchlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WatchlistEntryRepository extends JpaRepository<WatchlistEntry, Long> {
+    @Query("SELECT w FROM WatchlistEntry w LEFT JOIN FETCH w.movie WHERE w.user.id = :userId ORDER BY w.id")
+    List<WatchlistEntry> findByUserIdWithMovie(@Param("userId") Long userId);
+
+    long countByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM WatchlistEntry w WHERE w.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
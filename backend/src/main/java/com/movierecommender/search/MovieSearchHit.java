@@ -0,0 +1,19 @@
+package com.movierecommender.search;
+
+public class MovieSearchHit {
+    private final long movieId;
+    private final float score;
+
+    public MovieSearchHit(long movieId, float score) {
+        this.movieId = movieId;
+        this.score = score;
+    }
+
+    public long getMovieId() {
+        return movieId;
+    }
+
+    public float getScore() {
+        return score;
+    }
+}
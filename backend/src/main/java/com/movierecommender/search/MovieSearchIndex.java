@@ -0,0 +1,439 @@
+package com.movierecommender.search;
+
+import com.movierecommender.recommend.TopKSelector;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Immutable inverted index over movie titles, directors, genres and release
+ * years. Terms are kept sorted so prefixes resolve to a contiguous range;
+ * postings are stored CSR-style with a per-posting field mask.
+ *
+ * <p>Each query token matches exact terms, terms it is a prefix of (the last
+ * token only, for search-as-you-type) and, for tokens of four or more
+ * characters, terms within one edit (two for long tokens). Matches are scored
+ * BM25-style with title matches weighted highest; documents matching the most
+ * query tokens are ranked first.
+ */
+public class MovieSearchIndex {
+
+    static final int TITLE = 1;
+    static final int DIRECTOR = 2;
+    static final int GENRE = 4;
+    static final int YEAR = 8;
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float DIRECTOR_WEIGHT = 2.0f;
+    private static final float GENRE_WEIGHT = 1.0f;
+    private static final float YEAR_WEIGHT = 1.0f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float EXACT = 1.0f;
+    private static final float FUZZY = 0.6f;
+    private static final int MAX_EXPANSIONS = 512;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    private final long[] movieIds;
+    private final float[] ratings;
+    private final byte[] titleLengths;
+    private final float averageTitleLength;
+    private final String[] terms;
+    private final int[] termStart;
+    private final int[] postingDocs;
+    private final byte[] postingFields;
+    private final float[] idf;
+    private final Instant builtAt;
+    private final long buildMillis;
+
+    // Scoring buffers are sized to the document count, so they are pooled rather than per thread
+    private final ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private MovieSearchIndex(long[] movieIds, float[] ratings, byte[] titleLengths, String[] terms,
+                             int[] termStart, int[] postingDocs, byte[] postingFields,
+                             Instant builtAt, long buildMillis) {
+        this.movieIds = movieIds;
+        this.ratings = ratings;
+        this.titleLengths = titleLengths;
+        this.terms = terms;
+        this.termStart = termStart;
+        this.postingDocs = postingDocs;
+        this.postingFields = postingFields;
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+
+        long totalTitleLength = 0;
+        for (byte length : titleLengths) {
+            totalTitleLength += length;
+        }
+        this.averageTitleLength = movieIds.length == 0 ? 1f : Math.max(1f, (float) totalTitleLength / movieIds.length);
+
+        int numDocs = movieIds.length;
+        this.idf = new float[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            int df = termStart[t + 1] - termStart[t];
+            idf[t] = (float) Math.log(1 + (numDocs - df + 0.5) / (df + 0.5));
+        }
+    }
+
+    public int getNumDocuments() {
+        return movieIds.length;
+    }
+
+    public int getNumTerms() {
+        return terms.length;
+    }
+
+    public int getNumPostings() {
+        return postingDocs.length;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Best matching movies for a free-text query, highest score first
+     */
+    public List<MovieSearchHit> search(String query, int limit) {
+        List<String> tokens = TextAnalyzer.tokens(query);
+        if (tokens.isEmpty() || movieIds.length == 0 || limit < 1) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            s = new Scratch(movieIds.length);
+        }
+        try {
+            int bestCount = 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1;
+                expand(tokens.get(i), prefix, s);
+                bestCount = Math.max(bestCount, accumulate(i, s));
+            }
+            if (bestCount == 0) {
+                return List.of();
+            }
+
+            TopKSelector top = new TopKSelector(Math.min(limit, s.touchedCount));
+            for (int k = 0; k < s.touchedCount; k++) {
+                int doc = s.touched[k];
+                if (Integer.bitCount(s.matched[doc]) == bestCount) {
+                    // Rating only separates otherwise equal matches
+                    top.offer(doc, s.total[doc] + ratings[doc] * 1e-3f);
+                }
+            }
+            int[] docs = new int[top.size()];
+            float[] scores = new float[top.size()];
+            int count = top.drainDescending(docs, scores);
+            List<MovieSearchHit> hits = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                hits.add(new MovieSearchHit(movieIds[docs[k]], scores[k]));
+            }
+            return hits;
+        } finally {
+            s.clear();
+            scratchPool.offer(s);
+        }
+    }
+
+    /**
+     * Collect (term, match quality) pairs for one query token into the scratch expansion list
+     */
+    private void expand(String token, boolean prefix, Scratch s) {
+        s.expansionCount = 0;
+        int exact = Arrays.binarySearch(terms, token);
+        if (exact >= 0) {
+            s.addExpansion(exact, EXACT);
+        }
+        if (prefix) {
+            int from = exact >= 0 ? exact + 1 : -exact - 1;
+            for (int t = from; t < terms.length && s.expansionCount < MAX_EXPANSIONS && terms[t].startsWith(token); t++) {
+                // Closer completions score higher: "god" ranks "gods" above "godfather"
+                s.addExpansion(t, 0.7f + 0.3f * token.length() / terms[t].length());
+            }
+        }
+        if (token.length() >= 4 && s.expansionCount == 0) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            // Typos rarely hit the first character, so only terms sharing it are compared
+            String first = token.substring(0, 1);
+            int from = lowerBound(first);
+            int to = lowerBound(first + Character.MAX_VALUE);
+            for (int t = from; t < to && s.expansionCount < MAX_EXPANSIONS; t++) {
+                String term = terms[t];
+                if (Math.abs(term.length() - token.length()) <= maxEdits
+                        && withinEdits(token, term, maxEdits)) {
+                    s.addExpansion(t, FUZZY);
+                } else if (prefix && term.length() > token.length()
+                        && withinEdits(token, term.substring(0, token.length()), 1)) {
+                    s.addExpansion(t, FUZZY * 0.8f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Score every document matched by the current expansions for token i and
+     * fold the per-token best into the running totals. Returns the highest
+     * number of tokens any document has matched so far.
+     */
+    private int accumulate(int tokenIndex, Scratch s) {
+        int bit = 1 << tokenIndex;
+        int tokenTouched = 0;
+        for (int e = 0; e < s.expansionCount; e++) {
+            int term = s.expansionTerms[e];
+            float weight = idf[term] * s.expansionQuality[e];
+            for (int p = termStart[term]; p < termStart[term + 1]; p++) {
+                int doc = postingDocs[p];
+                float score = weight * fieldWeight(postingFields[p], doc);
+                if (s.stamp[doc] != bit) {
+                    s.stamp[doc] = bit;
+                    s.best[doc] = score;
+                    s.tokenDocs[tokenTouched++] = doc;
+                } else if (score > s.best[doc]) {
+                    s.best[doc] = score;
+                }
+            }
+        }
+
+        int bestCount = 0;
+        for (int k = 0; k < tokenTouched; k++) {
+            int doc = s.tokenDocs[k];
+            if (s.matched[doc] == 0) {
+                s.touched[s.touchedCount++] = doc;
+            }
+            s.matched[doc] |= bit;
+            s.total[doc] += s.best[doc];
+            s.stamp[doc] = 0;
+            bestCount = Math.max(bestCount, Integer.bitCount(s.matched[doc]));
+        }
+        for (int k = 0; k < s.touchedCount && bestCount < tokenIndex + 1; k++) {
+            bestCount = Math.max(bestCount, Integer.bitCount(s.matched[s.touched[k]]));
+        }
+        return bestCount;
+    }
+
+    private float fieldWeight(int fields, int doc) {
+        float weight = 0f;
+        if ((fields & TITLE) != 0) {
+            float norm = 1 - B + B * titleLengths[doc] / averageTitleLength;
+            weight = TITLE_WEIGHT * (K1 + 1) / (1 + K1 * norm);
+        }
+        if ((fields & DIRECTOR) != 0) {
+            weight = Math.max(weight, DIRECTOR_WEIGHT);
+        }
+        if ((fields & GENRE) != 0) {
+            weight = Math.max(weight, GENRE_WEIGHT);
+        }
+        if ((fields & YEAR) != 0) {
+            weight = Math.max(weight, YEAR_WEIGHT);
+        }
+        return weight;
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(terms, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Optimal string alignment distance of at most maxEdits, with early exit
+     */
+    static boolean withinEdits(String a, String b, int maxEdits) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxEdits) {
+            return false;
+        }
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m] <= maxEdits;
+    }
+
+    /**
+     * Scoring buffers sized to the document count, reset after each query
+     */
+    private static final class Scratch {
+        final float[] total;
+        final float[] best;
+        final int[] matched;
+        final int[] stamp;
+        final int[] touched;
+        final int[] tokenDocs;
+        int touchedCount;
+        int[] expansionTerms = new int[64];
+        float[] expansionQuality = new float[64];
+        int expansionCount;
+
+        Scratch(int numDocs) {
+            total = new float[numDocs];
+            best = new float[numDocs];
+            matched = new int[numDocs];
+            stamp = new int[numDocs];
+            touched = new int[numDocs];
+            tokenDocs = new int[numDocs];
+        }
+
+        void addExpansion(int term, float quality) {
+            if (expansionCount == expansionTerms.length) {
+                expansionTerms = Arrays.copyOf(expansionTerms, expansionCount * 2);
+                expansionQuality = Arrays.copyOf(expansionQuality, expansionCount * 2);
+            }
+            expansionTerms[expansionCount] = term;
+            expansionQuality[expansionCount] = quality;
+            expansionCount++;
+        }
+
+        void clear() {
+            for (int k = 0; k < touchedCount; k++) {
+                int doc = touched[k];
+                total[doc] = 0f;
+                matched[doc] = 0;
+            }
+            touchedCount = 0;
+            expansionCount = 0;
+        }
+    }
+
+    /**
+     * Accumulates documents and builds the sorted term dictionary and postings in one pass
+     */
+    public static class Builder {
+        private final long started = System.nanoTime();
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> termList = new ArrayList<>();
+        private long[] movieIds = new long[1024];
+        private float[] ratings = new float[1024];
+        private byte[] titleLengths = new byte[1024];
+        // (termId << 36) | (doc << 4) | field
+        private long[] postings = new long[4096];
+        private int numDocs;
+        private int numPostings;
+
+        public Builder add(long movieId, String title, String director, String genre, Integer year, Double rating) {
+            if (numDocs == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, numDocs * 2);
+                ratings = Arrays.copyOf(ratings, numDocs * 2);
+                titleLengths = Arrays.copyOf(titleLengths, numDocs * 2);
+            }
+            int doc = numDocs++;
+            movieIds[doc] = movieId;
+            ratings[doc] = rating != null ? rating.floatValue() : 0f;
+
+            List<String> titleTokens = TextAnalyzer.tokens(title);
+            titleLengths[doc] = (byte) Math.min(titleTokens.size(), Byte.MAX_VALUE);
+            addTokens(doc, titleTokens, TITLE);
+            addTokens(doc, TextAnalyzer.tokens(director), DIRECTOR);
+            addTokens(doc, TextAnalyzer.tokens(genre), GENRE);
+            if (year != null) {
+                addPosting(doc, Integer.toString(year), YEAR);
+            }
+            return this;
+        }
+
+        public MovieSearchIndex build() {
+            String[] sortedTerms = termList.toArray(new String[0]);
+            Arrays.sort(sortedTerms);
+            int[] rank = new int[sortedTerms.length];
+            for (int r = 0; r < sortedTerms.length; r++) {
+                rank[termIds.get(sortedTerms[r])] = r;
+            }
+
+            long[] keys = new long[numPostings];
+            for (int p = 0; p < numPostings; p++) {
+                long posting = postings[p];
+                keys[p] = ((long) rank[(int) (posting >>> 36)] << 36) | (posting & 0xFFFFFFFFFL);
+            }
+            Arrays.sort(keys);
+
+            int[] termStart = new int[sortedTerms.length + 1];
+            int[] docs = new int[numPostings];
+            byte[] fields = new byte[numPostings];
+            int count = 0;
+            int lastTerm = -1;
+            int lastDoc = -1;
+            for (long key : keys) {
+                int term = (int) (key >>> 36);
+                int doc = (int) ((key >>> 4) & 0xFFFFFFFL);
+                int field = (int) (key & 0xF);
+                if (term == lastTerm && doc == lastDoc) {
+                    fields[count - 1] |= (byte) field;
+                    continue;
+                }
+                while (lastTerm < term) {
+                    termStart[++lastTerm] = count;
+                }
+                docs[count] = doc;
+                fields[count] = (byte) field;
+                lastDoc = doc;
+                count++;
+            }
+            while (lastTerm < sortedTerms.length) {
+                termStart[++lastTerm] = count;
+            }
+
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            return new MovieSearchIndex(Arrays.copyOf(movieIds, numDocs), Arrays.copyOf(ratings, numDocs),
+                                        Arrays.copyOf(titleLengths, numDocs), sortedTerms, termStart,
+                                        Arrays.copyOf(docs, count), Arrays.copyOf(fields, count),
+                                        Instant.now(), elapsedMillis);
+        }
+
+        private void addTokens(int doc, List<String> tokens, int field) {
+            for (String token : tokens) {
+                addPosting(doc, token, field);
+            }
+        }
+
+        private void addPosting(int doc, String term, int field) {
+            Integer id = termIds.get(term);
+            if (id == null) {
+                id = termList.size();
+                termIds.put(term, id);
+                termList.add(term);
+            }
+            if (numPostings == postings.length) {
+                postings = Arrays.copyOf(postings, numPostings * 2);
+            }
+            postings[numPostings++] = ((long) id << 36) | ((long) doc << 4) | field;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.movierecommender.search;
+
+import com.movierecommender.repository.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the in-memory {@link MovieSearchIndex}. The index is rebuilt from the
+ * movies table in the background whenever movies change, with bursts of
+ * changes coalesced into one rebuild, and swapped in atomically for readers.
+ */
+@Service
+public class MovieSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieSearchService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile MovieSearchIndex index;
+
+    public MovieSearchService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Whether the first index build has finished
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public List<MovieSearchHit> search(String query, int limit) {
+        MovieSearchIndex current = index;
+        return current != null ? current.search(query, limit) : List.of();
+    }
+
+    /**
+     * Queue a background rebuild unless one is already waiting to start. Inside
+     * a transaction the rebuild is queued after commit so it sees the changes.
+     */
+    public void scheduleRebuild() {
+        AfterCommit.run(this::queueRebuild);
+    }
+
+    private void queueRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.error("Background search index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    public MovieSearchIndex rebuild() {
+        rebuildLock.lock();
+        try {
+            MovieSearchIndex.Builder builder = new MovieSearchIndex.Builder();
+            readTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT id, title, director, genre, release_year, rating FROM movies", rs -> {
+                    int year = rs.getInt("release_year");
+                    Integer releaseYear = rs.wasNull() ? null : year;
+                    double rating = rs.getDouble("rating");
+                    Double movieRating = rs.wasNull() ? null : rating;
+                    builder.add(rs.getLong("id"), rs.getString("title"), rs.getString("director"),
+                                rs.getString("genre"), releaseYear, movieRating);
+                }));
+            MovieSearchIndex rebuilt = builder.build();
+            index = rebuilt;
+            logger.info("Rebuilt movie search index: {} movies, {} terms, {} postings in {} ms",
+                        rebuilt.getNumDocuments(), rebuilt.getNumTerms(), rebuilt.getNumPostings(),
+                        rebuilt.getBuildMillis());
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Index statistics for status endpoints
+     */
+    public Map<String, Object> getStats() {
+        MovieSearchIndex current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current != null);
+        if (current != null) {
+            stats.put("builtAt", current.getBuiltAt().toString());
+            stats.put("buildMillis", current.getBuildMillis());
+            stats.put("movies", current.getNumDocuments());
+            stats.put("terms", current.getNumTerms());
+            stats.put("postings", current.getNumPostings());
+        }
+        stats.put("rebuildPending", rebuildScheduled.get());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.movierecommender.service;
+
+import com.movierecommender.dto.CursorPage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Whole-table listings of entities keyed by an ascending id: keyset pages for
+ * the paginated endpoints and a streamed newline-delimited JSON export.
+ */
+@Component
+public class KeysetListings {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public KeysetListings(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The rows after {@code afterId}, fetching one more than the page holds to
+     * tell whether another page follows
+     *
+     * @param query rows with an id above the first argument, in id order, at most the given limit
+     */
+    public <T> CursorPage<T> page(Long afterId, int limit, BiFunction<Long, Limit, List<T>> query,
+                                  Function<T, Long> idOf) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<T> items = query.apply(afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        Long nextCursor = items.isEmpty() ? afterId : idOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Write each row as one line of JSON while the rows are being read,
+     * detaching each entity so the persistence context does not grow with the
+     * table. Call within a read-only transaction, which the stream needs; an
+     * empty table writes nothing.
+     *
+     * @return the number of rows written
+     */
+    public <T> long writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (rows) {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                T row = it.next();
+                writer.write(row);
+                entityManager.detach(row);
+                count++;
+            }
+            writer.flush();
+            // The writer only separates rows; end the last line too
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        return count;
+    }
+}
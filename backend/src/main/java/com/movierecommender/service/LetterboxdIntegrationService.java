@@ -1,18 +1,47 @@
 package com.movierecommender.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movierecommender.config.LetterboxdCacheConfig;
 import com.movierecommender.config.LetterboxdScraperConfig;
 import com.movierecommender.dto.letterboxd.LetterboxdScrapeRequest;
 import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
 import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+import com.movierecommender.dto.letterboxd.ScrapeSectionStatus;
+import com.movierecommender.recommend.RecommendationEngine;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 public class LetterboxdIntegrationService {
@@ -21,11 +50,32 @@ public class LetterboxdIntegrationService {
     
     private final RestTemplate restTemplate;
     private final LetterboxdScraperConfig.LetterboxdScraperProperties properties;
+    private final RecommendationEngine recommendationEngine;
+    private final ScrapeDataService scrapeDataService;
+    private final ObjectProvider<PoolingHttpClientConnectionManager> connectionManager;
+    private final LetterboxdLookupCache lookupCache;
+    private final MeterRegistry meterRegistry;
+    private final ScrapeResponseReader scrapeReader;
+    // One virtual thread per section of a fanned-out scrape
+    private final ExecutorService sectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
     
     public LetterboxdIntegrationService(RestTemplate restTemplate, 
-                                       LetterboxdScraperConfig.LetterboxdScraperProperties properties) {
+                                       LetterboxdScraperConfig.LetterboxdScraperProperties properties,
+                                       RecommendationEngine recommendationEngine,
+                                       ScrapeDataService scrapeDataService,
+                                       ObjectProvider<PoolingHttpClientConnectionManager> connectionManager,
+                                       LetterboxdCacheConfig.LetterboxdCacheProperties cacheProperties,
+                                       MeterRegistry meterRegistry,
+                                       ObjectMapper objectMapper) {
         this.restTemplate = restTemplate;
         this.properties = properties;
+        this.recommendationEngine = recommendationEngine;
+        this.scrapeDataService = scrapeDataService;
+        this.connectionManager = connectionManager;
+        this.lookupCache = new LetterboxdLookupCache(cacheProperties);
+        this.meterRegistry = meterRegistry;
+        this.scrapeReader = new ScrapeResponseReader(objectMapper);
+        lookupCache.bindTo(meterRegistry);
     }
     
     /**
@@ -40,6 +90,32 @@ public class LetterboxdIntegrationService {
      */
     public LetterboxdScrapeResponse scrapeUserData(String username, boolean includeRatings, 
                                                   boolean includeWatchlist, int ratingLimit) {
+        return scrapeUserData(username, includeRatings, includeWatchlist, ratingLimit, false);
+    }
+    
+    /**
+     * Scrape user data; when incremental, only entries newer than the last stored
+     * scrape are fetched and merged in. Accounts without a stored scrape get a full one.
+     */
+    public LetterboxdScrapeResponse scrapeUserData(String username, boolean includeRatings, 
+                                                  boolean includeWatchlist, int ratingLimit,
+                                                  boolean incremental) {
+        return scrape(username, includeRatings, includeWatchlist, ratingLimit, incremental, true);
+    }
+    
+    /**
+     * Scrape and store user data without keeping it: the response is read and
+     * stored in batches as it arrives, and only the profile and totals are
+     * returned. For callers that do not pass the lists on, such as bulk refreshes.
+     */
+    public LetterboxdScrapeResponse ingestUserData(String username, boolean includeRatings,
+                                                   boolean includeWatchlist, int ratingLimit,
+                                                   boolean incremental) {
+        return scrape(username, includeRatings, includeWatchlist, ratingLimit, incremental, false);
+    }
+    
+    private LetterboxdScrapeResponse scrape(String username, boolean includeRatings, boolean includeWatchlist,
+                                            int ratingLimit, boolean incremental, boolean retainEntries) {
         if (!properties.isEnabled()) {
             logger.warn("Letterboxd scraper is disabled");
             throw new LetterboxdScrapingException("Letterboxd scraper service is disabled");
@@ -50,34 +126,191 @@ public class LetterboxdIntegrationService {
             request.setIncludeRatings(includeRatings);
             request.setIncludeWatchlist(includeWatchlist);
             request.setRatingLimit(ratingLimit);
+            boolean delta = incremental && scrapeDataService.applyWatermarks(username, request);
             
-            String url = properties.getBaseUrl() + "/api/scrape/user";
-            
-            logger.info("Scraping Letterboxd data for user: {}", username);
+            logger.info("Scraping Letterboxd data for user: {} ({})", username, delta ? "incremental" : "full");
             
-            LetterboxdScrapeResponse response = restTemplate.postForObject(
-                url, request, LetterboxdScrapeResponse.class
-            );
+            // The scraper writes the lists before the scrape time, so the rows take the time the stream began
+            Optional<ScrapeDataService.ScrapeWriter> writer = scrapeDataService.openScrape(
+                username, includeRatings, includeWatchlist, delta, LocalDateTime.now());
+            StoringHandler handler = new StoringHandler(username, writer);
+            LetterboxdScrapeResponse response;
+            if (properties.isFanOut()) {
+                response = fanOut(username, request, retainEntries, handler);
+            } else {
+                String url = properties.getBaseUrl() + "/api/scrape/user";
+                response = scraperCall("scrape", () -> restTemplate.execute(
+                    url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(request, LetterboxdScrapeResponse.class),
+                    body -> scrapeReader.read(body.getBody(), retainEntries, handler)
+                ));
+                if (response != null) {
+                    Map<String, ScrapeSectionStatus> sections = new LinkedHashMap<>();
+                    sections.put("profile", ScrapeSectionStatus.COMPLETE);
+                    sections.put("ratings", includeRatings ? ScrapeSectionStatus.COMPLETE : ScrapeSectionStatus.SKIPPED);
+                    sections.put("watchlist", includeWatchlist ? ScrapeSectionStatus.COMPLETE : ScrapeSectionStatus.SKIPPED);
+                    response.setSections(sections);
+                }
+            }
             
             if (response != null && response.isSuccess()) {
-                logger.info("Successfully scraped data for user: {} ({} ratings, {} watchlist items)", 
-                           username, response.getTotalRatings(), response.getTotalWatchlistItems());
+                logger.info("Successfully scraped {}data for user: {} ({} ratings, {} watchlist items)", 
+                           response.isPartial() ? "partial " : "", username,
+                           response.getTotalRatings(), response.getTotalWatchlistItems());
+                response.setIncremental(delta);
+                recordPayload(response);
+                lookupCache.recordScrape(username, response.getProfile());
+                long started = System.nanoTime();
+                writer.ifPresent(ScrapeDataService.ScrapeWriter::finish);
+                meterRegistry.timer("letterboxd.scrape.store", "incremental", String.valueOf(delta))
+                    .record(handler.storeNanos.get() + System.nanoTime() - started, TimeUnit.NANOSECONDS);
                 return response;
             } else {
                 String errorMessage = response != null ? response.getErrorMessage() : "Unknown error";
                 logger.error("Scraping failed for user {}: {}", username, errorMessage);
+                countError("scrape", "ScraperReportedFailure");
                 throw new LetterboxdScrapingException("Scraping failed: " + errorMessage);
             }
             
+        } catch (LetterboxdScrapingException e) {
+            throw e;
         } catch (RestClientException e) {
             logger.error("Network error scraping Letterboxd data for user: {}", username, e);
             throw new LetterboxdScrapingException("Network error during scraping", e);
+        } catch (DataAccessException e) {
+            logger.error("Failed to store scraped Letterboxd data for user: {}", username, e);
+            throw new LetterboxdScrapingException("Failed to store scraped data", e);
         } catch (Exception e) {
             logger.error("Unexpected error scraping Letterboxd data for user: {}", username, e);
             throw new LetterboxdScrapingException("Unexpected error during scraping", e);
         }
     }
     
+    /**
+     * Request the profile, ratings and watchlist as separate scraper calls, each
+     * on its own virtual thread and each storing its batches as they arrive, and
+     * merge them into one response. Sections that fail, or are still running when
+     * the section timeout passes, are cancelled and reported in the response's
+     * section statuses; their stored high-water marks are left as they were. The
+     * scrape only fails for an unknown user or when no section completed.
+     */
+    private LetterboxdScrapeResponse fanOut(String username, LetterboxdScrapeRequest request, boolean retainEntries,
+                                            StoringHandler handler) {
+        String profileUrl = properties.getBaseUrl() + "/api/user/" + username + "/profile";
+        String sectionUrl = properties.getBaseUrl() + "/api/scrape/user/";
+        Future<LetterboxdProfile> profile = sectionExecutor.submit(() -> scraperCall("profile",
+            () -> restTemplate.getForObject(profileUrl, LetterboxdProfile.class)));
+        Future<LetterboxdScrapeResponse> ratings = !request.isIncludeRatings() ? null
+            : sectionExecutor.submit(() -> scraperCall("ratings", () -> restTemplate.execute(
+                sectionUrl + "ratings", HttpMethod.POST,
+                restTemplate.httpEntityCallback(request, LetterboxdScrapeResponse.class),
+                body -> scrapeReader.read(body.getBody(), retainEntries, handler))));
+        Future<LetterboxdScrapeResponse> watchlist = !request.isIncludeWatchlist() ? null
+            : sectionExecutor.submit(() -> scraperCall("watchlist", () -> restTemplate.execute(
+                sectionUrl + "watchlist", HttpMethod.POST,
+                restTemplate.httpEntityCallback(request, LetterboxdScrapeResponse.class),
+                body -> scrapeReader.read(body.getBody(), retainEntries, handler))));
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getSectionTimeout());
+        try {
+            Section<LetterboxdProfile> profileSection = await(username, "profile", profile, deadline);
+            if (profileSection.error() instanceof HttpClientErrorException.NotFound) {
+                throw new LetterboxdScrapingException("Scraping failed: Letterboxd user '" + username + "' not found");
+            }
+            Section<LetterboxdScrapeResponse> ratingsSection = await(username, "ratings", ratings, deadline);
+            Section<LetterboxdScrapeResponse> watchlistSection = await(username, "watchlist", watchlist, deadline);
+            
+            LetterboxdScrapeResponse response = new LetterboxdScrapeResponse();
+            response.setUsername(username);
+            response.setScrapedAt(LocalDateTime.now());
+            response.setProfile(profileSection.value());
+            response.setRatings(new ArrayList<>());
+            response.setWatchlist(new ArrayList<>());
+            if (ratingsSection.isComplete()) {
+                response.setRatings(ratingsSection.value().getRatings());
+                response.setTotalRatings(ratingsSection.value().getTotalRatings());
+            } else if (request.isIncludeRatings()) {
+                handler.abandonRatings();
+            }
+            if (watchlistSection.isComplete()) {
+                response.setWatchlist(watchlistSection.value().getWatchlist());
+                response.setTotalWatchlistItems(watchlistSection.value().getTotalWatchlistItems());
+            } else if (request.isIncludeWatchlist()) {
+                handler.abandonWatchlist();
+            }
+            
+            Map<String, ScrapeSectionStatus> sections = new LinkedHashMap<>();
+            sections.put("profile", profileSection.status());
+            sections.put("ratings", ratingsSection.status());
+            sections.put("watchlist", watchlistSection.status());
+            response.setSections(sections);
+            response.setPartial(sections.values().stream()
+                .anyMatch(status -> status != ScrapeSectionStatus.COMPLETE && status != ScrapeSectionStatus.SKIPPED));
+            boolean anyComplete = sections.values().stream().anyMatch(ScrapeSectionStatus::isComplete);
+            response.setSuccess(anyComplete);
+            if (!anyComplete) {
+                response.setErrorMessage("No section of the scrape completed: " + sections);
+            }
+            return response;
+        } finally {
+            cancel(profile);
+            cancel(ratings);
+            cancel(watchlist);
+        }
+    }
+    
+    /**
+     * Wait for one section until the shared deadline
+     */
+    private <T> Section<T> await(String username, String section, Future<T> future, long deadline) {
+        if (future == null) {
+            return new Section<>(ScrapeSectionStatus.SKIPPED, null, null);
+        }
+        try {
+            T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (value instanceof LetterboxdScrapeResponse response && !response.isSuccess()) {
+                logger.warn("Scraper reported a failed {} section for user {}: {}", section, username,
+                            response.getErrorMessage());
+                return new Section<>(ScrapeSectionStatus.FAILED, null, null);
+            }
+            return value != null
+                ? new Section<>(ScrapeSectionStatus.COMPLETE, value, null)
+                : new Section<>(ScrapeSectionStatus.FAILED, null, null);
+        } catch (TimeoutException e) {
+            logger.warn("Scrape {} section for user {} timed out after {} ms", section, username,
+                        properties.getSectionTimeout());
+            future.cancel(true);
+            countError(section, "SectionTimeout");
+            return new Section<>(ScrapeSectionStatus.TIMED_OUT, null, e);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof HttpClientErrorException.NotFound)) {
+                logger.warn("Scrape {} section for user {} failed: {}", section, username, e.getCause().getMessage());
+            }
+            return new Section<>(ScrapeSectionStatus.FAILED, null, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LetterboxdScrapingException("Interrupted while waiting for the scrape", e);
+        }
+    }
+    
+    private static void cancel(Future<?> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+    
+    /**
+     * Previously scraped data served from storage, without contacting the scraper
+     */
+    public Optional<LetterboxdScrapeResponse> getStoredUserData(String username) {
+        return scrapeDataService.loadStored(username);
+    }
+    
     /**
      * Get only user profile information
      */
@@ -87,21 +320,34 @@ public class LetterboxdIntegrationService {
             throw new LetterboxdScrapingException("Letterboxd scraper service is disabled");
         }
         
+        LetterboxdLookupCache.ProfileLookup lookup = lookupCache.profile(username, this::fetchProfile);
+        if (lookup.isNotFound()) {
+            throw new LetterboxdScrapingException("User not found on Letterboxd: " + username);
+        }
+        return lookup.getProfile();
+    }
+    
+    private LetterboxdLookupCache.ProfileLookup fetchProfile(String username) {
         try {
             String url = properties.getBaseUrl() + "/api/user/" + username + "/profile";
             
             logger.info("Fetching Letterboxd profile for user: {}", username);
             
-            LetterboxdProfile profile = restTemplate.getForObject(url, LetterboxdProfile.class);
+            LetterboxdProfile profile = scraperCall("profile", () -> restTemplate.getForObject(url, LetterboxdProfile.class));
             
             if (profile != null) {
                 logger.info("Successfully fetched profile for user: {}", username);
-                return profile;
+                return LetterboxdLookupCache.ProfileLookup.found(profile);
             } else {
                 logger.error("Failed to fetch profile for user: {}", username);
                 throw new LetterboxdScrapingException("Failed to fetch user profile");
             }
             
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Letterboxd user not found: {}", username);
+            return LetterboxdLookupCache.ProfileLookup.notFound();
+        } catch (LetterboxdScrapingException e) {
+            throw e;
         } catch (RestClientException e) {
             logger.error("Network error fetching profile for user: {}", username, e);
             throw new LetterboxdScrapingException("Network error during profile fetch", e);
@@ -113,41 +359,53 @@ public class LetterboxdIntegrationService {
       /**
      * Validate if a Letterboxd user exists
      */
-    @SuppressWarnings("rawtypes")
     public boolean validateUser(String username) {
         if (!properties.isEnabled()) {
             logger.warn("Letterboxd scraper is disabled, assuming user validation fails");
             return false;
         }
         
+        Boolean exists = lookupCache.validation(username, this::fetchValidation);
+        return exists != null && exists;
+    }
+    
+    /**
+     * Ask the scraper whether a user exists; null when it could not answer
+     */
+    @SuppressWarnings("rawtypes")
+    private Boolean fetchValidation(String username) {
         try {
             String url = properties.getBaseUrl() + "/api/user/" + username + "/validate";
-              ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+              ResponseEntity<Map> response = scraperCall("validate", () -> restTemplate.getForEntity(url, Map.class));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Object exists = response.getBody().get("exists");
                 return exists != null && (Boolean) exists;
             }
             
-            return false;
+            return null;
             
         } catch (Exception e) {
             logger.warn("Error validating Letterboxd user {}: {}", username, e.getMessage());
-            return false;
+            return null;
         }
     }
       /**
      * Check if the scraper service is healthy and responding
      */
-    @SuppressWarnings("rawtypes")
     public boolean isScraperHealthy() {
         if (!properties.isEnabled()) {
             return false;
         }
         
+        return lookupCache.health(this::fetchHealth);
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private boolean fetchHealth() {
         try {
             String healthUrl = properties.getBaseUrl() + "/health";
-            ResponseEntity<Map> response = restTemplate.getForEntity(healthUrl, Map.class);
+            ResponseEntity<Map> response = scraperCall("health", () -> restTemplate.getForEntity(healthUrl, Map.class));
             
             boolean isHealthy = response.getStatusCode().is2xxSuccessful() && 
                                response.getBody() != null && 
@@ -171,14 +429,142 @@ public class LetterboxdIntegrationService {
      * Get scraper service information
      */
     public Map<String, Object> getScraperInfo() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("enabled", properties.isEnabled());
+        info.put("baseUrl", properties.getBaseUrl());
+        info.put("timeout", properties.getTimeout());
+        info.put("connectTimeout", properties.getConnectTimeout());
+        info.put("client", properties.getClient());
+        info.put("healthy", isScraperHealthy());
+        info.put("connectionPool", getConnectionPoolStats());
+        info.put("cache", lookupCache.getStats());
+        return info;
+    }
+    
+    /**
+     * Leased, pending and idle connections of the scraper pool. Pending requests
+     * are waiting for a free connection, so a non-zero value means the pool is saturated.
+     */
+    public Map<String, Object> getConnectionPoolStats() {
+        PoolingHttpClientConnectionManager manager = connectionManager.getIfAvailable();
+        if (manager == null) {
+            return Map.of("pooled", false);
+        }
+        PoolStats stats = manager.getTotalStats();
         return Map.of(
-            "enabled", properties.isEnabled(),
-            "baseUrl", properties.getBaseUrl(),
-            "timeout", properties.getTimeout(),
-            "healthy", isScraperHealthy()
+            "pooled", true,
+            "leased", stats.getLeased(),
+            "pending", stats.getPending(),
+            "available", stats.getAvailable(),
+            "max", stats.getMax(),
+            "maxPerRoute", manager.getDefaultMaxPerRoute(),
+            "saturated", stats.getPending() > 0 || stats.getLeased() >= stats.getMax()
         );
     }
     
+    /**
+     * Time one request to the scraper as {@code letterboxd.scraper.requests},
+     * tagged with the operation and, when it throws, the exception type
+     */
+    private <T> T scraperCall(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            countError(operation, exception);
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("letterboxd.scraper.requests",
+                                            "operation", operation,
+                                            "outcome", "none".equals(exception) ? "success" : "error",
+                                            "exception", exception));
+        }
+    }
+
+    private void countError(String operation, String exception) {
+        meterRegistry.counter("letterboxd.scraper.errors", "operation", operation, "exception", exception).increment();
+    }
+
+    private void recordPayload(LetterboxdScrapeResponse response) {
+        String incremental = String.valueOf(response.isIncremental());
+        DistributionSummary.builder("letterboxd.scrape.ratings")
+            .baseUnit("entries")
+            .tag("incremental", incremental)
+            .register(meterRegistry)
+            .record(response.getTotalRatings());
+        DistributionSummary.builder("letterboxd.scrape.watchlist.items")
+            .baseUnit("entries")
+            .tag("incremental", incremental)
+            .register(meterRegistry)
+            .record(response.getTotalWatchlistItems());
+    }
+
+    /**
+     * Stores each parsed batch and feeds its ratings to the recommender, timing
+     * the storage. Batches stored before a failure stay stored, but the scrape
+     * state is only advanced by {@link ScrapeDataService.ScrapeWriter#finish()}.
+     * Once a section is abandoned its remaining batches are dropped: a cancelled
+     * section can still be handing over a batch it had already parsed.
+     */
+    private class StoringHandler implements ScrapeResponseReader.Handler {
+        private final String username;
+        private final Optional<ScrapeDataService.ScrapeWriter> writer;
+        // Sections of a fanned-out scrape store from their own threads
+        private final AtomicLong storeNanos = new AtomicLong();
+        private volatile boolean ratingsAbandoned;
+        private volatile boolean watchlistAbandoned;
+
+        StoringHandler(String username, Optional<ScrapeDataService.ScrapeWriter> writer) {
+            this.username = username;
+            this.writer = writer;
+        }
+
+        @Override
+        public void ratings(List<LetterboxdRating> batch) {
+            if (ratingsAbandoned) {
+                return;
+            }
+            long started = System.nanoTime();
+            writer.ifPresent(w -> w.addRatings(batch));
+            storeNanos.addAndGet(System.nanoTime() - started);
+            // The section may have been abandoned while the batch was being stored
+            if (!ratingsAbandoned) {
+                recommendationEngine.ingest(username, batch);
+            }
+        }
+
+        @Override
+        public void watchlist(List<LetterboxdWatchlistFilm> batch) {
+            if (watchlistAbandoned) {
+                return;
+            }
+            long started = System.nanoTime();
+            writer.ifPresent(w -> w.addWatchlist(batch));
+            storeNanos.addAndGet(System.nanoTime() - started);
+        }
+
+        void abandonRatings() {
+            ratingsAbandoned = true;
+            writer.ifPresent(ScrapeDataService.ScrapeWriter::abandonRatings);
+        }
+
+        void abandonWatchlist() {
+            watchlistAbandoned = true;
+            writer.ifPresent(ScrapeDataService.ScrapeWriter::abandonWatchlist);
+        }
+    }
+
+    /**
+     * One section of a fanned-out scrape: its outcome, and its value or failure
+     */
+    private record Section<T>(ScrapeSectionStatus status, T value, Throwable error) {
+        boolean isComplete() {
+            return status == ScrapeSectionStatus.COMPLETE;
+        }
+    }
+
     /**
      * Custom exception for Letterboxd scraping errors
      */
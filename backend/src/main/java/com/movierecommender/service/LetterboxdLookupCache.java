@@ -0,0 +1,231 @@
+package com.movierecommender.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.movierecommender.config.LetterboxdCacheConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, expiring caches in front of the scraper's user validation,
+ * profile and health endpoints. "Not found" answers are cached for a shorter
+ * time than positive ones; loader failures (returned as null or thrown) are
+ * never cached. Concurrent misses for the same key share one remote call.
+ * <p>
+ * The caches hold futures and the caller that misses runs the remote call
+ * itself, outside the cache's map lock: a virtual thread blocked on the
+ * scraper inside a synchronized compute would pin its carrier, and the
+ * request threads are virtual.
+ */
+class LetterboxdLookupCache {
+
+    private static final String HEALTH_KEY = "health";
+
+    private final boolean enabled;
+    private final AsyncCache<String, Boolean> validations;
+    private final AsyncCache<String, ProfileLookup> profiles;
+    private final AsyncCache<String, Boolean> health;
+
+    LetterboxdLookupCache(LetterboxdCacheConfig.LetterboxdCacheProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LetterboxdLookupCache(LetterboxdCacheConfig.LetterboxdCacheProperties properties, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        Duration ttl = Duration.ofSeconds(properties.getTtlSeconds());
+        Duration negativeTtl = Duration.ofSeconds(properties.getNegativeTtlSeconds());
+
+        this.validations = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxUsers())
+            .ticker(ticker)
+            .expireAfter(new WriteExpiry<String, Boolean>(exists -> exists ? ttl : negativeTtl))
+            .recordStats()
+            .buildAsync();
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxUsers())
+            .ticker(ticker)
+            .expireAfter(new WriteExpiry<String, ProfileLookup>(lookup -> lookup.isNotFound() ? negativeTtl : ttl))
+            .recordStats()
+            .buildAsync();
+        this.health = Caffeine.newBuilder()
+            .maximumSize(1)
+            .ticker(ticker)
+            .expireAfterWrite(Duration.ofSeconds(properties.getHealthTtlSeconds()))
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Publish hit, miss and eviction counts of the three caches
+     */
+    void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, validations, "letterboxd.validations");
+        CaffeineCacheMetrics.monitor(registry, profiles, "letterboxd.profiles");
+        CaffeineCacheMetrics.monitor(registry, health, "letterboxd.health");
+    }
+
+    /**
+     * Cached existence check; null when the loader could not get an answer
+     */
+    Boolean validation(String username, Function<String, Boolean> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        return load(validations, key(username), () -> loader.apply(username));
+    }
+
+    ProfileLookup profile(String username, Function<String, ProfileLookup> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        ProfileLookup lookup = load(profiles, key(username), () -> loader.apply(username));
+        if (lookup != null) {
+            validations.put(key(username), CompletableFuture.completedFuture(!lookup.isNotFound()));
+        }
+        return lookup;
+    }
+
+    boolean health(Supplier<Boolean> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return load(health, HEALTH_KEY, loader);
+    }
+
+    /**
+     * Record a fresh scrape so the next validation or profile lookup is served locally
+     */
+    void recordScrape(String username, LetterboxdProfile profile) {
+        if (!enabled) {
+            return;
+        }
+        validations.put(key(username), CompletableFuture.completedFuture(Boolean.TRUE));
+        if (profile != null) {
+            profiles.put(key(username), CompletableFuture.completedFuture(ProfileLookup.found(profile)));
+        }
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("validations", describe(validations));
+        stats.put("profiles", describe(profiles));
+        stats.put("health", describe(health));
+        return stats;
+    }
+
+    /**
+     * The cached value, or the loader's run on this thread when the key is
+     * missing. A null or thrown result completes the shared future the same
+     * way, which drops the entry and hands the outcome to concurrent waiters.
+     */
+    private static <V> V load(AsyncCache<String, V> cache, String key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future != created) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Map<String, Object> describe(AsyncCache<?, ?> async) {
+        Cache<?, ?> cache = async.synchronous();
+        CacheStats stats = cache.stats();
+        return Map.of(
+            "size", cache.estimatedSize(),
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "hitRate", stats.hitRate(),
+            "loadFailures", stats.loadFailureCount(),
+            "evictions", stats.evictionCount()
+        );
+    }
+
+    private static String key(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Expires entries a value-dependent time after they were written
+     */
+    private static final class WriteExpiry<K, V> implements Expiry<K, V> {
+        private final Function<V, Duration> ttl;
+
+        WriteExpiry(Function<V, Duration> ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return ttl.apply(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return ttl.apply(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * A fetched profile, or a remembered "no such user"
+     */
+    static final class ProfileLookup {
+        private static final ProfileLookup NOT_FOUND = new ProfileLookup(null);
+
+        private final LetterboxdProfile profile;
+
+        private ProfileLookup(LetterboxdProfile profile) {
+            this.profile = profile;
+        }
+
+        static ProfileLookup found(LetterboxdProfile profile) {
+            return new ProfileLookup(profile);
+        }
+
+        static ProfileLookup notFound() {
+            return NOT_FOUND;
+        }
+
+        boolean isNotFound() {
+            return profile == null;
+        }
+
+        LetterboxdProfile getProfile() {
+            return profile;
+        }
+    }
+}
@@ -1,30 +1,222 @@
 package com.movierecommender.service;
 
+import com.movierecommender.dto.CursorPage;
+import com.movierecommender.dto.MovieBulkImportRequest;
+import com.movierecommender.dto.MovieBulkImportResult;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
 import com.movierecommender.entity.Movie;
 import com.movierecommender.repository.MovieRepository;
+import com.movierecommender.search.MovieSearchHit;
+import com.movierecommender.search.MovieSearchService;
+import com.movierecommender.similar.FilmNeighbour;
+import com.movierecommender.similar.FilmSimilarityService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class MovieService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MovieService.class);
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    // Same parameter order as INSERT_SQL; SQLite and PostgreSQL
+    private static final String UPSERT_BY_SLUG_SQL =
+        "INSERT INTO movies (title, genre, director, release_year, rating, description, slug) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (slug) DO UPDATE SET " +
+        "title = excluded.title, " +
+        "genre = COALESCE(excluded.genre, movies.genre), " +
+        "director = COALESCE(excluded.director, movies.director), " +
+        "release_year = COALESCE(excluded.release_year, movies.release_year), " +
+        "rating = COALESCE(excluded.rating, movies.rating), " +
+        "description = COALESCE(excluded.description, movies.description)";
+
+    // H2 has no ON CONFLICT ... DO UPDATE; MERGE ... KEY would overwrite fields with nulls
+    private static final String MERGE_BY_SLUG_SQL =
+        "MERGE INTO movies m USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS VARCHAR(255)), CAST(? AS INTEGER), CAST(? AS DOUBLE PRECISION), CAST(? AS VARCHAR(1000)), " +
+        "CAST(? AS VARCHAR(255)))) " +
+        "AS s (title, genre, director, release_year, rating, description, slug) ON m.slug = s.slug " +
+        "WHEN MATCHED THEN UPDATE SET " +
+        "title = s.title, " +
+        "genre = COALESCE(s.genre, m.genre), " +
+        "director = COALESCE(s.director, m.director), " +
+        "release_year = COALESCE(s.release_year, m.release_year), " +
+        "rating = COALESCE(s.rating, m.rating), " +
+        "description = COALESCE(s.description, m.description) " +
+        "WHEN NOT MATCHED THEN INSERT (title, genre, director, release_year, rating, description, slug) " +
+        "VALUES (s.title, s.genre, s.director, s.release_year, s.rating, s.description, s.slug)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO movies (title, genre, director, release_year, rating, description, slug) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BY_ID_SQL =
+        "UPDATE movies SET " +
+        "title = ?, " +
+        "genre = COALESCE(?, genre), " +
+        "director = COALESCE(?, director), " +
+        "release_year = COALESCE(?, release_year), " +
+        "rating = COALESCE(?, rating), " +
+        "description = COALESCE(?, description), " +
+        "slug = COALESCE(?, slug) " +
+        "WHERE id = ?";
+
+    // Gives a slug-less row its slug unless another import got there first
+    private static final String CLAIM_BY_ID_SQL = UPDATE_BY_ID_SQL + " AND slug IS NULL";
+
+    private static final int[] MOVIE_COLUMN_TYPES = {
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private static final int[] UPDATE_BY_ID_TYPES = {
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR,
+        Types.BIGINT
+    };
+
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private KeysetListings keysetListings;
+
+    private volatile String slugUpsertSql;
+
+    @Autowired
+    private MovieSearchService movieSearchService;
+
+    @Autowired
+    private FilmSimilarityService filmSimilarityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
     public List<Movie> getAllMovies() {
         return movieRepository.findAll();
     }
 
+    /**
+     * Keyset page of movies with ids greater than {@code afterId}, ordered by id
+     */
+    public CursorPage<Movie> getMoviesPage(Long afterId, int limit) {
+        return keysetListings.page(afterId, limit, movieRepository::findByIdGreaterThanOrderByIdAsc, Movie::getId);
+    }
+
+    /**
+     * Write every movie as newline-delimited JSON while the rows are being read,
+     * detaching each entity so the persistence context does not grow with the table
+     */
+    @Transactional(readOnly = true)
+    public long writeMoviesAsNdjson(OutputStream out) throws IOException {
+        return keysetListings.writeNdjson(movieRepository.streamAllOrderedById(), out);
+    }
+
+    /**
+     * Ranked full-text search over titles, directors, genres and years. Until the
+     * search index has been built, falls back to a title substring match.
+     */
+    public List<Movie> searchMovies(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (!movieSearchService.isReady()) {
+            List<Movie> matches = movieRepository.findByTitleContainingIgnoreCase(query.trim());
+            return matches.size() > size ? matches.subList(0, size) : matches;
+        }
+
+        List<MovieSearchHit> hits = movieSearchService.search(query, size);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (MovieSearchHit hit : hits) {
+            ids.add(hit.getMovieId());
+        }
+        return findAllInOrder(ids);
+    }
+
+    /**
+     * Load movies by id keeping the order of {@code ids}; ids with no row are skipped
+     */
+    private List<Movie> findAllInOrder(List<Long> ids) {
+        Map<Long, Movie> byId = new HashMap<>(ids.size() * 2);
+        for (Movie movie : movieRepository.findAllById(ids)) {
+            byId.put(movie.getId(), movie);
+        }
+        List<Movie> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Movie movie = byId.get(id);
+            if (movie != null) {
+                results.add(movie);
+            }
+        }
+        return results;
+    }
+
+    public Map<String, Object> getSearchStats() {
+        return movieSearchService.getStats();
+    }
+
+    public Map<String, Object> getSimilarityStats() {
+        return filmSimilarityService.getStats();
+    }
+
+    /**
+     * Refresh the in-memory indexes built from the movies table
+     */
+    private void moviesChanged() {
+        movieSearchService.scheduleRebuild();
+        filmSimilarityService.scheduleSync();
+    }
+
+    /**
+     * Films most like the given one by genre, director, decade and title words,
+     * most similar first. Empty until the similarity index has been built.
+     */
+    public List<Movie> getSimilarMovies(Long id, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<FilmNeighbour> neighbours = filmSimilarityService.similar(id, size);
+        List<Long> ids = new ArrayList<>(neighbours.size());
+        for (FilmNeighbour neighbour : neighbours) {
+            ids.add(neighbour.getMovieId());
+        }
+        return findAllInOrder(ids);
+    }
+
     public Optional<Movie> getMovieById(Long id) {
         return movieRepository.findById(id);
     }
 
     public Movie createMovie(Movie movie) {
-        return movieRepository.save(movie);
+        Movie saved = movieRepository.save(movie);
+        moviesChanged();
+        return saved;
     }
 
     public Movie updateMovie(Long id, Movie movieDetails) {
@@ -35,7 +227,12 @@ public class MovieService {
             movie.setReleaseYear(movieDetails.getReleaseYear());
             movie.setRating(movieDetails.getRating());
             movie.setDescription(movieDetails.getDescription());
-            return movieRepository.save(movie);
+            if (movieDetails.getSlug() != null) {
+                movie.setSlug(movieDetails.getSlug());
+            }
+            Movie saved = movieRepository.save(movie);
+            moviesChanged();
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Movie not found with id: " + id));
     }
 
@@ -44,5 +241,240 @@ public class MovieService {
             throw new RuntimeException("Movie not found with id: " + id);
         }
         movieRepository.deleteById(id);
+        moviesChanged();
+    }
+
+    /**
+     * Import a large batch of movies and Letterboxd films in one transaction.
+     * Entries are de-duplicated in memory (by slug, falling back to title and
+     * release year), matched against the existing rows with the batch's titles
+     * and slugs, and written with batched statements instead of one save per
+     * row. Slugged films are upserted on the slug, so an import racing another
+     * one for the same film updates its row rather than failing.
+     */
+    @Transactional
+    public MovieBulkImportResult bulkImport(MovieBulkImportRequest request) {
+        long started = System.nanoTime();
+        List<Movie> incoming = new ArrayList<>();
+        if (request.getMovies() != null) {
+            incoming.addAll(request.getMovies());
+        }
+        if (request.getFilms() != null) {
+            for (LetterboxdWatchlistFilm film : request.getFilms()) {
+                incoming.add(toMovie(film));
+            }
+        }
+
+        Map<String, Movie> bySlug = new LinkedHashMap<>();
+        Map<String, Movie> byTitleYear = new LinkedHashMap<>();
+        deduplicate(incoming, bySlug, byTitleYear);
+
+        Map<String, Long> unsluggedIds = new HashMap<>();
+        Map<String, Long> titleYearIds = new HashMap<>();
+        indexExistingMovies(titlesOf(bySlug.values(), byTitleYear.values()), unsluggedIds, titleYearIds);
+        // Only decides the claims and the inserted/updated counts; the upsert settles conflicts itself
+        Set<String> existingSlugs = findExistingSlugs(bySlug.keySet());
+
+        List<Movie> claiming = new ArrayList<>();
+        List<Object[]> claims = new ArrayList<>();
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+
+        for (Movie movie : bySlug.values()) {
+            // Claim an existing slug-less row at most once so two slugs cannot fight over it
+            Long unsluggedId = existingSlugs.contains(movie.getSlug())
+                ? null : unsluggedIds.remove(titleYearKey(movie));
+            if (unsluggedId != null) {
+                claiming.add(movie);
+                claims.add(updateRow(movie, unsluggedId));
+                updated++;
+            } else {
+                upserts.add(insertRow(movie));
+                if (existingSlugs.contains(movie.getSlug())) {
+                    updated++;
+                } else {
+                    inserted++;
+                }
+            }
+        }
+        for (Movie movie : byTitleYear.values()) {
+            Long existingId = titleYearIds.get(titleYearKey(movie));
+            if (existingId != null) {
+                updates.add(updateRow(movie, existingId));
+                updated++;
+            } else {
+                inserts.add(insertRow(movie));
+                inserted++;
+            }
+        }
+
+        int[] claimed = batchUpdate(CLAIM_BY_ID_SQL, claims, UPDATE_BY_ID_TYPES);
+        for (int i = 0; i < claimed.length; i++) {
+            if (claimed[i] == 0) {
+                upserts.add(insertRow(claiming.get(i)));
+            }
+        }
+        batchUpdate(slugUpsertSql(), upserts, MOVIE_COLUMN_TYPES);
+        batchUpdate(UPDATE_BY_ID_SQL, updates, UPDATE_BY_ID_TYPES);
+        batchUpdate(INSERT_SQL, inserts, MOVIE_COLUMN_TYPES);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Bulk import: {} received, {} unique, {} inserted, {} updated in {} ms",
+                    incoming.size(), bySlug.size() + byTitleYear.size(), inserted, updated, elapsedMillis);
+        if (inserted + updated > 0) {
+            moviesChanged();
+        }
+        return new MovieBulkImportResult(incoming.size(), bySlug.size() + byTitleYear.size(),
+                                         inserted, updated, elapsedMillis);
+    }
+
+    /**
+     * Later entries win field by field; an entry without a slug folds into a
+     * slugged entry with the same title and year.
+     */
+    private static void deduplicate(List<Movie> incoming, Map<String, Movie> bySlug, Map<String, Movie> byTitleYear) {
+        Map<String, String> slugByTitleYear = new HashMap<>();
+        for (Movie movie : incoming) {
+            if (movie == null || movie.getTitle() == null || movie.getTitle().isBlank()) {
+                continue;
+            }
+            if (movie.getSlug() != null && !movie.getSlug().isBlank()) {
+                bySlug.merge(movie.getSlug(), movie, MovieService::mergeMovies);
+                slugByTitleYear.putIfAbsent(titleYearKey(movie), movie.getSlug());
+            }
+        }
+        for (Movie movie : incoming) {
+            if (movie == null || movie.getTitle() == null || movie.getTitle().isBlank()
+                    || (movie.getSlug() != null && !movie.getSlug().isBlank())) {
+                continue;
+            }
+            String key = titleYearKey(movie);
+            String slug = slugByTitleYear.get(key);
+            if (slug != null) {
+                bySlug.merge(slug, movie, MovieService::mergeMovies);
+            } else {
+                byTitleYear.merge(key, movie, MovieService::mergeMovies);
+            }
+        }
+    }
+
+    private static Movie mergeMovies(Movie existing, Movie update) {
+        Movie merged = new Movie(update.getTitle(),
+                                 firstNonNull(update.getGenre(), existing.getGenre()),
+                                 firstNonNull(update.getDirector(), existing.getDirector()),
+                                 firstNonNull(update.getReleaseYear(), existing.getReleaseYear()),
+                                 firstNonNull(update.getRating(), existing.getRating()),
+                                 firstNonNull(update.getDescription(), existing.getDescription()));
+        merged.setSlug(firstNonNull(existing.getSlug(), update.getSlug()));
+        return merged;
+    }
+
+    private static Set<String> titlesOf(Collection<Movie> slugged, Collection<Movie> unslugged) {
+        Set<String> titles = new HashSet<>();
+        Stream.concat(slugged.stream(), unslugged.stream()).forEach(movie -> titles.add(movie.getTitle()));
+        return titles;
+    }
+
+    /**
+     * Title/year keys of the existing movies with one of the batch's titles, and
+     * separately of the slug-less ones that a slugged import may adopt
+     */
+    private void indexExistingMovies(Collection<String> titles, Map<String, Long> unsluggedIds,
+                                     Map<String, Long> titleYearIds) {
+        List<String> all = new ArrayList<>(titles);
+        for (int from = 0; from < all.size(); from += IMPORT_BATCH_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + IMPORT_BATCH_SIZE, all.size()));
+            namedJdbcTemplate.query("SELECT id, title, release_year, slug FROM movies WHERE title IN (:titles) " +
+                                    "ORDER BY id", Map.of("titles", chunk), rs -> {
+                int year = rs.getInt("release_year");
+                Integer releaseYear = rs.wasNull() ? null : year;
+                String key = titleYearKey(rs.getString("title"), releaseYear);
+                long id = rs.getLong("id");
+                titleYearIds.putIfAbsent(key, id);
+                if (rs.getString("slug") == null) {
+                    unsluggedIds.putIfAbsent(key, id);
+                }
+            });
+        }
+    }
+
+    private Set<String> findExistingSlugs(Collection<String> slugs) {
+        List<String> all = new ArrayList<>(slugs);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += IMPORT_BATCH_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + IMPORT_BATCH_SIZE, all.size()));
+            namedJdbcTemplate.query("SELECT slug FROM movies WHERE slug IN (:slugs)", Map.of("slugs", chunk),
+                                    rs -> {
+                                        existing.add(rs.getString("slug"));
+                                    });
+        }
+        return existing;
+    }
+
+    /**
+     * @return the update count of each row, in order
+     */
+    private int[] batchUpdate(String sql, List<Object[]> rows, int[] types) {
+        int[] counts = new int[rows.size()];
+        for (int from = 0; from < rows.size(); from += IMPORT_BATCH_SIZE) {
+            int[] chunk = jdbcTemplate.batchUpdate(
+                sql, rows.subList(from, Math.min(from + IMPORT_BATCH_SIZE, rows.size())), types);
+            System.arraycopy(chunk, 0, counts, from, chunk.length);
+        }
+        return counts;
+    }
+
+    private String slugUpsertSql() {
+        if (slugUpsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            slugUpsertSql = product != null && product.toLowerCase(Locale.ROOT).contains("h2")
+                ? MERGE_BY_SLUG_SQL
+                : UPSERT_BY_SLUG_SQL;
+        }
+        return slugUpsertSql;
+    }
+
+    private static Object[] insertRow(Movie movie) {
+        return new Object[] {
+            movie.getTitle(), movie.getGenre(), movie.getDirector(), movie.getReleaseYear(),
+            movie.getRating(), movie.getDescription(), movie.getSlug()
+        };
+    }
+
+    private static Object[] updateRow(Movie movie, Long id) {
+        return new Object[] {
+            movie.getTitle(), movie.getGenre(), movie.getDirector(), movie.getReleaseYear(),
+            movie.getRating(), movie.getDescription(), movie.getSlug(), id
+        };
+    }
+
+    private static Movie toMovie(LetterboxdWatchlistFilm film) {
+        Movie movie = new Movie(film.getFilmTitle());
+        movie.setReleaseYear(film.getFilmYear());
+        movie.setSlug(film.getFilmSlug());
+        if (film.getGenres() != null && !film.getGenres().isEmpty()) {
+            movie.setGenre(String.join(", ", film.getGenres()));
+        }
+        if (film.getDirectors() != null && !film.getDirectors().isEmpty()) {
+            movie.setDirector(String.join(", ", film.getDirectors()));
+        }
+        return movie;
+    }
+
+    private static String titleYearKey(Movie movie) {
+        return titleYearKey(movie.getTitle(), movie.getReleaseYear());
+    }
+
+    // Titles compare exactly, as the title IN (...) lookup of existing rows does
+    private static String titleYearKey(String title, Integer releaseYear) {
+        return title + '\u0000' + releaseYear;
+    }
+
+    private static <T> T firstNonNull(T preferred, T fallback) {
+        return preferred != null ? preferred : fallback;
     }
 }
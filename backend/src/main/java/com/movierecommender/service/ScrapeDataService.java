@@ -0,0 +1,521 @@
+package com.movierecommender.service;
+
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeRequest;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+import com.movierecommender.entity.Movie;
+import com.movierecommender.entity.Rating;
+import com.movierecommender.entity.ScrapeState;
+import com.movierecommender.entity.User;
+import com.movierecommender.entity.WatchlistEntry;
+import com.movierecommender.precompute.PrecomputedRecommendations;
+import com.movierecommender.recommend.AlsRecommender;
+import com.movierecommender.repository.MovieRepository;
+import com.movierecommender.repository.RatingRepository;
+import com.movierecommender.repository.ScrapeStateRepository;
+import com.movierecommender.repository.UserRepository;
+import com.movierecommender.repository.WatchlistEntryRepository;
+import com.movierecommender.search.MovieSearchService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores scraped Letterboxd ratings and watchlists against the linked {@link User}
+ * so they can be served from the database instead of re-scraping. Writes go
+ * through JDBC batches inside a single transaction per scrape.
+ */
+@Service
+public class ScrapeDataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeDataService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    // Newest slugs remembered per list; the scraper stops paging at the first one it meets, which
+    // relies on full and incremental scrapes paging the same newest-first listing
+    private static final int HEAD_SLUGS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final MovieRepository movieRepository;
+    private final UserRepository userRepository;
+    private final RatingRepository ratingRepository;
+    private final WatchlistEntryRepository watchlistEntryRepository;
+    private final ScrapeStateRepository scrapeStateRepository;
+    private final MovieSearchService movieSearchService;
+    private final AlsRecommender alsRecommender;
+    private final PrecomputedRecommendations precomputedRecommendations;
+    private final TransactionTemplate writeTransaction;
+
+    public ScrapeDataService(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedJdbcTemplate,
+                             MovieRepository movieRepository,
+                             UserRepository userRepository,
+                             RatingRepository ratingRepository,
+                             WatchlistEntryRepository watchlistEntryRepository,
+                             ScrapeStateRepository scrapeStateRepository,
+                             MovieSearchService movieSearchService,
+                             AlsRecommender alsRecommender,
+                             PrecomputedRecommendations precomputedRecommendations,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.movieRepository = movieRepository;
+        this.userRepository = userRepository;
+        this.ratingRepository = ratingRepository;
+        this.watchlistEntryRepository = watchlistEntryRepository;
+        this.scrapeStateRepository = scrapeStateRepository;
+        this.movieSearchService = movieSearchService;
+        this.alsRecommender = alsRecommender;
+        this.precomputedRecommendations = precomputedRecommendations;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Turn a scrape request into an incremental one using the high-water marks of
+     * the last stored scrape. Returns false, leaving the request untouched, when
+     * the account has never been scraped and stored.
+     */
+    @Transactional(readOnly = true)
+    public boolean applyWatermarks(String letterboxdUsername, LetterboxdScrapeRequest request) {
+        Optional<ScrapeState> state = userRepository.findByLetterboxdUsername(letterboxdUsername)
+            .flatMap(user -> scrapeStateRepository.findByUserId(user.getId()));
+        if (state.isEmpty()) {
+            return false;
+        }
+        request.setSinceWatchedDate(state.get().getRatingWatermark());
+        request.setSinceAddedDate(state.get().getWatchlistWatermark());
+        request.setKnownRatingSlugs(splitSlugs(state.get().getRatingHeadSlugs()));
+        request.setKnownWatchlistSlugs(splitSlugs(state.get().getWatchlistHeadSlugs()));
+        return true;
+    }
+
+    /**
+     * Start storing a scrape that arrives in batches for the user linked to its
+     * Letterboxd username. Ratings are merged by film slug because scrapes are
+     * capped by a rating limit; the watchlist is fetched whole and therefore
+     * replaced, unless the scrape is incremental, in which case the new entries
+     * are merged in. Each batch is written in its own transaction (or the
+     * caller's), so storage keeps pace with parsing and nothing holds the whole
+     * scrape; {@link ScrapeWriter#finish()} then drops watchlist entries a full
+     * scrape no longer contains and advances the high-water marks. Empty when
+     * no user is linked to the account.
+     */
+    public Optional<ScrapeWriter> openScrape(String letterboxdUsername, boolean includeRatings,
+                                             boolean includeWatchlist, boolean incremental,
+                                             LocalDateTime scrapedAt) {
+        Optional<User> linkedUser = userRepository.findByLetterboxdUsername(letterboxdUsername);
+        if (linkedUser.isEmpty()) {
+            logger.info("No user linked to Letterboxd account {}, scrape not stored", letterboxdUsername);
+            return Optional.empty();
+        }
+        return Optional.of(new ScrapeWriter(letterboxdUsername, linkedUser.get().getId(), includeRatings,
+                                            includeWatchlist, incremental, scrapedAt));
+    }
+
+    /**
+     * Previously stored ratings and watchlist for a Letterboxd account, shaped like a scrape
+     */
+    @Transactional(readOnly = true)
+    public Optional<LetterboxdScrapeResponse> loadStored(String letterboxdUsername) {
+        return userRepository.findByLetterboxdUsername(letterboxdUsername).map(user -> {
+            List<LetterboxdRating> ratings = new ArrayList<>();
+            LocalDateTime scrapedAt = null;
+            for (Rating stored : ratingRepository.findByUserIdWithMovie(user.getId())) {
+                LetterboxdRating rating = new LetterboxdRating();
+                rating.setFilmSlug(stored.getFilmSlug());
+                rating.setRating(stored.getRating());
+                rating.setWatchedDate(stored.getWatchedDate());
+                rating.setReview(stored.getReview());
+                if (stored.getMovie() != null) {
+                    rating.setFilmTitle(stored.getMovie().getTitle());
+                    rating.setFilmYear(stored.getMovie().getReleaseYear());
+                }
+                ratings.add(rating);
+                scrapedAt = latest(scrapedAt, stored.getScrapedAt());
+            }
+
+            List<LetterboxdWatchlistFilm> watchlist = new ArrayList<>();
+            for (WatchlistEntry stored : watchlistEntryRepository.findByUserIdWithMovie(user.getId())) {
+                LetterboxdWatchlistFilm film = new LetterboxdWatchlistFilm();
+                film.setFilmSlug(stored.getFilmSlug());
+                film.setAddedDate(stored.getAddedDate());
+                if (stored.getMovie() != null) {
+                    film.setFilmTitle(stored.getMovie().getTitle());
+                    film.setFilmYear(stored.getMovie().getReleaseYear());
+                }
+                watchlist.add(film);
+                scrapedAt = latest(scrapedAt, stored.getScrapedAt());
+            }
+
+            LetterboxdScrapeResponse response = new LetterboxdScrapeResponse();
+            response.setUsername(letterboxdUsername);
+            response.setRatings(ratings);
+            response.setWatchlist(watchlist);
+            response.setTotalRatings(ratings.size());
+            response.setTotalWatchlistItems(watchlist.size());
+            response.setScrapedAt(scrapedAt);
+            return response;
+        });
+    }
+
+    private void storeRatings(Long userId, List<LetterboxdRating> ratings, Map<String, Long> movieIds,
+                              Timestamp scrapedAt) {
+        Map<String, LetterboxdRating> bySlug = new LinkedHashMap<>();
+        for (LetterboxdRating rating : ratings) {
+            if (hasSlug(rating.getFilmSlug())) {
+                bySlug.put(rating.getFilmSlug(), rating);
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>(bySlug.size());
+        List<Object[]> inserts = new ArrayList<>(bySlug.size());
+        for (LetterboxdRating rating : bySlug.values()) {
+            deletes.add(new Object[] {userId, rating.getFilmSlug()});
+            inserts.add(new Object[] {
+                userId, movieIds.get(rating.getFilmSlug()), rating.getFilmSlug(), rating.getRating(),
+                rating.getWatchedDate(), rating.getReview(), scrapedAt
+            });
+        }
+        batchUpdate("DELETE FROM ratings WHERE user_id = ? AND film_slug = ?", deletes);
+        batchUpdate("INSERT INTO ratings (user_id, movie_id, film_slug, rating, watched_date, review, scraped_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", inserts);
+    }
+
+    private void storeWatchlist(Long userId, List<LetterboxdWatchlistFilm> watchlist, Map<String, Long> movieIds,
+                                Timestamp scrapedAt) {
+        Map<String, LetterboxdWatchlistFilm> bySlug = new LinkedHashMap<>();
+        for (LetterboxdWatchlistFilm film : watchlist) {
+            if (hasSlug(film.getFilmSlug())) {
+                bySlug.put(film.getFilmSlug(), film);
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>(bySlug.size());
+        List<Object[]> inserts = new ArrayList<>(bySlug.size());
+        for (LetterboxdWatchlistFilm film : bySlug.values()) {
+            deletes.add(new Object[] {userId, film.getFilmSlug()});
+            inserts.add(new Object[] {
+                userId, movieIds.get(film.getFilmSlug()), film.getFilmSlug(), film.getAddedDate(), scrapedAt
+            });
+        }
+        batchUpdate("DELETE FROM watchlist_entries WHERE user_id = ? AND film_slug = ?", deletes);
+        batchUpdate("INSERT INTO watchlist_entries (user_id, movie_id, film_slug, added_date, scraped_at) " +
+                    "VALUES (?, ?, ?, ?, ?)", inserts);
+    }
+
+    /**
+     * Advance the high-water marks: the latest dates seen and the newest slugs,
+     * with the previous head appended after an incremental scrape's few new entries.
+     */
+    private void updateScrapeState(Long userId, ScrapeWriter scrape, LocalDateTime scrapedAt) {
+        ScrapeState state = scrapeStateRepository.findByUserId(userId).orElseGet(() -> {
+            ScrapeState created = new ScrapeState();
+            created.setUser(userRepository.getReferenceById(userId));
+            return created;
+        });
+
+        if (scrape.includeRatings) {
+            state.setRatingWatermark(laterDate(state.getRatingWatermark(), scrape.ratingWatermark));
+            state.setRatingHeadSlugs(joinHead(scrape.ratingHead,
+                                              scrape.incremental ? state.getRatingHeadSlugs() : null));
+        }
+        if (scrape.includeWatchlist) {
+            state.setWatchlistWatermark(laterDate(state.getWatchlistWatermark(), scrape.watchlistWatermark));
+            state.setWatchlistHeadSlugs(joinHead(scrape.watchlistHead,
+                                                 scrape.incremental ? state.getWatchlistHeadSlugs() : null));
+        }
+        state.setLastScrapedAt(scrapedAt);
+        if (!scrape.incremental && !scrape.partial) {
+            state.setLastFullScrapeAt(scrapedAt);
+        }
+        // Written now rather than at commit, so the row is locked before the stored lists are deleted
+        // and a precompute page holding it cannot write them back afterwards
+        scrapeStateRepository.saveAndFlush(state);
+    }
+
+    private static String joinHead(List<String> newest, String previousHead) {
+        LinkedHashSet<String> head = new LinkedHashSet<>();
+        for (String slug : newest) {
+            if (head.size() == HEAD_SLUGS) {
+                break;
+            }
+            if (hasSlug(slug)) {
+                head.add(slug);
+            }
+        }
+        for (String slug : splitSlugs(previousHead)) {
+            if (head.size() == HEAD_SLUGS) {
+                break;
+            }
+            head.add(slug);
+        }
+        return head.isEmpty() ? null : String.join("\n", head);
+    }
+
+    private static List<String> splitSlugs(String joined) {
+        return joined == null || joined.isEmpty() ? List.of() : Arrays.asList(joined.split("\n"));
+    }
+
+    // ISO dates (yyyy-MM-dd) order lexicographically
+    private static String laterDate(String current, String candidate) {
+        if (candidate == null || candidate.isBlank()) {
+            return current;
+        }
+        return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+    }
+
+    /**
+     * Map every scraped film to a movie id: first by slug, then by title and year
+     * (back-filling the slug), and finally by inserting a stub movie row.
+     */
+    private Map<String, Long> resolveMovieIds(Map<String, FilmRef> films) {
+        Map<String, Long> movieIds = new HashMap<>(findIdsBySlug(new ArrayList<>(films.keySet())));
+
+        List<Object[]> slugBackfills = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        Set<Long> backfilled = new HashSet<>();
+        for (FilmRef film : films.values()) {
+            if (movieIds.containsKey(film.slug)) {
+                continue;
+            }
+            // Only a row without a slug can be this film; one with another slug is a different film
+            // sharing the title and year, so this one gets its own row, keyed by its own slug
+            Optional<Long> unclaimed = film.title == null ? Optional.empty()
+                : movieRepository.findByTitleAndReleaseYearAndSlugIsNullOrderByIdAsc(film.title, film.year).stream()
+                    .map(Movie::getId)
+                    .filter(id -> !backfilled.contains(id))
+                    .findFirst();
+            if (unclaimed.isPresent()) {
+                backfilled.add(unclaimed.get());
+                movieIds.put(film.slug, unclaimed.get());
+                slugBackfills.add(new Object[] {film.slug, unclaimed.get()});
+            } else {
+                inserts.add(new Object[] {film.title != null ? film.title : film.slug, film.year, film.slug});
+            }
+        }
+
+        batchUpdate("UPDATE movies SET slug = ? WHERE id = ? AND slug IS NULL", slugBackfills);
+        if (!inserts.isEmpty()) {
+            batchUpdate("INSERT INTO movies (title, release_year, slug) VALUES (?, ?, ?)", inserts);
+            List<String> insertedSlugs = new ArrayList<>(inserts.size());
+            for (Object[] insert : inserts) {
+                insertedSlugs.add((String) insert[2]);
+            }
+            movieIds.putAll(findIdsBySlug(insertedSlugs));
+            movieSearchService.scheduleRebuild();
+        }
+        return movieIds;
+    }
+
+    private Map<String, Long> findIdsBySlug(List<String> slugs) {
+        Map<String, Long> ids = new HashMap<>(slugs.size() * 2);
+        for (int from = 0; from < slugs.size(); from += BATCH_SIZE) {
+            List<String> chunk = slugs.subList(from, Math.min(from + BATCH_SIZE, slugs.size()));
+            namedJdbcTemplate.query("SELECT id, slug FROM movies WHERE slug IN (:slugs)",
+                                    Map.of("slugs", chunk),
+                                    rs -> {
+                                        ids.putIfAbsent(rs.getString("slug"), rs.getLong("id"));
+                                    });
+        }
+        return ids;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static void addFilm(Map<String, FilmRef> films, String slug, String title, Integer year) {
+        if (hasSlug(slug)) {
+            films.putIfAbsent(slug, new FilmRef(slug, title, year));
+        }
+    }
+
+    private static boolean hasSlug(String slug) {
+        return slug != null && !slug.isBlank();
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    /**
+     * One scrape being stored batch by batch; see {@link #openScrape}. Only the
+     * high-water marks and counts are kept between batches.
+     */
+    public class ScrapeWriter {
+        private final String letterboxdUsername;
+        private final Long userId;
+        // Sections are stored from their own threads when a scrape is fanned out; one batch at a time
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean includeRatings;
+        private boolean includeWatchlist;
+        private boolean partial;
+        private final boolean incremental;
+        private final Timestamp scrapedAt;
+        private final List<String> ratingHead = new ArrayList<>(HEAD_SLUGS);
+        private final List<String> watchlistHead = new ArrayList<>(HEAD_SLUGS);
+        private String ratingWatermark;
+        private String watchlistWatermark;
+        private int ratings;
+        private int watchlistItems;
+        private int filmsResolved;
+
+        private ScrapeWriter(String letterboxdUsername, Long userId, boolean includeRatings, boolean includeWatchlist,
+                             boolean incremental, LocalDateTime scrapedAt) {
+            this.letterboxdUsername = letterboxdUsername;
+            this.userId = userId;
+            this.includeRatings = includeRatings;
+            this.includeWatchlist = includeWatchlist;
+            this.incremental = incremental;
+            this.scrapedAt = Timestamp.valueOf(scrapedAt);
+        }
+
+        public void addRatings(List<LetterboxdRating> batch) {
+            lock.lock();
+            try {
+                if (!includeRatings || batch.isEmpty()) {
+                    return;
+                }
+                Map<String, FilmRef> films = new LinkedHashMap<>();
+                for (LetterboxdRating rating : batch) {
+                    addFilm(films, rating.getFilmSlug(), rating.getFilmTitle(), rating.getFilmYear());
+                    remember(ratingHead, rating.getFilmSlug());
+                    ratingWatermark = laterDate(ratingWatermark, rating.getWatchedDate());
+                }
+                writeTransaction.executeWithoutResult(status -> {
+                    Map<String, Long> movieIds = resolveMovieIds(films);
+                    storeRatings(userId, batch, movieIds, scrapedAt);
+                    filmsResolved += movieIds.size();
+                });
+                ratings += batch.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public void addWatchlist(List<LetterboxdWatchlistFilm> batch) {
+            lock.lock();
+            try {
+                if (!includeWatchlist || batch.isEmpty()) {
+                    return;
+                }
+                Map<String, FilmRef> films = new LinkedHashMap<>();
+                for (LetterboxdWatchlistFilm film : batch) {
+                    addFilm(films, film.getFilmSlug(), film.getFilmTitle(), film.getFilmYear());
+                    remember(watchlistHead, film.getFilmSlug());
+                    watchlistWatermark = laterDate(watchlistWatermark, film.getAddedDate());
+                }
+                writeTransaction.executeWithoutResult(status -> {
+                    Map<String, Long> movieIds = resolveMovieIds(films);
+                    storeWatchlist(userId, batch, movieIds, scrapedAt);
+                    filmsResolved += movieIds.size();
+                });
+                watchlistItems += batch.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * The ratings section did not arrive in full: ignore any further batches
+         * and leave the stored rating high-water marks where they were, so the
+         * next incremental scrape fetches what this one missed
+         */
+        public void abandonRatings() {
+            lock.lock();
+            try {
+                includeRatings = false;
+                partial = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * As {@link #abandonRatings()}; the stored watchlist keeps the entries
+         * this scrape did not reach
+         */
+        public void abandonWatchlist() {
+            lock.lock();
+            try {
+                includeWatchlist = false;
+                partial = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Complete the scrape. Until this runs, a full scrape's watchlist is the
+         * union of the stored entries and the ones written so far.
+         */
+        public void finish() {
+            lock.lock();
+            try {
+                writeTransaction.executeWithoutResult(status -> {
+                    if (includeWatchlist && !incremental) {
+                        // Every entry this scrape contained was (re)written with its timestamp
+                        jdbcTemplate.update("DELETE FROM watchlist_entries WHERE user_id = ? " +
+                                            "AND (scraped_at IS NULL OR scraped_at <> ?)", userId, scrapedAt);
+                    }
+                    updateScrapeState(userId, this, scrapedAt.toLocalDateTime());
+                    // Stored lists no longer reflect the user's ratings; they are computed live until the next run
+                    precomputedRecommendations.delete(userId);
+                    // Refolds the user from what is now stored once this commits, rather than waiting for training
+                    alsRecommender.updateUser(userId, letterboxdUsername);
+                });
+            } finally {
+                lock.unlock();
+            }
+            logger.info("Stored {}{} scrape for Letterboxd user {} (user id {}): {} ratings, {} watchlist items, {} films resolved",
+                        partial ? "partial " : "", incremental ? "incremental" : "full", letterboxdUsername, userId,
+                        ratings, watchlistItems, filmsResolved);
+        }
+
+        private static void remember(List<String> head, String slug) {
+            if (head.size() < HEAD_SLUGS && hasSlug(slug) && !head.contains(slug)) {
+                head.add(slug);
+            }
+        }
+    }
+
+    private static class FilmRef {
+        final String slug;
+        final String title;
+        final Integer year;
+
+        FilmRef(String slug, String title, Integer year) {
+            this.slug = slug;
+            this.title = title;
+            this.year = year;
+        }
+    }
+}
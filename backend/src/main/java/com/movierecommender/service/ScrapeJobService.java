@@ -0,0 +1,200 @@
+package com.movierecommender.service;
+
+import com.movierecommender.config.ScrapeJobConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.ScrapeJobState;
+import com.movierecommender.dto.letterboxd.ScrapeJobStatus;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs Letterboxd scrapes in the background so request threads return
+ * immediately with a job id. Each job gets its own virtual thread; a fair
+ * semaphore bounds how many scrapes hit the scraper at once and the number
+ * of waiting jobs is capped. Finished jobs stay readable for the retention
+ * period and are dropped by a periodic sweep.
+ */
+@Service
+public class ScrapeJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeJobService.class);
+
+    private final LetterboxdIntegrationService letterboxdService;
+    private final ScrapeJobConfig.ScrapeJobProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final Map<String, ScrapeJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ScrapeJob> activeByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ScrapeJobService(LetterboxdIntegrationService letterboxdService,
+                            ScrapeJobConfig.ScrapeJobProperties properties) {
+        this.letterboxdService = letterboxdService;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrent(), true);
+    }
+
+    /**
+     * Queue a scrape. An identical scrape that is still queued or running is
+     * returned instead of starting a second one.
+     */
+    public ScrapeJobStatus submit(String username, boolean includeRatings, boolean includeWatchlist,
+                                  int ratingLimit, boolean incremental) {
+        String key = username.trim().toLowerCase() + '|' + includeRatings + '|' + includeWatchlist + '|' + ratingLimit
+            + '|' + incremental;
+
+        ScrapeJob job = activeByKey.compute(key, (k, existing) -> {
+            if (existing != null && !existing.state.isFinished()) {
+                return existing;
+            }
+            if (unfinished.get() >= properties.getMaxConcurrent() + properties.getMaxQueued()) {
+                throw new ScrapeJobRejectedException("Too many scrape jobs queued, try again later");
+            }
+            unfinished.incrementAndGet();
+            ScrapeJob created = new ScrapeJob(UUID.randomUUID().toString(), key, username,
+                                              sequence.incrementAndGet());
+            jobs.put(created.id, created);
+            executor.execute(() -> run(created, includeRatings, includeWatchlist, ratingLimit, incremental));
+            logger.info("Queued scrape job {} for user {}", created.id, username);
+            return created;
+        });
+        return toStatus(job);
+    }
+
+    public Optional<ScrapeJobStatus> getStatus(String jobId) {
+        ScrapeJob job = jobs.get(jobId);
+        return job != null ? Optional.of(toStatus(job)) : Optional.empty();
+    }
+
+    /**
+     * Queue depth and concurrency figures for the Letterboxd status endpoint
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "maxConcurrent", properties.getMaxConcurrent(),
+            "maxQueued", properties.getMaxQueued(),
+            "running", properties.getMaxConcurrent() - permits.availablePermits(),
+            "unfinished", unfinished.get(),
+            "tracked", jobs.size()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ScrapeJob job, boolean includeRatings, boolean includeWatchlist, int ratingLimit,
+                     boolean incremental) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, null, "Scrape job interrupted before it started");
+            return;
+        }
+        try {
+            job.startedAt = Instant.now();
+            job.state = ScrapeJobState.RUNNING;
+            LetterboxdScrapeResponse response = letterboxdService.scrapeUserData(
+                job.username, includeRatings, includeWatchlist, ratingLimit, incremental);
+            finish(job, response, null);
+        } catch (LetterboxdIntegrationService.LetterboxdScrapingException e) {
+            finish(job, null, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Scrape job {} failed unexpectedly", job.id, e);
+            finish(job, null, "Failed to scrape user data");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void finish(ScrapeJob job, LetterboxdScrapeResponse response, String error) {
+        job.result = response;
+        job.error = error;
+        job.finishedAt = Instant.now();
+        job.state = error == null ? ScrapeJobState.SUCCEEDED : ScrapeJobState.FAILED;
+        unfinished.decrementAndGet();
+        activeByKey.remove(job.key, job);
+        logger.info("Scrape job {} for user {} finished: {}", job.id, job.username, job.state);
+    }
+
+    private ScrapeJobStatus toStatus(ScrapeJob job) {
+        ScrapeJobStatus status = new ScrapeJobStatus();
+        ScrapeJobState state = job.state;
+        status.setJobId(job.id);
+        status.setUsername(job.username);
+        status.setState(state);
+        status.setSubmittedAt(job.submittedAt);
+        status.setStartedAt(job.startedAt);
+        status.setFinishedAt(job.finishedAt);
+        if (job.startedAt != null) {
+            Instant end = job.finishedAt != null ? job.finishedAt : Instant.now();
+            status.setElapsedMillis(Duration.between(job.startedAt, end).toMillis());
+        }
+        if (state == ScrapeJobState.QUEUED) {
+            int ahead = 0;
+            for (ScrapeJob other : jobs.values()) {
+                if (other.state == ScrapeJobState.QUEUED && other.sequence < job.sequence) {
+                    ahead++;
+                }
+            }
+            status.setQueuePosition(ahead + 1);
+        }
+        status.setError(job.error);
+        status.setResult(job.result);
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${letterboxd.jobs.eviction-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(properties.getRetentionMinutes()));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static class ScrapeJob {
+        final String id;
+        final String key;
+        final String username;
+        final long sequence;
+        final Instant submittedAt = Instant.now();
+        volatile ScrapeJobState state = ScrapeJobState.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+        volatile LetterboxdScrapeResponse result;
+
+        ScrapeJob(String id, String key, String username, long sequence) {
+            this.id = id;
+            this.key = key;
+            this.username = username;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Thrown when the job queue is full
+     */
+    public static class ScrapeJobRejectedException extends RuntimeException {
+        public ScrapeJobRejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.movierecommender.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the scraper's scrape response token by token, handing ratings and
+ * watchlist entries to a {@link Handler} in batches as they are parsed rather
+ * than binding the whole body first. The returned response carries the rest
+ * (profile, totals, status) and holds the entries themselves only when asked to.
+ */
+final class ScrapeResponseReader {
+
+    static final int BATCH_SIZE = 500;
+
+    interface Handler {
+        void ratings(List<LetterboxdRating> batch);
+
+        void watchlist(List<LetterboxdWatchlistFilm> batch);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    ScrapeResponseReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    LetterboxdScrapeResponse read(InputStream body, boolean retainEntries, Handler handler) throws IOException {
+        LetterboxdScrapeResponse response = new LetterboxdScrapeResponse();
+        List<LetterboxdRating> ratings = new ArrayList<>();
+        List<LetterboxdWatchlistFilm> watchlist = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a scrape response object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "username" -> response.setUsername(parser.getValueAsString());
+                    case "profile" -> response.setProfile(parser.readValueAs(LetterboxdProfile.class));
+                    case "ratings" -> readEntries(parser, LetterboxdRating.class, handler::ratings,
+                                                  retainEntries ? ratings : null);
+                    case "watchlist" -> readEntries(parser, LetterboxdWatchlistFilm.class, handler::watchlist,
+                                                    retainEntries ? watchlist : null);
+                    case "scraped_at" -> response.setScrapedAt(parser.readValueAs(LocalDateTime.class));
+                    case "total_ratings" -> response.setTotalRatings(parser.getValueAsInt());
+                    case "total_watchlist_items" -> response.setTotalWatchlistItems(parser.getValueAsInt());
+                    case "success" -> response.setSuccess(parser.getValueAsBoolean(true));
+                    case "error_message" -> response.setErrorMessage(parser.getValueAsString());
+                    case "incremental" -> response.setIncremental(parser.getValueAsBoolean());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        response.setRatings(ratings);
+        response.setWatchlist(watchlist);
+        return response;
+    }
+
+    /**
+     * Bind one array element at a time, passing each full batch on and
+     * keeping the elements only when a list to keep them in is given
+     */
+    private static <T> void readEntries(JsonParser parser, Class<T> type, Consumer<List<T>> consumer,
+                                        List<T> retained) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            T entry = parser.readValueAs(type);
+            if (entry == null) {
+                continue;
+            }
+            batch.add(entry);
+            if (batch.size() == BATCH_SIZE) {
+                consumer.accept(batch);
+                if (retained != null) {
+                    retained.addAll(batch);
+                }
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+            if (retained != null) {
+                retained.addAll(batch);
+            }
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.movierecommender.service;
 
+import com.movierecommender.dto.CursorPage;
 import com.movierecommender.entity.User;
+import com.movierecommender.precompute.PrecomputedRecommendations;
+import com.movierecommender.recommend.AlsRecommender;
+import com.movierecommender.recommend.RecommendationEngine;
+import com.movierecommender.recommend.UserRatings;
+import com.movierecommender.repository.AfterCommit;
+import com.movierecommender.repository.RatingRepository;
+import com.movierecommender.repository.ScrapeStateRepository;
 import com.movierecommender.repository.UserRepository;
+import com.movierecommender.repository.WatchlistEntryRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -15,10 +29,47 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private KeysetListings keysetListings;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private WatchlistEntryRepository watchlistEntryRepository;
+
+    @Autowired
+    private ScrapeStateRepository scrapeStateRepository;
+
+    @Autowired
+    private PrecomputedRecommendations precomputedRecommendations;
+
+    @Autowired
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private AlsRecommender alsRecommender;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * Keyset page of users with ids greater than {@code afterId}, ordered by id
+     */
+    public CursorPage<User> getUsersPage(Long afterId, int limit) {
+        return keysetListings.page(afterId, limit, userRepository::findByIdGreaterThanOrderByIdAsc, User::getId);
+    }
+
+    /**
+     * Write every user as newline-delimited JSON while the rows are being read,
+     * detaching each entity so the persistence context does not grow with the table
+     */
+    @Transactional(readOnly = true)
+    public long writeUsersAsNdjson(OutputStream out) throws IOException {
+        return keysetListings.writeNdjson(userRepository.streamAllOrderedById(), out);
+    }
+
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -42,20 +93,52 @@ public class UserService {
         return userRepository.save(user);
     }    
     
+    /**
+     * Update a user's details. Relinking another Letterboxd account drops what
+     * was stored from the previous one, which would otherwise be loaded as the
+     * new account's ratings and used as its incremental scrape high-water marks.
+     */
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         return userRepository.findById(id).map(user -> {
             user.setUsername(userDetails.getUsername());
             user.setEmail(userDetails.getEmail());
+            if (!Objects.equals(user.getLetterboxdUsername(), userDetails.getLetterboxdUsername())) {
+                deleteStoredScrape(id, user.getLetterboxdUsername());
+            }
             user.setLetterboxdUsername(userDetails.getLetterboxdUsername());
             return userRepository.save(user);
         }).orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    /**
+     * Delete a user together with their stored ratings, watchlist and scrape
+     * state. SQLite has no foreign keys to cascade and hands a deleted rowid to
+     * the next user created, who would otherwise inherit these rows.
+     */
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        deleteStoredScrape(id, user.getLetterboxdUsername());
+        userRepository.delete(user);
+    }
+
+    /**
+     * Drop the rows scraped for a user's linked account and, once that
+     * commits, the account's ratings held by the recommenders
+     */
+    private void deleteStoredScrape(Long id, String letterboxdUsername) {
+        ratingRepository.deleteByUserId(id);
+        watchlistEntryRepository.deleteByUserId(id);
+        scrapeStateRepository.deleteByUserId(id);
+        precomputedRecommendations.delete(id);
+        if (letterboxdUsername != null && !letterboxdUsername.isBlank()) {
+            AfterCommit.run(() -> {
+                recommendationEngine.replace(letterboxdUsername, UserRatings.empty());
+                alsRecommender.removeUser(letterboxdUsername);
+            });
         }
-        userRepository.deleteById(id);
     }
 
     public boolean existsByUsername(String username) {
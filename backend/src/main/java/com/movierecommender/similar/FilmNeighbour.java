@@ -0,0 +1,30 @@
+package com.movierecommender.similar;
+
+/**
+ * A film returned by a nearest-neighbour query and its cosine similarity to the query film.
+ */
+public class FilmNeighbour {
+    private final long movieId;
+    private final float similarity;
+
+    public FilmNeighbour(long movieId, float similarity) {
+        this.movieId = movieId;
+        this.similarity = similarity;
+    }
+
+    public long getMovieId() {
+        return movieId;
+    }
+
+    public float getSimilarity() {
+        return similarity;
+    }
+
+    @Override
+    public String toString() {
+        return "FilmNeighbour{" +
+                "movieId=" + movieId +
+                ", similarity=" + similarity +
+                '}';
+    }
+}
@@ -0,0 +1,229 @@
+package com.movierecommender.similar;
+
+import com.movierecommender.config.SimilarFilmsConfig;
+import com.movierecommender.repository.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps an {@link HnswIndex} of film embeddings in step with the movies table
+ * for "more like this" queries. The graph is loaded from disk at startup and
+ * then synchronised with the table: new or changed films are inserted into the
+ * live graph and deleted ones tombstoned, so only a missing or unreadable
+ * index file causes a full build. Every change is saved back to disk.
+ */
+@Service
+public class FilmSimilarityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilmSimilarityService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimilarFilmsConfig.SimilarFilmsProperties properties;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicBoolean syncScheduled = new AtomicBoolean();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similar-films-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile HnswIndex index;
+    private volatile Instant syncedAt;
+
+    public FilmSimilarityService(JdbcTemplate jdbcTemplate, SimilarFilmsConfig.SimilarFilmsProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Loading a large graph takes seconds, so it runs ahead of the first sync rather than on startup
+        syncExecutor.execute(this::load);
+        scheduleSync();
+    }
+
+    /**
+     * Whether a graph is available to answer queries
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Films most similar to the given one; empty when it is not indexed, e.g.
+     * because it has no genre or director yet
+     */
+    public List<FilmNeighbour> similar(long movieId, int limit) {
+        HnswIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        return current.similar(movieId, limit, Math.max(properties.getEfSearch(), limit));
+    }
+
+    /**
+     * Queue a background sync with the movies table unless one is already
+     * waiting to start. Inside a transaction the sync is queued after commit.
+     */
+    public void scheduleSync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AfterCommit.run(this::queueSync);
+    }
+
+    private void queueSync() {
+        if (syncScheduled.compareAndSet(false, true)) {
+            syncExecutor.execute(() -> {
+                syncScheduled.set(false);
+                try {
+                    sync();
+                } catch (RuntimeException e) {
+                    logger.error("Film similarity index sync failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Bring the graph in line with the movies table and save it if anything changed
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            long started = System.nanoTime();
+            HnswIndex current = index;
+            boolean rebuild = current == null
+                || current.size() - current.liveSize() > properties.getMaxDeletedFraction() * current.size();
+            HnswIndex target = rebuild
+                ? new HnswIndex(properties.getDimension(), properties.getM(), properties.getEfConstruction(),
+                                properties.getSeed())
+                : current;
+
+            // Embed while reading but insert afterwards, so the table is not held open during graph updates
+            int dimension = properties.getDimension();
+            LongIntMap seen = new LongIntMap(Math.max(1024, target.liveSize()));
+            List<Long> changedIds = new ArrayList<>();
+            List<float[]> changedVectors = new ArrayList<>();
+            readTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT id, title, genre, director, release_year FROM movies", rs -> {
+                    long movieId = rs.getLong(1);
+                    int year = rs.getInt(5);
+                    Integer releaseYear = rs.wasNull() ? null : year;
+                    float[] vector = FilmEmbedder.embed(rs.getString(2), rs.getString(3), rs.getString(4),
+                                                        releaseYear, dimension);
+                    if (vector == null) {
+                        return;
+                    }
+                    seen.put(movieId, 0);
+                    if (!target.hasVector(movieId, vector)) {
+                        changedIds.add(movieId);
+                        changedVectors.add(vector);
+                    }
+                }));
+            for (int i = 0; i < changedIds.size(); i++) {
+                target.add(changedIds.get(i), changedVectors.get(i));
+            }
+            int removed = 0;
+            for (long movieId : target.liveMovieIds()) {
+                if (seen.get(movieId) < 0) {
+                    target.remove(movieId);
+                    removed++;
+                }
+            }
+
+            if (rebuild || changedIds.size() > 0 || removed > 0) {
+                index = target;
+                save(target);
+            }
+            syncedAt = Instant.now();
+            logger.info("Synced film similarity index{}: {} added, {} removed, {} films in {} ms",
+                        rebuild ? " (full build)" : "", changedIds.size(), removed, target.liveSize(),
+                        (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Index statistics for status endpoints
+     */
+    public Map<String, Object> getStats() {
+        HnswIndex current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("ready", current != null);
+        if (current != null) {
+            stats.put("films", current.liveSize());
+            stats.put("nodes", current.size());
+            stats.put("layers", current.getMaxLevel() + 1);
+            stats.put("dimension", current.getDimension());
+            stats.put("m", current.getM());
+            stats.put("efConstruction", current.getEfConstruction());
+        }
+        stats.put("efSearch", properties.getEfSearch());
+        stats.put("syncedAt", syncedAt != null ? syncedAt.toString() : null);
+        stats.put("syncPending", syncScheduled.get());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    private void load() {
+        Path file = Paths.get(properties.getIndexFile());
+        if (!Files.exists(file)) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            index = HnswIndex.read(file, properties.getDimension(), properties.getSeed());
+            logger.info("Loaded film similarity index: {} films in {} ms",
+                        index.liveSize(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Discarding film similarity index {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void save(HnswIndex target) {
+        long started = System.nanoTime();
+        Path file = Paths.get(properties.getIndexFile());
+        try {
+            target.write(file);
+            logger.info("Saved film similarity index to {} in {} ms", file, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Could not save film similarity index to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,765 @@
+package com.movierecommender.similar;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over unit
+ * film vectors, searched by cosine similarity. Nodes are appended as films
+ * are added; removing a film only tombstones its node so the graph stays
+ * navigable, and tombstoned nodes are never returned. Vectors live in one flat
+ * array and each node's links per layer in an int array whose first slot
+ * holds the link count.
+ *
+ * <p>Searches run concurrently under a read lock; inserts and removals take
+ * the write lock one film at a time.
+ */
+public class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8 * Integer.BYTES;
+    // Searches are short and run on virtual threads, so search state is pooled rather than per thread
+    private static final int SCRATCH_POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArrayBlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(SCRATCH_POOL_SIZE);
+
+    private int size;
+    private float[] vectors;
+    private long[] movieIds;
+    private int[][][] links;
+    private long[] deleted;
+    private int deletedCount;
+    private final LongIntMap nodesByMovie;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimension, int m, int efConstruction, long seed) {
+        this(dimension, m, efConstruction, seed, 1024);
+    }
+
+    private HnswIndex(int dimension, int m, int efConstruction, long seed, int capacity) {
+        if (dimension < 1 || m < 2) {
+            throw new IllegalArgumentException("dimension must be positive and m at least 2");
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new Random(seed);
+        this.vectors = new float[capacity * dimension];
+        this.movieIds = new long[capacity];
+        this.links = new int[capacity][][];
+        this.deleted = new long[(capacity + 63) >>> 6];
+        this.nodesByMovie = new LongIntMap(capacity);
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+
+    /** Nodes in the graph, including tombstoned ones */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Films that can be returned from a search */
+    public int liveSize() {
+        lock.readLock().lock();
+        try {
+            return size - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxLevel() {
+        lock.readLock().lock();
+        try {
+            return maxLevel;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long movieId) {
+        lock.readLock().lock();
+        try {
+            return nodesByMovie.get(movieId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the film is indexed with exactly this vector
+     */
+    public boolean hasVector(long movieId, float[] vector) {
+        lock.readLock().lock();
+        try {
+            int node = nodesByMovie.get(movieId);
+            return node >= 0 && Arrays.equals(vectors, node * dimension, (node + 1) * dimension,
+                                              vector, 0, dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Movie ids of every film that has not been removed
+     */
+    public long[] liveMovieIds() {
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[size - deletedCount];
+            int count = 0;
+            for (int node = 0; node < size; node++) {
+                if (!isDeleted(node)) {
+                    ids[count++] = movieIds[node];
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a film, replacing any vector it was indexed with before
+     */
+    public void add(long movieId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension " + dimension);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(movieId);
+            int node = size;
+            ensureCapacity(node + 1);
+            System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+            movieIds[node] = movieId;
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[node][l] = new int[(l == 0 ? maxM0 : m) + 1];
+            }
+            size++;
+            nodesByMovie.put(movieId, node);
+            insert(node, level);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstone a film; returns false when it was not indexed
+     */
+    public boolean remove(long movieId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} films most similar to an indexed film, excluding itself.
+     * Empty when the film is not indexed.
+     */
+    public List<FilmNeighbour> similar(long movieId, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            int node = nodesByMovie.get(movieId);
+            if (node < 0) {
+                return List.of();
+            }
+            return searchLocked(vectors, node * dimension, k, ef, node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} films most similar to an arbitrary unit vector
+     */
+    public List<FilmNeighbour> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(query, 0, k, ef, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k by scanning every live film; for checking search recall
+     */
+    public List<FilmNeighbour> exactSimilar(long movieId, int k) {
+        lock.readLock().lock();
+        try {
+            int node = nodesByMovie.get(movieId);
+            if (node < 0 || k < 1) {
+                return List.of();
+            }
+            Heap best = new Heap(k, true);
+            for (int other = 0; other < size; other++) {
+                if (other == node || isDeleted(other)) {
+                    continue;
+                }
+                float distance = distance(vectors, node * dimension, other);
+                if (best.size() < k) {
+                    best.push(other, distance);
+                } else if (distance < best.topDistance()) {
+                    best.pop();
+                    best.push(other, distance);
+                }
+            }
+            return drainNearestFirst(best, -1, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<FilmNeighbour> searchLocked(float[] query, int queryOffset, int k, int ef, int excludeNode) {
+        if (entryPoint < 0 || k < 1) {
+            return List.of();
+        }
+        int entry = entryPoint;
+        float entryDistance = distance(query, queryOffset, entry);
+        for (int level = maxLevel; level > 0; level--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbours = links[entry][level];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    float d = distance(query, queryOffset, neighbours[i]);
+                    if (d < entryDistance) {
+                        entry = neighbours[i];
+                        entryDistance = d;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        Scratch s = acquireScratch();
+        try {
+            s.entries.clear();
+            s.entries.push(entry, entryDistance);
+            // Room for the query film itself and some tombstones on top of k
+            Heap results = searchLayer(query, queryOffset, s.entries, Math.max(ef, k + 1), 0, s);
+            return drainNearestFirst(results, excludeNode, k);
+        } finally {
+            releaseScratch(s);
+        }
+    }
+
+    private Scratch acquireScratch() {
+        Scratch s = scratchPool.poll();
+        return s != null ? s : new Scratch();
+    }
+
+    // Dropped when the pool is full; a burst of searches leaves at most the pool size behind
+    private void releaseScratch(Scratch s) {
+        scratchPool.offer(s);
+    }
+
+    private List<FilmNeighbour> drainNearestFirst(Heap results, int excludeNode, int k) {
+        int count = results.size();
+        int[] nodes = new int[count];
+        float[] distances = new float[count];
+        for (int i = count - 1; i >= 0; i--) {
+            distances[i] = results.topDistance();
+            nodes[i] = results.pop();
+        }
+        List<FilmNeighbour> neighbours = new ArrayList<>(Math.min(k, count));
+        for (int i = 0; i < count && neighbours.size() < k; i++) {
+            if (nodes[i] != excludeNode && !isDeleted(nodes[i])) {
+                neighbours.add(new FilmNeighbour(movieIds[nodes[i]], 1f - distances[i]));
+            }
+        }
+        return neighbours;
+    }
+
+    private boolean removeLocked(long movieId) {
+        int node = nodesByMovie.get(movieId);
+        if (node < 0) {
+            return false;
+        }
+        nodesByMovie.remove(movieId);
+        deleted[node >>> 6] |= 1L << node;
+        deletedCount++;
+        return true;
+    }
+
+    private boolean isDeleted(int node) {
+        return (deleted[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private void insert(int node, int level) {
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        int queryOffset = node * dimension;
+        int entry = entryPoint;
+        float entryDistance = distance(vectors, queryOffset, entry);
+        for (int l = maxLevel; l > level; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbours = links[entry][l];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    float d = distance(vectors, queryOffset, neighbours[i]);
+                    if (d < entryDistance) {
+                        entry = neighbours[i];
+                        entryDistance = d;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        Scratch s = acquireScratch();
+        try {
+            s.entries.clear();
+            s.entries.push(entry, entryDistance);
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                Heap found = searchLayer(vectors, queryOffset, s.entries, efConstruction, l, s);
+                int count = found.size();
+                int[] candidates = new int[count];
+                float[] candidateDistances = new float[count];
+                for (int i = count - 1; i >= 0; i--) {
+                    candidateDistances[i] = found.topDistance();
+                    candidates[i] = found.pop();
+                }
+
+                int[] selected = selectNeighbours(candidates, candidateDistances, count, m);
+                int[] own = links[node][l];
+                own[0] = selected.length;
+                System.arraycopy(selected, 0, own, 1, selected.length);
+                int maxLinks = l == 0 ? maxM0 : m;
+                for (int neighbour : selected) {
+                    connect(neighbour, node, l, maxLinks);
+                }
+
+                s.entries.clear();
+                for (int i = 0; i < count; i++) {
+                    s.entries.push(candidates[i], candidateDistances[i]);
+                }
+            }
+        } finally {
+            releaseScratch(s);
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Add a back link from {@code node} to {@code added}, re-selecting the
+     * node's links with the heuristic when it is already full
+     */
+    private void connect(int node, int added, int level, int maxLinks) {
+        int[] list = links[node][level];
+        int count = list[0];
+        if (count < maxLinks) {
+            list[count + 1] = added;
+            list[0] = count + 1;
+            return;
+        }
+        int nodeOffset = node * dimension;
+        int total = count + 1;
+        long[] keyed = new long[total];
+        for (int i = 0; i < total; i++) {
+            int candidate = i < count ? list[i + 1] : added;
+            float d = distance(vectors, nodeOffset, candidate);
+            // Distances are non-negative, so their float bits sort like the values
+            keyed[i] = ((long) Float.floatToIntBits(Math.max(0f, d)) << 32) | candidate;
+        }
+        Arrays.sort(keyed);
+        int[] candidates = new int[total];
+        float[] distances = new float[total];
+        for (int i = 0; i < total; i++) {
+            candidates[i] = (int) keyed[i];
+            distances[i] = Float.intBitsToFloat((int) (keyed[i] >>> 32));
+        }
+        int[] selected = selectNeighbours(candidates, distances, total, maxLinks);
+        list[0] = selected.length;
+        System.arraycopy(selected, 0, list, 1, selected.length);
+    }
+
+    /**
+     * Neighbour selection heuristic: walking candidates nearest first, keep one
+     * only if it is closer to the base than to every neighbour already kept, so
+     * links spread out instead of clustering. Remaining slots are topped up with
+     * the nearest discarded candidates.
+     */
+    private int[] selectNeighbours(int[] candidates, float[] distances, int count, int limit) {
+        if (count <= limit) {
+            return Arrays.copyOf(candidates, count);
+        }
+        int[] selected = new int[limit];
+        int kept = 0;
+        boolean[] used = new boolean[count];
+        for (int i = 0; i < count && kept < limit; i++) {
+            int candidate = candidates[i];
+            boolean diverse = true;
+            for (int j = 0; j < kept; j++) {
+                if (distance(vectors, candidate * dimension, selected[j]) < distances[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[kept++] = candidate;
+                used[i] = true;
+            }
+        }
+        for (int i = 0; i < count && kept < limit; i++) {
+            if (!used[i]) {
+                selected[kept++] = candidates[i];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Best-first search of one layer; returns a max-heap of at most {@code ef}
+     * nearest nodes owned by the caller's scratch space
+     */
+    private Heap searchLayer(float[] query, int queryOffset, Heap entries, int ef, int level, Scratch s) {
+        int epoch = s.nextEpoch(size);
+        Heap candidates = s.candidates();
+        Heap results = s.results();
+        for (int i = 0; i < entries.size(); i++) {
+            int node = entries.nodeAt(i);
+            float d = entries.distanceAt(i);
+            s.visited[node] = epoch;
+            candidates.push(node, d);
+            results.push(node, d);
+            if (results.size() > ef) {
+                results.pop();
+            }
+        }
+
+        while (candidates.size() > 0) {
+            float closest = candidates.topDistance();
+            int current = candidates.pop();
+            if (results.size() >= ef && closest > results.topDistance()) {
+                break;
+            }
+            int[] neighbours = links[current][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (s.visited[neighbour] == epoch) {
+                    continue;
+                }
+                s.visited[neighbour] = epoch;
+                float d = distance(query, queryOffset, neighbour);
+                if (results.size() < ef || d < results.topDistance()) {
+                    candidates.push(neighbour, d);
+                    results.push(neighbour, d);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private float distance(float[] query, int queryOffset, int node) {
+        int base = node * dimension;
+        float dot = 0f;
+        for (int x = 0; x < dimension; x++) {
+            dot += query[queryOffset + x] * vectors[base + x];
+        }
+        return 1f - dot;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= movieIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, movieIds.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity * dimension);
+        movieIds = Arrays.copyOf(movieIds, capacity);
+        links = Arrays.copyOf(links, capacity);
+        deleted = Arrays.copyOf(deleted, (capacity + 63) >>> 6);
+    }
+
+    /**
+     * Serialise the graph to {@code file}, written to a sibling temporary file
+     * first and moved into place so readers never see a partial index. The
+     * stream ends with a CRC32 of everything before it.
+     */
+    public void write(Path file) throws IOException {
+        lock.readLock().lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                CRC32 crc = new CRC32();
+                try (OutputStream fileOut = Files.newOutputStream(temp);
+                     DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                         new BufferedOutputStream(fileOut, 1 << 16), crc))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeInt(dimension);
+                    out.writeInt(m);
+                    out.writeInt(efConstruction);
+                    out.writeInt(size);
+                    out.writeInt(entryPoint);
+                    out.writeInt(maxLevel);
+                    for (int node = 0; node < size; node++) {
+                        out.writeLong(movieIds[node]);
+                        out.writeBoolean(isDeleted(node));
+                        for (int x = 0; x < dimension; x++) {
+                            out.writeFloat(vectors[node * dimension + x]);
+                        }
+                        out.writeByte(links[node].length);
+                        for (int[] list : links[node]) {
+                            out.writeShort(list[0]);
+                            for (int i = 1; i <= list[0]; i++) {
+                                out.writeInt(list[i]);
+                            }
+                        }
+                    }
+                    out.flush();
+                    // Not covered by the checksum it records
+                    new DataOutputStream(fileOut).writeLong(crc.getValue());
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load a graph written by {@link #write}. Fails when the file is truncated,
+     * corrupt, from another format version or built for another dimension.
+     */
+    public static HnswIndex read(Path file, int expectedDimension, long seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + Long.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a film similarity index: " + file);
+            }
+            // Mapped rather than streamed: the checksum and decoding then run over whole buffers
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            CRC32 crc = new CRC32();
+            crc.update(in.slice(0, (int) length - Long.BYTES));
+            if (in.getLong((int) length - Long.BYTES) != crc.getValue()) {
+                throw new IOException("Similarity index checksum mismatch: " + file);
+            }
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a film similarity index: " + file);
+            }
+            int version = in.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported similarity index version " + version);
+            }
+            int dimension = in.getInt();
+            if (dimension != expectedDimension) {
+                throw new IOException("Similarity index has dimension " + dimension + ", expected " + expectedDimension);
+            }
+            int m = in.getInt();
+            int efConstruction = in.getInt();
+            int size = in.getInt();
+            HnswIndex index = new HnswIndex(dimension, m, efConstruction, seed ^ size, Math.max(1024, size));
+            index.entryPoint = in.getInt();
+            index.maxLevel = in.getInt();
+            for (int node = 0; node < size; node++) {
+                long movieId = in.getLong();
+                boolean deleted = in.get() != 0;
+                in.asFloatBuffer().get(index.vectors, node * dimension, dimension);
+                in.position(in.position() + dimension * Float.BYTES);
+                int levels = in.get() & 0xFF;
+                index.links[node] = new int[levels][];
+                for (int l = 0; l < levels; l++) {
+                    int[] list = new int[(l == 0 ? index.maxM0 : m) + 1];
+                    list[0] = in.getShort() & 0xFFFF;
+                    in.asIntBuffer().get(list, 1, list[0]);
+                    in.position(in.position() + list[0] * Integer.BYTES);
+                    index.links[node][l] = list;
+                }
+                index.movieIds[node] = movieId;
+                if (deleted) {
+                    index.deleted[node >>> 6] |= 1L << node;
+                    index.deletedCount++;
+                } else {
+                    index.nodesByMovie.put(movieId, node);
+                }
+            }
+            index.size = size;
+            return index;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated similarity index: " + file, e);
+        }
+    }
+
+    /**
+     * Search state borrowed from the pool for one search or insert: an
+     * epoch-stamped visited array and reusable heaps
+     */
+    private static class Scratch {
+        int[] visited = new int[0];
+        int epoch;
+        final Heap entries = new Heap(64, false);
+        Heap candidates = new Heap(64, false);
+        Heap results = new Heap(64, true);
+
+        int nextEpoch(int nodes) {
+            if (visited.length < nodes) {
+                visited = new int[Math.max(nodes, visited.length * 2)];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+
+        Heap candidates() {
+            candidates.clear();
+            return candidates;
+        }
+
+        Heap results() {
+            results.clear();
+            return results;
+        }
+    }
+
+    /**
+     * Growable binary heap of (node, distance) pairs, nearest-first or farthest-first
+     */
+    private static final class Heap {
+        private int[] nodes;
+        private float[] distances;
+        private final boolean farthestFirst;
+        private int size;
+
+        Heap(int capacity, boolean farthestFirst) {
+            this.nodes = new int[capacity];
+            this.distances = new float[capacity];
+            this.farthestFirst = farthestFirst;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int nodeAt(int i) {
+            return nodes[i];
+        }
+
+        float distanceAt(int i) {
+            return distances[i];
+        }
+
+        float topDistance() {
+            return distances[0];
+        }
+
+        void push(int node, float distance) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            int pos = size++;
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (!before(distance, distances[parent])) {
+                    break;
+                }
+                nodes[pos] = nodes[parent];
+                distances[pos] = distances[parent];
+                pos = parent;
+            }
+            nodes[pos] = node;
+            distances[pos] = distance;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                int node = nodes[size];
+                float distance = distances[size];
+                int pos = 0;
+                int half = size >>> 1;
+                while (pos < half) {
+                    int child = 2 * pos + 1;
+                    int right = child + 1;
+                    if (right < size && before(distances[right], distances[child])) {
+                        child = right;
+                    }
+                    if (!before(distances[child], distance)) {
+                        break;
+                    }
+                    nodes[pos] = nodes[child];
+                    distances[pos] = distances[child];
+                    pos = child;
+                }
+                nodes[pos] = node;
+                distances[pos] = distance;
+            }
+            return top;
+        }
+
+        private boolean before(float a, float b) {
+            return farthestFirst ? a > b : a < b;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.movierecommender.similar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to non-negative int values, used to find
+ * a movie's graph node without boxing. Not thread-safe.
+ */
+final class LongIntMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1);
+    }
+
+    /**
+     * Value for the key, or -1 when absent
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int pos = slot(key, mask); ; pos = (pos + 1) & mask) {
+            if (keys[pos] == EMPTY) {
+                return -1;
+            }
+            if (keys[pos] == key) {
+                return values[pos];
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        int mask = keys.length - 1;
+        int pos = slot(key, mask);
+        while (keys[pos] != EMPTY && keys[pos] != key) {
+            pos = (pos + 1) & mask;
+        }
+        if (keys[pos] == EMPTY) {
+            keys[pos] = key;
+            if (++size > keys.length / 2) {
+                values[pos] = value;
+                rehash(keys.length * 2);
+                return;
+            }
+        }
+        values[pos] = value;
+    }
+
+    /**
+     * Removes the key, shifting later entries of its probe run back so lookups
+     * never need tombstones
+     */
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int pos = slot(key, mask);
+        while (keys[pos] != key) {
+            if (keys[pos] == EMPTY) {
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+        size--;
+        int gap = pos;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // Move the entry into the gap unless its home lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int pos = slot(oldKeys[i], mask);
+                while (keys[pos] != EMPTY) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
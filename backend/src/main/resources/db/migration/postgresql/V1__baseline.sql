@@ -0,0 +1,80 @@
+-- PostgreSQL schema, also run by H2 in PostgreSQL mode (the h2 profile).
+--
+-- Entities that Hibernate inserts take ids from sequences in blocks of 50
+-- (allocationSize on their @SequenceGenerator), so inserts can be batched.
+-- The column defaults draw from the same sequences for rows inserted with
+-- plain JDBC; each such row uses up one block, which never overlaps a block
+-- handed to Hibernate. Ratings and watchlist entries are only ever inserted
+-- with JDBC batches and use identity columns.
+
+CREATE SEQUENCE movies_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE scrape_states_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE refresh_runs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE movies (
+    id bigint DEFAULT nextval('movies_seq') PRIMARY KEY,
+    title varchar(255) NOT NULL,
+    genre varchar(255),
+    director varchar(255),
+    release_year integer,
+    rating double precision,
+    description varchar(1000),
+    slug varchar(255)
+);
+
+CREATE UNIQUE INDEX ux_movies_slug ON movies (slug);
+
+CREATE TABLE users (
+    id bigint DEFAULT nextval('users_seq') PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE,
+    email varchar(255) NOT NULL UNIQUE,
+    letterboxd_username varchar(255)
+);
+
+CREATE TABLE ratings (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id bigint NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    movie_id bigint REFERENCES movies (id) ON DELETE SET NULL,
+    film_slug varchar(255) NOT NULL,
+    rating double precision,
+    watched_date varchar(255),
+    review varchar(4000),
+    scraped_at timestamp(6),
+    CONSTRAINT ux_ratings_user_film UNIQUE (user_id, film_slug)
+);
+
+CREATE TABLE watchlist_entries (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id bigint NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    movie_id bigint REFERENCES movies (id) ON DELETE SET NULL,
+    film_slug varchar(255) NOT NULL,
+    added_date varchar(255),
+    scraped_at timestamp(6),
+    CONSTRAINT ux_watchlist_user_film UNIQUE (user_id, film_slug)
+);
+
+CREATE TABLE scrape_states (
+    id bigint DEFAULT nextval('scrape_states_seq') PRIMARY KEY,
+    user_id bigint NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    rating_watermark varchar(255),
+    watchlist_watermark varchar(255),
+    rating_head_slugs varchar(4000),
+    watchlist_head_slugs varchar(4000),
+    last_scraped_at timestamp(6),
+    last_full_scrape_at timestamp(6),
+    CONSTRAINT ux_scrape_states_user UNIQUE (user_id)
+);
+
+CREATE TABLE refresh_runs (
+    id bigint DEFAULT nextval('refresh_runs_seq') PRIMARY KEY,
+    status varchar(255) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'CANCELLED')),
+    started_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    phase varchar(255) NOT NULL CHECK (phase IN ('NEVER_SCRAPED', 'STALE')),
+    cursor_scraped_at timestamp(6),
+    cursor_user_id bigint,
+    attempted integer NOT NULL,
+    succeeded integer NOT NULL,
+    failed integer NOT NULL
+);
@@ -0,0 +1,12 @@
+-- Indexes for the lookups that otherwise scan a whole table: linked account by
+-- Letterboxd username, the title/year match used to de-duplicate imports, and
+-- the release year and rating filters.
+
+CREATE INDEX ix_movies_title_release_year ON movies (title, release_year);
+CREATE INDEX ix_movies_release_year ON movies (release_year);
+CREATE INDEX ix_movies_rating ON movies (rating);
+CREATE INDEX ix_users_letterboxd_username ON users (letterboxd_username);
+
+-- Deleting a movie sets these references to null
+CREATE INDEX ix_ratings_movie_id ON ratings (movie_id);
+CREATE INDEX ix_watchlist_entries_movie_id ON watchlist_entries (movie_id);
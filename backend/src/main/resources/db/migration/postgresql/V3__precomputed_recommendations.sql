@@ -0,0 +1,24 @@
+-- Top-N lists written by the batch precompute, one row per film, read back
+-- in order through the primary key; and the checkpoints of its runs.
+
+CREATE SEQUENCE precompute_runs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE recommendations (
+    user_id bigint NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    model varchar(16) NOT NULL,
+    item_rank integer NOT NULL,
+    film_slug varchar(255) NOT NULL,
+    score real NOT NULL,
+    run_id bigint NOT NULL,
+    PRIMARY KEY (user_id, model, item_rank)
+);
+
+CREATE TABLE precompute_runs (
+    id bigint DEFAULT nextval('precompute_runs_seq') PRIMARY KEY,
+    status varchar(255) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'CANCELLED')),
+    started_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    cursor_user_id bigint,
+    users integer NOT NULL,
+    recommendations bigint NOT NULL
+);
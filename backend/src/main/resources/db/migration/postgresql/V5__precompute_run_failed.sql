@@ -0,0 +1,20 @@
+-- Runs that fail are marked FAILED rather than left RUNNING. The status check
+-- was created unnamed, and H2 and PostgreSQL name it differently, so the table
+-- is rebuilt with a named one.
+
+CREATE TABLE precompute_runs_v5 (
+    id bigint DEFAULT nextval('precompute_runs_seq') PRIMARY KEY,
+    status varchar(255) NOT NULL,
+    started_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    cursor_user_id bigint,
+    users integer NOT NULL,
+    recommendations bigint NOT NULL,
+    CONSTRAINT ck_precompute_runs_status CHECK (status IN ('RUNNING', 'COMPLETED', 'CANCELLED', 'FAILED'))
+);
+
+INSERT INTO precompute_runs_v5 (id, status, started_at, finished_at, cursor_user_id, users, recommendations)
+SELECT id, status, started_at, finished_at, cursor_user_id, users, recommendations FROM precompute_runs;
+
+DROP TABLE precompute_runs;
+ALTER TABLE precompute_runs_v5 RENAME TO precompute_runs;
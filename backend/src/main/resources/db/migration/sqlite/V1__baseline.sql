@@ -0,0 +1,76 @@
+-- Schema as Hibernate's ddl-auto created it before migrations were introduced.
+-- Existing databases are baselined below this version (spring.flyway.baseline-on-migrate),
+-- so it runs against them too and only creates what they are missing.
+
+CREATE TABLE IF NOT EXISTS movies (
+    id integer,
+    description varchar(1000),
+    director varchar(255),
+    genre varchar(255),
+    rating float,
+    release_year integer,
+    slug varchar(255),
+    title varchar(255) not null,
+    primary key (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_movies_slug ON movies (slug);
+
+CREATE TABLE IF NOT EXISTS users (
+    id integer,
+    email varchar(255) not null unique,
+    letterboxd_username varchar(255),
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS ratings (
+    id integer,
+    film_slug varchar(255) not null,
+    rating float,
+    review varchar(4000),
+    scraped_at timestamp,
+    watched_date varchar(255),
+    movie_id bigint,
+    user_id bigint not null,
+    primary key (id),
+    constraint ux_ratings_user_film unique (user_id, film_slug)
+);
+
+CREATE TABLE IF NOT EXISTS watchlist_entries (
+    id integer,
+    added_date varchar(255),
+    film_slug varchar(255) not null,
+    scraped_at timestamp,
+    movie_id bigint,
+    user_id bigint not null,
+    primary key (id),
+    constraint ux_watchlist_user_film unique (user_id, film_slug)
+);
+
+CREATE TABLE IF NOT EXISTS scrape_states (
+    id integer,
+    last_full_scrape_at timestamp,
+    last_scraped_at timestamp,
+    rating_head_slugs varchar(4000),
+    rating_watermark varchar(255),
+    watchlist_head_slugs varchar(4000),
+    watchlist_watermark varchar(255),
+    user_id bigint not null,
+    primary key (id),
+    constraint ux_scrape_states_user unique (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_runs (
+    id integer,
+    attempted integer not null,
+    cursor_scraped_at timestamp,
+    cursor_user_id bigint,
+    failed integer not null,
+    finished_at timestamp,
+    phase varchar(255) not null check (phase in ('NEVER_SCRAPED','STALE')),
+    started_at timestamp not null,
+    status varchar(255) not null check (status in ('RUNNING','COMPLETED','CANCELLED')),
+    succeeded integer not null,
+    primary key (id)
+);
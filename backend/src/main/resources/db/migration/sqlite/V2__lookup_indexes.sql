@@ -0,0 +1,10 @@
+-- Indexes for the lookups that otherwise scan a whole table: linked account by
+-- Letterboxd username, the title/year match used to de-duplicate imports, and
+-- the release year and rating filters. ux_movies_slug repeats the one in V1 and
+-- is a no-op wherever V1 has run.
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_movies_slug ON movies (slug);
+CREATE INDEX IF NOT EXISTS ix_movies_title_release_year ON movies (title, release_year);
+CREATE INDEX IF NOT EXISTS ix_movies_release_year ON movies (release_year);
+CREATE INDEX IF NOT EXISTS ix_movies_rating ON movies (rating);
+CREATE INDEX IF NOT EXISTS ix_users_letterboxd_username ON users (letterboxd_username);
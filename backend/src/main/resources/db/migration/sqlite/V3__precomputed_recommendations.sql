@@ -0,0 +1,23 @@
+-- Top-N lists written by the batch precompute, one row per film, read back
+-- in order through the primary key; and the checkpoints of its runs.
+
+CREATE TABLE IF NOT EXISTS recommendations (
+    user_id bigint not null,
+    model varchar(16) not null,
+    item_rank integer not null,
+    film_slug varchar(255) not null,
+    score float not null,
+    run_id bigint not null,
+    primary key (user_id, model, item_rank)
+);
+
+CREATE TABLE IF NOT EXISTS precompute_runs (
+    id integer,
+    cursor_user_id bigint,
+    finished_at timestamp,
+    recommendations bigint not null,
+    started_at timestamp not null,
+    status varchar(255) not null check (status in ('RUNNING','COMPLETED','CANCELLED')),
+    users integer not null,
+    primary key (id)
+);
@@ -0,0 +1,6 @@
+-- Importers and scrapes look up slug-less rows by title and year; with slug
+-- outside the index the planner answers "slug IS NULL" from ux_movies_slug
+-- instead and walks every slug-less movie.
+
+DROP INDEX IF EXISTS ix_movies_title_release_year;
+CREATE INDEX IF NOT EXISTS ix_movies_title_release_year_slug ON movies (title, release_year, slug);
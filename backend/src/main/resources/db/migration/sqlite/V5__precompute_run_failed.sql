@@ -0,0 +1,19 @@
+-- Runs that fail are marked FAILED rather than left RUNNING. SQLite cannot
+-- alter a check constraint, so the table is rebuilt with the wider one.
+
+CREATE TABLE precompute_runs_v5 (
+    id integer,
+    cursor_user_id bigint,
+    finished_at timestamp,
+    recommendations bigint not null,
+    started_at timestamp not null,
+    status varchar(255) not null check (status in ('RUNNING','COMPLETED','CANCELLED','FAILED')),
+    users integer not null,
+    primary key (id)
+);
+
+INSERT INTO precompute_runs_v5 (id, cursor_user_id, finished_at, recommendations, started_at, status, users)
+SELECT id, cursor_user_id, finished_at, recommendations, started_at, status, users FROM precompute_runs;
+
+DROP TABLE precompute_runs;
+ALTER TABLE precompute_runs_v5 RENAME TO precompute_runs;
@@ -0,0 +1,7 @@
+-- The model each stored list was computed from: its generation, and its build
+-- time in epoch millis, which tells apart models of the same generation built
+-- by different runs of the application. Lists from any other model are stale.
+-- Rows stored before this have neither and are never served.
+
+ALTER TABLE recommendations ADD COLUMN model_generation bigint;
+ALTER TABLE recommendations ADD COLUMN model_built_at bigint;
@@ -0,0 +1,73 @@
+package com.movierecommender;
+
+import com.movierecommender.entity.Movie;
+import com.movierecommender.repository.MovieRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database file as the pre-migration app left it:
+ * only {@code movies}, without {@code slug}, and {@code users}, as Hibernate's
+ * {@code ddl-auto=update} created them.
+ */
+@SpringBootTest
+class LegacySqliteUpgradeTest {
+
+    private static final Path DATA_DIR = SqliteIntegrationTest.createDataDir();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                 "jdbc:sqlite:" + DATA_DIR.resolve("movierecommender.db"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table movies (id integer, description varchar(1000), director varchar(255), "
+                              + "genre varchar(255), rating float, release_year integer, "
+                              + "title varchar(255) not null, primary key (id))");
+            statement.execute("create table users (id integer, email varchar(255) not null unique, "
+                              + "letterboxd_username varchar(255), username varchar(255) not null unique, "
+                              + "primary key (id))");
+            statement.execute("insert into movies (title, genre, release_year) values ('Legacy Film', 'Drama', 1999)");
+            statement.execute("insert into users (username, email) values ('legacy', 'legacy@example.com')");
+        }
+        SqliteIntegrationTest.dataFiles(registry, DATA_DIR);
+    }
+
+    @Test
+    void migratesAPreMigrationDatabaseAndKeepsItsRows() {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history WHERE success = 1", String.class))
+            .contains("0", "1", "2", "5");
+        for (String table : new String[]{"ratings", "watchlist_entries", "scrape_states", "refresh_runs"}) {
+            assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?", Integer.class, table))
+                .as(table).isEqualTo(1);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'legacy'", Integer.class))
+            .isEqualTo(1);
+
+        Movie legacy = movieRepository.findAll().stream()
+            .filter(movie -> movie.getTitle().equals("Legacy Film"))
+            .findFirst().orElseThrow();
+        legacy.setSlug("legacy-film");
+        movieRepository.save(legacy);
+        assertThat(movieRepository.findBySlug("legacy-film")).isPresent();
+    }
+}
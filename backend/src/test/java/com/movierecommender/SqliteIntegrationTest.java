@@ -0,0 +1,47 @@
+package com.movierecommender;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the application against a fresh SQLite file in a temporary directory,
+ * with the model snapshots beside it and no startup training. The context is
+ * shared by every subclass, so tests use their own usernames and film slugs.
+ */
+@SpringBootTest
+public abstract class SqliteIntegrationTest {
+
+    private static final Path DATA_DIR = createDataDir();
+
+    @DynamicPropertySource
+    static void dataFiles(DynamicPropertyRegistry registry) {
+        dataFiles(registry, DATA_DIR);
+    }
+
+    /**
+     * Point the database and model files into a directory, for tests that need a context of their own
+     */
+    public static void dataFiles(DynamicPropertyRegistry registry, Path dataDir) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dataDir.resolve("movierecommender.db"));
+        registry.add("recommender.snapshot-file", () -> dataDir.resolve("item-model.snapshot").toString());
+        registry.add("recommender.als.snapshot-file", () -> dataDir.resolve("als-model.snapshot").toString());
+        registry.add("recommender.similar.index-file", () -> dataDir.resolve("similar-films.hnsw").toString());
+        registry.add("recommender.als.train-on-startup", () -> "false");
+        registry.add("letterboxd.scraper.enabled", () -> "false");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    public static Path createDataDir() {
+        try {
+            return Files.createTempDirectory("movie-recommender-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.movierecommender.precompute;
+
+import com.movierecommender.SqliteIntegrationTest;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.entity.PrecomputeRun;
+import com.movierecommender.entity.User;
+import com.movierecommender.recommend.Recommendation;
+import com.movierecommender.recommend.RecommendationEngine;
+import com.movierecommender.repository.PrecomputeRunRepository;
+import com.movierecommender.repository.UserRepository;
+import com.movierecommender.service.ScrapeDataService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+class RecommendationPrecomputeServiceTest extends SqliteIntegrationTest {
+
+    @MockitoSpyBean
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private RecommendationPrecomputeService precomputeService;
+
+    @Autowired
+    private PrecomputeRunRepository precomputeRunRepository;
+
+    @Autowired
+    private PrecomputedRecommendations precomputedRecommendations;
+
+    @Autowired
+    private ScrapeDataService scrapeDataService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void aUserScrapedWhileTheirPageIsScoredKeepsNoStaleLists() throws InterruptedException {
+        User kept = scrapedUser("precompute-kept");
+        User raced = scrapedUser("precompute-raced");
+        doAnswer(invocation -> {
+            if ("precompute-raced".equals(invocation.getArgument(0))) {
+                // Lands between the page being read and its lists being written
+                scrape("precompute-raced", "precompute-raced-again");
+            }
+            return List.of(new Recommendation("precompute-pick", 1.0f));
+        }).when(recommendationEngine).computeRecommendations(anyString(), anyInt());
+
+        PrecomputeRun run = runToEnd();
+
+        assertThat(run.getStatus()).isEqualTo(PrecomputeRun.Status.COMPLETED);
+        assertThat(storedRows(kept)).isPositive();
+        assertThat(storedRows(raced)).isZero();
+    }
+
+    @Test
+    void storedListsAreOnlyServedWhileTheirModelIsCurrent() throws InterruptedException {
+        User user = scrapedUser("precompute-versioned");
+        doAnswer(invocation -> List.of(new Recommendation("precompute-pick", 1.0f)))
+            .when(recommendationEngine).computeRecommendations(anyString(), anyInt());
+        runToEnd();
+
+        assertThat(stored(user)).hasValueSatisfying(list ->
+            assertThat(list).extracting(Recommendation::getFilmSlug).containsExactly("precompute-pick"));
+
+        recommendationEngine.rebuild();
+
+        assertThat(stored(user)).isEmpty();
+    }
+
+    @Test
+    void aRunThatFailsIsMarkedFailedAndDoesNotBlockTheNext() throws InterruptedException {
+        scrapedUser("precompute-failing");
+        doAnswer(invocation -> {
+            throw new IllegalStateException("scoring failed");
+        }).when(recommendationEngine).computeRecommendations(anyString(), anyInt());
+
+        PrecomputeRun failed = runToEnd();
+
+        assertThat(failed.getStatus()).isEqualTo(PrecomputeRun.Status.FAILED);
+        assertThat(failed.getFinishedAt()).isNotNull();
+        assertThat(precomputeService.getStatus()).containsEntry("running", false);
+        assertThat(precomputeService.start()).isPresent();
+        awaitIdle();
+    }
+
+    private PrecomputeRun runToEnd() throws InterruptedException {
+        PrecomputeRun started = precomputeService.start().orElseThrow();
+        awaitIdle();
+        return precomputeRunRepository.findById(started.getId()).orElseThrow();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (Boolean.TRUE.equals(precomputeService.getStatus().get("running"))) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private User scrapedUser(String username) {
+        User user = userRepository.save(new User(username, username + "@example.com", username));
+        scrape(username, username + "-rated");
+        return user;
+    }
+
+    private void scrape(String username, String slug) {
+        LetterboxdRating rating = new LetterboxdRating();
+        rating.setFilmSlug(slug);
+        rating.setFilmTitle(slug);
+        rating.setRating(4.0);
+        ScrapeDataService.ScrapeWriter writer = scrapeDataService
+            .openScrape(username, true, false, false, LocalDateTime.now())
+            .orElseThrow();
+        writer.addRatings(List.of(rating));
+        writer.finish();
+    }
+
+    private Optional<List<Recommendation>> stored(User user) {
+        return precomputedRecommendations.find(user.getId(), PrecomputedRecommendations.ITEM_BASED,
+            PrecomputedRecommendations.ModelVersion.of(recommendationEngine.getModel()), 10);
+    }
+
+    private int storedRows(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recommendations WHERE user_id = ?",
+                                           Integer.class, user.getId());
+    }
+}
@@ -0,0 +1,130 @@
+package com.movierecommender.recommend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AlsTrainerTest {
+
+    private static final int USERS = 60;
+    private static final int FILMS = 30;
+    private static final int ITERATIONS = 15;
+
+    private final SlugDictionary users = new SlugDictionary();
+    private final SlugDictionary films = new SlugDictionary();
+    private final RatingMatrix matrix = lowRankRatings();
+
+    @ParameterizedTest
+    @EnumSource(AlsMode.class)
+    void trainingErrorFallsAcrossIterations(AlsMode mode) {
+        List<AlsIteration> iterations = new ArrayList<>();
+        AlsModel model = trainer(mode, 1L).train(1, users, films, matrix, iterations::add);
+
+        assertThat(model.getIterations()).containsExactlyElementsOf(iterations);
+        assertThat(iterations).extracting(AlsIteration::getIteration)
+            .containsExactlyElementsOf(IntStream.rangeClosed(1, ITERATIONS).boxed().toList());
+        assertThat(iterations.get(ITERATIONS - 1).getRmse()).isLessThan(iterations.get(0).getRmse());
+        if (mode == AlsMode.EXPLICIT) {
+            assertThat(iterations.get(ITERATIONS - 1).getRmse()).isLessThan(0.3);
+        }
+    }
+
+    @Test
+    void theSameSeedTrainsTheSameFactors() {
+        AlsModel first = trainer(AlsMode.EXPLICIT, 5L).train(1, users, films, matrix, null);
+        AlsModel second = trainer(AlsMode.EXPLICIT, 5L).train(2, users, films, matrix, null);
+
+        assertThat(second.userFactors()).containsExactly(first.userFactors());
+        assertThat(second.itemFactors()).containsExactly(first.itemFactors());
+    }
+
+    @Test
+    void choleskySolvesASymmetricPositiveDefiniteSystem() {
+        // Only the lower triangle is read
+        double[] a = {
+            4, 0, 0,
+            2, 5, 0,
+            -2, 1, 6
+        };
+        double[] x = {1, -2, 3};
+        double[] b = {4 * 1 + 2 * -2 + -2 * 3, 2 * 1 + 5 * -2 + 1 * 3, -2 * 1 + 1 * -2 + 6 * 3};
+
+        AlsTrainer.choleskySolve(a, b, 3);
+
+        assertThat(b).containsExactly(x, within(1e-9));
+    }
+
+    @Test
+    void foldingInATrainedUsersRatingsRecommendsLikeTheirTrainedFactors() {
+        AlsModel model = trainer(AlsMode.EXPLICIT, 1L).train(1, users, films, matrix, null);
+        int user = 7;
+        int start = matrix.userStart(user);
+        int end = matrix.userEnd(user);
+        String[] slugs = new String[end - start];
+        float[] values = new float[end - start];
+        for (int p = start; p < end; p++) {
+            slugs[p - start] = films.get(matrix.userItems()[p]);
+            values[p - start] = matrix.userValues()[p];
+        }
+
+        List<Recommendation> trained = model.recommend(users.get(user), 5);
+        List<Recommendation> folded = model.recommend(slugs, values, 5);
+
+        assertThat(folded).extracting(Recommendation::getFilmSlug)
+            .doesNotContain(slugs)
+            .containsExactlyElementsOf(trained.stream().map(Recommendation::getFilmSlug).toList());
+        for (int i = 0; i < folded.size(); i++) {
+            assertThat(folded.get(i).getScore()).isCloseTo(trained.get(i).getScore(), within(0.05f));
+        }
+    }
+
+    @Test
+    void foldingInOnlyUnknownFilmsGivesNoFactors() {
+        AlsModel model = trainer(AlsMode.EXPLICIT, 1L).train(1, users, films, matrix, null);
+
+        assertThat(model.foldIn(new String[]{"not-in-the-model"}, new float[]{4f})).isNull();
+        assertThat(model.recommend(new String[]{"not-in-the-model"}, new float[]{4f}, 5)).isEmpty();
+    }
+
+    private AlsTrainer trainer(AlsMode mode, long seed) {
+        return new AlsTrainer(mode, 4, ITERATIONS, 0.05f, 10f, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ratings generated from rank-two user and film factors around 3 stars,
+     * with about a quarter of the cells unrated
+     */
+    private RatingMatrix lowRankRatings() {
+        Random random = new Random(17);
+        float[][] userFactors = new float[USERS][2];
+        float[][] filmFactors = new float[FILMS][2];
+        for (int u = 0; u < USERS; u++) {
+            users.add("user-" + u);
+            userFactors[u] = new float[]{(float) random.nextGaussian(), (float) random.nextGaussian()};
+        }
+        for (int f = 0; f < FILMS; f++) {
+            films.add("film-" + f);
+            filmFactors[f] = new float[]{(float) random.nextGaussian(), (float) random.nextGaussian()};
+        }
+        RatingMatrix.Builder builder = new RatingMatrix.Builder();
+        for (int u = 0; u < USERS; u++) {
+            for (int f = 0; f < FILMS; f++) {
+                if (random.nextInt(4) > 0) {
+                    float rating = 3f + 0.5f * (userFactors[u][0] * filmFactors[f][0]
+                                                + userFactors[u][1] * filmFactors[f][1]);
+                    builder.add(u, f, Math.max(0.5f, Math.min(5f, rating)));
+                }
+            }
+        }
+        return builder.build(USERS, FILMS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.movierecommender.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoldedUsersTest {
+
+    private final FoldedUsers folded = new FoldedUsers();
+
+    @Test
+    void anEntryReadEarlierNeverReplacesANewerOne() {
+        folded.put("alice", entry(2));
+        folded.put("alice", entry(1));
+        assertThat(folded.get("alice").sequence()).isEqualTo(2);
+
+        folded.put("alice", entry(3));
+        assertThat(folded.get("alice").sequence()).isEqualTo(3);
+        assertThat(folded.get("bob")).isNull();
+    }
+
+    @Test
+    void aRemovedUserIsGoneAndOthersStay() {
+        folded.put("alice", entry(1));
+        folded.put("bob", entry(2));
+
+        folded.remove("alice");
+        folded.remove("nobody");
+
+        assertThat(folded.get("alice")).isNull();
+        assertThat(folded.get("bob")).isNotNull();
+        assertThat(folded.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeIfDropsMatchingUsersAndCountsThem() {
+        for (int i = 0; i < 100; i++) {
+            folded.put("user-" + i, entry(i));
+        }
+
+        // As a training run retires the users whose entries it has read
+        assertThat(folded.removeIf(entry -> entry.sequence() < 40)).isEqualTo(40);
+        assertThat(folded.size()).isEqualTo(60);
+        assertThat(folded.get("user-39")).isNull();
+        assertThat(folded.get("user-40")).isNotNull();
+        assertThat(folded.removeIf(entry -> false)).isZero();
+    }
+
+    @Test
+    void concurrentWritersDoNotLoseEachOthersUsers() {
+        int users = 2_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                executor.execute(() -> {
+                    folded.put("user-" + user, entry(user));
+                    folded.put("user-" + user, entry(user + users));
+                });
+            }
+        }
+
+        assertThat(folded.size()).isEqualTo(users);
+        for (int i = 0; i < users; i++) {
+            assertThat(folded.get("user-" + i).sequence()).isEqualTo(i + users);
+        }
+    }
+
+    private static FoldedUsers.Entry entry(long sequence) {
+        return new FoldedUsers.Entry(sequence, 1, new String[0], new float[0], null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.movierecommender.recommend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ItemSimilarityIndexTest {
+
+    private static final int USERS = 40;
+    private static final int ITEMS = 25;
+
+    @ParameterizedTest
+    @EnumSource(SimilarityMetric.class)
+    void neighboursMatchBruteForceSimilarities(SimilarityMetric metric) {
+        float[][] ratings = randomRatings();
+        RatingMatrix matrix = matrix(ratings);
+
+        ItemSimilarityIndex index = ItemSimilarityIndex.build(matrix, metric, ITEMS, 1);
+
+        for (int item = 0; item < ITEMS; item++) {
+            int expected = 0;
+            for (int other = 0; other < ITEMS; other++) {
+                if (other != item && similarity(ratings, matrix, metric, item, other) > 0f) {
+                    expected++;
+                }
+            }
+            assertThat(index.end(item) - index.start(item)).as("item %d", item).isEqualTo(expected);
+            for (int p = index.start(item); p < index.end(item); p++) {
+                int other = index.neighbours()[p];
+                assertThat(index.similarities()[p])
+                    .as("item %d, neighbour %d", item, other)
+                    .isCloseTo(similarity(ratings, matrix, metric, item, other), within(1e-4f));
+            }
+        }
+    }
+
+    @Test
+    void keepsOnlyTheStrongestNeighboursInDescendingOrder() {
+        RatingMatrix matrix = matrix(randomRatings());
+        ItemSimilarityIndex full = ItemSimilarityIndex.build(matrix, SimilarityMetric.COSINE, ITEMS, 1);
+        ItemSimilarityIndex capped = ItemSimilarityIndex.build(matrix, SimilarityMetric.COSINE, 3, 1);
+
+        for (int item = 0; item < ITEMS; item++) {
+            assertThat(capped.end(item) - capped.start(item)).isLessThanOrEqualTo(3);
+            for (int p = capped.start(item); p < capped.end(item); p++) {
+                int rank = p - capped.start(item);
+                assertThat(capped.neighbours()[p]).isEqualTo(full.neighbours()[full.start(item) + rank]);
+                if (rank > 0) {
+                    assertThat(capped.similarities()[p]).isLessThanOrEqualTo(capped.similarities()[p - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void pairsRatedByTooFewUsersAreSkipped() {
+        RatingMatrix matrix = new RatingMatrix.Builder()
+            .add(0, 0, 5f).add(0, 1, 4f)
+            .add(1, 0, 3f).add(1, 1, 3f).add(1, 2, 4f)
+            .build(2, 3);
+
+        ItemSimilarityIndex index = ItemSimilarityIndex.build(matrix, SimilarityMetric.COSINE, 5, 2);
+
+        // Items 0 and 1 share two raters; item 2 shares only one with either
+        assertThat(index.neighbours()).hasSize(2);
+        assertThat(index.neighbours()[index.start(0)]).isEqualTo(1);
+        assertThat(index.neighbours()[index.start(1)]).isEqualTo(0);
+        assertThat(index.start(2)).isEqualTo(index.end(2));
+    }
+
+    /** Ratings on a half-star scale, with about a third of the cells unrated (zero) */
+    private static float[][] randomRatings() {
+        Random random = new Random(11);
+        float[][] ratings = new float[USERS][ITEMS];
+        for (int u = 0; u < USERS; u++) {
+            for (int i = 0; i < ITEMS; i++) {
+                if (random.nextInt(3) > 0) {
+                    ratings[u][i] = (1 + random.nextInt(10)) / 2f;
+                }
+            }
+        }
+        return ratings;
+    }
+
+    private static RatingMatrix matrix(float[][] ratings) {
+        RatingMatrix.Builder builder = new RatingMatrix.Builder();
+        for (int u = 0; u < ratings.length; u++) {
+            for (int i = 0; i < ratings[u].length; i++) {
+                if (ratings[u][i] > 0f) {
+                    builder.add(u, i, ratings[u][i]);
+                }
+            }
+        }
+        return builder.build(ratings.length, ratings[0].length);
+    }
+
+    /** Cosine over each item's full column, with co-rated cells only in the numerator */
+    private static float similarity(float[][] ratings, RatingMatrix matrix, SimilarityMetric metric, int a, int b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int u = 0; u < ratings.length; u++) {
+            float mean = metric == SimilarityMetric.ADJUSTED_COSINE ? matrix.userMean(u) : 0f;
+            double x = ratings[u][a] > 0f ? ratings[u][a] - mean : 0;
+            double y = ratings[u][b] > 0f ? ratings[u][b] - mean : 0;
+            if (ratings[u][a] > 0f && ratings[u][b] > 0f) {
+                dot += x * y;
+            }
+            normA += x * x;
+            normB += y * y;
+        }
+        return normA == 0 || normB == 0 ? 0f : (float) (dot / Math.sqrt(normA * normB));
+    }
+}
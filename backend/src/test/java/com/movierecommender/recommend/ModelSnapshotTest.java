@@ -0,0 +1,206 @@
+package com.movierecommender.recommend;
+
+import com.movierecommender.config.RecommenderConfig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelSnapshotTest {
+
+    private static final int KIND = 7;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void valuesReadBackAsWritten() throws IOException {
+        Path file = dir.resolve("values.bin");
+        // Larger than the writer's buffer, so the array spans several flushes
+        float[] floats = new float[400_000];
+        int[] ints = new int[300_001];
+        Random random = new Random(1);
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = random.nextFloat();
+        }
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt();
+        }
+        SlugDictionary dictionary = new SlugDictionary();
+        dictionary.add("the-thing");
+        dictionary.add("amélie");
+
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, KIND, 42)) {
+            out.writeInt(-3);
+            out.writeLong(Long.MAX_VALUE);
+            out.writeFloat(1.5f);
+            out.writeDouble(Math.PI);
+            out.writeString("naïve");
+            out.writeFloats(floats);
+            out.writeInts(ints);
+            out.writeDoubles(null);
+            out.writeDoubles(new double[]{1, 2});
+            out.writeDictionary(dictionary);
+            out.commit();
+        }
+
+        ModelSnapshotReader in = ModelSnapshotReader.open(file, KIND);
+        assertThat(in.getSourceFingerprint()).isEqualTo(42);
+        assertThat(in.readInt()).isEqualTo(-3);
+        assertThat(in.readLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(in.readFloat()).isEqualTo(1.5f);
+        assertThat(in.readDouble()).isEqualTo(Math.PI);
+        assertThat(in.readString()).isEqualTo("naïve");
+        assertThat(in.readFloats()).isEqualTo(floats);
+        assertThat(in.readInts()).isEqualTo(ints);
+        assertThat(in.readDoubles()).isNull();
+        assertThat(in.readDoubles()).containsExactly(1, 2);
+        SlugDictionary read = in.readDictionary();
+        assertThat(read.size()).isEqualTo(2);
+        assertThat(read.indexOf("amélie")).isEqualTo(1);
+        in.finish();
+    }
+
+    @Test
+    void alsModelRoundTripsThroughASnapshot() throws IOException {
+        SlugDictionary users = new SlugDictionary();
+        SlugDictionary films = new SlugDictionary();
+        RatingMatrix.Builder builder = new RatingMatrix.Builder();
+        Random random = new Random(2);
+        for (int u = 0; u < 20; u++) {
+            users.add("user-" + u);
+            for (int f = 0; f < 15; f++) {
+                films.add("film-" + f);
+                if (random.nextBoolean()) {
+                    builder.add(u, f, 1 + random.nextInt(5));
+                }
+            }
+        }
+        AlsModel model = new AlsTrainer(AlsMode.IMPLICIT, 3, 2, 0.1f, 5f, 1L, ForkJoinPool.commonPool())
+            .train(9, users, films, builder.build(20, 15), null);
+        Path file = dir.resolve("als.bin");
+
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, ModelSnapshots.ALS, 123)) {
+            ModelSnapshots.write(out, model);
+            out.commit();
+        }
+        AlsModel read = ModelSnapshots.readAls(ModelSnapshotReader.open(file, ModelSnapshots.ALS));
+
+        assertThat(read.getGeneration()).isEqualTo(9);
+        assertThat(read.getMode()).isEqualTo(AlsMode.IMPLICIT);
+        assertThat(read.userFactors()).containsExactly(model.userFactors());
+        assertThat(read.itemFactors()).containsExactly(model.itemFactors());
+        assertThat(read.itemGram()).containsExactly(model.itemGram());
+        assertThat(read.getIterations()).hasSize(2);
+        assertThat(read.recommend("user-4", 5)).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(model.recommend("user-4", 5));
+    }
+
+    @Test
+    void aRestoredModelIsStaleOnceARatingChangesEvenIfTheCountsDoNot() {
+        RecommenderConfig.RecommenderProperties properties = new RecommenderConfig.RecommenderProperties();
+        properties.setSnapshotFile(dir.resolve("item-model.snapshot").toString());
+        properties.setRebuildOnIngest(false);
+        RecommendationEngine built = new RecommendationEngine(properties);
+        built.replace("alice", new UserRatings(new String[]{"heat", "ran"}, new float[]{4.5f, 3.0f}));
+        built.replace("bob", new UserRatings(new String[]{"heat", "alien"}, new float[]{2.0f, 5.0f}));
+        built.rebuild();
+        assertThat(built.isModelCurrent()).isTrue();
+
+        RecommendationEngine restarted = new RecommendationEngine(properties);
+        assertThat(restarted.loadSnapshot()).isTrue();
+        restarted.replace("Alice", new UserRatings(new String[]{"ran", "heat"}, new float[]{3.0f, 4.5f}));
+        restarted.replace("bob", new UserRatings(new String[]{"heat", "alien"}, new float[]{2.0f, 5.0f}));
+        assertThat(restarted.isModelCurrent()).isTrue();
+
+        // Re-rated, and a film swapped for another: same users and rating counts
+        restarted.replace("bob", new UserRatings(new String[]{"heat", "alien"}, new float[]{2.5f, 5.0f}));
+        assertThat(restarted.isModelCurrent()).isFalse();
+        restarted.replace("bob", new UserRatings(new String[]{"heat", "aliens"}, new float[]{2.0f, 5.0f}));
+        assertThat(restarted.isModelCurrent()).isFalse();
+        restarted.replace("bob", new UserRatings(new String[]{"heat", "alien"}, new float[]{2.0f, 5.0f}));
+        assertThat(restarted.isModelCurrent()).isTrue();
+    }
+
+    @Test
+    void fingerprintsIgnoreRowOrderButNotWhichRowHoldsWhichValue() {
+        SourceFingerprint first = new SourceFingerprint();
+        first.add("alice", "heat", 4.5f);
+        first.add("alice", "ran", 3.0f);
+        SourceFingerprint reordered = new SourceFingerprint();
+        reordered.add("alice", "ran", 3.0f);
+        reordered.add("alice", "heat", 4.5f);
+        SourceFingerprint swapped = new SourceFingerprint();
+        swapped.add("alice", "heat", 3.0f);
+        swapped.add("alice", "ran", 4.5f);
+        SourceFingerprint otherUsers = new SourceFingerprint();
+        otherUsers.add("alice", "heat", 4.5f);
+        otherUsers.add("bob", "ran", 3.0f);
+
+        assertThat(reordered.value()).isEqualTo(first.value());
+        assertThat(swapped.value()).isNotEqualTo(first.value());
+        assertThat(otherUsers.value()).isNotEqualTo(first.value());
+        assertThat(new SourceFingerprint().value()).isNotEqualTo(first.value());
+    }
+
+    @Test
+    void aCorruptedByteFailsTheChecksum() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> ModelSnapshotReader.open(file, KIND))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("checksum mismatch");
+    }
+
+    @Test
+    void anotherModelKindIsRejected() throws IOException {
+        Path file = writeSample();
+
+        assertThatThrownBy(() -> ModelSnapshotReader.open(file, KIND + 1))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("expected " + (KIND + 1));
+    }
+
+    @Test
+    void readingPastTheEndOrStoppingShortFails() throws IOException {
+        ModelSnapshotReader shortRead = ModelSnapshotReader.open(writeSample(), KIND);
+        assertThatThrownBy(shortRead::finish).hasMessageContaining("trailing data");
+
+        ModelSnapshotReader overRead = ModelSnapshotReader.open(writeSample(), KIND);
+        overRead.readFloats();
+        assertThatThrownBy(overRead::readLong).hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void closingWithoutCommittingLeavesNothingBehind() throws IOException {
+        Path file = dir.resolve("abandoned.bin");
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, KIND, 0)) {
+            out.writeFloats(new float[]{1, 2, 3});
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Path writeSample() throws IOException {
+        Path file = dir.resolve("sample.bin");
+        try (ModelSnapshotWriter out = new ModelSnapshotWriter(file, KIND, 1)) {
+            out.writeFloats(new float[]{1, 2, 3, 4, 5, 6, 7, 8});
+            out.commit();
+        }
+        return file;
+    }
+}
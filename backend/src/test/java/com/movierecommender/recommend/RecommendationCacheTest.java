@@ -0,0 +1,102 @@
+package com.movierecommender.recommend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationCacheTest {
+
+    private final SlugDictionary films = new SlugDictionary();
+
+    @BeforeEach
+    void addFilms() {
+        for (int i = 0; i < 10; i++) {
+            films.add("film-" + i);
+        }
+    }
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        RecommendationCache cache = new RecommendationCache(100, 5);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<Recommendation>>> results = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(threads.submit(() -> cache.get("Shared", 3, 1, films, wanted -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return topFilms(wanted);
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<List<Recommendation>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).extracting(Recommendation::getFilmSlug)
+                    .containsExactly("film-0", "film-1", "film-2");
+            }
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void anEntryOnlyServesItsGenerationAndDepth() {
+        RecommendationCache cache = new RecommendationCache(100, 5);
+        AtomicInteger computations = new AtomicInteger();
+
+        cache.get("user", 3, 1, films, wanted -> counted(computations, wanted));
+        cache.get(" USER ", 5, 1, films, wanted -> counted(computations, wanted));
+        assertThat(computations).hasValue(1);
+
+        cache.get("user", 3, 2, films, wanted -> counted(computations, wanted));
+        assertThat(computations).hasValue(2);
+
+        assertThat(cache.get("user", 8, 2, films, wanted -> counted(computations, wanted))).hasSize(8);
+        assertThat(computations).hasValue(3);
+    }
+
+    @Test
+    void aFailedComputationIsNotCached() {
+        RecommendationCache cache = new RecommendationCache(100, 5);
+
+        assertThatThrownBy(() -> cache.get("user", 3, 1, films, wanted -> {
+            throw new IllegalStateException("no model");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("user", 3, 1, films, this::topFilms)).hasSize(3);
+    }
+
+    private List<Recommendation> counted(AtomicInteger computations, int wanted) {
+        computations.incrementAndGet();
+        return topFilms(wanted);
+    }
+
+    private List<Recommendation> topFilms(int wanted) {
+        List<Recommendation> list = new ArrayList<>();
+        for (int i = 0; i < Math.min(wanted, films.size()); i++) {
+            list.add(new Recommendation(films.get(i), 1.0f - i * 0.1f));
+        }
+        return list;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
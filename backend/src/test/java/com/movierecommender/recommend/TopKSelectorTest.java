@@ -0,0 +1,77 @@
+package com.movierecommender.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKSelectorTest {
+
+    @Test
+    void keepsTheHighestScoresInDescendingOrder() {
+        Random random = new Random(3);
+        float[] all = new float[500];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = random.nextFloat();
+        }
+        TopKSelector topK = new TopKSelector(10);
+        for (int i = 0; i < all.length; i++) {
+            topK.offer(i, all[i]);
+        }
+
+        int[] ids = new int[10];
+        float[] scores = new float[10];
+        assertThat(topK.drainDescending(ids, scores)).isEqualTo(10);
+
+        int[] expected = IntStream.range(0, all.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer i) -> all[i]).reversed())
+            .limit(10).mapToInt(Integer::intValue).toArray();
+        assertThat(ids).containsExactly(expected);
+        for (int i = 0; i < ids.length; i++) {
+            assertThat(scores[i]).isEqualTo(all[ids[i]]);
+        }
+        assertThat(topK.size()).isZero();
+    }
+
+    @Test
+    void thresholdIsTheLowestRetainedScoreOnceFull() {
+        TopKSelector topK = new TopKSelector(2);
+        topK.offer(1, 0.5f);
+        assertThat(topK.threshold()).isEqualTo(Float.NEGATIVE_INFINITY);
+
+        topK.offer(2, 0.9f);
+        assertThat(topK.threshold()).isEqualTo(0.5f);
+
+        topK.offer(3, 0.1f);
+        topK.offer(4, 0.7f);
+        assertThat(topK.threshold()).isEqualTo(0.7f);
+    }
+
+    @Test
+    void drainsOnlyWhatWasOfferedAndCanBeReused() {
+        TopKSelector topK = new TopKSelector(5);
+        topK.offer(7, 1f);
+        topK.offer(8, 2f);
+
+        int[] ids = new int[5];
+        float[] scores = new float[5];
+        assertThat(topK.drainDescending(ids, scores)).isEqualTo(2);
+        assertThat(Arrays.copyOf(ids, 2)).containsExactly(8, 7);
+
+        topK.offer(9, 3f);
+        topK.reset();
+        topK.offer(10, 4f);
+        assertThat(topK.drainDescending(ids, scores)).isEqualTo(1);
+        assertThat(ids[0]).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsAnEmptyCapacity() {
+        assertThatThrownBy(() -> new TopKSelector(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.movierecommender.recommend;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorDotProductKernelTest {
+
+    private static final int ROWS = 53;
+    private static final int RANK = 19;
+    private static final int QUERY_OFFSET = 3;
+
+    private final Random random = new Random(42);
+    private final DotProductKernel vector = new VectorDotProductKernel();
+    private final DotProductKernel scalar = new ScalarDotProductKernel();
+
+    @Test
+    void vectorAndScalarKernelsAgreeOnFloatRows() {
+        float[] factors = randomFloats(ROWS * RANK);
+        float[] query = randomFloats(QUERY_OFFSET + RANK);
+        float[] expected = new float[ROWS];
+        float[] actual = new float[ROWS];
+
+        // An odd range, so both the paired rows and the last single row are scored
+        scalar.dot(factors, RANK, query, QUERY_OFFSET, 0, ROWS, expected);
+        vector.dot(factors, RANK, query, QUERY_OFFSET, 0, ROWS, actual);
+
+        for (int row = 0; row < ROWS; row++) {
+            assertThat(actual[row]).as("row %d", row).isCloseTo(expected[row], within(1e-4f));
+        }
+    }
+
+    @Test
+    void vectorAndScalarKernelsAgreeOnPackedBlocks() {
+        PackedFactors packed = PackedFactors.of(randomFloats(ROWS * RANK), ROWS, RANK);
+        float[] query = randomFloats(QUERY_OFFSET + RANK);
+        int blocks = (ROWS + PackedFactors.BLOCK - 1) / PackedFactors.BLOCK;
+        float[] expected = new float[blocks * PackedFactors.BLOCK];
+        float[] actual = new float[blocks * PackedFactors.BLOCK];
+
+        scalar.dot(packed, query, QUERY_OFFSET, 0, blocks, expected);
+        vector.dot(packed, query, QUERY_OFFSET, 0, blocks, actual);
+
+        for (int row = 0; row < expected.length; row++) {
+            assertThat(actual[row]).as("row %d", row).isCloseTo(expected[row], within(1e-4f));
+        }
+    }
+
+    @Test
+    void everyFloatShapeWidensFromAValidByteSpecies() {
+        byte[] codes = new byte[PackedFactors.BLOCK];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) (i * 7 - 50);
+        }
+        for (VectorSpecies<Float> floats : List.of(FloatVector.SPECIES_64, FloatVector.SPECIES_128,
+                                                   FloatVector.SPECIES_256, FloatVector.SPECIES_512)) {
+            VectorSpecies<Byte> bytes = VectorDotProductKernel.bytesFor(floats);
+
+            assertThat(bytes.length() % floats.length()).as("%s", floats).isZero();
+            assertThat(PackedFactors.BLOCK % bytes.length()).as("%s", floats).isZero();
+            ByteVector loaded = ByteVector.fromArray(bytes, codes, 0);
+            for (int part = 0; part < bytes.length() / floats.length(); part++) {
+                float[] widened = ((FloatVector) loaded.convertShape(VectorOperators.B2F, floats, part)).toArray();
+                for (int lane = 0; lane < widened.length; lane++) {
+                    assertThat(widened[lane]).isEqualTo(codes[part * floats.length() + lane]);
+                }
+            }
+        }
+    }
+
+    private float[] randomFloats(int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextFloat() * 2 - 1;
+        }
+        return values;
+    }
+}
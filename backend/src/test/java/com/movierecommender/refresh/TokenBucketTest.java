@@ -0,0 +1,84 @@
+package com.movierecommender.refresh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    @Test
+    void aFullBucketServesItsBurstWithoutWaiting() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire();
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(500);
+    }
+
+    @Test
+    void onceEmptyAcquiresArePacedToTheRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+        bucket.acquire();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            bucket.acquire();
+        }
+
+        // Ten tokens at 50 a second take about 200 ms to refill
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isBetween(180L, 2_000L);
+    }
+
+    @Test
+    void concurrentAcquiresShareTheRate() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 1);
+        bucket.acquire();
+
+        long started = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                threads.execute(() -> {
+                    try {
+                        bucket.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(180L);
+    }
+
+    @Test
+    void aWaitingAcquireCanBeInterrupted() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.01, 1);
+        bucket.acquire();
+
+        try (ExecutorService threads = Executors.newSingleThreadExecutor()) {
+            Future<?> waiting = threads.submit(() -> {
+                bucket.acquire();
+                return null;
+            });
+            Thread.sleep(50);
+            waiting.cancel(true);
+            threads.shutdown();
+            assertThat(threads.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsANonPositiveRateOrBurst() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
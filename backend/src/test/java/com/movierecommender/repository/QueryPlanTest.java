@@ -0,0 +1,124 @@
+package com.movierecommender.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot repository lookups are answered from their indexes
+ * rather than a table scan, by migrating an empty database of each dialect and
+ * asking it for each query's plan. Fails when a migration stops creating an
+ * index or a query changes so it no longer matches one.
+ */
+class QueryPlanTest {
+
+    @TempDir
+    static Path dataDir;
+
+    // Literal values rather than parameters, since not every database explains a bound statement
+    static Stream<Arguments> lookups() {
+        List<PlannedQuery> queries = List.of(
+            new PlannedQuery("UserRepository.findByLetterboxdUsername", "ix_users_letterboxd_username",
+                             "SELECT id FROM users WHERE letterboxd_username = 'plan-check'"),
+            new PlannedQuery("MovieRepository.findBySlug", "ux_movies_slug",
+                             "SELECT id FROM movies WHERE slug = 'plan-check'"),
+            new PlannedQuery("MovieRepository.findByTitleAndReleaseYearAndSlugIsNull", "ix_movies_title_release_year_slug",
+                             "SELECT id FROM movies WHERE title = 'plan-check' AND release_year = 2000"
+                                 + " AND slug IS NULL ORDER BY id"),
+            new PlannedQuery("MovieRepository.findByReleaseYear", "ix_movies_release_year",
+                             "SELECT id FROM movies WHERE release_year = 2000"),
+            new PlannedQuery("MovieRepository.findMoviesWithRatingAbove", "ix_movies_rating",
+                             "SELECT id FROM movies WHERE rating >= 4.5 ORDER BY rating DESC"));
+        return Stream.of(Dialect.values())
+            .flatMap(dialect -> queries.stream().map(query -> Arguments.of(dialect, query)));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("lookups")
+    void lookupUsesItsIndex(Dialect dialect, PlannedQuery query) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dialect.migrated());
+
+        String plan = dialect.explain(jdbcTemplate, query.sql());
+
+        assertThat(plan.toLowerCase(Locale.ROOT)).as(plan).contains(query.index());
+    }
+
+    enum Dialect {
+        SQLITE("db/migration/sqlite") {
+            @Override
+            DataSource dataSource() {
+                DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:sqlite:" + dataDir.resolve("plans.db"));
+                dataSource.setDriverClassName("org.sqlite.JDBC");
+                return dataSource;
+            }
+
+            @Override
+            String explain(JdbcTemplate jdbcTemplate, String sql) {
+                // Rows of (id, parent, notused, detail), e.g. "SEARCH movies USING INDEX ux_movies_slug (slug=?)"
+                return String.join("; ", jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql,
+                                                             (rs, row) -> rs.getString(4)));
+            }
+        },
+        H2("db/migration/postgresql") {
+            @Override
+            DataSource dataSource() {
+                DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:plans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                    "sa", "");
+                dataSource.setDriverClassName("org.h2.Driver");
+                return dataSource;
+            }
+
+            @Override
+            String explain(JdbcTemplate jdbcTemplate, String sql) {
+                // The chosen index appears in a comment, e.g. "/* public.ux_movies_slug: slug = 'plan-check' */"
+                return String.join("\n", jdbcTemplate.query("EXPLAIN " + sql, (rs, row) -> rs.getString(1)));
+            }
+        };
+
+        private final String migrations;
+        private DataSource migrated;
+
+        Dialect(String migrations) {
+            this.migrations = migrations;
+        }
+
+        abstract DataSource dataSource();
+
+        abstract String explain(JdbcTemplate jdbcTemplate, String sql);
+
+        synchronized DataSource migrated() {
+            if (migrated == null) {
+                DataSource dataSource = dataSource();
+                Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:" + migrations)
+                    .load()
+                    .migrate();
+                migrated = dataSource;
+            }
+            return migrated;
+        }
+    }
+
+    record PlannedQuery(String name, String index, String sql) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
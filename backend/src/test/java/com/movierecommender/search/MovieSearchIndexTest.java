@@ -0,0 +1,122 @@
+package com.movierecommender.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIndexTest {
+
+    private static final long GODFATHER = 1;
+    private static final long GODFATHER_II = 2;
+    private static final long GODS_AND_MONSTERS = 3;
+    private static final long MATRIX = 4;
+    private static final long DARK_KNIGHT = 5;
+    private static final long DARK_KNIGHT_RISES = 6;
+    private static final long DARK_CITY = 7;
+    private static final long KNIGHT_MOVES = 8;
+    private static final long AMELIE = 9;
+
+    private final MovieSearchIndex index = catalogue().build();
+
+    @Test
+    void theLastTokenMatchesAsAPrefix() {
+        assertThat(ids(index.search("godf", 10))).containsExactlyInAnyOrder(GODFATHER, GODFATHER_II);
+        assertThat(ids(index.search("god", 10))).containsExactlyInAnyOrder(GODFATHER, GODFATHER_II, GODS_AND_MONSTERS);
+        assertThat(ids(index.search("the godf", 10))).containsExactlyInAnyOrder(GODFATHER, GODFATHER_II);
+    }
+
+    @Test
+    void aOneEditTypoStillFindsTheTitle() {
+        assertThat(ids(index.search("matirx", 10))).containsExactly(MATRIX);
+        assertThat(ids(index.search("matrex", 10))).containsExactly(MATRIX);
+        assertThat(ids(index.search("amelie", 10))).containsExactly(AMELIE);
+        // Short tokens are matched exactly or as prefixes only
+        assertThat(index.search("xod", 10)).isEmpty();
+    }
+
+    @Test
+    void multiTermQueriesRankFilmsMatchingEveryTermFirst() {
+        List<MovieSearchHit> hits = index.search("dark knight", 10);
+
+        // Films matching only one of the terms are left out, and the shorter title wins
+        assertThat(ids(hits)).containsExactly(DARK_KNIGHT, DARK_KNIGHT_RISES);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+        assertThat(ids(index.search("dark", 10))).contains(DARK_CITY, DARK_KNIGHT, DARK_KNIGHT_RISES);
+        assertThat(ids(index.search("knight", 10))).contains(KNIGHT_MOVES);
+    }
+
+    @Test
+    void titleMatchesOutrankDirectorAndGenreMatches() {
+        MovieSearchIndex byField = new MovieSearchIndex.Builder()
+            .add(1, "Western Stories", "Someone", "Drama", 1990, 3.0)
+            .add(2, "Plain Title", "Walter Western", "Drama", 1990, 3.0)
+            .add(3, "Other Title", "Someone", "Western", 1990, 3.0)
+            .build();
+
+        assertThat(ids(byField.search("western", 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void ratingBreaksTiesBetweenEqualMatches() {
+        MovieSearchIndex twins = new MovieSearchIndex.Builder()
+            .add(1, "Solaris", "Soderbergh", "Science Fiction", 2002, 3.1)
+            .add(2, "Solaris", "Tarkovsky", "Science Fiction", 1972, 4.2)
+            .build();
+
+        assertThat(ids(twins.search("solaris", 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void aRebuiltIndexReflectsUpdatedAndDeletedMovies() {
+        MovieSearchIndex rebuilt = new MovieSearchIndex.Builder()
+            .add(GODFATHER, "The Godfather", "Francis Ford Coppola", "Crime", 1972, 4.6)
+            .add(MATRIX, "The Matrix Reloaded", "Lana Wachowski", "Science Fiction", 2003, 3.4)
+            .build();
+
+        assertThat(rebuilt.getNumDocuments()).isEqualTo(2);
+        assertThat(ids(rebuilt.search("reloaded", 10))).containsExactly(MATRIX);
+        assertThat(rebuilt.search("dark knight", 10)).isEmpty();
+        assertThat(ids(rebuilt.search("godf", 10))).containsExactly(GODFATHER);
+        // The index it replaced is immutable and still answers from the old catalogue
+        assertThat(index.search("reloaded", 10)).isEmpty();
+    }
+
+    @Test
+    void withinEditsCountsTranspositionsAsOneEdit() {
+        assertThat(MovieSearchIndex.withinEdits("matirx", "matrix", 1)).isTrue();
+        assertThat(MovieSearchIndex.withinEdits("matrx", "matrix", 1)).isTrue();
+        assertThat(MovieSearchIndex.withinEdits("mtarix", "matrix", 1)).isTrue();
+        assertThat(MovieSearchIndex.withinEdits("mtairx", "matrix", 1)).isFalse();
+        assertThat(MovieSearchIndex.withinEdits("mtairx", "matrix", 2)).isTrue();
+    }
+
+    @Test
+    void emptyQueriesAndIndexesReturnNothing() {
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("matrix", 0)).isEmpty();
+        assertThat(new MovieSearchIndex.Builder().build().search("matrix", 10)).isEmpty();
+    }
+
+    private static MovieSearchIndex.Builder catalogue() {
+        MovieSearchIndex.Builder builder = new MovieSearchIndex.Builder()
+            .add(GODFATHER, "The Godfather", "Francis Ford Coppola", "Crime", 1972, 4.6)
+            .add(GODFATHER_II, "The Godfather Part II", "Francis Ford Coppola", "Crime", 1974, 4.5)
+            .add(GODS_AND_MONSTERS, "Gods and Monsters", "Bill Condon", "Drama", 1998, 3.7)
+            .add(MATRIX, "The Matrix", "Lana Wachowski", "Science Fiction", 1999, 4.2)
+            .add(DARK_KNIGHT, "The Dark Knight", "Christopher Nolan", "Action", 2008, 4.5)
+            .add(DARK_KNIGHT_RISES, "The Dark Knight Rises", "Christopher Nolan", "Action", 2012, 3.8)
+            .add(DARK_CITY, "Dark City", "Alex Proyas", "Science Fiction", 1998, 3.8)
+            .add(KNIGHT_MOVES, "Knight Moves", "Carl Schenkel", "Thriller", 1992, 2.9)
+            .add(AMELIE, "Amélie", "Jean-Pierre Jeunet", "Romance", 2001, 4.1);
+        for (int i = 0; i < 20; i++) {
+            builder.add(100 + i, "Filler " + i, "Nobody", "Documentary", 1950 + i, 2.5);
+        }
+        return builder;
+    }
+
+    private static List<Long> ids(List<MovieSearchHit> hits) {
+        return hits.stream().map(MovieSearchHit::getMovieId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.movierecommender.service;
+
+import com.movierecommender.dto.CursorPage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class KeysetListingsTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final KeysetListings listings = new KeysetListings(entityManager, new ObjectMapper());
+
+    private final List<Long> ids = LongStream.rangeClosed(1, 5).boxed().toList();
+
+    @Test
+    void pagesWalkTheTableInIdOrder() {
+        CursorPage<Long> first = listings.page(null, 2, this::idsAfter, id -> id);
+        assertThat(first.getItems()).containsExactly(1L, 2L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(2L);
+
+        CursorPage<Long> last = listings.page(4L, 2, this::idsAfter, id -> id);
+        assertThat(last.getItems()).containsExactly(5L);
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isEqualTo(5L);
+
+        CursorPage<Long> past = listings.page(5L, 2, this::idsAfter, id -> id);
+        assertThat(past.getItems()).isEmpty();
+        assertThat(past.getNextCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    void pageSizeIsClampedToTheAllowedRange() {
+        assertThat(listings.page(null, 0, this::idsAfter, id -> id).getItems()).hasSize(1);
+        assertThat(listings.page(null, Integer.MAX_VALUE, (after, limit) -> {
+            assertThat(limit.max()).isEqualTo(KeysetListings.MAX_PAGE_SIZE + 1);
+            return idsAfter(after, limit);
+        }, id -> id).getItems()).hasSize(5);
+    }
+
+    @Test
+    void emptyTableWritesNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(listings.writeNdjson(Stream.empty(), out)).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void everyRowIsOneNewlineTerminatedLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Object> first = Map.of("id", 1);
+        Map<String, Object> second = Map.of("id", 2);
+
+        assertThat(listings.writeNdjson(Stream.of(first, second), out)).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    private List<Long> idsAfter(Long afterId, Limit limit) {
+        return ids.stream().filter(id -> id > afterId).limit(limit.max()).toList();
+    }
+}
@@ -0,0 +1,279 @@
+package com.movierecommender.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movierecommender.config.LetterboxdCacheConfig;
+import com.movierecommender.config.LetterboxdScraperConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.ScrapeSectionStatus;
+import com.movierecommender.recommend.RecommendationEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fanned-out scrapes against a stub scraper served over HTTP, with storage
+ * and the recommender mocked
+ */
+class LetterboxdIntegrationServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RecommendationEngine recommendationEngine = mock(RecommendationEngine.class);
+    private final ScrapeDataService scrapeDataService = mock(ScrapeDataService.class);
+    private final ScrapeDataService.ScrapeWriter writer = mock(ScrapeDataService.ScrapeWriter.class);
+    // Path -> response; a missing path answers 500
+    private final Map<String, StubResponse> responses = new ConcurrentHashMap<>();
+    private final LetterboxdScraperConfig.LetterboxdScraperProperties properties =
+        new LetterboxdScraperConfig.LetterboxdScraperProperties();
+    private HttpServer scraper;
+    private LetterboxdIntegrationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void startScraper() throws IOException {
+        scraper = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        scraper.setExecutor(Executors.newCachedThreadPool());
+        scraper.createContext("/", this::respond);
+        scraper.start();
+
+        properties.setBaseUrl("http://localhost:" + scraper.getAddress().getPort());
+        properties.setFanOut(true);
+        properties.setSectionTimeout(2000);
+        when(scrapeDataService.openScrape(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any()))
+            .thenReturn(Optional.of(writer));
+        service = new LetterboxdIntegrationService(new RestTemplate(), properties, recommendationEngine,
+                                                   scrapeDataService, mock(ObjectProvider.class),
+                                                   new LetterboxdCacheConfig.LetterboxdCacheProperties(),
+                                                   new SimpleMeterRegistry(), objectMapper);
+    }
+
+    @AfterEach
+    void stopScraper() {
+        service.shutdown();
+        scraper.stop(0);
+        ((ExecutorService) scraper.getExecutor()).shutdownNow();
+    }
+
+    @Test
+    void everySectionCompletingGivesAFullResponse() {
+        serveProfile("fanned");
+        serveRatings("fanned", 3, 0);
+        serveWatchlist("fanned", 2);
+
+        LetterboxdScrapeResponse response = service.scrapeUserData("fanned");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isPartial()).isFalse();
+        assertThat(response.getSections()).containsOnly(
+            Map.entry("profile", ScrapeSectionStatus.COMPLETE),
+            Map.entry("ratings", ScrapeSectionStatus.COMPLETE),
+            Map.entry("watchlist", ScrapeSectionStatus.COMPLETE));
+        assertThat(response.getRatings()).hasSize(3);
+        assertThat(response.getWatchlist()).hasSize(2);
+        verify(recommendationEngine).ingest(eq("fanned"), anyList());
+        verify(writer).finish();
+    }
+
+    @Test
+    void aSectionThatTimesOutIsAbandonedAndTheRestIsReturned() {
+        properties.setSectionTimeout(300);
+        serveProfile("slow");
+        serveRatings("slow", 3, 5000);
+        serveWatchlist("slow", 2);
+
+        LetterboxdScrapeResponse response = service.scrapeUserData("slow");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isPartial()).isTrue();
+        assertThat(response.getSections())
+            .containsEntry("profile", ScrapeSectionStatus.COMPLETE)
+            .containsEntry("ratings", ScrapeSectionStatus.TIMED_OUT)
+            .containsEntry("watchlist", ScrapeSectionStatus.COMPLETE);
+        assertThat(response.getRatings()).isEmpty();
+        assertThat(response.getWatchlist()).hasSize(2);
+        verify(writer).abandonRatings();
+        verify(writer, never()).abandonWatchlist();
+        verify(writer).finish();
+    }
+
+    @Test
+    void aFailingSectionIsAbandonedWhileTheOthersSucceed() {
+        serveProfile("broken");
+        serveRatings("broken", 3, 0);
+        // No watchlist response: the stub answers 500
+
+        LetterboxdScrapeResponse response = service.scrapeUserData("broken");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isPartial()).isTrue();
+        assertThat(response.getSections())
+            .containsEntry("profile", ScrapeSectionStatus.COMPLETE)
+            .containsEntry("ratings", ScrapeSectionStatus.COMPLETE)
+            .containsEntry("watchlist", ScrapeSectionStatus.FAILED);
+        assertThat(response.getRatings()).hasSize(3);
+        verify(writer).abandonWatchlist();
+        verify(writer, never()).abandonRatings();
+        verify(recommendationEngine).ingest(eq("broken"), anyList());
+    }
+
+    @Test
+    void aSectionTheScraperReportsAsFailedIsNotComplete() {
+        serveProfile("reported");
+        serveRatings("reported", 3, 0);
+        responses.put("/api/scrape/user/watchlist",
+                      new StubResponse(200, "{\"success\": false, \"error_message\": \"private list\"}", 0));
+
+        LetterboxdScrapeResponse response = service.scrapeUserData("reported");
+
+        assertThat(response.isPartial()).isTrue();
+        assertThat(response.getSections()).containsEntry("watchlist", ScrapeSectionStatus.FAILED);
+        verify(writer).abandonWatchlist();
+    }
+
+    @Test
+    void aScrapeFailsWhenNoSectionCompletes() {
+        assertThatThrownBy(() -> service.scrapeUserData("nothing"))
+            .isInstanceOf(LetterboxdIntegrationService.LetterboxdScrapingException.class)
+            .hasMessageContaining("No section of the scrape completed");
+        verify(writer, never()).finish();
+    }
+
+    @Test
+    void anUnknownUserFailsTheScrape() {
+        responses.put("/api/user/ghost/profile", new StubResponse(404, "{}", 0));
+        serveRatings("ghost", 3, 0);
+
+        assertThatThrownBy(() -> service.scrapeUserData("ghost"))
+            .isInstanceOf(LetterboxdIntegrationService.LetterboxdScrapingException.class)
+            .hasMessageContaining("not found");
+        verify(writer, never()).finish();
+    }
+
+    @Test
+    void batchesHandedOverAfterTheSectionIsAbandonedAreNotIngested() {
+        properties.setSectionTimeout(300);
+        serveProfile("late");
+        serveRatings("late", 3, 0);
+        serveWatchlist("late", 2);
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            storing.countDown();
+            // Hold the batch past the section timeout, as a slow store would
+            awaitUninterruptibly(release);
+            return null;
+        }).when(writer).addRatings(anyList());
+
+        LetterboxdScrapeResponse response = service.scrapeUserData("late");
+        release.countDown();
+
+        assertThat(storing.getCount()).isZero();
+        assertThat(response.getSections()).containsEntry("ratings", ScrapeSectionStatus.TIMED_OUT);
+        verify(writer).abandonRatings();
+        verify(recommendationEngine, after(500).never()).ingest(anyString(), anyList());
+    }
+
+    private void serveProfile(String username) {
+        responses.put("/api/user/" + username + "/profile", new StubResponse(200,
+            "{\"username\": \"" + username + "\", \"display_name\": \"" + username + "\"}", 0));
+    }
+
+    private void serveRatings(String username, int count, long delayMillis) {
+        StringBuilder ratings = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ratings.append(i > 0 ? ", " : "")
+                .append("{\"film_title\": \"Film ").append(i).append("\", \"film_slug\": \"film-").append(i)
+                .append("\", \"rating\": 4.0, \"watched_date\": \"2024-01-0").append(i + 1).append("\"}");
+        }
+        responses.put("/api/scrape/user/ratings", new StubResponse(200,
+            "{\"username\": \"" + username + "\", \"ratings\": [" + ratings + "], \"total_ratings\": " + count
+                + ", \"success\": true}", delayMillis));
+    }
+
+    private void serveWatchlist(String username, int count) {
+        StringBuilder watchlist = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            watchlist.append(i > 0 ? ", " : "")
+                .append("{\"film_title\": \"Wanted ").append(i).append("\", \"film_slug\": \"wanted-").append(i)
+                .append("\"}");
+        }
+        responses.put("/api/scrape/user/watchlist", new StubResponse(200,
+            "{\"username\": \"" + username + "\", \"watchlist\": [" + watchlist + "], \"total_watchlist_items\": "
+                + count + ", \"success\": true}", 0));
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        StubResponse stub = responses.getOrDefault(exchange.getRequestURI().getPath(),
+                                                   new StubResponse(500, "{}", 0));
+        if (stub.delayMillis() > 0) {
+            try {
+                Thread.sleep(stub.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = stub.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(stub.status(), body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // The client gave up on a delayed section
+        }
+    }
+
+    /**
+     * Wait through the interrupt a cancelled section receives, restoring it afterwards
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (latch.await(10, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record StubResponse(int status, String body, long delayMillis) {
+    }
+}
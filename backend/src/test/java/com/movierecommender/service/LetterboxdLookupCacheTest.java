@@ -0,0 +1,204 @@
+package com.movierecommender.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.movierecommender.config.LetterboxdCacheConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdProfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LetterboxdLookupCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Ticker ticker = now::get;
+    private final LetterboxdLookupCache cache = new LetterboxdLookupCache(properties(true), ticker);
+
+    @Test
+    void concurrentMissesShareOneScraperCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        CountDownLatch started = new CountDownLatch(callers);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return cache.validation("Shared", username -> {
+                        calls.incrementAndGet();
+                        loading.countDown();
+                        await(release);
+                        return Boolean.TRUE;
+                    });
+                }));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            // Let the other callers reach the cache while the first call is still running
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(cache.validation("shared ", username -> Boolean.FALSE)).isTrue();
+    }
+
+    @Test
+    void aFailedCallIsHandedToItsWaitersAndNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Boolean> first = executor.submit(() -> cache.validation("flaky", username -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("scraper down");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> waiter = executor.submit(() -> cache.validation("flaky", username -> Boolean.TRUE));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("scraper down");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.validation("flaky", username -> Boolean.TRUE)).isTrue();
+    }
+
+    @Test
+    void nullAndThrownResultsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(cache.validation("unanswered", username -> {
+            calls.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.validation("unanswered", username -> {
+            calls.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThatThrownBy(() -> cache.profile("unanswered", username -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("timeout");
+        })).isInstanceOf(IllegalStateException.class);
+        LetterboxdLookupCache.ProfileLookup lookup = cache.profile("unanswered", username -> {
+            calls.incrementAndGet();
+            return LetterboxdLookupCache.ProfileLookup.found(profile(username));
+        });
+
+        assertThat(calls).hasValue(4);
+        assertThat(lookup.getProfile().getUsername()).isEqualTo("unanswered");
+        assertThat(cache.getStats()).extracting("validations").extracting("size").isEqualTo(1L);
+    }
+
+    @Test
+    void positiveAnswersExpireAfterTheTtlAndNotFoundAnswersSooner() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.validation("present", username -> true);
+        cache.validation("absent", username -> false);
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertThat(cache.validation("present", username -> fail(calls))).isTrue();
+        assertThat(cache.validation("absent", username -> fail(calls))).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(cache.validation("present", username -> fail(calls))).isTrue();
+        assertThat(cache.validation("absent", username -> true)).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(540).toNanos());
+        assertThat(cache.validation("present", username -> false)).isFalse();
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void healthIsCachedForItsOwnTtl() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(cache.health(() -> calls.incrementAndGet() > 0)).isTrue();
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.health(() -> calls.incrementAndGet() > 0)).isTrue();
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(cache.health(() -> calls.incrementAndGet() < 0)).isFalse();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void aRecordedScrapeAnswersLookupsWithoutTheScraper() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.recordScrape("Scraped", profile("Scraped"));
+
+        assertThat(cache.validation("scraped", username -> fail(calls))).isTrue();
+        assertThat(cache.profile("scraped", username -> {
+            fail(calls);
+            return null;
+        }).getProfile().getUsername()).isEqualTo("Scraped");
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void aDisabledCacheCallsTheScraperEveryTime() {
+        LetterboxdLookupCache disabled = new LetterboxdLookupCache(properties(false), ticker);
+        AtomicInteger calls = new AtomicInteger();
+
+        disabled.validation("uncached", username -> calls.incrementAndGet() > 0);
+        disabled.validation("uncached", username -> calls.incrementAndGet() > 0);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private static Boolean fail(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return null;
+    }
+
+    private static LetterboxdProfile profile(String username) {
+        LetterboxdProfile profile = new LetterboxdProfile();
+        profile.setUsername(username);
+        return profile;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LetterboxdCacheConfig.LetterboxdCacheProperties properties(boolean enabled) {
+        LetterboxdCacheConfig.LetterboxdCacheProperties properties = new LetterboxdCacheConfig.LetterboxdCacheProperties();
+        properties.setEnabled(enabled);
+        properties.setTtlSeconds(600);
+        properties.setNegativeTtlSeconds(60);
+        properties.setHealthTtlSeconds(10);
+        return properties;
+    }
+}
@@ -0,0 +1,122 @@
+package com.movierecommender.service;
+
+import com.movierecommender.SqliteIntegrationTest;
+import com.movierecommender.dto.MovieBulkImportRequest;
+import com.movierecommender.dto.MovieBulkImportResult;
+import com.movierecommender.entity.Movie;
+import com.movierecommender.search.MovieSearchService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieServiceTest extends SqliteIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieSearchService movieSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bulkImportUpsertsBySlugAndAdoptsSlugLessRows() {
+        jdbcTemplate.update("INSERT INTO movies (title, genre, director, release_year, slug) " +
+                            "VALUES ('Bulk Known', 'Drama', 'Someone', 1990, 'bulk-known')");
+        jdbcTemplate.update("INSERT INTO movies (title, release_year) VALUES ('Bulk Unslugged', 2001)");
+        jdbcTemplate.update("INSERT INTO movies (title, genre, release_year) VALUES ('Bulk Plain', 'Horror', 1980)");
+
+        MovieBulkImportRequest request = new MovieBulkImportRequest();
+        request.setMovies(List.of(
+            slugged(new Movie("Bulk Known Renamed", null, "Another", null, 4.0, null), "bulk-known"),
+            slugged(new Movie("Bulk Unslugged", "Comedy", null, 2001, null, null), "bulk-unslugged"),
+            slugged(new Movie("Bulk New", "Western", null, 1966, null, null), "bulk-new"),
+            new Movie("Bulk Plain", null, "Director", 1980, null, null)));
+
+        MovieBulkImportResult result = movieService.bulkImport(request);
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(3);
+        // Fields missing from the import keep their stored values
+        assertThat(movie("bulk-known"))
+            .containsEntry("title", "Bulk Known Renamed")
+            .containsEntry("genre", "Drama")
+            .containsEntry("director", "Another")
+            .containsEntry("release_year", 1990);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM movies WHERE title = 'Bulk Unslugged'", Integer.class)).isEqualTo(1);
+        assertThat(movie("bulk-unslugged")).containsEntry("genre", "Comedy");
+        assertThat(movie("bulk-new")).containsEntry("genre", "Western");
+        assertThat(jdbcTemplate.queryForMap("SELECT genre, director FROM movies WHERE title = 'Bulk Plain'"))
+            .containsEntry("genre", "Horror")
+            .containsEntry("director", "Director");
+    }
+
+    @Test
+    void reimportingTheSameFilmsUpdatesInPlace() {
+        MovieBulkImportRequest request = new MovieBulkImportRequest();
+        request.setMovies(List.of(slugged(new Movie("Bulk Twice", "Drama", null, 2010, null, null), "bulk-twice")));
+
+        movieService.bulkImport(request);
+        MovieBulkImportResult again = movieService.bulkImport(request);
+
+        assertThat(again.getInserted()).isZero();
+        assertThat(again.getUpdated()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM movies WHERE slug = 'bulk-twice'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void titlesDifferingOnlyInCaseAreMatchedTheSameWayInTheBatchAndInTheTable() {
+        jdbcTemplate.update("INSERT INTO movies (title, genre, release_year) VALUES ('Case Twin', 'Drama', 1999)");
+
+        MovieBulkImportRequest request = new MovieBulkImportRequest();
+        request.setMovies(List.of(new Movie("case twin", "Horror", null, 1999, null, null),
+                                  new Movie("Case Twin", null, "Director", 1999, null, null)));
+        MovieBulkImportResult first = movieService.bulkImport(request);
+        MovieBulkImportResult again = movieService.bulkImport(request);
+
+        assertThat(first.getInserted()).isEqualTo(1);
+        assertThat(first.getUpdated()).isEqualTo(1);
+        assertThat(again.getInserted()).isZero();
+        assertThat(again.getUpdated()).isEqualTo(2);
+        // The stored row keeps its title and gains the director; the lower-case title is a row of its own
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT title, genre, director FROM movies WHERE LOWER(title) = 'case twin' ORDER BY id"))
+            .extracting(row -> row.get("title") + "/" + row.get("genre") + "/" + row.get("director"))
+            .containsExactly("Case Twin/Drama/Director", "case twin/Horror/null");
+    }
+
+    @Test
+    void searchFollowsUpdatedAndDeletedMoviesOnceTheIndexIsRebuilt() {
+        Movie kept = movieService.createMovie(new Movie("Quorvath Shallows", "Drama", "Ines Brill", 1987, 3.5, null));
+        Movie removed = movieService.createMovie(new Movie("Quorvath Heights", "Drama", "Ines Brill", 1991, 3.2, null));
+        movieSearchService.rebuild();
+        assertThat(movieService.searchMovies("quorvath", 10)).extracting(Movie::getId)
+            .containsExactlyInAnyOrder(kept.getId(), removed.getId());
+
+        movieService.updateMovie(kept.getId(), new Movie("Pellimore Shallows", "Drama", "Ines Brill", 1987, 3.5, null));
+        movieService.deleteMovie(removed.getId());
+        movieSearchService.rebuild();
+
+        assertThat(movieService.searchMovies("quorvath", 10)).isEmpty();
+        assertThat(movieService.searchMovies("pellimor", 10)).extracting(Movie::getId).containsExactly(kept.getId());
+        assertThat(movieService.searchMovies("pelimore", 10)).extracting(Movie::getId).containsExactly(kept.getId());
+    }
+
+    private Map<String, Object> movie(String slug) {
+        return jdbcTemplate.queryForMap("SELECT title, genre, director, release_year FROM movies WHERE slug = ?", slug);
+    }
+
+    private static Movie slugged(Movie movie, String slug) {
+        movie.setSlug(slug);
+        return movie;
+    }
+}
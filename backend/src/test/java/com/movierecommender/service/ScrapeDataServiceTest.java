@@ -0,0 +1,138 @@
+package com.movierecommender.service;
+
+import com.movierecommender.SqliteIntegrationTest;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeRequest;
+import com.movierecommender.entity.User;
+import com.movierecommender.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeDataServiceTest extends SqliteIntegrationTest {
+
+    @Autowired
+    private ScrapeDataService scrapeDataService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filmsSharingTitleAndYearWithOtherSlugsGetTheirOwnRows() {
+        jdbcTemplate.update("INSERT INTO movies (title, release_year, slug) VALUES ('Shared Title', 1995, 'shared-title-a')");
+        userRepository.save(new User("titles-one", "titles-one@example.com", "titles-one"));
+
+        scrape("titles-one", rating("shared-title-b", "Shared Title", 1995, 4.0));
+        // The second scrape used to fail once two rows shared the title and year
+        scrape("titles-one", rating("shared-title-c", "Shared Title", 1995, 3.0));
+
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT slug FROM movies WHERE title = 'Shared Title' ORDER BY slug", String.class))
+            .containsExactly("shared-title-a", "shared-title-b", "shared-title-c");
+        assertThat(ratedSlugs("titles-one")).containsExactly("shared-title-b", "shared-title-c");
+    }
+
+    @Test
+    void slugLessRowsAreClaimedOncePerFilm() {
+        jdbcTemplate.update("INSERT INTO movies (title, release_year) VALUES ('Imported Twice', 1985)");
+        jdbcTemplate.update("INSERT INTO movies (title, release_year) VALUES ('Imported Twice', 1985)");
+        userRepository.save(new User("titles-two", "titles-two@example.com", "titles-two"));
+
+        scrape("titles-two",
+               rating("imported-twice", "Imported Twice", 1985, 5.0),
+               rating("imported-twice-remake", "Imported Twice", 1985, 2.0));
+
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM movies WHERE title = 'Imported Twice' ORDER BY id", Long.class);
+        assertThat(ids).hasSize(2);
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT slug FROM movies WHERE title = 'Imported Twice' ORDER BY id", String.class))
+            .containsExactly("imported-twice", "imported-twice-remake");
+        assertThat(ratedSlugs("titles-two")).containsExactly("imported-twice", "imported-twice-remake");
+    }
+
+    @Test
+    void incrementalScrapesMergeIntoStoredRatingsAndMoveTheHeadForward() {
+        userRepository.save(new User("merging", "merging@example.com", "merging"));
+        // Listings are newest first
+        scrape("merging", false,
+               watched(rating("merge-c", "Merge C", 2003, 3.0), "2024-03-01"),
+               watched(rating("merge-b", "Merge B", 2002, 2.0), "2024-02-01"),
+               watched(rating("merge-a", "Merge A", 2001, 1.0), "2024-01-01"));
+        LetterboxdScrapeRequest afterFull = new LetterboxdScrapeRequest("merging");
+        assertThat(scrapeDataService.applyWatermarks("merging", afterFull)).isTrue();
+        assertThat(afterFull.getKnownRatingSlugs()).containsExactly("merge-c", "merge-b", "merge-a");
+        assertThat(afterFull.getSinceWatchedDate()).isEqualTo("2024-03-01");
+
+        scrape("merging", true,
+               watched(rating("merge-e", "Merge E", 2005, 5.0), "2024-05-01"),
+               watched(rating("merge-d", "Merge D", 2004, 4.0), "2024-04-01"));
+
+        assertThat(ratedSlugs("merging")).containsExactly("merge-a", "merge-b", "merge-c", "merge-d", "merge-e");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT r.rating FROM ratings r JOIN users u ON u.id = r.user_id " +
+            "WHERE u.letterboxd_username = 'merging' AND r.film_slug = 'merge-a'", Double.class)).isEqualTo(1.0);
+        LetterboxdScrapeRequest afterIncremental = new LetterboxdScrapeRequest("merging");
+        scrapeDataService.applyWatermarks("merging", afterIncremental);
+        // The new entries lead, followed by the previous head
+        assertThat(afterIncremental.getKnownRatingSlugs())
+            .containsExactly("merge-e", "merge-d", "merge-c", "merge-b", "merge-a");
+        assertThat(afterIncremental.getSinceWatchedDate()).isEqualTo("2024-05-01");
+    }
+
+    @Test
+    void aFullScrapeReplacesTheHeadRatherThanAppendingTheOldOne() {
+        userRepository.save(new User("rehead", "rehead@example.com", "rehead"));
+        scrape("rehead", false, rating("rehead-old", "Rehead Old", 1990, 3.0));
+
+        scrape("rehead", false, rating("rehead-new", "Rehead New", 1991, 4.0));
+
+        LetterboxdScrapeRequest request = new LetterboxdScrapeRequest("rehead");
+        scrapeDataService.applyWatermarks("rehead", request);
+        assertThat(request.getKnownRatingSlugs()).containsExactly("rehead-new");
+        // Ratings are merged by slug even by a full scrape, which may be capped by the rating limit
+        assertThat(ratedSlugs("rehead")).containsExactly("rehead-new", "rehead-old");
+    }
+
+    private void scrape(String letterboxdUsername, LetterboxdRating... ratings) {
+        scrape(letterboxdUsername, false, ratings);
+    }
+
+    private void scrape(String letterboxdUsername, boolean incremental, LetterboxdRating... ratings) {
+        ScrapeDataService.ScrapeWriter writer = scrapeDataService
+            .openScrape(letterboxdUsername, true, false, incremental, LocalDateTime.now())
+            .orElseThrow();
+        writer.addRatings(List.of(ratings));
+        writer.finish();
+    }
+
+    private List<String> ratedSlugs(String letterboxdUsername) {
+        return jdbcTemplate.queryForList(
+            "SELECT m.slug FROM ratings r JOIN movies m ON m.id = r.movie_id " +
+            "JOIN users u ON u.id = r.user_id WHERE u.letterboxd_username = ? ORDER BY m.slug",
+            String.class, letterboxdUsername);
+    }
+
+    private static LetterboxdRating watched(LetterboxdRating rating, String date) {
+        rating.setWatchedDate(date);
+        return rating;
+    }
+
+    private static LetterboxdRating rating(String slug, String title, int year, double value) {
+        LetterboxdRating rating = new LetterboxdRating();
+        rating.setFilmSlug(slug);
+        rating.setFilmTitle(title);
+        rating.setFilmYear(year);
+        rating.setRating(value);
+        return rating;
+    }
+}
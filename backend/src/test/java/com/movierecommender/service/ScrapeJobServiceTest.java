@@ -0,0 +1,71 @@
+package com.movierecommender.service;
+
+import com.movierecommender.config.ScrapeJobConfig;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.ScrapeJobState;
+import com.movierecommender.dto.letterboxd.ScrapeJobStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScrapeJobServiceTest {
+
+    private final LetterboxdIntegrationService letterboxdService = mock(LetterboxdIntegrationService.class);
+    private ScrapeJobService jobs;
+
+    @AfterEach
+    void shutdown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    void finishedJobsAreDroppedByTheSweepOncePastRetention() throws InterruptedException {
+        jobs = new ScrapeJobService(letterboxdService, properties(0));
+        when(letterboxdService.scrapeUserData(anyString(), anyBoolean(), anyBoolean(), anyInt(), anyBoolean()))
+            .thenReturn(new LetterboxdScrapeResponse());
+
+        String jobId = jobs.submit("swept", true, false, 10, false).getJobId();
+        awaitFinished(jobId);
+        assertThat(jobs.getStats()).containsEntry("tracked", 1);
+
+        Thread.sleep(5);
+        jobs.evictExpiredJobs();
+
+        assertThat(jobs.getStatus(jobId)).isEmpty();
+        assertThat(jobs.getStats()).containsEntry("tracked", 0).containsEntry("unfinished", 0);
+    }
+
+    @Test
+    void finishedJobsWithinRetentionAreKept() throws InterruptedException {
+        jobs = new ScrapeJobService(letterboxdService, properties(60));
+        when(letterboxdService.scrapeUserData(anyString(), anyBoolean(), anyBoolean(), anyInt(), anyBoolean()))
+            .thenReturn(new LetterboxdScrapeResponse());
+
+        String jobId = jobs.submit("kept", true, false, 10, false).getJobId();
+        awaitFinished(jobId);
+        jobs.evictExpiredJobs();
+
+        assertThat(jobs.getStatus(jobId)).map(ScrapeJobStatus::getState).contains(ScrapeJobState.SUCCEEDED);
+    }
+
+    private void awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!jobs.getStatus(jobId).orElseThrow().getState().isFinished()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static ScrapeJobConfig.ScrapeJobProperties properties(int retentionMinutes) {
+        ScrapeJobConfig.ScrapeJobProperties properties = new ScrapeJobConfig.ScrapeJobProperties();
+        properties.setRetentionMinutes(retentionMinutes);
+        return properties;
+    }
+}
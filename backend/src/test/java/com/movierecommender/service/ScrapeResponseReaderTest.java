@@ -0,0 +1,147 @@
+package com.movierecommender.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeResponse;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScrapeResponseReaderTest {
+
+    private static final int RATINGS = 2 * ScrapeResponseReader.BATCH_SIZE + 1;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ScrapeResponseReader reader = new ScrapeResponseReader(objectMapper);
+
+    private final List<List<LetterboxdRating>> ratingBatches = new ArrayList<>();
+    private final List<List<LetterboxdWatchlistFilm>> watchlistBatches = new ArrayList<>();
+    private final ScrapeResponseReader.Handler handler = new ScrapeResponseReader.Handler() {
+        @Override
+        public void ratings(List<LetterboxdRating> batch) {
+            ratingBatches.add(batch);
+        }
+
+        @Override
+        public void watchlist(List<LetterboxdWatchlistFilm> batch) {
+            watchlistBatches.add(batch);
+        }
+    };
+
+    @Test
+    void entriesArriveInBatchesAndTheRestIsBound() throws IOException {
+        LetterboxdScrapeResponse response = reader.read(body(), false, handler);
+
+        assertThat(ratingBatches).extracting(List::size)
+            .containsExactly(ScrapeResponseReader.BATCH_SIZE, ScrapeResponseReader.BATCH_SIZE, 1);
+        assertThat(ratingBatches.get(2).get(0).getFilmSlug()).isEqualTo("film-" + (RATINGS - 1));
+        assertThat(watchlistBatches).hasSize(1);
+        assertThat(watchlistBatches.get(0)).extracting(LetterboxdWatchlistFilm::getFilmSlug)
+            .containsExactly("wanted");
+
+        assertThat(response.getUsername()).isEqualTo("reader");
+        assertThat(response.getScrapedAt()).isEqualTo(LocalDateTime.of(2026, 10, 17, 12, 30));
+        assertThat(response.getTotalRatings()).isEqualTo(RATINGS);
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isIncremental()).isTrue();
+        // Not asked to keep them
+        assertThat(response.getRatings()).isEmpty();
+        assertThat(response.getWatchlist()).isEmpty();
+    }
+
+    @Test
+    void entriesAreKeptWhenAsked() throws IOException {
+        LetterboxdScrapeResponse response = reader.read(body(), true, handler);
+
+        assertThat(response.getRatings()).hasSize(RATINGS);
+        assertThat(response.getRatings().get(0).getRating()).isEqualTo(0.5);
+        assertThat(response.getWatchlist()).hasSize(1);
+    }
+
+    @Test
+    void batchesAreHandedOnBeforeTheBodyIsRead() throws IOException {
+        byte[] bytes = json().getBytes(StandardCharsets.UTF_8);
+        CountingStream body = new CountingStream(new ByteArrayInputStream(bytes));
+        List<Long> readWhenHandled = new ArrayList<>();
+
+        reader.read(body, false, new ScrapeResponseReader.Handler() {
+            @Override
+            public void ratings(List<LetterboxdRating> batch) {
+                readWhenHandled.add(body.read);
+            }
+
+            @Override
+            public void watchlist(List<LetterboxdWatchlistFilm> batch) {
+            }
+        });
+
+        // The first batch is passed on before the parser has pulled in the entries after it
+        assertThat(readWhenHandled).hasSize(3);
+        assertThat(readWhenHandled.get(0)).isLessThan(readWhenHandled.get(1)).isLessThan(bytes.length);
+    }
+
+    @Test
+    void aBodyThatIsNotAnObjectIsRejected() {
+        InputStream body = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> reader.read(body, false, handler)).isInstanceOf(IOException.class);
+    }
+
+    private static InputStream body() {
+        return new ByteArrayInputStream(json().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String json() {
+        StringBuilder json = new StringBuilder("{\"username\":\"reader\",\"unknown\":{\"nested\":[1,2]},\"ratings\":[");
+        for (int i = 0; i < RATINGS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"film_title\":\"Film ").append(i).append("\",\"film_slug\":\"film-").append(i)
+                .append("\",\"rating\":").append(0.5 + (i % 10) * 0.5).append('}');
+        }
+        json.append("],\"watchlist\":[{\"film_title\":\"Wanted\",\"film_slug\":\"wanted\"}]")
+            .append(",\"scraped_at\":\"2026-10-17T12:30:00\",\"total_ratings\":").append(RATINGS)
+            .append(",\"success\":true,\"incremental\":true}");
+        return json.toString();
+    }
+
+    private static class CountingStream extends FilterInputStream {
+        long read;
+
+        CountingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                read += count;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.movierecommender.service;
+
+import com.movierecommender.SqliteIntegrationTest;
+import com.movierecommender.dto.letterboxd.LetterboxdRating;
+import com.movierecommender.dto.letterboxd.LetterboxdScrapeRequest;
+import com.movierecommender.dto.letterboxd.LetterboxdWatchlistFilm;
+import com.movierecommender.entity.User;
+import com.movierecommender.recommend.RecommendationEngine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest extends SqliteIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ScrapeDataService scrapeDataService;
+
+    @Autowired
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deletingAUserDeletesTheirStoredScrape() {
+        User user = userService.createUser(new User("deleted-one", "deleted-one@example.com", "deleted-one"));
+        LetterboxdRating rating = new LetterboxdRating();
+        rating.setFilmSlug("deleted-one-rated");
+        rating.setFilmTitle("Rated");
+        rating.setRating(4.0);
+        LetterboxdWatchlistFilm film = new LetterboxdWatchlistFilm();
+        film.setFilmSlug("deleted-one-listed");
+        film.setFilmTitle("Listed");
+        ScrapeDataService.ScrapeWriter writer = scrapeDataService
+            .openScrape("deleted-one", true, true, false, LocalDateTime.now())
+            .orElseThrow();
+        writer.addRatings(List.of(rating));
+        writer.addWatchlist(List.of(film));
+        writer.finish();
+
+        assertThat(rows("ratings", user.getId())).isEqualTo(1);
+        assertThat(rows("watchlist_entries", user.getId())).isEqualTo(1);
+        assertThat(rows("scrape_states", user.getId())).isEqualTo(1);
+
+        userService.deleteUser(user.getId());
+
+        // SQLite reuses the rowid, so a new user must not find anything under it
+        assertThat(rows("ratings", user.getId())).isZero();
+        assertThat(rows("watchlist_entries", user.getId())).isZero();
+        assertThat(rows("scrape_states", user.getId())).isZero();
+    }
+
+    @Test
+    void relinkingAnotherAccountDropsTheOldAccountsScrape() {
+        User user = userService.createUser(new User("relinked", "relinked@example.com", "relinked-old"));
+        LetterboxdRating rating = new LetterboxdRating();
+        rating.setFilmSlug("relinked-old-rated");
+        rating.setFilmTitle("Rated");
+        rating.setRating(3.5);
+        ScrapeDataService.ScrapeWriter writer = scrapeDataService
+            .openScrape("relinked-old", true, false, false, LocalDateTime.now())
+            .orElseThrow();
+        writer.addRatings(List.of(rating));
+        writer.finish();
+        recommendationEngine.ingest("relinked-old", List.of(rating));
+        int heldUsers = (int) recommendationEngine.getStats().get("pendingUsers");
+
+        user.setLetterboxdUsername("relinked-new");
+        userService.updateUser(user.getId(), user);
+
+        assertThat(rows("ratings", user.getId())).isZero();
+        assertThat(rows("scrape_states", user.getId())).isZero();
+        assertThat(recommendationEngine.getStats()).containsEntry("pendingUsers", heldUsers - 1);
+        // The new account starts with a full scrape, not from the old account's high-water marks
+        assertThat(scrapeDataService.applyWatermarks("relinked-new", new LetterboxdScrapeRequest())).isFalse();
+    }
+
+    @Test
+    void updatingOtherDetailsKeepsTheScrape() {
+        User user = userService.createUser(new User("kept-link", "kept-link@example.com", "kept-link"));
+        ScrapeDataService.ScrapeWriter writer = scrapeDataService
+            .openScrape("kept-link", true, false, false, LocalDateTime.now())
+            .orElseThrow();
+        LetterboxdRating rating = new LetterboxdRating();
+        rating.setFilmSlug("kept-link-rated");
+        rating.setFilmTitle("Rated");
+        rating.setRating(3.0);
+        writer.addRatings(List.of(rating));
+        writer.finish();
+
+        user.setEmail("kept-link-renamed@example.com");
+        userService.updateUser(user.getId(), user);
+
+        assertThat(rows("ratings", user.getId())).isEqualTo(1);
+    }
+
+    // Counted directly, since the repositories' derived counts join users and miss orphaned rows
+    private int rows(String table, Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Integer.class, userId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.movierecommender.similar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 16;
+    private static final int FILMS = 2000;
+
+    @Test
+    void concurrentSearchesOnVirtualThreadsMatchSequentialOnes() throws Exception {
+        HnswIndex index = randomIndex(FILMS);
+        List<List<Long>> sequential = new ArrayList<>();
+        for (long movieId = 1; movieId <= 200; movieId++) {
+            sequential.add(ids(index.similar(movieId, 10, 64)));
+        }
+
+        List<Future<List<Long>>> concurrent = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long movieId = 1; movieId <= 200; movieId++) {
+                long film = movieId;
+                concurrent.add(threads.submit(() -> ids(index.similar(film, 10, 64))));
+            }
+            for (int i = 0; i < concurrent.size(); i++) {
+                assertThat(concurrent.get(i).get()).as("film %d", i + 1).isEqualTo(sequential.get(i));
+            }
+        }
+    }
+
+    @Test
+    void approximateNeighboursRecallTheExactOnes() {
+        HnswIndex index = randomIndex(FILMS);
+        int found = 0;
+        int expected = 0;
+        for (long movieId = 1; movieId <= 200; movieId++) {
+            Set<Long> exact = new HashSet<>(ids(index.exactSimilar(movieId, 10)));
+            expected += exact.size();
+            for (Long neighbour : ids(index.similar(movieId, 10, 64))) {
+                if (exact.contains(neighbour)) {
+                    found++;
+                }
+            }
+        }
+
+        assertThat((double) found / expected).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void removedFilmsAreNeverReturned() {
+        HnswIndex index = randomIndex(500);
+        for (long movieId = 2; movieId <= 500; movieId += 2) {
+            assertThat(index.remove(movieId)).isTrue();
+        }
+
+        assertThat(index.liveSize()).isEqualTo(250);
+        for (long movieId = 1; movieId <= 500; movieId += 2) {
+            assertThat(ids(index.similar(movieId, 10, 64)))
+                .hasSize(10)
+                .doesNotContain(movieId)
+                .allMatch(neighbour -> neighbour % 2 == 1);
+        }
+    }
+
+    static HnswIndex randomIndex(int films) {
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 200, 42);
+        for (long movieId = 1; movieId <= films; movieId++) {
+            index.add(movieId, unitVector(random));
+        }
+        return index;
+    }
+
+    private static float[] unitVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        double norm = 0;
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static List<Long> ids(List<FilmNeighbour> neighbours) {
+        return neighbours.stream().map(FilmNeighbour::getMovieId).toList();
+    }
+}
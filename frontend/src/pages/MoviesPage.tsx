@@ -4,6 +4,8 @@ import { Movie } from '../types';
 import MovieCard from '../components/MovieCard';
 import MovieForm from '../components/MovieForm';
 
+const PAGE_SIZE = 100;
+
 const MoviesPage: React.FC = () => {
   const [movies, setMovies] = useState<Movie[]>([]);
   const [loading, setLoading] = useState(true);
@@ -11,6 +13,9 @@ const MoviesPage: React.FC = () => {
   const [showForm, setShowForm] = useState(false);
   const [editingMovie, setEditingMovie] = useState<Movie | undefined>(undefined);
   const [searchQuery, setSearchQuery] = useState('');
+  const [nextCursor, setNextCursor] = useState<number | undefined>(undefined);
+  const [hasMore, setHasMore] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadMovies();
@@ -20,8 +25,10 @@ const MoviesPage: React.FC = () => {
     try {
       setLoading(true);
       setError(null);
-      const moviesData = await movieApi.getAllMovies();
-      setMovies(moviesData);
+      const page = await movieApi.getMoviesPage(undefined, PAGE_SIZE);
+      setMovies(page.items);
+      setNextCursor(page.nextCursor);
+      setHasMore(page.hasMore);
     } catch (err) {
       setError('Failed to load movies. Please check if the backend is running.');
       console.error('Error loading movies:', err);
@@ -30,6 +37,21 @@ const MoviesPage: React.FC = () => {
     }
   };
 
+  const loadMoreMovies = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await movieApi.getMoviesPage(nextCursor, PAGE_SIZE);
+      setMovies(previous => [...previous, ...page.items]);
+      setNextCursor(page.nextCursor);
+      setHasMore(page.hasMore);
+    } catch (err) {
+      setError('Failed to load more movies');
+      console.error('Error loading more movies:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleAddMovie = () => {
     setEditingMovie(undefined);
     setShowForm(true);
@@ -79,6 +101,7 @@ const MoviesPage: React.FC = () => {
         setLoading(true);
         const searchResults = await movieApi.searchMovies(searchQuery);
         setMovies(searchResults);
+        setHasMore(false);
       } catch (err) {
         setError('Failed to search movies');
         console.error('Error searching movies:', err);
@@ -145,6 +168,14 @@ const MoviesPage: React.FC = () => {
         )}
       </div>
 
+      {hasMore && (
+        <div className="load-more">
+          <button onClick={loadMoreMovies} className="btn btn-secondary" disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
+
       {showForm && (
         <MovieForm
           movie={editingMovie}
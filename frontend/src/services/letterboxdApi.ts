@@ -14,6 +14,20 @@ export interface LetterboxdServiceStatus {
   healthy: boolean;
 }
 
+export interface ScrapeJobStatus {
+  jobId: string;
+  username: string;
+  state: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+  queuePosition?: number;
+  elapsedMillis?: number;
+  error?: string;
+  result?: any;
+}
+
+const JOB_POLL_INTERVAL_MS = 1000;
+
+const sleep = (ms: number) => new Promise(resolve => setTimeout(resolve, ms));
+
 export interface UserValidationResponse {
   username: string;
   exists: boolean;
@@ -155,8 +169,12 @@ class LetterboxdApiService {
         ratingLimit: ratingLimit.toString()
       });
 
-      const response = await api.post(`${this.baseUrl}/user/${username}/scrape?${params}`);
-      return transformScrapeResponse(response.data);
+      const submitted = await api.post(`${this.baseUrl}/user/${username}/scrape/async?${params}`);
+      const job = await this.waitForScrapeJob(submitted.data.jobId);
+      if (job.state === 'FAILED') {
+        throw new Error(job.error || 'Scrape job failed');
+      }
+      return transformScrapeResponse(job.result);
     } catch (error: any) {
       if (error.response?.status === 404) {
         throw new Error(`User '${username}' not found`);
@@ -165,6 +183,26 @@ class LetterboxdApiService {
     }
   }
 
+  /**
+   * Get the current status of a background scrape job
+   */
+  async getScrapeJob(jobId: string): Promise<ScrapeJobStatus> {
+    const response = await api.get(`${this.baseUrl}/jobs/${jobId}`);
+    return response.data;
+  }
+
+  /**
+   * Poll a background scrape job until it succeeds or fails
+   */
+  async waitForScrapeJob(jobId: string): Promise<ScrapeJobStatus> {
+    let job = await this.getScrapeJob(jobId);
+    while (job.state === 'QUEUED' || job.state === 'RUNNING') {
+      await sleep(JOB_POLL_INTERVAL_MS);
+      job = await this.getScrapeJob(jobId);
+    }
+    return job;
+  }
+
   /**
    * Quick scrape with default settings (50 rating limit)
    */
@@ -1,5 +1,5 @@
 import api from './api';
-import { Movie } from '../types';
+import { CursorPage, Movie } from '../types';
 
 export const movieApi = {
   // Get all movies
@@ -8,6 +8,16 @@ export const movieApi = {
     return response.data;
   },
 
+  // Get one keyset page of movies, starting after the given id
+  getMoviesPage: async (after?: number, limit: number = 100): Promise<CursorPage<Movie>> => {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (after !== undefined) {
+      params.set('after', String(after));
+    }
+    const response = await api.get(`/movies/page?${params.toString()}`);
+    return response.data;
+  },
+
   // Get movie by ID
   getMovieById: async (id: number): Promise<Movie> => {
     const response = await api.get(`/movies/${id}`);
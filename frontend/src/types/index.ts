@@ -15,6 +15,12 @@ export interface User {
   letterboxdUsername?: string;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: number;
+  hasMore: boolean;
+}
+
 export interface ApiResponse<T> {
   data: T;
   message?: string;
@@ -1,9 +1,11 @@
 from fastapi import APIRouter, HTTPException, BackgroundTasks
 from scraper.data_models import (
     ScrapeRequest, ScrapeResponse, UserProfile, 
-    SearchRequest, SearchResponse, FilmSearchResult
+    SearchRequest, SearchResponse, FilmSearchResult,
+    RatingsSectionResponse, WatchlistSectionResponse
 )
 from scraper.scraper_service import ScraperService
+import asyncio
 import time
 import logging
 
@@ -18,8 +20,8 @@ async def scrape_user_data(request: ScrapeRequest):
     try:
         logger.info(f"Received scrape request for user: {request.username}")
         
-        # Validate username first
-        if not scraper_service.validate_user_exists(request.username):
+        # Validate username first; the check is a blocking request, so keep it off the event loop
+        if not await asyncio.to_thread(scraper_service.validate_user_exists, request.username):
             raise HTTPException(
                 status_code=404, 
                 detail=f"Letterboxd user '{request.username}' not found"
@@ -30,7 +32,11 @@ async def scrape_user_data(request: ScrapeRequest):
             username=request.username,
             include_ratings=request.include_ratings,
             include_watchlist=request.include_watchlist,
-            rating_limit=request.rating_limit
+            rating_limit=request.rating_limit,
+            since_watched_date=request.since_watched_date,
+            since_added_date=request.since_added_date,
+            known_rating_slugs=request.known_rating_slugs,
+            known_watchlist_slugs=request.known_watchlist_slugs
         )
         
         if not result.success:
@@ -48,6 +54,36 @@ async def scrape_user_data(request: ScrapeRequest):
         logger.error(f"Unexpected error scraping user {request.username}: {e}")
         raise HTTPException(status_code=500, detail=f"Internal server error: {str(e)}")
 
+@router.post("/scrape/user/ratings", response_model=RatingsSectionResponse)
+async def scrape_user_ratings(request: ScrapeRequest):
+    """Scrape only a user's ratings, for callers fetching the sections of a scrape concurrently.
+
+    The username is not validated here; the profile section reports unknown users.
+    """
+    logger.info(f"Received ratings scrape request for user: {request.username}")
+    result = await scraper_service.scrape_ratings(
+        username=request.username,
+        rating_limit=request.rating_limit,
+        since_watched_date=request.since_watched_date,
+        known_rating_slugs=request.known_rating_slugs
+    )
+    if not result.success:
+        raise HTTPException(status_code=500, detail=result.error_message or "Failed to scrape ratings")
+    return result
+
+@router.post("/scrape/user/watchlist", response_model=WatchlistSectionResponse)
+async def scrape_user_watchlist(request: ScrapeRequest):
+    """Scrape only a user's watchlist; see scrape_user_ratings"""
+    logger.info(f"Received watchlist scrape request for user: {request.username}")
+    result = await scraper_service.scrape_watchlist(
+        username=request.username,
+        since_added_date=request.since_added_date,
+        known_watchlist_slugs=request.known_watchlist_slugs
+    )
+    if not result.success:
+        raise HTTPException(status_code=500, detail=result.error_message or "Failed to scrape watchlist")
+    return result
+
 @router.get("/user/{username}/profile", response_model=UserProfile)
 async def get_user_profile(username: str):
     """Get just the user profile information"""
@@ -55,7 +91,7 @@ async def get_user_profile(username: str):
         logger.info(f"Fetching profile for user: {username}")
         
         # Validate username first
-        if not scraper_service.validate_user_exists(username):
+        if not await asyncio.to_thread(scraper_service.validate_user_exists, username):
             raise HTTPException(
                 status_code=404, 
                 detail=f"Letterboxd user '{username}' not found"
@@ -75,7 +111,7 @@ async def get_user_profile(username: str):
 async def validate_user(username: str):
     """Validate if a Letterboxd user exists"""
     try:
-        exists = scraper_service.validate_user_exists(username)
+        exists = await asyncio.to_thread(scraper_service.validate_user_exists, username)
         return {
             "username": username,
             "exists": exists,
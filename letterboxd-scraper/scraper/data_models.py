@@ -46,6 +46,15 @@ class ScrapeRequest(BaseModel):
     include_ratings: bool = True
     include_watchlist: bool = True
     rating_limit: int = Field(default=100, ge=1, le=1000)
+    # Incremental scrapes: stop at entries dated before these or already known
+    since_watched_date: Optional[str] = None
+    since_added_date: Optional[str] = None
+    known_rating_slugs: List[str] = []
+    known_watchlist_slugs: List[str] = []
+
+    def is_incremental(self) -> bool:
+        return bool(self.since_watched_date or self.since_added_date
+                    or self.known_rating_slugs or self.known_watchlist_slugs)
 
 class ScrapeResponse(BaseModel):
     username: str
@@ -57,6 +66,26 @@ class ScrapeResponse(BaseModel):
     total_watchlist_items: int
     success: bool = True
     error_message: Optional[str] = None
+    incremental: bool = False
+
+class RatingsSectionResponse(BaseModel):
+    """One section of a scrape, fetched on its own so callers can run sections concurrently"""
+    username: str
+    ratings: List[FilmRating] = []
+    scraped_at: datetime
+    total_ratings: int
+    success: bool = True
+    error_message: Optional[str] = None
+    incremental: bool = False
+
+class WatchlistSectionResponse(BaseModel):
+    username: str
+    watchlist: List[WatchlistFilm] = []
+    scraped_at: datetime
+    total_watchlist_items: int
+    success: bool = True
+    error_message: Optional[str] = None
+    incremental: bool = False
 
 class HealthResponse(BaseModel):
     status: str
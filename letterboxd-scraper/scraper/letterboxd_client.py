@@ -8,6 +8,20 @@ import re
 import aiohttp
 import time
 
+def reached_high_water_mark(film_slug: str, entry_date: Optional[str],
+                            since_date: Optional[str], known_slugs: Optional[set]) -> bool:
+    """True once a newest-first listing reaches entries that are already stored.
+
+    Dates are ISO (yyyy-mm-dd) strings; entries on the high-water date itself
+    are still returned because several can share a day.
+    """
+    if known_slugs and film_slug in known_slugs:
+        return True
+    return bool(since_date and entry_date and entry_date < since_date)
+
+class LetterboxdFetchError(Exception):
+    """A listing page could not be fetched, so the section is incomplete"""
+
 class LetterboxdClient:
     def __init__(self):
         self.base_url = "https://letterboxd.com"
@@ -108,21 +122,37 @@ class LetterboxdClient:
             self.logger.error(f"Error fetching user {username}: {e}")
             raise Exception(f"Failed to fetch user profile: {str(e)}")
     
-    async def get_user_ratings(self, username: str, limit: int = 100) -> List[Dict]:
-        """Get user's film ratings"""
+    async def get_user_ratings(self, username: str, limit: int = 100, since_date: Optional[str] = None,
+                               known_slugs: Optional[List[str]] = None, raise_errors: bool = False) -> List[Dict]:
+        """Get user's film ratings.
+
+        Films are listed newest watched first. With a high-water mark
+        (since_date / known_slugs) paging stops at the first entry that is
+        already stored.
+        With raise_errors a page that cannot be fetched raises LetterboxdFetchError
+        instead of ending the listing early; a 404 after the first page still ends it.
+        """
         try:
-            self.logger.info(f"Fetching ratings for user: {username} (limit: {limit})")
+            incremental = bool(since_date or known_slugs)
+            known = set(known_slugs or [])
+            self.logger.info(f"Fetching ratings for user: {username} (limit: {limit}, incremental: {incremental})")
             
             ratings = []
             page = 1
             collected = 0
+            reached_known = False
             
-            while collected < limit:
-                url = f"{self.base_url}/{username}/films/page/{page}/"
+            while collected < limit and not reached_known:
+                # Full and incremental scrapes page the same newest-watched-first listing, so the
+                # head slugs a full scrape leaves behind are the first entries the next one meets
+                url = f"{self.base_url}/{username}/films/by/date/page/{page}/"
                 
                 async with aiohttp.ClientSession() as session:
                     async with session.get(url, headers=self.session.headers) as response:
                         if response.status != 200:
+                            if raise_errors and (page == 1 or response.status != 404):
+                                raise LetterboxdFetchError(
+                                    f"Ratings page {page} for {username} returned HTTP {response.status}")
                             break
                         
                         html = await response.text()
@@ -173,6 +203,10 @@ class LetterboxdClient:
                                     if href.startswith('/film/'):
                                         film_slug = href.replace('/film/', '').rstrip('/')
                                 
+                                if incremental and reached_high_water_mark(film_slug, None, since_date, known):
+                                    reached_known = True
+                                    break
+                                
                                 rating_data = {
                                     'film_title': film_title,
                                     'film_year': film_year,
@@ -191,6 +225,8 @@ class LetterboxdClient:
                                 continue
                 
                 page += 1
+                if reached_known:
+                    break
                 # Add delay to be respectful
                 await asyncio.sleep(0.5)
             
@@ -199,11 +235,20 @@ class LetterboxdClient:
             
         except Exception as e:
             self.logger.error(f"Error fetching ratings for user {username}: {e}")
+            if raise_errors:
+                raise
             return []
     
-    async def get_user_watchlist(self, username: str) -> List[Dict]:
-        """Get user's watchlist"""
+    async def get_user_watchlist(self, username: str, since_date: Optional[str] = None,
+                                 known_slugs: Optional[List[str]] = None, raise_errors: bool = False) -> List[Dict]:
+        """Get user's watchlist (newest additions first).
+
+        With a high-water mark only entries added after it are returned.
+        With raise_errors a page that cannot be fetched raises LetterboxdFetchError.
+        """
         try:
+            incremental = bool(since_date or known_slugs)
+            known = set(known_slugs or [])
             self.logger.info(f"Fetching watchlist for user: {username}")
             url = f"{self.base_url}/{username}/watchlist/"
             
@@ -212,6 +257,9 @@ class LetterboxdClient:
             async with aiohttp.ClientSession() as session:
                 async with session.get(url, headers=self.session.headers) as response:
                     if response.status != 200:
+                        if raise_errors:
+                            raise LetterboxdFetchError(
+                                f"Watchlist for {username} returned HTTP {response.status}")
                         return []
                     
                     html = await response.text()
@@ -244,6 +292,9 @@ class LetterboxdClient:
                                 if href.startswith('/film/'):
                                     film_slug = href.replace('/film/', '').rstrip('/')
                             
+                            if incremental and reached_high_water_mark(film_slug, None, since_date, known):
+                                break
+                            
                             watchlist_data = {
                                 'film_title': film_title,
                                 'film_year': film_year,
@@ -265,6 +316,8 @@ class LetterboxdClient:
             
         except Exception as e:
             self.logger.error(f"Error fetching watchlist for user {username}: {e}")
+            if raise_errors:
+                raise
             return []
     
     async def search_films(self, query: str, limit: int = 20) -> List[Dict]:
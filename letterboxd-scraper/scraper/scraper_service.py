@@ -1,6 +1,11 @@
 from scraper.letterboxd_client import LetterboxdClient
-from scraper.data_models import UserProfile, FilmRating, WatchlistFilm, ScrapeResponse
+from scraper.data_models import (
+    UserProfile, FilmRating, WatchlistFilm, ScrapeResponse,
+    RatingsSectionResponse, WatchlistSectionResponse
+)
 from datetime import datetime
+import asyncio
+from typing import List, Optional
 import logging
 
 class ScraperService:
@@ -9,34 +14,30 @@ class ScraperService:
         self.logger = logging.getLogger(__name__)
     
     async def scrape_user_complete(self, username: str, include_ratings: bool = True, 
-                                 include_watchlist: bool = True, rating_limit: int = 100) -> ScrapeResponse:
-        """Scrape complete user data from Letterboxd"""
+                                 include_watchlist: bool = True, rating_limit: int = 100,
+                                 since_watched_date: Optional[str] = None,
+                                 since_added_date: Optional[str] = None,
+                                 known_rating_slugs: Optional[List[str]] = None,
+                                 known_watchlist_slugs: Optional[List[str]] = None) -> ScrapeResponse:
+        """Scrape complete user data from Letterboxd.
+
+        When high-water marks are given only entries newer than them are returned.
+        """
+        incremental = bool(since_watched_date or since_added_date
+                           or known_rating_slugs or known_watchlist_slugs)
         try:
-            self.logger.info(f"Starting complete scrape for user: {username}")
+            self.logger.info(f"Starting {'incremental' if incremental else 'complete'} scrape for user: {username}")
             
-            # Get user profile
-            profile_data = await self.client.get_user_profile(username)
+            # Profile, ratings and watchlist are independent pages, so fetch them concurrently
+            profile_data, ratings, watchlist = await asyncio.gather(
+                self.client.get_user_profile(username),
+                self._fetch_ratings(username, rating_limit, since_watched_date, known_rating_slugs)
+                if include_ratings else self._nothing(),
+                self._fetch_watchlist(username, since_added_date, known_watchlist_slugs)
+                if include_watchlist else self._nothing()
+            )
             profile = UserProfile(**profile_data)
             
-            ratings = []
-            watchlist = []
-            
-            # Get ratings if requested
-            if include_ratings:
-                try:
-                    ratings_data = await self.client.get_user_ratings(username, limit=rating_limit)
-                    ratings = [FilmRating(**rating) for rating in ratings_data]
-                except Exception as e:
-                    self.logger.warning(f"Failed to fetch ratings for {username}: {e}")
-            
-            # Get watchlist if requested
-            if include_watchlist:
-                try:
-                    watchlist_data = await self.client.get_user_watchlist(username)
-                    watchlist = [WatchlistFilm(**film) for film in watchlist_data]
-                except Exception as e:
-                    self.logger.warning(f"Failed to fetch watchlist for {username}: {e}")
-            
             response = ScrapeResponse(
                 username=username,
                 profile=profile,
@@ -45,7 +46,8 @@ class ScraperService:
                 scraped_at=datetime.now(),
                 total_ratings=len(ratings),
                 total_watchlist_items=len(watchlist),
-                success=True
+                success=True,
+                incremental=incremental
             )
             
             self.logger.info(f"Complete scrape finished for {username}: {len(ratings)} ratings, {len(watchlist)} watchlist items")
@@ -65,6 +67,67 @@ class ScraperService:
                 error_message=str(e)
             )
     
+    async def scrape_ratings(self, username: str, rating_limit: int = 100,
+                             since_watched_date: Optional[str] = None,
+                             known_rating_slugs: Optional[List[str]] = None) -> RatingsSectionResponse:
+        """Scrape only a user's ratings"""
+        incremental = bool(since_watched_date or known_rating_slugs)
+        try:
+            ratings = await self._fetch_ratings(username, rating_limit, since_watched_date,
+                                                known_rating_slugs, raise_errors=True)
+            return RatingsSectionResponse(username=username, ratings=ratings, scraped_at=datetime.now(),
+                                          total_ratings=len(ratings), incremental=incremental)
+        except Exception as e:
+            self.logger.error(f"Error scraping ratings for user {username}: {e}")
+            return RatingsSectionResponse(username=username, scraped_at=datetime.now(), total_ratings=0,
+                                          success=False, error_message=str(e), incremental=incremental)
+    
+    async def scrape_watchlist(self, username: str, since_added_date: Optional[str] = None,
+                               known_watchlist_slugs: Optional[List[str]] = None) -> WatchlistSectionResponse:
+        """Scrape only a user's watchlist"""
+        incremental = bool(since_added_date or known_watchlist_slugs)
+        try:
+            watchlist = await self._fetch_watchlist(username, since_added_date,
+                                                    known_watchlist_slugs, raise_errors=True)
+            return WatchlistSectionResponse(username=username, watchlist=watchlist, scraped_at=datetime.now(),
+                                            total_watchlist_items=len(watchlist), incremental=incremental)
+        except Exception as e:
+            self.logger.error(f"Error scraping watchlist for user {username}: {e}")
+            return WatchlistSectionResponse(username=username, scraped_at=datetime.now(), total_watchlist_items=0,
+                                            success=False, error_message=str(e), incremental=incremental)
+    
+    async def _fetch_ratings(self, username: str, rating_limit: int, since_watched_date: Optional[str],
+                             known_rating_slugs: Optional[List[str]], raise_errors: bool = False) -> List[FilmRating]:
+        try:
+            ratings_data = await self.client.get_user_ratings(
+                username, limit=rating_limit,
+                since_date=since_watched_date, known_slugs=known_rating_slugs,
+                raise_errors=raise_errors)
+            return [FilmRating(**rating) for rating in ratings_data]
+        except Exception as e:
+            if raise_errors:
+                raise
+            self.logger.warning(f"Failed to fetch ratings for {username}: {e}")
+            return []
+    
+    async def _fetch_watchlist(self, username: str, since_added_date: Optional[str],
+                               known_watchlist_slugs: Optional[List[str]],
+                               raise_errors: bool = False) -> List[WatchlistFilm]:
+        try:
+            watchlist_data = await self.client.get_user_watchlist(
+                username, since_date=since_added_date, known_slugs=known_watchlist_slugs,
+                raise_errors=raise_errors)
+            return [WatchlistFilm(**film) for film in watchlist_data]
+        except Exception as e:
+            if raise_errors:
+                raise
+            self.logger.warning(f"Failed to fetch watchlist for {username}: {e}")
+            return []
+    
+    @staticmethod
+    async def _nothing() -> list:
+        return []
+    
     async def scrape_user_profile_only(self, username: str) -> UserProfile:
         """Scrape only user profile information"""
         try:
@@ -61,6 +61,142 @@ class TestLetterboxdScraper(unittest.TestCase):
         )
         self.assertFalse(custom_request.include_ratings)
         self.assertEqual(custom_request.rating_limit, 50)
+        self.assertFalse(custom_request.is_incremental())
+    
+    def test_incremental_scrape_request(self):
+        """Test that high-water marks make a request incremental"""
+        from scraper.data_models import ScrapeRequest
+        
+        request = ScrapeRequest(
+            username='testuser',
+            since_watched_date='2024-05-01',
+            known_rating_slugs=['heat', 'ran']
+        )
+        self.assertTrue(request.is_incremental())
+        self.assertEqual(request.known_rating_slugs, ['heat', 'ran'])
+    
+    def test_reached_high_water_mark(self):
+        """Test where an incremental listing stops"""
+        from scraper.letterboxd_client import reached_high_water_mark
+        
+        known = {'heat'}
+        self.assertTrue(reached_high_water_mark('heat', None, None, known))
+        self.assertFalse(reached_high_water_mark('ran', None, None, known))
+        self.assertTrue(reached_high_water_mark('ran', '2024-04-30', '2024-05-01', known))
+        # Entries on the high-water date itself are kept
+        self.assertFalse(reached_high_water_mark('ran', '2024-05-01', '2024-05-01', known))
+        self.assertFalse(reached_high_water_mark('ran', None, '2024-05-01', set()))
+    
+    def test_complete_scrape_fetches_sections_concurrently(self):
+        """Test that profile, ratings and watchlist are fetched at the same time"""
+        import asyncio
+        import time
+        from scraper.scraper_service import ScraperService
+        
+        async def slow(value):
+            await asyncio.sleep(0.2)
+            return value
+        
+        service = ScraperService()
+        service.client = Mock()
+        service.client.get_user_profile = lambda username, **kwargs: slow({'username': username})
+        service.client.get_user_ratings = lambda username, **kwargs: slow(
+            [{'film_title': 'Heat', 'film_slug': 'heat', 'rating': 4.5}])
+        service.client.get_user_watchlist = lambda username, **kwargs: slow(
+            [{'film_title': 'Ran', 'film_slug': 'ran'}])
+        
+        started = time.monotonic()
+        result = asyncio.run(service.scrape_user_complete('testuser'))
+        elapsed = time.monotonic() - started
+        
+        self.assertTrue(result.success)
+        self.assertEqual(result.total_ratings, 1)
+        self.assertEqual(result.total_watchlist_items, 1)
+        self.assertLess(elapsed, 0.5)
+    
+    def test_failed_listing_page_fails_the_section(self):
+        """Test that a section endpoint reports a listing it could not fetch instead of an empty one"""
+        import asyncio
+        from scraper.letterboxd_client import LetterboxdClient, LetterboxdFetchError
+        from scraper.scraper_service import ScraperService
+        
+        class Response:
+            status = 503
+            async def __aenter__(self):
+                return self
+            async def __aexit__(self, *args):
+                return False
+        
+        class Session:
+            def get(self, url, **kwargs):
+                return Response()
+            async def __aenter__(self):
+                return self
+            async def __aexit__(self, *args):
+                return False
+        
+        with patch('scraper.letterboxd_client.aiohttp.ClientSession', Session):
+            client = LetterboxdClient()
+            # The combined scrape keeps treating an unreachable listing as empty
+            self.assertEqual(asyncio.run(client.get_user_watchlist('testuser')), [])
+            self.assertEqual(asyncio.run(client.get_user_ratings('testuser')), [])
+            with self.assertRaises(LetterboxdFetchError):
+                asyncio.run(client.get_user_watchlist('testuser', raise_errors=True))
+            with self.assertRaises(LetterboxdFetchError):
+                asyncio.run(client.get_user_ratings('testuser', raise_errors=True))
+            
+            service = ScraperService()
+            service.client = client
+            watchlist = asyncio.run(service.scrape_watchlist('testuser'))
+            ratings = asyncio.run(service.scrape_ratings('testuser'))
+        
+        self.assertFalse(watchlist.success)
+        self.assertIn('503', watchlist.error_message)
+        self.assertFalse(ratings.success)
+        self.assertEqual(ratings.total_ratings, 0)
+
+    def test_full_and_incremental_ratings_page_the_same_listing(self):
+        """Test that an incremental scrape stops at the head slugs a full scrape recorded"""
+        import asyncio
+        from scraper.letterboxd_client import LetterboxdClient
+
+        films = ['ran', 'heat']
+        requested = []
+
+        class Response:
+            def __init__(self, status, html=''):
+                self.status = status
+                self.html = html
+            async def text(self):
+                return self.html
+            async def __aenter__(self):
+                return self
+            async def __aexit__(self, *args):
+                return False
+
+        class Session:
+            def get(self, url, **kwargs):
+                requested.append(url)
+                if not url.endswith('/page/1/'):
+                    return Response(404)
+                return Response(200, ''.join(
+                    f'<li class="poster-container"><img alt="{slug.title()}"/><a href="/film/{slug}/"></a></li>'
+                    for slug in films))
+            async def __aenter__(self):
+                return self
+            async def __aexit__(self, *args):
+                return False
+
+        with patch('scraper.letterboxd_client.aiohttp.ClientSession', Session):
+            client = LetterboxdClient()
+            full = asyncio.run(client.get_user_ratings('testuser'))
+            head = [rating['film_slug'] for rating in full]
+            films.insert(0, 'alien')
+            incremental = asyncio.run(client.get_user_ratings('testuser', known_slugs=head))
+
+        self.assertEqual(head, ['ran', 'heat'])
+        self.assertEqual([rating['film_slug'] for rating in incremental], ['alien'])
+        self.assertTrue(all('/testuser/films/by/date/page/' in url for url in requested))
 
 if __name__ == '__main__':
     unittest.main()